@@ -30,6 +30,8 @@ import org.javacord.api.entity.webhook.Webhook;
 import org.javacord.api.listener.GloballyAttachableListenerManager;
 import org.javacord.api.util.DiscordRegexPattern;
 import org.javacord.api.util.concurrent.ThreadPool;
+import org.javacord.api.util.ratelimit.IdentifyRatelimiter;
+import org.javacord.api.util.ratelimit.LocalIdentifyRatelimiter;
 import org.javacord.api.util.ratelimit.LocalRatelimiter;
 import org.javacord.api.util.ratelimit.Ratelimiter;
 
@@ -125,6 +127,17 @@ public interface DiscordApi extends GloballyAttachableListenerManager {
      */
     Ratelimiter getGatewayIdentifyRatelimiter();
 
+    /**
+     * Gets the ratelimiter which controls the gateway identify ratelimit of the concurrency buckets of shards.
+     *
+     * <p>If you did not provide a ratelimiter yourself, this method will return a {@link LocalIdentifyRatelimiter}
+     * which is shared with every bot with the same token in the same Java program. It is not used if a ratelimiter
+     * was set with {@link DiscordApiBuilder#setGatewayIdentifyRatelimiter(Ratelimiter)}.
+     *
+     * @return The identify ratelimiter.
+     */
+    IdentifyRatelimiter getIdentifyRatelimiter();
+
     /**
      * Gets the latest gateway latency.
      *
@@ -196,7 +209,7 @@ public interface DiscordApi extends GloballyAttachableListenerManager {
      * This settings are applied on a per-channel basis.
      * It overrides all previous settings, so it's recommended to directly set it after logging in, if you want to
      * change some channel specific cache settings, too.
-     * Please notice that the cache is cleared only once every minute!
+     * Please notice that old messages are only removed every 30 seconds!
      *
      * @param capacity The capacity of the message cache.
      * @param storageTimeInSeconds The maximum age of cached messages.
@@ -232,6 +245,44 @@ public interface DiscordApi extends GloballyAttachableListenerManager {
      */
     boolean isDefaultAutomaticMessageCacheCleanupEnabled();
 
+    /**
+     * Sets the thresholds for the execution time of listeners.
+     *
+     * <p>A listener which runs longer than the debug threshold is logged on DEBUG level, a listener which runs longer
+     * than the warning threshold is logged on WARN level, and a listener which runs longer than the maximum execution
+     * time gets interrupted. By default, the thresholds are 500 milliseconds, 10 seconds and 2 minutes.
+     *
+     * @param debugThreshold The time a listener may run until it is logged on DEBUG level.
+     * @param warningThreshold The time a listener may run until it is logged on WARN level.
+     * @param maxExecutionTime The time a listener may run until it gets interrupted.
+     */
+    void setListenerExecutionTimeThresholds(Duration debugThreshold, Duration warningThreshold,
+                                            Duration maxExecutionTime);
+
+    /**
+     * Gets the time a listener may run until it is logged on DEBUG level.
+     *
+     * @return The time a listener may run until it is logged on DEBUG level.
+     * @see #setListenerExecutionTimeThresholds(Duration, Duration, Duration)
+     */
+    Duration getListenerExecutionTimeDebugThreshold();
+
+    /**
+     * Gets the time a listener may run until it is logged on WARN level.
+     *
+     * @return The time a listener may run until it is logged on WARN level.
+     * @see #setListenerExecutionTimeThresholds(Duration, Duration, Duration)
+     */
+    Duration getListenerExecutionTimeWarningThreshold();
+
+    /**
+     * Gets the time a listener may run until it gets interrupted.
+     *
+     * @return The time a listener may run until it gets interrupted.
+     * @see #setListenerExecutionTimeThresholds(Duration, Duration, Duration)
+     */
+    Duration getMaxListenerExecutionTime();
+
     /**
      * Gets the current shard of the bot, starting with <code>0</code>.
      *
@@ -246,6 +297,14 @@ public interface DiscordApi extends GloballyAttachableListenerManager {
      */
     int getTotalShards();
 
+    /**
+     * Gets the group of this shard if it was logged in together with other shards.
+     *
+     * @return The group of this shard.
+     * @see DiscordApiBuilder#loginShards(int...)
+     */
+    Optional<ShardGroup> getShardGroup();
+
     /**
      * Checks if Javacord is waiting for all servers to become available on startup.
      *
@@ -260,6 +319,16 @@ public interface DiscordApi extends GloballyAttachableListenerManager {
      */
     boolean isWaitingForUsersOnStartup();
 
+    /**
+     * Gets the progress of loading the servers and members of the current session.
+     *
+     * <p>This is useful for bots with many servers, as the startup, and the reconnect after a session could not be
+     * resumed, might take some time.
+     *
+     * @return The startup progress or an empty optional if the bot is not connected yet.
+     */
+    Optional<StartupProgress> getStartupProgress();
+
     /**
      * Updates the status of this bot.
      * The update might not be visible immediately as it's through the websocket and only a limited amount of
@@ -6,9 +6,16 @@ import org.javacord.api.internal.DiscordApiBuilderDelegate;
 import org.javacord.api.listener.ChainableGloballyAttachableListenerManager;
 import org.javacord.api.listener.GloballyAttachableListener;
 import org.javacord.api.util.auth.Authenticator;
+import org.javacord.api.util.cache.CacheSnapshotStorage;
+import org.javacord.api.util.cache.EntityCacheType;
+import org.javacord.api.util.cache.FileCacheSnapshotStorage;
+import org.javacord.api.util.concurrent.ThreadPoolType;
 import org.javacord.api.util.internal.DelegateFactory;
+import org.javacord.api.util.ratelimit.IdentifyRatelimiter;
+import org.javacord.api.util.ratelimit.LocalIdentifyRatelimiter;
 import org.javacord.api.util.ratelimit.LocalRatelimiter;
 import org.javacord.api.util.ratelimit.Ratelimiter;
+import org.javacord.api.util.rest.RestRequestOriginCapture;
 
 import java.net.Proxy;
 import java.net.ProxySelector;
@@ -69,6 +76,8 @@ public class DiscordApiBuilder implements ChainableGloballyAttachableListenerMan
      * It is invalid to call {@link #setCurrentShard(int)} with
      * anything but {@code 0} before calling this method.
      *
+     * <p>The shards are part of a {@link ShardGroup} and share their thread pool, http client and ratelimit buckets.
+     *
      * @param shards The shards to connect, starting with {@code 0}!
      * @return A collection of {@link CompletableFuture}s which contain the {@code DiscordApi}s for the shards.
      */
@@ -112,6 +121,26 @@ public class DiscordApiBuilder implements ChainableGloballyAttachableListenerMan
         return this;
     }
 
+    /**
+     * Sets a ratelimiter that is used to control the gateway identify ratelimit of the concurrency buckets of
+     * shards.
+     *
+     * <p>By default, Javacord uses a {@link LocalIdentifyRatelimiter} which is shared with every bot with the same
+     * token in the same Java program. Shards in different buckets identify at the same time, if Discord allows a
+     * {@code max_concurrency} greater than {@code 1} for the bot.
+     *
+     * <p>Only set a custom identify ratelimiter if you have to synchronize the ratelimit across multiple Java programs
+     * that run Javacord on the same bot token. A ratelimiter that was set with
+     * {@link #setGatewayIdentifyRatelimiter(Ratelimiter)} takes precedence and disables concurrent identifies.
+     *
+     * @param identifyRatelimiter The ratelimiter used to control the gateway identify ratelimit.
+     * @return The current instance in order to chain call methods.
+     */
+    public DiscordApiBuilder setIdentifyRatelimiter(IdentifyRatelimiter identifyRatelimiter) {
+        delegate.setIdentifyRatelimiter(identifyRatelimiter);
+        return this;
+    }
+
     /**
      * Sets the proxy selector which should be used to determine the proxies that should be used to connect to the
      * Discord REST API and web socket.
@@ -369,6 +398,206 @@ public class DiscordApiBuilder implements ChainableGloballyAttachableListenerMan
         return delegate.isShutdownHookRegistrationEnabled();
     }
 
+    /**
+     * Sets the type of the cache that is used to store entities like channels, members and user presences.
+     *
+     * <p>By default, an {@link EntityCacheType#IMMUTABLE immutable} cache is used, which returns consistent snapshots
+     * from all its methods. Bots with a very high rate of updates (e.g., presence updates in many large servers)
+     * might benefit from a {@link EntityCacheType#CONCURRENT concurrent} cache instead.
+     *
+     * @param entityCacheType The type of the entity cache.
+     * @return The current instance in order to chain call methods.
+     */
+    public DiscordApiBuilder setEntityCacheType(EntityCacheType entityCacheType) {
+        delegate.setEntityCacheType(entityCacheType);
+        return this;
+    }
+
+    /**
+     * Gets the type of the cache that is used to store entities like channels, members and user presences.
+     *
+     * @return The type of the entity cache.
+     * @see #setEntityCacheType(EntityCacheType)
+     */
+    public EntityCacheType getEntityCacheType() {
+        return delegate.getEntityCacheType();
+    }
+
+    /**
+     * Sets if the gateway connection should use {@code zlib-stream} transport compression.
+     *
+     * <p>By default, transport compression is enabled, which compresses all payloads that are sent by Discord with a
+     * single zlib context per connection. Disabling it falls back to the compression of large payloads only.
+     *
+     * @param transportCompression Whether transport compression should be used or not.
+     * @return The current instance in order to chain call methods.
+     */
+    public DiscordApiBuilder setTransportCompressionEnabled(boolean transportCompression) {
+        delegate.setTransportCompressionEnabled(transportCompression);
+        return this;
+    }
+
+    /**
+     * Checks if the gateway connection should use {@code zlib-stream} transport compression.
+     *
+     * @return Whether transport compression will be used or not.
+     * @see #setTransportCompressionEnabled(boolean)
+     */
+    public boolean isTransportCompressionEnabled() {
+        return delegate.isTransportCompressionEnabled();
+    }
+
+    /**
+     * Sets the amount of lanes that are used to handle the packets received from Discord.
+     *
+     * <p>By default, all packets are handled on a single thread. With more lanes, packets are partitioned by the
+     * server (or private channel) they belong to. Packets of the same server are still handled in the order they were
+     * received, but packets of different servers are handled in parallel. Bots with many large servers per shard
+     * might benefit from using about as many lanes as available cores.
+     *
+     * @param packetHandlerLanes The amount of lanes.
+     * @return The current instance in order to chain call methods.
+     */
+    public DiscordApiBuilder setPacketHandlerLanes(int packetHandlerLanes) {
+        delegate.setPacketHandlerLanes(packetHandlerLanes);
+        return this;
+    }
+
+    /**
+     * Gets the amount of lanes that are used to handle the packets received from Discord.
+     *
+     * @return The amount of lanes.
+     * @see #setPacketHandlerLanes(int)
+     */
+    public int getPacketHandlerLanes() {
+        return delegate.getPacketHandlerLanes();
+    }
+
+    /**
+     * Sets how the origin of REST requests is captured.
+     *
+     * <p>The origin is the cause of the exception if a request fails and shows where the request was sent. By default,
+     * the complete stack trace is captured for every request, which is expensive for bots that send many requests.
+     * See {@link RestRequestOriginCapture} for cheaper alternatives.
+     *
+     * @param restRequestOriginCapture How the origin of REST requests is captured.
+     * @return The current instance in order to chain call methods.
+     */
+    public DiscordApiBuilder setRestRequestOriginCapture(RestRequestOriginCapture restRequestOriginCapture) {
+        delegate.setRestRequestOriginCapture(restRequestOriginCapture);
+        return this;
+    }
+
+    /**
+     * Gets how the origin of REST requests is captured.
+     *
+     * @return How the origin of REST requests is captured.
+     * @see #setRestRequestOriginCapture(RestRequestOriginCapture)
+     */
+    public RestRequestOriginCapture getRestRequestOriginCapture() {
+        return delegate.getRestRequestOriginCapture();
+    }
+
+    /**
+     * Sets the storage for snapshots of the cache.
+     *
+     * <p>If a storage is set, the cache and the gateway session of every shard are saved when it is disconnected, and
+     * restored on its next login. If the login happens within the short time Discord allows to resume a session, the
+     * shard resumes it instead of loading all servers and members again. By default, no snapshots are stored.
+     *
+     * @param cacheSnapshotStorage The storage for snapshots of the cache or {@code null} to disable snapshots.
+     * @return The current instance in order to chain call methods.
+     * @see FileCacheSnapshotStorage
+     */
+    public DiscordApiBuilder setCacheSnapshotStorage(CacheSnapshotStorage cacheSnapshotStorage) {
+        delegate.setCacheSnapshotStorage(cacheSnapshotStorage);
+        return this;
+    }
+
+    /**
+     * Gets the storage for snapshots of the cache.
+     *
+     * @return The storage for snapshots of the cache.
+     * @see #setCacheSnapshotStorage(CacheSnapshotStorage)
+     */
+    public Optional<CacheSnapshotStorage> getCacheSnapshotStorage() {
+        return delegate.getCacheSnapshotStorage();
+    }
+
+    /**
+     * Sets the type of the central executor service of the {@link org.javacord.api.util.concurrent.ThreadPool}.
+     *
+     * <p>The central executor service runs listeners, REST requests and other asynchronous tasks. By default,
+     * {@link ThreadPoolType#AUTOMATIC} is used, which uses virtual threads on Java 21 or newer and creates platform
+     * threads on demand otherwise. Bots that experience bursts of blocking tasks on older Java versions should
+     * consider using {@link ThreadPoolType#BOUNDED} to limit the amount of threads.
+     *
+     * @param threadPoolType The type of the central executor service.
+     * @return The current instance in order to chain call methods.
+     * @see #setThreadPoolMaxThreads(int)
+     * @see #setThreadPoolQueueCapacity(int)
+     */
+    public DiscordApiBuilder setThreadPoolType(ThreadPoolType threadPoolType) {
+        delegate.setThreadPoolType(threadPoolType);
+        return this;
+    }
+
+    /**
+     * Gets the type of the central executor service of the {@link org.javacord.api.util.concurrent.ThreadPool}.
+     *
+     * @return The type of the central executor service.
+     * @see #setThreadPoolType(ThreadPoolType)
+     */
+    public ThreadPoolType getThreadPoolType() {
+        return delegate.getThreadPoolType();
+    }
+
+    /**
+     * Sets the maximum amount of threads of the central executor service.
+     * Only used if the type is {@link ThreadPoolType#BOUNDED}.
+     *
+     * @param maxThreads The maximum amount of threads.
+     * @return The current instance in order to chain call methods.
+     */
+    public DiscordApiBuilder setThreadPoolMaxThreads(int maxThreads) {
+        delegate.setThreadPoolMaxThreads(maxThreads);
+        return this;
+    }
+
+    /**
+     * Gets the maximum amount of threads of the central executor service.
+     *
+     * @return The maximum amount of threads.
+     * @see #setThreadPoolMaxThreads(int)
+     */
+    public int getThreadPoolMaxThreads() {
+        return delegate.getThreadPoolMaxThreads();
+    }
+
+    /**
+     * Sets the capacity of the work queue of the central executor service.
+     * Only used if the type is {@link ThreadPoolType#BOUNDED}.
+     *
+     * <p>Tasks that are submitted while the queue is full are executed by the submitting thread.
+     *
+     * @param queueCapacity The capacity of the work queue.
+     * @return The current instance in order to chain call methods.
+     */
+    public DiscordApiBuilder setThreadPoolQueueCapacity(int queueCapacity) {
+        delegate.setThreadPoolQueueCapacity(queueCapacity);
+        return this;
+    }
+
+    /**
+     * Gets the capacity of the work queue of the central executor service.
+     *
+     * @return The capacity of the work queue.
+     * @see #setThreadPoolQueueCapacity(int)
+     */
+    public int getThreadPoolQueueCapacity() {
+        return delegate.getThreadPoolQueueCapacity();
+    }
+
     /**
      * Sets intent for the events which should be received.
      *
@@ -0,0 +1,96 @@
+package org.javacord.api;
+
+import org.javacord.api.entity.server.Server;
+import org.javacord.api.entity.user.User;
+import org.javacord.api.util.concurrent.ThreadPool;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * A group of shards which were logged in together in the same JVM.
+ *
+ * <p>The shards of a group share the central executor service and schedulers of their thread pool, the http client
+ * and the ratelimit buckets for REST requests. Every shard is still a separate {@link DiscordApi} instance with its
+ * own gateway connection and cache.
+ *
+ * @see DiscordApiBuilder#loginShards(int...)
+ */
+public interface ShardGroup {
+
+    /**
+     * Gets the total amount of shards of the bot.
+     *
+     * @return The total amount of shards.
+     */
+    int getTotalShards();
+
+    /**
+     * Gets the shards of this group which were created so far, sorted by their shard id.
+     *
+     * @return The shards of this group.
+     */
+    Collection<DiscordApi> getShards();
+
+    /**
+     * Gets the shard with the given id if it belongs to this group.
+     *
+     * @param shard The id of the shard.
+     * @return The shard with the given id.
+     */
+    Optional<DiscordApi> getShard(int shard);
+
+    /**
+     * Gets the shard which receives the events of the server with the given id if it belongs to this group.
+     *
+     * @param serverId The id of the server.
+     * @return The shard of the server.
+     */
+    Optional<DiscordApi> getShardOf(long serverId);
+
+    /**
+     * Gets the thread pool which is shared by all shards of this group.
+     *
+     * @return The shared thread pool.
+     */
+    ThreadPool getThreadPool();
+
+    /**
+     * Gets all servers of all shards of this group.
+     *
+     * @return All servers of all shards.
+     */
+    Collection<Server> getServers();
+
+    /**
+     * Gets a server by its id from the shard it belongs to.
+     *
+     * @param id The id of the server.
+     * @return The server with the given id.
+     */
+    default Optional<Server> getServerById(long id) {
+        return getShardOf(id).flatMap(shard -> shard.getServerById(id));
+    }
+
+    /**
+     * Gets a user by its id from the cache of any shard of this group.
+     *
+     * @param id The id of the user.
+     * @return The user with the given id.
+     */
+    default Optional<User> getCachedUserById(long id) {
+        return getShards().stream()
+                .map(shard -> shard.getCachedUserById(id))
+                .filter(Optional::isPresent)
+                .map(Optional::get)
+                .findAny();
+    }
+
+    /**
+     * Disconnects all shards of this group.
+     */
+    default void disconnect() {
+        getShards().forEach(DiscordApi::disconnect);
+    }
+
+}
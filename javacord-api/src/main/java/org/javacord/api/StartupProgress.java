@@ -0,0 +1,50 @@
+package org.javacord.api;
+
+/**
+ * The progress of loading the servers and members after the bot (re)connected with a new session.
+ *
+ * <p>The counts only cover the servers which were unavailable or not ready when the session started. They are not
+ * updated anymore once the startup is finished.
+ *
+ * @see DiscordApi#getStartupProgress()
+ */
+public interface StartupProgress {
+
+    /**
+     * Checks if the startup is finished.
+     *
+     * <p>The startup is finished once all servers are loaded or there was no progress for a longer time.
+     *
+     * @return Whether the startup is finished or not.
+     */
+    boolean isFinished();
+
+    /**
+     * Gets the amount of servers which have to be loaded.
+     *
+     * @return The amount of servers which have to be loaded.
+     */
+    int getExpectedServerCount();
+
+    /**
+     * Gets the amount of servers which are loaded.
+     *
+     * @return The amount of servers which are loaded.
+     */
+    int getLoadedServerCount();
+
+    /**
+     * Gets the total amount of members of the servers which are loaded or not loaded yet.
+     *
+     * @return The total amount of members.
+     */
+    long getExpectedMemberCount();
+
+    /**
+     * Gets the amount of cached members of the servers which are loaded or not loaded yet.
+     *
+     * @return The amount of cached members.
+     */
+    long getLoadedMemberCount();
+
+}
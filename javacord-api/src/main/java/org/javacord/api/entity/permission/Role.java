@@ -77,6 +77,15 @@ public interface Role extends DiscordEntity, Mentionable, Nameable, Permissionab
      */
     Collection<User> getUsers();
 
+    /**
+     * Gets the amount of users who have this role.
+     *
+     * <p>Only cached members are counted. This is a cheap alternative to {@code getUsers().size()}.
+     *
+     * @return The amount of users who have this role.
+     */
+    int getUserCount();
+
     /**
      * Checks whether the specified users has this role.
      *
@@ -445,6 +445,16 @@ public interface Server extends DiscordEntity, Nameable, UpdatableFromCache<Serv
      */
     boolean hasAllMembersInCache();
 
+    /**
+     * Gets the progress of loading the members of the server into the cache.
+     *
+     * <p>While the members are requested from Discord, this is the fraction of the received member chunks.
+     * Otherwise, it is the fraction of the cached members.
+     *
+     * @return The progress between {@code 0} and {@code 1}.
+     */
+    double getMemberLoadingProgress();
+
     /**
      * Gets a collection with all members of the server.
      *
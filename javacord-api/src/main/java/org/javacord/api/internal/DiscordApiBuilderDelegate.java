@@ -6,7 +6,12 @@ import org.javacord.api.DiscordApiBuilder;
 import org.javacord.api.entity.intent.Intent;
 import org.javacord.api.listener.GloballyAttachableListener;
 import org.javacord.api.util.auth.Authenticator;
+import org.javacord.api.util.cache.CacheSnapshotStorage;
+import org.javacord.api.util.cache.EntityCacheType;
+import org.javacord.api.util.concurrent.ThreadPoolType;
+import org.javacord.api.util.ratelimit.IdentifyRatelimiter;
 import org.javacord.api.util.ratelimit.Ratelimiter;
+import org.javacord.api.util.rest.RestRequestOriginCapture;
 
 import java.net.Proxy;
 import java.net.ProxySelector;
@@ -37,6 +42,14 @@ public interface DiscordApiBuilderDelegate {
      */
     void setGatewayIdentifyRatelimiter(Ratelimiter ratelimiter);
 
+    /**
+     * Sets a ratelimiter that is used to control the gateway identify ratelimit of the concurrency buckets of
+     * shards.
+     *
+     * @param identifyRatelimiter The ratelimiter used to control the gateway identify ratelimit.
+     */
+    void setIdentifyRatelimiter(IdentifyRatelimiter identifyRatelimiter);
+
     /**
      * Sets the proxy selector which should be used to determine the proxies that should be used to connect to the
      * Discord REST API and websocket.
@@ -171,6 +184,126 @@ public interface DiscordApiBuilderDelegate {
      */
     boolean isShutdownHookRegistrationEnabled();
 
+    /**
+     * Sets the type of the cache that is used to store entities like channels and members.
+     *
+     * @param entityCacheType The type of the entity cache.
+     */
+    void setEntityCacheType(EntityCacheType entityCacheType);
+
+    /**
+     * Gets the type of the cache that is used to store entities like channels and members.
+     *
+     * @return The type of the entity cache.
+     * @see #setEntityCacheType(EntityCacheType)
+     */
+    EntityCacheType getEntityCacheType();
+
+    /**
+     * Sets if the gateway connection should use {@code zlib-stream} transport compression.
+     *
+     * @param transportCompression Whether transport compression should be used or not.
+     */
+    void setTransportCompressionEnabled(boolean transportCompression);
+
+    /**
+     * Checks if the gateway connection should use {@code zlib-stream} transport compression.
+     *
+     * @return Whether transport compression will be used or not.
+     * @see #setTransportCompressionEnabled(boolean)
+     */
+    boolean isTransportCompressionEnabled();
+
+    /**
+     * Sets the amount of lanes that are used to handle the packets received from Discord.
+     *
+     * @param packetHandlerLanes The amount of lanes.
+     */
+    void setPacketHandlerLanes(int packetHandlerLanes);
+
+    /**
+     * Gets the amount of lanes that are used to handle the packets received from Discord.
+     *
+     * @return The amount of lanes.
+     * @see #setPacketHandlerLanes(int)
+     */
+    int getPacketHandlerLanes();
+
+    /**
+     * Sets how the origin of REST requests is captured.
+     *
+     * @param restRequestOriginCapture How the origin of REST requests is captured.
+     */
+    void setRestRequestOriginCapture(RestRequestOriginCapture restRequestOriginCapture);
+
+    /**
+     * Gets how the origin of REST requests is captured.
+     *
+     * @return How the origin of REST requests is captured.
+     * @see #setRestRequestOriginCapture(RestRequestOriginCapture)
+     */
+    RestRequestOriginCapture getRestRequestOriginCapture();
+
+    /**
+     * Sets the storage for snapshots of the cache.
+     *
+     * @param cacheSnapshotStorage The storage for snapshots of the cache.
+     */
+    void setCacheSnapshotStorage(CacheSnapshotStorage cacheSnapshotStorage);
+
+    /**
+     * Gets the storage for snapshots of the cache.
+     *
+     * @return The storage for snapshots of the cache.
+     * @see #setCacheSnapshotStorage(CacheSnapshotStorage)
+     */
+    Optional<CacheSnapshotStorage> getCacheSnapshotStorage();
+
+    /**
+     * Sets the type of the central executor service of the thread pool.
+     *
+     * @param threadPoolType The type of the central executor service.
+     */
+    void setThreadPoolType(ThreadPoolType threadPoolType);
+
+    /**
+     * Gets the type of the central executor service of the thread pool.
+     *
+     * @return The type of the central executor service.
+     * @see #setThreadPoolType(ThreadPoolType)
+     */
+    ThreadPoolType getThreadPoolType();
+
+    /**
+     * Sets the maximum amount of threads of the central executor service.
+     *
+     * @param maxThreads The maximum amount of threads.
+     */
+    void setThreadPoolMaxThreads(int maxThreads);
+
+    /**
+     * Gets the maximum amount of threads of the central executor service.
+     *
+     * @return The maximum amount of threads.
+     * @see #setThreadPoolMaxThreads(int)
+     */
+    int getThreadPoolMaxThreads();
+
+    /**
+     * Sets the capacity of the work queue of the central executor service.
+     *
+     * @param queueCapacity The capacity of the work queue.
+     */
+    void setThreadPoolQueueCapacity(int queueCapacity);
+
+    /**
+     * Gets the capacity of the work queue of the central executor service.
+     *
+     * @return The capacity of the work queue.
+     * @see #setThreadPoolQueueCapacity(int)
+     */
+    int getThreadPoolQueueCapacity();
+
     /**
      * Sets the intents where the given predicate matches.
      *
@@ -0,0 +1,75 @@
+package org.javacord.api.util.cache;
+
+import org.javacord.api.DiscordApiBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Optional;
+
+/**
+ * Stores snapshots of the cache of shards.
+ *
+ * <p>A snapshot contains the cached servers with their channels, roles and members, and the gateway session of the
+ * shard. It is saved when the shard is disconnected and restored on the next login of the same shard. If the session
+ * can still be resumed, the shard continues where it stopped instead of loading all servers and members again.
+ * Otherwise, the restored cache is replaced as usual.
+ *
+ * <p>The content of a snapshot is an implementation detail of Javacord and may change between versions. Snapshots of
+ * other versions are ignored.
+ *
+ * @see FileCacheSnapshotStorage
+ * @see DiscordApiBuilder#setCacheSnapshotStorage(CacheSnapshotStorage)
+ */
+public interface CacheSnapshotStorage {
+
+    /**
+     * Loads the snapshot of the given shard.
+     *
+     * <p>The returned buffer may be backed by the stored snapshot, e.g. a memory-mapped file. It is still referenced
+     * when the snapshot is deleted or replaced afterwards, so the storage must tolerate this or return a copy.
+     *
+     * @param shard The id of the shard.
+     * @return The snapshot or an empty optional if there is no snapshot of the shard.
+     * @throws IOException If the snapshot could not be loaded.
+     */
+    Optional<ByteBuffer> load(int shard) throws IOException;
+
+    /**
+     * Saves the snapshot of the given shard, replacing any previous snapshot of the shard.
+     *
+     * <p>The snapshot is streamed into the output stream which is passed to the writer, so it never has to be held in
+     * memory as a whole. The output stream should be buffered and must not be closed by the writer.
+     *
+     * @param shard The id of the shard.
+     * @param writer The writer which writes the snapshot.
+     * @throws IOException If the snapshot could not be saved.
+     */
+    void save(int shard, SnapshotWriter writer) throws IOException;
+
+    /**
+     * Deletes the snapshot of the given shard.
+     * Snapshots are deleted once they were restored, as they can only be used once.
+     *
+     * @param shard The id of the shard.
+     * @throws IOException If the snapshot could not be deleted.
+     */
+    void delete(int shard) throws IOException;
+
+    /**
+     * Writes a snapshot.
+     */
+    @FunctionalInterface
+    interface SnapshotWriter {
+
+        /**
+         * Writes the snapshot to the given output stream.
+         *
+         * @param out The output stream.
+         * @throws IOException If the snapshot could not be written.
+         */
+        void writeTo(OutputStream out) throws IOException;
+
+    }
+
+}
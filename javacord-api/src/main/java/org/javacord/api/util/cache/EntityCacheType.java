@@ -0,0 +1,26 @@
+package org.javacord.api.util.cache;
+
+/**
+ * This enum contains the different implementations which can be used to cache entities like channels, members and
+ * user presences.
+ */
+public enum EntityCacheType {
+
+    /**
+     * A cache based on immutable persistent collections.
+     *
+     * <p>Every modification creates a new version of the cache, which makes all collections returned by the cache
+     * consistent snapshots. However, all modifications are serialized per shard, which can become a bottleneck for
+     * bots with very high update rates. This is the default.
+     */
+    IMMUTABLE,
+
+    /**
+     * A cache based on mutable concurrent maps, striped by server or channel.
+     *
+     * <p>Modifications of unrelated entities do not contend with each other, which scales a lot better under heavy
+     * write load. The collections returned by the cache are weakly consistent views instead of snapshots.
+     */
+    CONCURRENT
+
+}
@@ -0,0 +1,116 @@
+package org.javacord.api.util.cache;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * An implementation of {@code CacheSnapshotStorage} which stores the snapshot of every shard in a file.
+ *
+ * <p>Snapshots are memory-mapped when they are loaded, so they are not copied to the heap as a whole. On Windows,
+ * a file cannot be deleted or replaced while it is mapped, so snapshots are read into the heap there instead. A
+ * snapshot is written to a temporary file first and then moved to its final location, so a crash while saving never
+ * leaves a broken snapshot behind.
+ */
+public class FileCacheSnapshotStorage implements CacheSnapshotStorage {
+
+    /**
+     * Whether the platform allows deleting and replacing files which are memory-mapped.
+     */
+    private static final boolean MAPPED_FILES_DELETABLE =
+            !System.getProperty("os.name", "").toLowerCase(Locale.ROOT).startsWith("windows");
+
+    private final Path directory;
+
+    /**
+     * Whether snapshots are memory-mapped when they are loaded.
+     */
+    private final boolean mapSnapshots;
+
+    /**
+     * Creates a new file cache snapshot storage.
+     *
+     * @param directory The directory which contains the snapshots. It is created if it does not exist.
+     */
+    public FileCacheSnapshotStorage(Path directory) {
+        this(directory, MAPPED_FILES_DELETABLE);
+    }
+
+    /**
+     * Creates a new file cache snapshot storage.
+     *
+     * @param directory The directory which contains the snapshots. It is created if it does not exist.
+     * @param mapSnapshots Whether snapshots are memory-mapped when they are loaded or read into the heap.
+     */
+    FileCacheSnapshotStorage(Path directory, boolean mapSnapshots) {
+        this.directory = directory;
+        this.mapSnapshots = mapSnapshots;
+    }
+
+    /**
+     * Gets the directory which contains the snapshots.
+     *
+     * @return The directory which contains the snapshots.
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Gets the file of the snapshot of the given shard.
+     *
+     * @param shard The id of the shard.
+     * @return The file of the snapshot.
+     */
+    public Path getSnapshotFile(int shard) {
+        return directory.resolve("shard-" + shard + ".snapshot");
+    }
+
+    @Override
+    public Optional<ByteBuffer> load(int shard) throws IOException {
+        Path file = getSnapshotFile(shard);
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+        if (!mapSnapshots) {
+            return Optional.of(ByteBuffer.wrap(Files.readAllBytes(file)));
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel was closed
+            return Optional.of(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    @Override
+    public void save(int shard, SnapshotWriter writer) throws IOException {
+        Files.createDirectories(directory);
+        Path file = getSnapshotFile(shard);
+        Path temporaryFile = Files.createTempFile(directory, "shard-" + shard, ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporaryFile, StandardOpenOption.WRITE)) {
+                OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel));
+                writer.writeTo(out);
+                out.flush();
+                channel.force(true);
+            }
+            Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    @Override
+    public void delete(int shard) throws IOException {
+        Files.deleteIfExists(getSnapshotFile(shard));
+    }
+
+}
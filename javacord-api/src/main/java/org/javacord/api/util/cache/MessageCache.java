@@ -7,7 +7,6 @@ public interface MessageCache {
 
     /**
      * Gets the capacity of the message cache.
-     * Please notice that the cache is cleared only once every minute!
      *
      * @return The capacity of the message cache.
      */
@@ -16,7 +15,7 @@ public interface MessageCache {
     /**
      * Sets the capacity of the message cache.
      * Messages which are cached forever are not included in this limit.
-     * Please notice that the cache is cleared only once every minute!
+     * If automatic cleanup is enabled, the oldest messages are removed as soon as the capacity is exceeded.
      *
      * @param capacity The capacity of the message cache.
      */
@@ -24,7 +23,7 @@ public interface MessageCache {
 
     /**
      * Gets the maximum age of the message in seconds.
-     * Please notice that the cache is cleared only once every minute!
+     * Please notice that old messages are only removed every 30 seconds!
      *
      * @return The maximum age of the message in seconds.
      */
@@ -32,7 +31,7 @@ public interface MessageCache {
 
     /**
      * Sets maximum age of old messages in seconds.
-     * Please notice that the cache is cleared only once every minute!
+     * Please notice that old messages are only removed every 30 seconds!
      *
      * @param storageTimeInSeconds The maximum age in seconds.
      */
@@ -16,6 +16,44 @@ public interface ThreadPool {
      */
     ExecutorService getExecutorService();
 
+    /**
+     * Gets the type of the used executor service.
+     *
+     * @return The type of the used executor service. Never {@link ThreadPoolType#AUTOMATIC}.
+     */
+    ThreadPoolType getType();
+
+    /**
+     * Gets the amount of tasks which are currently executed by the used executor service.
+     *
+     * @return The amount of currently executed tasks.
+     */
+    int getActiveTaskCount();
+
+    /**
+     * Gets the amount of tasks which are waiting in the work queue of the used executor service.
+     *
+     * <p>Only executor services of type {@link ThreadPoolType#BOUNDED} queue tasks, all other types always
+     * return {@code 0}.
+     *
+     * @return The amount of queued tasks.
+     */
+    int getQueuedTaskCount();
+
+    /**
+     * Gets the amount of tasks which were executed by the submitting thread, because all threads of the used executor
+     * service were busy and its work queue was full. If the submitting thread is an internal thread of Javacord, like
+     * a scheduler, the task is executed by a separate overflow thread instead, so that it does not block the internal
+     * thread.
+     *
+     * <p>A steadily increasing value means that the executor service is too small for the load of the bot.
+     * Only executor services of type {@link ThreadPoolType#BOUNDED} reject tasks, all other types always
+     * return {@code 0}.
+     *
+     * @return The amount of tasks which were executed by the submitting thread.
+     */
+    long getCallerRunsTaskCount();
+
     /**
      * Gets the used scheduler.
      *
@@ -0,0 +1,36 @@
+package org.javacord.api.util.concurrent;
+
+/**
+ * This enum contains the different kinds of executor services which can be used as the central executor service of
+ * the {@link ThreadPool}.
+ */
+public enum ThreadPoolType {
+
+    /**
+     * Uses {@link #VIRTUAL} if the JVM supports virtual threads (Java 21 or newer) and {@link #CACHED} otherwise.
+     * This is the default.
+     */
+    AUTOMATIC,
+
+    /**
+     * An executor service which creates a new platform thread whenever no idle thread is available.
+     *
+     * <p>The amount of threads is not limited, so bursts of blocking tasks can create a lot of threads.
+     */
+    CACHED,
+
+    /**
+     * An executor service with a limited amount of platform threads and a limited work queue.
+     *
+     * <p>If all threads are busy and the work queue is full, submitted tasks are executed by the submitting thread,
+     * which slows down the producers of new tasks until the executor service catches up. Tasks which are submitted by
+     * internal threads of Javacord are executed one after another by a separate overflow thread instead.
+     */
+    BOUNDED,
+
+    /**
+     * An executor service which executes every task on a new virtual thread. Requires Java 21 or newer.
+     */
+    VIRTUAL
+
+}
@@ -0,0 +1,41 @@
+package org.javacord.api.util.ratelimit;
+
+import org.javacord.api.DiscordApiBuilder;
+
+/**
+ * Can be used to implement the gateway identify ratelimit of shards.
+ *
+ * <p>Discord allows {@code max_concurrency} shards to identify at the same time. The shards are split into
+ * {@code max_concurrency} buckets by {@code shard_id % max_concurrency} and every bucket allows one identify per
+ * 5 seconds. Implementations can coordinate the identifies of shards which run in multiple Java programs, e.g. by
+ * storing the buckets in a shared database.
+ *
+ * @see LocalIdentifyRatelimiter
+ * @see DiscordApiBuilder#setIdentifyRatelimiter(IdentifyRatelimiter)
+ * @see <a href="https://discord.com/developers/docs/topics/gateway#sharding-max-concurrency">Discord Docs</a>
+ */
+public interface IdentifyRatelimiter {
+
+    /**
+     * Blocks the requesting thread until the given shard is allowed to identify.
+     *
+     * @param shard The id of the shard which wants to identify.
+     * @param maxConcurrency The amount of shards which are allowed to identify at the same time.
+     * @throws InterruptedException if any thread has interrupted the current thread.
+     *                              The interrupted status of the current thread is cleared when this exception is
+     *                              thrown.
+     */
+    void requestQuota(int shard, int maxConcurrency) throws InterruptedException;
+
+    /**
+     * Gets the bucket of the given shard.
+     *
+     * @param shard The id of the shard.
+     * @param maxConcurrency The amount of shards which are allowed to identify at the same time.
+     * @return The bucket of the shard.
+     */
+    static int getBucket(int shard, int maxConcurrency) {
+        return shard % Math.max(maxConcurrency, 1);
+    }
+
+}
@@ -0,0 +1,53 @@
+package org.javacord.api.util.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An implementation of {@code IdentifyRatelimiter} which keeps its buckets in memory.
+ *
+ * <p>It only coordinates the shards in the same Java program. Every bucket is a {@link LocalRatelimiter} which allows
+ * one identify per bucket duration.
+ */
+public class LocalIdentifyRatelimiter implements IdentifyRatelimiter {
+
+    /**
+     * The default duration of a bucket, which leaves a small margin to the real 5 second ratelimit.
+     */
+    public static final Duration DEFAULT_BUCKET_DURATION = Duration.ofMillis(5500);
+
+    private final Duration bucketDuration;
+    private final ConcurrentHashMap<Integer, LocalRatelimiter> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new local identify ratelimiter which allows one identify per 5500ms and bucket.
+     */
+    public LocalIdentifyRatelimiter() {
+        this(DEFAULT_BUCKET_DURATION);
+    }
+
+    /**
+     * Creates a new local identify ratelimiter.
+     *
+     * @param bucketDuration The time to wait until a bucket allows the next identify.
+     */
+    public LocalIdentifyRatelimiter(Duration bucketDuration) {
+        this.bucketDuration = bucketDuration;
+    }
+
+    /**
+     * Gets the time to wait until a bucket allows the next identify.
+     *
+     * @return The time to wait until a bucket allows the next identify.
+     */
+    public Duration getBucketDuration() {
+        return bucketDuration;
+    }
+
+    @Override
+    public void requestQuota(int shard, int maxConcurrency) throws InterruptedException {
+        buckets.computeIfAbsent(IdentifyRatelimiter.getBucket(shard, maxConcurrency),
+                bucket -> new LocalRatelimiter(1, bucketDuration)).requestQuota();
+    }
+
+}
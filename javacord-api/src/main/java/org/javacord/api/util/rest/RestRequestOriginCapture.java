@@ -0,0 +1,34 @@
+package org.javacord.api.util.rest;
+
+/**
+ * This enum contains the different ways to capture the origin of REST requests.
+ *
+ * <p>The origin is the cause of a {@link org.javacord.api.exception.DiscordException} if a request fails and helps to
+ * find the code which sent the request. As REST requests are executed asynchronously, the origin has to be captured
+ * for every request, even though it is only used by failed requests.
+ */
+public enum RestRequestOriginCapture {
+
+    /**
+     * Captures the complete stack trace of every request. This is the default.
+     */
+    FULL,
+
+    /**
+     * Captures the complete stack trace of every 100th request and no origin for all other requests.
+     */
+    SAMPLED,
+
+    /**
+     * Captures only the first stack frame outside of Javacord and the JDK, which is usually the code that sent the
+     * request. This is a lot cheaper than {@link #FULL}, but requires Java 9 or newer. On older versions the complete
+     * stack trace is captured.
+     */
+    CALLER,
+
+    /**
+     * Captures no origin at all.
+     */
+    NONE
+
+}
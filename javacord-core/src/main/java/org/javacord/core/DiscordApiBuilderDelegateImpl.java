@@ -9,7 +9,14 @@ import org.javacord.api.entity.intent.Intent;
 import org.javacord.api.internal.DiscordApiBuilderDelegate;
 import org.javacord.api.listener.GloballyAttachableListener;
 import org.javacord.api.util.auth.Authenticator;
+import org.javacord.api.util.cache.CacheSnapshotStorage;
+import org.javacord.api.util.cache.EntityCacheType;
+import org.javacord.api.util.concurrent.ThreadPoolType;
+import org.javacord.api.util.ratelimit.IdentifyRatelimiter;
 import org.javacord.api.util.ratelimit.Ratelimiter;
+import org.javacord.api.util.rest.RestRequestOriginCapture;
+import org.javacord.core.util.concurrent.ThreadPoolImpl;
+import org.javacord.core.util.concurrent.VirtualThreads;
 import org.javacord.core.util.gateway.DiscordWebSocketAdapter;
 import org.javacord.core.util.logging.LoggerUtil;
 import org.javacord.core.util.logging.PrivacyProtectionLogger;
@@ -61,6 +68,11 @@ public class DiscordApiBuilderDelegateImpl implements DiscordApiBuilderDelegate
      */
     private volatile Ratelimiter gatewayIdentifyRatelimiter;
 
+    /**
+     * A ratelimiter used to respect the gateway identify ratelimit of the concurrency buckets of shards.
+     */
+    private volatile IdentifyRatelimiter identifyRatelimiter;
+
     /**
      * The proxy selector which should be used to determine the proxies that should be used to connect to the Discord
      * REST API and websocket.
@@ -123,6 +135,46 @@ public class DiscordApiBuilderDelegateImpl implements DiscordApiBuilderDelegate
      */
     private volatile boolean registerShutdownHook = true;
 
+    /**
+     * The type of the entity cache.
+     */
+    private volatile EntityCacheType entityCacheType = EntityCacheType.IMMUTABLE;
+
+    /**
+     * Whether the gateway connection should use transport compression or not.
+     */
+    private volatile boolean transportCompression = true;
+
+    /**
+     * The amount of lanes that are used to handle packets.
+     */
+    private volatile int packetHandlerLanes = 1;
+
+    /**
+     * How the origin of REST requests is captured.
+     */
+    private volatile RestRequestOriginCapture restRequestOriginCapture = RestRequestOriginCapture.FULL;
+
+    /**
+     * The storage for snapshots of the cache.
+     */
+    private volatile CacheSnapshotStorage cacheSnapshotStorage;
+
+    /**
+     * The type of the central executor service of the thread pool.
+     */
+    private volatile ThreadPoolType threadPoolType = ThreadPoolType.AUTOMATIC;
+
+    /**
+     * The maximum amount of threads of the central executor service.
+     */
+    private volatile int threadPoolMaxThreads = ThreadPoolImpl.DEFAULT_MAX_THREADS;
+
+    /**
+     * The capacity of the work queue of the central executor service.
+     */
+    private volatile int threadPoolQueueCapacity = ThreadPoolImpl.DEFAULT_QUEUE_CAPACITY;
+
     /**
      * The intents. Default are all intents except the privileged
      */
@@ -182,6 +234,16 @@ public class DiscordApiBuilderDelegateImpl implements DiscordApiBuilderDelegate
 
     @Override
     public CompletableFuture<DiscordApi> login() {
+        return login(null);
+    }
+
+    /**
+     * Logins to the current shard.
+     *
+     * @param shardGroup The group of the shard or {@code null} if it is not part of a group.
+     * @return The discord api instance.
+     */
+    private CompletableFuture<DiscordApi> login(ShardGroupImpl shardGroup) {
         prepareListeners();
         logger.debug("Creating shard {} of {}", currentShard.get() + 1, totalShards.get());
         CompletableFuture<DiscordApi> future = new CompletableFuture<>();
@@ -194,7 +256,12 @@ public class DiscordApiBuilderDelegateImpl implements DiscordApiBuilderDelegate
             new DiscordApiImpl(accountType, token, currentShard.get(), totalShards.get(), intents,
                     waitForServersOnStartup, waitForUsersOnStartup, registerShutdownHook, globalRatelimiter,
                     gatewayIdentifyRatelimiter, proxySelector, proxy, proxyAuthenticator, trustAllCertificates,
-                    future, null, preparedListeners, preparedUnspecifiedListeners);
+                    future, null, preparedListeners, preparedUnspecifiedListeners, entityCacheType,
+                    transportCompression, packetHandlerLanes,
+                    shardGroup == null
+                            ? new ThreadPoolImpl(threadPoolType, threadPoolMaxThreads, threadPoolQueueCapacity)
+                            : shardGroup.createShardThreadPool(currentShard.get()),
+                    restRequestOriginCapture, shardGroup, identifyRatelimiter, cacheSnapshotStorage);
         }
         return future;
     }
@@ -257,6 +324,10 @@ public class DiscordApiBuilderDelegateImpl implements DiscordApiBuilderDelegate
 
         Collection<CompletableFuture<DiscordApi>> result = new ArrayList<>(shards.length);
         int currentShard = getCurrentShard();
+        // The shards share their thread pool, http client and ratelimit buckets
+        ShardGroupImpl shardGroup = token == null || currentShard != 0 ? null : new ShardGroupImpl(
+                getTotalShards(), shards.length,
+                new ThreadPoolImpl(threadPoolType, threadPoolMaxThreads, threadPoolQueueCapacity));
         for (int shard : shards) {
             if (currentShard != 0) {
                 CompletableFuture<DiscordApi> future = new CompletableFuture<>();
@@ -266,7 +337,7 @@ public class DiscordApiBuilderDelegateImpl implements DiscordApiBuilderDelegate
                 continue;
             }
             setCurrentShard(shard);
-            result.add(login());
+            result.add(login(shardGroup));
         }
         setCurrentShard(currentShard);
         return result;
@@ -282,6 +353,11 @@ public class DiscordApiBuilderDelegateImpl implements DiscordApiBuilderDelegate
         gatewayIdentifyRatelimiter = ratelimiter;
     }
 
+    @Override
+    public void setIdentifyRatelimiter(IdentifyRatelimiter identifyRatelimiter) {
+        this.identifyRatelimiter = identifyRatelimiter;
+    }
+
     @Override
     public void setProxySelector(ProxySelector proxySelector) {
         this.proxySelector = proxySelector;
@@ -385,6 +461,101 @@ public class DiscordApiBuilderDelegateImpl implements DiscordApiBuilderDelegate
         return registerShutdownHook;
     }
 
+    @Override
+    public void setEntityCacheType(EntityCacheType entityCacheType) {
+        this.entityCacheType = Objects.requireNonNull(entityCacheType);
+    }
+
+    @Override
+    public EntityCacheType getEntityCacheType() {
+        return entityCacheType;
+    }
+
+    @Override
+    public void setTransportCompressionEnabled(boolean transportCompression) {
+        this.transportCompression = transportCompression;
+    }
+
+    @Override
+    public boolean isTransportCompressionEnabled() {
+        return transportCompression;
+    }
+
+    @Override
+    public void setPacketHandlerLanes(int packetHandlerLanes) {
+        if (packetHandlerLanes < 1) {
+            throw new IllegalArgumentException("packetHandlerLanes cannot be less than 1!");
+        }
+        this.packetHandlerLanes = packetHandlerLanes;
+    }
+
+    @Override
+    public int getPacketHandlerLanes() {
+        return packetHandlerLanes;
+    }
+
+    @Override
+    public void setRestRequestOriginCapture(RestRequestOriginCapture restRequestOriginCapture) {
+        if (restRequestOriginCapture == null) {
+            throw new IllegalArgumentException("restRequestOriginCapture cannot be null!");
+        }
+        this.restRequestOriginCapture = restRequestOriginCapture;
+    }
+
+    @Override
+    public RestRequestOriginCapture getRestRequestOriginCapture() {
+        return restRequestOriginCapture;
+    }
+
+    @Override
+    public void setCacheSnapshotStorage(CacheSnapshotStorage cacheSnapshotStorage) {
+        this.cacheSnapshotStorage = cacheSnapshotStorage;
+    }
+
+    @Override
+    public Optional<CacheSnapshotStorage> getCacheSnapshotStorage() {
+        return Optional.ofNullable(cacheSnapshotStorage);
+    }
+
+    @Override
+    public void setThreadPoolType(ThreadPoolType threadPoolType) {
+        if (threadPoolType == ThreadPoolType.VIRTUAL && !VirtualThreads.isSupported()) {
+            throw new IllegalArgumentException("Virtual threads require Java 21 or newer!");
+        }
+        this.threadPoolType = Objects.requireNonNull(threadPoolType);
+    }
+
+    @Override
+    public ThreadPoolType getThreadPoolType() {
+        return threadPoolType;
+    }
+
+    @Override
+    public void setThreadPoolMaxThreads(int maxThreads) {
+        if (maxThreads < 1) {
+            throw new IllegalArgumentException("maxThreads cannot be less than 1!");
+        }
+        this.threadPoolMaxThreads = maxThreads;
+    }
+
+    @Override
+    public int getThreadPoolMaxThreads() {
+        return threadPoolMaxThreads;
+    }
+
+    @Override
+    public void setThreadPoolQueueCapacity(int queueCapacity) {
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("queueCapacity cannot be less than 1!");
+        }
+        this.threadPoolQueueCapacity = queueCapacity;
+    }
+
+    @Override
+    public int getThreadPoolQueueCapacity() {
+        return threadPoolQueueCapacity;
+    }
+
     @Override
     public void setAllIntentsWhere(Predicate<Intent> condition) {
         intents = new HashSet<>();
@@ -418,6 +589,8 @@ public class DiscordApiBuilderDelegateImpl implements DiscordApiBuilderDelegate
                 .thenAccept(resultJson -> {
                     DiscordWebSocketAdapter.setGateway(resultJson.get("url").asText());
                     setTotalShards(resultJson.get("shards").asInt());
+                    DiscordWebSocketAdapter.setMaxConcurrency(
+                            token, resultJson.path("session_start_limit").path("max_concurrency").asInt(1));
                     retryAttempt.set(0);
                     future.complete(null);
                 })
@@ -10,6 +10,8 @@ import org.apache.logging.log4j.Logger;
 import org.javacord.api.AccountType;
 import org.javacord.api.DiscordApi;
 import org.javacord.api.Javacord;
+import org.javacord.api.ShardGroup;
+import org.javacord.api.StartupProgress;
 import org.javacord.api.entity.ApplicationInfo;
 import org.javacord.api.entity.activity.Activity;
 import org.javacord.api.entity.activity.ActivityType;
@@ -29,6 +31,7 @@ import org.javacord.api.entity.intent.Intent;
 import org.javacord.api.entity.message.Message;
 import org.javacord.api.entity.message.MessageSet;
 import org.javacord.api.entity.message.UncachedMessageUtil;
+import org.javacord.api.entity.permission.Role;
 import org.javacord.api.entity.server.Server;
 import org.javacord.api.entity.server.invite.Invite;
 import org.javacord.api.entity.user.User;
@@ -37,10 +40,15 @@ import org.javacord.api.entity.webhook.Webhook;
 import org.javacord.api.listener.GloballyAttachableListener;
 import org.javacord.api.listener.ObjectAttachableListener;
 import org.javacord.api.util.auth.Authenticator;
+import org.javacord.api.util.cache.CacheSnapshotStorage;
+import org.javacord.api.util.cache.EntityCacheType;
 import org.javacord.api.util.concurrent.ThreadPool;
 import org.javacord.api.util.event.ListenerManager;
+import org.javacord.api.util.ratelimit.IdentifyRatelimiter;
+import org.javacord.api.util.ratelimit.LocalIdentifyRatelimiter;
 import org.javacord.api.util.ratelimit.LocalRatelimiter;
 import org.javacord.api.util.ratelimit.Ratelimiter;
+import org.javacord.api.util.rest.RestRequestOriginCapture;
 import org.javacord.core.audio.AudioConnectionImpl;
 import org.javacord.core.entity.activity.ActivityImpl;
 import org.javacord.core.entity.activity.ApplicationInfoImpl;
@@ -58,12 +66,18 @@ import org.javacord.core.entity.user.UserPresence;
 import org.javacord.core.entity.webhook.WebhookImpl;
 import org.javacord.core.util.ClassHelper;
 import org.javacord.core.util.Cleanupable;
+import org.javacord.core.util.cache.CacheSnapshot;
 import org.javacord.core.util.cache.JavacordEntityCache;
+import org.javacord.core.util.cache.MessageCacheEngine;
+import org.javacord.core.util.cache.MessageIndex;
 import org.javacord.core.util.concurrent.ThreadPoolImpl;
 import org.javacord.core.util.event.DispatchQueueSelector;
 import org.javacord.core.util.event.EventDispatcher;
 import org.javacord.core.util.event.ListenerManagerImpl;
+import org.javacord.core.util.gateway.AudioSendScheduler;
 import org.javacord.core.util.gateway.DiscordWebSocketAdapter;
+import org.javacord.core.util.gateway.PacketHandlerExecutor;
+import org.javacord.core.util.gateway.StartupTracker;
 import org.javacord.core.util.http.ProxyAuthenticator;
 import org.javacord.core.util.http.TrustAllTrustManager;
 import org.javacord.core.util.logging.LoggerUtil;
@@ -72,11 +86,10 @@ import org.javacord.core.util.rest.RestEndpoint;
 import org.javacord.core.util.rest.RestMethod;
 import org.javacord.core.util.rest.RestRequest;
 
-import java.lang.ref.Reference;
-import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
 import java.net.Proxy;
 import java.net.ProxySelector;
+import java.nio.ByteBuffer;
 import java.time.Duration;
 import java.util.AbstractMap.SimpleEntry;
 import java.util.ArrayList;
@@ -88,13 +101,13 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.WeakHashMap;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -129,10 +142,15 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
      */
     private static final Map<String, Ratelimiter> defaultGatewayIdentifyRatelimiter = new ConcurrentHashMap<>();
 
+    /**
+     * A map which contains the default identify ratelimiter for each token.
+     */
+    private static final Map<String, IdentifyRatelimiter> defaultIdentifyRatelimiter = new ConcurrentHashMap<>();
+
     /**
      * The thread pool which is used internally.
      */
-    private final ThreadPoolImpl threadPool = new ThreadPoolImpl();
+    private final ThreadPoolImpl threadPool;
 
     /**
      * The http client for this instance.
@@ -147,12 +165,17 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
     /**
      * The object mapper for this instance.
      */
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ObjectMapper objectMapper;
 
     /**
      * The ratelimit manager for this bot.
      */
-    private final RatelimitManager ratelimitManager = new RatelimitManager(this);
+    private final RatelimitManager ratelimitManager;
+
+    /**
+     * The group of this shard or {@code null} if it was not logged in together with other shards.
+     */
+    private final ShardGroupImpl shardGroup;
 
     /**
      * The utility class to interact with uncached messages.
@@ -260,6 +283,16 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
      */
     private final Ratelimiter gatewayIdentifyRatelimiter;
 
+    /**
+     * The ratelimiter used to respect the gateway identify ratelimit of the concurrency buckets of shards.
+     */
+    private final IdentifyRatelimiter identifyRatelimiter;
+
+    /**
+     * The storage of the cache snapshots or {@code null} if the cache is not saved on disconnect.
+     */
+    private final CacheSnapshotStorage cacheSnapshotStorage;
+
     /**
      * The proxy selector which should be used to determine the proxies that should be used to connect to the Discord
      * REST API and websocket.
@@ -302,9 +335,44 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
     private volatile Long timeOffset = null;
 
     /**
-     * An immutable cache with all Javacord entities.
+     * The cache with all Javacord entities.
+     */
+    private final AtomicReference<JavacordEntityCache> entityCache;
+
+    /**
+     * The type of the entity cache.
+     */
+    private final EntityCacheType entityCacheType;
+
+    /**
+     * Whether the gateway connection should use transport compression or not.
+     */
+    private final boolean transportCompression;
+
+    /**
+     * How the origin of REST requests is captured.
+     */
+    private final RestRequestOriginCapture restRequestOriginCapture;
+
+    /**
+     * The executor for asynchronous packet handlers.
+     */
+    private final PacketHandlerExecutor packetHandlerExecutor;
+
+    /**
+     * The locks which serialize updates of the global state of a user, striped by the id of the user.
+     */
+    private final Object[] userUpdateLocks = new Object[64];
+
+    /**
+     * The scheduler which sends the audio frames of all audio connections.
      */
-    private final AtomicReference<JavacordEntityCache> entityCache = new AtomicReference<>(JavacordEntityCache.empty());
+    private final AudioSendScheduler audioSendScheduler = new AudioSendScheduler(this);
+
+    /**
+     * The engine which maintains the message caches of all channels.
+     */
+    private final MessageCacheEngine messageCacheEngine = new MessageCacheEngine(this);
 
     /**
      * Whether the user cache is enabled or not.
@@ -345,22 +413,9 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
     private final ConcurrentHashMap<Long, KnownCustomEmoji> customEmojis = new ConcurrentHashMap<>();
 
     /**
-     * A map with all cached messages.
-     */
-    private final Map<Long, WeakReference<Message>> messages = Collections.synchronizedMap(new ConcurrentHashMap<>());
-
-    /**
-     * A map to retrieve message IDs by the weak ref that point to the respective
-     * message or used to point to it for usage in the messages cleanup,
-     * as at cleanup time the weak ref is already emptied.
+     * An index with all cached messages.
      */
-    private final Map<Reference<? extends Message>, Long> messageIdByRef
-            = Collections.synchronizedMap(new WeakHashMap<>());
-
-    /**
-     * The queue that is notified if a message became weakly-reachable.
-     */
-    private final ReferenceQueue<Message> messagesCleanupQueue = new ReferenceQueue<>();
+    private final MessageIndex messages = new MessageIndex();
 
     /**
      * A map which contains all globally attachable listeners.
@@ -447,7 +502,9 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
     ) {
         this(accountType, token, currentShard, totalShards, intents, waitForServersOnStartup, waitForUsersOnStartup,
                 true, globalRatelimiter, gatewayIdentifyRatelimiter, proxySelector, proxy, proxyAuthenticator,
-                trustAllCertificates, ready, null, Collections.emptyMap(), Collections.emptyList());
+                trustAllCertificates, ready, null, Collections.emptyMap(), Collections.emptyList(),
+                EntityCacheType.IMMUTABLE, true, 1, new ThreadPoolImpl(),
+                RestRequestOriginCapture.FULL, null, null, null);
     }
 
     /**
@@ -494,7 +551,9 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
             Dns dns) {
         this(accountType, token, currentShard, totalShards, intents, waitForServersOnStartup, waitForUsersOnStartup,
                 true, globalRatelimiter, gatewayIdentifyRatelimiter, proxySelector, proxy, proxyAuthenticator,
-                trustAllCertificates, ready, dns, Collections.emptyMap(), Collections.emptyList());
+                trustAllCertificates, ready, dns, Collections.emptyMap(), Collections.emptyList(),
+                EntityCacheType.IMMUTABLE, true, 1, new ThreadPoolImpl(),
+                RestRequestOriginCapture.FULL, null, null, null);
     }
 
     /**
@@ -524,6 +583,16 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
      *                                      testing.
      * @param listenerSourceMap             The functions to create listeners for pre-registration.
      * @param unspecifiedListeners           The listeners of unspecified types to pre-register.
+     * @param entityCacheType               The type of the entity cache.
+     * @param transportCompression          Whether the gateway connection should use transport compression or not.
+     * @param packetHandlerLanes            The amount of lanes that are used to handle packets.
+     * @param threadPool                    The thread pool which is used internally.
+     * @param restRequestOriginCapture      How the origin of REST requests is captured.
+     * @param shardGroup                    The group of the shard or {@code null} if it is not part of a group.
+     * @param identifyRatelimiter           The ratelimiter used to respect the gateway identify ratelimit of the
+     *                                      concurrency buckets of shards.
+     * @param cacheSnapshotStorage          The storage of the cache snapshots or {@code null} if the cache should not
+     *                                      be saved on disconnect.
      */
     @SuppressWarnings("unchecked")
     public DiscordApiImpl(
@@ -546,7 +615,21 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
             Map<Class<? extends GloballyAttachableListener>,
                     List<Function<DiscordApi,GloballyAttachableListener>>
                     > listenerSourceMap,
-            List<Function<DiscordApi, GloballyAttachableListener>> unspecifiedListeners) {
+            List<Function<DiscordApi, GloballyAttachableListener>> unspecifiedListeners,
+            EntityCacheType entityCacheType,
+            boolean transportCompression,
+            int packetHandlerLanes,
+            ThreadPoolImpl threadPool,
+            RestRequestOriginCapture restRequestOriginCapture,
+            ShardGroupImpl shardGroup,
+            IdentifyRatelimiter identifyRatelimiter,
+            CacheSnapshotStorage cacheSnapshotStorage) {
+        this.threadPool = threadPool;
+        this.shardGroup = shardGroup;
+        this.objectMapper = shardGroup == null ? new ObjectMapper() : shardGroup.getObjectMapper();
+        this.ratelimitManager = shardGroup == null
+                ? new RatelimitManager(this) : shardGroup.getOrCreateRatelimitManager(this);
+        this.restRequestOriginCapture = restRequestOriginCapture;
         this.accountType = accountType;
         this.token = token;
         this.currentShard = currentShard;
@@ -555,11 +638,20 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
         this.waitForUsersOnStartup = waitForUsersOnStartup;
         this.globalRatelimiter = globalRatelimiter;
         this.gatewayIdentifyRatelimiter = gatewayIdentifyRatelimiter;
+        this.identifyRatelimiter = identifyRatelimiter;
+        this.cacheSnapshotStorage = cacheSnapshotStorage;
         this.proxySelector = proxySelector;
         this.proxy = proxy;
         this.proxyAuthenticator = proxyAuthenticator;
         this.trustAllCertificates = trustAllCertificates;
         this.intents = intents;
+        this.entityCacheType = entityCacheType;
+        this.transportCompression = transportCompression;
+        this.packetHandlerExecutor = new PacketHandlerExecutor(this, packetHandlerLanes);
+        this.entityCache = new AtomicReference<>(JavacordEntityCache.empty(entityCacheType));
+        for (int i = 0; i < userUpdateLocks.length; i++) {
+            userUpdateLocks[i] = new Object();
+        }
         userCacheEnabled = intents.contains(Intent.GUILD_MEMBERS);
         this.reconnectDelayProvider = x ->
                 (int) Math.round(Math.pow(x, 1.5) - (1 / (1 / (0.1 * x) + 1)) * Math.pow(x, 1.5));
@@ -572,14 +664,19 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
             throw new IllegalArgumentException("Cannot wait for users when GUILD_MEMBERS intent is not set!");
         }
 
+        Logger httpClientLogger = LoggerUtil.getLogger(OkHttpClient.class);
+        HttpLoggingInterceptor httpLoggingInterceptor =
+                new HttpLoggingInterceptor(httpClientLogger::trace).setLevel(Level.BODY);
         OkHttpClient.Builder httpClientBuilder = new OkHttpClient.Builder()
                 .addInterceptor(chain -> chain.proceed(chain.request()
                         .newBuilder()
                         .addHeader("User-Agent", Javacord.USER_AGENT)
                         .build()))
-                .addInterceptor(
-                        new HttpLoggingInterceptor(LoggerUtil.getLogger(OkHttpClient.class)::trace).setLevel(Level.BODY)
-                )
+                // Logging bodies buffers them completely, even if the log level is disabled,
+                // so the log level is checked for every request instead of once when the client is built
+                .addInterceptor(chain -> httpClientLogger.isTraceEnabled()
+                        ? httpLoggingInterceptor.intercept(chain)
+                        : chain.proceed(chain.request()))
                 .proxyAuthenticator(new ProxyAuthenticator(proxyAuthenticator))
                 .proxy(proxy);
         if (proxySelector != null) {
@@ -594,13 +691,18 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
             TrustAllTrustManager trustManager = new TrustAllTrustManager();
             httpClientBuilder.sslSocketFactory(trustManager.createSslSocketFactory(), trustManager);
         }
-        this.httpClient = httpClientBuilder.build();
+        if (shardGroup == null) {
+            this.httpClient = httpClientBuilder.build();
+        } else {
+            this.httpClient = shardGroup.getOrCreateHttpClient(httpClientBuilder::build);
+            shardGroup.addShard(this);
+        }
         this.eventDispatcher = new EventDispatcher(this);
 
         if (ready != null) {
             getThreadPool().getExecutorService().submit(() -> {
                 try {
-                    this.websocketAdapter = new DiscordWebSocketAdapter(this);
+                    this.websocketAdapter = new DiscordWebSocketAdapter(this, restoreCacheSnapshot());
                     this.websocketAdapter.isReady().whenComplete((readyReceived, throwable) -> {
                         if (readyReceived) {
                             // Register listeners
@@ -643,17 +745,12 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
                 }
             });
 
+            messageCacheEngine.start();
+
             // After minimum JDK 9 is required this can be switched to use a Cleaner
             getThreadPool().getScheduler().scheduleWithFixedDelay(() -> {
                 try {
-                    for (Reference<? extends Message> messageRef = messagesCleanupQueue.poll();
-                            messageRef != null;
-                            messageRef = messagesCleanupQueue.poll()) {
-                        Long messageId = messageIdByRef.remove(messageRef);
-                        if (messageId != null) {
-                            messages.remove(messageId, messageRef);
-                        }
-                    }
+                    messages.expungeStaleEntries();
                 } catch (Throwable t) {
                     logger.error("Failed to process messages cleanup queue!", t);
                 }
@@ -664,7 +761,8 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
                 ready.thenAccept(api -> {
                     WeakReference<DiscordApi> discordApiReference = new WeakReference<>(api);
                     Runtime.getRuntime().addShutdownHook(new Thread(() -> Optional.ofNullable(discordApiReference.get())
-                            .ifPresent(DiscordApi::disconnect),
+                            .map(DiscordApiImpl.class::cast)
+                            .ifPresent(DiscordApiImpl::disconnectAndAwaitCacheSnapshot),
                             String.format("Javacord - Shutdown Disconnector (%s)", api)));
                 });
             }
@@ -678,6 +776,76 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
         }
     }
 
+    /**
+     * Restores the cache of the last cache snapshot of this shard, if a cache snapshot storage is set.
+     *
+     * <p>The snapshot is deleted once it was restored, so a broken or outdated snapshot is never restored twice.
+     *
+     * @return The restored snapshot or {@code null} if no snapshot was restored.
+     */
+    private CacheSnapshot restoreCacheSnapshot() {
+        if (cacheSnapshotStorage == null) {
+            return null;
+        }
+        Optional<ByteBuffer> buffer;
+        try {
+            buffer = cacheSnapshotStorage.load(currentShard);
+        } catch (Throwable t) {
+            logger.warn("Failed to load the cache snapshot. Starting with an empty cache", t);
+            return null;
+        }
+        if (!buffer.isPresent()) {
+            return null;
+        }
+        CacheSnapshot restoredSnapshot = null;
+        try {
+            Optional<CacheSnapshot> snapshot = CacheSnapshot.read(this, buffer.get());
+            if (snapshot.isPresent()) {
+                int serverCount = snapshot.get().restore(this);
+                logger.info("Restored cache snapshot with {} servers. Trying to resume the session", serverCount);
+                restoredSnapshot = snapshot.get();
+            } else {
+                logger.info("Ignoring cache snapshot which belongs to another bot, shard or version");
+            }
+        } catch (Throwable t) {
+            logger.warn("Failed to restore the cache snapshot. Starting with an empty cache", t);
+            purgeCache();
+        }
+        try {
+            cacheSnapshotStorage.delete(currentShard);
+        } catch (Throwable t) {
+            logger.warn("Failed to delete the cache snapshot", t);
+        }
+        return restoredSnapshot;
+    }
+
+    /**
+     * Disconnects the bot and waits until the cache snapshot was saved, if a cache snapshot storage is set.
+     */
+    private void disconnectAndAwaitCacheSnapshot() {
+        disconnect();
+        DiscordWebSocketAdapter websocketAdapter = this.websocketAdapter;
+        if (cacheSnapshotStorage == null || websocketAdapter == null) {
+            return;
+        }
+        try {
+            websocketAdapter.getCacheSnapshotSaved().get(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            logger.warn("Cache snapshot was not saved before shutdown", e);
+        }
+    }
+
+    /**
+     * Gets the storage of the cache snapshots.
+     *
+     * @return The storage of the cache snapshots.
+     */
+    public Optional<CacheSnapshotStorage> getCacheSnapshotStorage() {
+        return Optional.ofNullable(cacheSnapshotStorage);
+    }
+
     /**
      * Gets the entity cache.
      *
@@ -748,11 +916,10 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
                 .filter(Cleanupable.class::isInstance)
                 .map(Cleanupable.class::cast)
                 .forEach(Cleanupable::cleanup);
-        entityCache.set(JavacordEntityCache.empty());
+        entityCache.set(JavacordEntityCache.empty(entityCacheType));
         unavailableServers.clear();
         customEmojis.clear();
         messages.clear();
-        messageIdByRef.clear();
         timeOffset = null;
     }
 
@@ -847,11 +1014,13 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
         // Remove in case, there's an old instance in cache
         removeServerFromCache(server.getId());
 
+        getStartupTracker().ifPresent(tracker -> tracker.addPendingServer(server.getId()));
         nonReadyServers.put(server.getId(), server);
         server.addServerReadyConsumer(s -> {
             nonReadyServers.remove(s.getId());
             removeUnavailableServerFromCache(s.getId());
             servers.put(s.getId(), s);
+            getStartupTracker().ifPresent(tracker -> tracker.serverLoaded(s.getId()));
         });
     }
 
@@ -886,6 +1055,19 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
         });
     }
 
+    /**
+     * Gets the lock which must be held while the global state of the user with the given id, i.e. its presence or the
+     * user of all its members, is read and updated based on the read state.
+     *
+     * <p>Packets of different servers are handled concurrently, but they may update the same user.
+     *
+     * @param userId The id of the user.
+     * @return The lock of the user.
+     */
+    public Object getUserUpdateLock(long userId) {
+        return userUpdateLocks[Math.floorMod(Long.hashCode(userId), userUpdateLocks.length)];
+    }
+
     /**
      * Updates a user presence in the cache.
      *
@@ -933,6 +1115,17 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
         });
     }
 
+    /**
+     * Adds many members to the cache in a single cache update.
+     *
+     * <p>Members which are already in the cache (same id and server) are replaced.
+     *
+     * @param members The members to add.
+     */
+    public void addMembersToCacheOrReplaceExisting(Collection<Member> members) {
+        entityCache.getAndUpdate(cache -> cache.updateMemberCache(memberCache -> memberCache.addMembers(members)));
+    }
+
     /**
      * Updates the user object for all members in the cache.
      *
@@ -941,7 +1134,8 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
     public void updateUserOfAllMembers(User user) {
         entityCache.getAndUpdate(cache ->  {
             JavacordEntityCache newCache = cache;
-            for (Member member : cache.getMemberCache().getMembersById(user.getId())) {
+            // Copy the members, as mutable caches return a live view
+            for (Member member : new ArrayList<>(cache.getMemberCache().getMembersById(user.getId()))) {
                 newCache = newCache.updateMemberCache(memberCache -> memberCache
                         .removeMember(member)
                         .addMember(((MemberImpl) member).setUser((UserImpl) user))
@@ -967,6 +1161,15 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
         });
     }
 
+    /**
+     * Removes a role from the role index of the member cache.
+     *
+     * @param role The role to remove.
+     */
+    public void removeRoleFromMemberCache(Role role) {
+        entityCache.getAndUpdate(cache -> cache.updateMemberCache(memberCache -> memberCache.removeRole(role)));
+    }
+
     /**
      * Adds a server id to the list with unavailable servers.
      *
@@ -974,6 +1177,17 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
      */
     public void addUnavailableServerToCache(long serverId) {
         unavailableServers.add(serverId);
+        getStartupTracker().ifPresent(tracker -> tracker.addPendingServer(serverId));
+    }
+
+    /**
+     * Gets the tracker for the loading of servers and members after the latest READY packet.
+     *
+     * @return The tracker for the startup.
+     */
+    public Optional<StartupTracker> getStartupTracker() {
+        DiscordWebSocketAdapter websocketAdapter = this.websocketAdapter;
+        return websocketAdapter == null ? Optional.empty() : Optional.of(websocketAdapter.getStartupTracker());
     }
 
     /**
@@ -981,7 +1195,7 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
      *
      * @param serverId The id of the server.
      */
-    private void removeUnavailableServerFromCache(long serverId) {
+    public void removeUnavailableServerFromCache(long serverId) {
         unavailableServers.remove(serverId);
     }
 
@@ -1086,7 +1300,7 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
      */
     public Message getOrCreateMessage(TextChannel channel, JsonNode data) {
         long id = Long.parseLong(data.get("id").asText());
-        synchronized (messages) {
+        synchronized (messages.getCreationLock(id)) {
             return getCachedMessageById(id).orElseGet(() -> new MessageImpl(this, channel, data));
         }
     }
@@ -1097,14 +1311,7 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
      * @param message The message to add.
      */
     public void addMessageToCache(Message message) {
-        messages.compute(message.getId(), (key, value) -> {
-            if ((value == null) || (value.get() == null)) {
-                WeakReference<Message> result = new WeakReference<>(message, messagesCleanupQueue);
-                messageIdByRef.put(result, key);
-                return result;
-            }
-            return value;
-        });
+        messages.add(message);
     }
 
     /**
@@ -1113,10 +1320,7 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
      * @param messageId The id of the message to remove.
      */
     public void removeMessageFromCache(long messageId) {
-        WeakReference<Message> messageRef = messages.remove(messageId);
-        if (messageRef != null) {
-            messageIdByRef.remove(messageRef, messageId);
-        }
+        messages.remove(messageId);
     }
 
     /**
@@ -1366,6 +1570,30 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
         return gatewayIdentifyRatelimiter;
     }
 
+    @Override
+    public IdentifyRatelimiter getIdentifyRatelimiter() {
+        if (identifyRatelimiter == null) {
+            return defaultIdentifyRatelimiter.computeIfAbsent(getToken(), token -> new LocalIdentifyRatelimiter());
+        }
+        return identifyRatelimiter;
+    }
+
+    /**
+     * Blocks the current thread until this shard is allowed to identify.
+     *
+     * <p>A gateway identify ratelimiter that was set explicitly takes precedence. Otherwise, the identify ratelimiter
+     * is used with the concurrency bucket of this shard.
+     *
+     * @throws InterruptedException If the thread was interrupted while waiting.
+     */
+    public void requestGatewayIdentifyQuota() throws InterruptedException {
+        if (gatewayIdentifyRatelimiter != null) {
+            gatewayIdentifyRatelimiter.requestQuota();
+            return;
+        }
+        getIdentifyRatelimiter().requestQuota(currentShard, DiscordWebSocketAdapter.getMaxConcurrency(this));
+    }
+
     @Override
     public Duration getLatestGatewayLatency() {
         return Duration.ofNanos(latestGatewayLatencyNanos);
@@ -1423,6 +1651,27 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
         return defaultAutomaticMessageCacheCleanupEnabled;
     }
 
+    @Override
+    public void setListenerExecutionTimeThresholds(Duration debugThreshold, Duration warningThreshold,
+                                                   Duration maxExecutionTime) {
+        eventDispatcher.setExecutionTimeThresholds(debugThreshold, warningThreshold, maxExecutionTime);
+    }
+
+    @Override
+    public Duration getListenerExecutionTimeDebugThreshold() {
+        return eventDispatcher.getDebugThreshold();
+    }
+
+    @Override
+    public Duration getListenerExecutionTimeWarningThreshold() {
+        return eventDispatcher.getWarningThreshold();
+    }
+
+    @Override
+    public Duration getMaxListenerExecutionTime() {
+        return eventDispatcher.getMaxExecutionTime();
+    }
+
     @Override
     public int getCurrentShard() {
         return currentShard;
@@ -1433,6 +1682,16 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
         return totalShards;
     }
 
+    @Override
+    public Optional<ShardGroup> getShardGroup() {
+        return Optional.ofNullable(shardGroup);
+    }
+
+    @Override
+    public Optional<StartupProgress> getStartupProgress() {
+        return getStartupTracker().map(StartupProgress.class::cast);
+    }
+
     @Override
     public boolean isWaitingForServersOnStartup() {
         return waitForServersOnStartup;
@@ -1443,6 +1702,51 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
         return waitForUsersOnStartup;
     }
 
+    /**
+     * Checks if the gateway connection should use {@code zlib-stream} transport compression.
+     *
+     * @return Whether the gateway connection should use transport compression or not.
+     */
+    public boolean isTransportCompressionEnabled() {
+        return transportCompression;
+    }
+
+    /**
+     * Gets how the origin of REST requests is captured.
+     *
+     * @return How the origin of REST requests is captured.
+     */
+    public RestRequestOriginCapture getRestRequestOriginCapture() {
+        return restRequestOriginCapture;
+    }
+
+    /**
+     * Gets the executor for asynchronous packet handlers.
+     *
+     * @return The executor for asynchronous packet handlers.
+     */
+    public PacketHandlerExecutor getPacketHandlerExecutor() {
+        return packetHandlerExecutor;
+    }
+
+    /**
+     * Gets the scheduler which sends the audio frames of all audio connections.
+     *
+     * @return The scheduler which sends the audio frames of all audio connections.
+     */
+    public AudioSendScheduler getAudioSendScheduler() {
+        return audioSendScheduler;
+    }
+
+    /**
+     * Gets the engine which maintains the message caches of all channels.
+     *
+     * @return The message cache engine.
+     */
+    public MessageCacheEngine getMessageCacheEngine() {
+        return messageCacheEngine;
+    }
+
     /**
      * The proxy selector which should be used to determine the proxies that should be used to connect to the Discord
      * REST API and websocket.
@@ -1569,16 +1873,22 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
                     // if no web socket is connected, immediately shutdown thread pool
                     threadPool.shutdown();
                 } else {
-                    // shutdown thread pool after web socket disconnected event was dispatched
-                    addLostConnectionListener(event -> threadPool.shutdown());
+                    // shutdown thread pool after web socket disconnected event was dispatched and the cache snapshot
+                    // was saved
+                    DiscordWebSocketAdapter websocketAdapter = this.websocketAdapter;
+                    addLostConnectionListener(event ->
+                            websocketAdapter.getCacheSnapshotSaved().thenRun(threadPool::shutdown));
                     // disconnect web socket
                     websocketAdapter.disconnect();
                     // shutdown thread pool if within one minute no disconnect event was dispatched
                     threadPool.getDaemonScheduler().schedule(threadPool::shutdown, 1, TimeUnit.MINUTES);
                 }
                 disconnectCalled = true;
-                httpClient.dispatcher().executorService().shutdown();
-                httpClient.connectionPool().evictAll();
+                if (shardGroup == null) {
+                    // The http client of a shard group is released once all shards are shut down
+                    httpClient.dispatcher().executorService().shutdown();
+                    httpClient.connectionPool().evictAll();
+                }
             }
         }
     }
@@ -1656,12 +1966,7 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
 
     @Override
     public MessageSet getCachedMessages() {
-        synchronized (messages) {
-            return new MessageSetImpl(messages.values().stream()
-                    .map(Reference::get)
-                    .filter(Objects::nonNull)
-                    .collect(Collectors.toList()));
-        }
+        return new MessageSetImpl(messages.stream().collect(Collectors.toList()));
     }
 
     /**
@@ -1671,13 +1976,10 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
      * @return A set of cached messages satisfying the condition.
      */
     public MessageSet getCachedMessagesWhere(Predicate<Message> filter) {
-        synchronized (messages) {
-            return new MessageSetImpl(messages.values().stream()
-                    .map(Reference::get)
-                    .filter(Objects::nonNull)
-                    .filter(filter)
-                    .collect(Collectors.toList()));
-        }
+        return new MessageSetImpl(messages.stream()
+                .parallel()
+                .filter(filter)
+                .collect(Collectors.toList()));
     }
 
     /**
@@ -1687,18 +1989,14 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
      * @param action The action to be applied to the messages.
      */
     public void forEachCachedMessageWhere(Predicate<Message> filter, Consumer<Message> action) {
-        synchronized (messages) {
-            messages.values().stream()
-                    .map(Reference::get)
-                    .filter(Objects::nonNull)
-                    .filter(filter)
-                    .forEach(action);
-        }
+        messages.stream()
+                .filter(filter)
+                .forEach(action);
     }
 
     @Override
     public Optional<Message> getCachedMessageById(long id) {
-        return Optional.ofNullable(messages.get(id)).map(Reference::get);
+        return Optional.ofNullable(messages.get(id));
     }
 
     @Override
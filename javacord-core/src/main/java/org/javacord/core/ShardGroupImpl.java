@@ -0,0 +1,177 @@
+package org.javacord.core;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import okhttp3.OkHttpClient;
+import org.apache.logging.log4j.Logger;
+import org.javacord.api.DiscordApi;
+import org.javacord.api.ShardGroup;
+import org.javacord.api.entity.server.Server;
+import org.javacord.core.util.concurrent.ThreadPoolImpl;
+import org.javacord.core.util.logging.LoggerUtil;
+import org.javacord.core.util.ratelimit.RatelimitManager;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * The implementation of {@link ShardGroup}.
+ *
+ * <p>The shared resources are created by the first shard which needs them. They are released once the thread pools
+ * of all shards of the group were shut down.
+ */
+public class ShardGroupImpl implements ShardGroup {
+
+    /**
+     * The logger of this class.
+     */
+    private static final Logger logger = LoggerUtil.getLogger(ShardGroupImpl.class);
+
+    private final int totalShards;
+    private final ThreadPoolImpl threadPool;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ConcurrentSkipListMap<Integer, DiscordApiImpl> shards = new ConcurrentSkipListMap<>();
+
+    /**
+     * The amount of shards whose thread pool was not shut down yet.
+     */
+    private final AtomicInteger remainingShards;
+
+    private volatile OkHttpClient httpClient;
+    private volatile RatelimitManager ratelimitManager;
+
+    /**
+     * Creates a new shard group.
+     *
+     * @param totalShards The total amount of shards of the bot.
+     * @param shardCount The amount of shards in this group.
+     * @param threadPool The thread pool which is shared by all shards.
+     */
+    public ShardGroupImpl(int totalShards, int shardCount, ThreadPoolImpl threadPool) {
+        this.totalShards = totalShards;
+        this.threadPool = threadPool;
+        remainingShards = new AtomicInteger(shardCount);
+    }
+
+    /**
+     * Creates the thread pool of a shard of this group.
+     *
+     * @param shard The id of the shard.
+     * @return The thread pool of the shard.
+     */
+    public ThreadPoolImpl createShardThreadPool(int shard) {
+        return new ThreadPoolImpl(threadPool, "Shard " + shard + " - ", this::onShardThreadPoolShutdown);
+    }
+
+    /**
+     * Adds a shard to this group.
+     *
+     * @param api The shard.
+     */
+    public void addShard(DiscordApiImpl api) {
+        shards.put(api.getCurrentShard(), api);
+    }
+
+    /**
+     * Gets the http client which is shared by all shards, creating it if necessary.
+     *
+     * @param httpClientSupplier The supplier of the http client if it was not created yet.
+     * @return The shared http client.
+     */
+    public OkHttpClient getOrCreateHttpClient(Supplier<OkHttpClient> httpClientSupplier) {
+        if (httpClient == null) {
+            synchronized (this) {
+                if (httpClient == null) {
+                    httpClient = httpClientSupplier.get();
+                }
+            }
+        }
+        return httpClient;
+    }
+
+    /**
+     * Gets the ratelimit manager which is shared by all shards, creating it if necessary.
+     *
+     * @param api The shard which creates the ratelimit manager if it was not created yet.
+     * @return The shared ratelimit manager.
+     */
+    public RatelimitManager getOrCreateRatelimitManager(DiscordApiImpl api) {
+        if (ratelimitManager == null) {
+            synchronized (this) {
+                if (ratelimitManager == null) {
+                    ratelimitManager = new RatelimitManager(api);
+                }
+            }
+        }
+        return ratelimitManager;
+    }
+
+    /**
+     * Gets the object mapper which is shared by all shards.
+     *
+     * @return The shared object mapper.
+     */
+    public ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+
+    /**
+     * Releases the shared resources once the thread pools of all shards were shut down.
+     */
+    private void onShardThreadPoolShutdown() {
+        if (remainingShards.decrementAndGet() > 0) {
+            return;
+        }
+        logger.debug("All shards of the shard group are shut down. Releasing shared resources");
+        threadPool.shutdown();
+        OkHttpClient httpClient = this.httpClient;
+        if (httpClient != null) {
+            httpClient.dispatcher().executorService().shutdown();
+            httpClient.connectionPool().evictAll();
+        }
+    }
+
+    @Override
+    public int getTotalShards() {
+        return totalShards;
+    }
+
+    @Override
+    public Collection<DiscordApi> getShards() {
+        return Collections.unmodifiableCollection(shards.values());
+    }
+
+    @Override
+    public Optional<DiscordApi> getShard(int shard) {
+        return Optional.ofNullable(shards.get(shard));
+    }
+
+    @Override
+    public Optional<DiscordApi> getShardOf(long serverId) {
+        return getShard((int) ((serverId >> 22) % Math.max(totalShards, 1)));
+    }
+
+    @Override
+    public ThreadPoolImpl getThreadPool() {
+        return threadPool;
+    }
+
+    @Override
+    public Collection<Server> getServers() {
+        List<Server> servers = shards.values().stream()
+                .flatMap(shard -> shard.getServers().stream())
+                .collect(Collectors.toList());
+        return Collections.unmodifiableList(servers);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ShardGroup (shards: %s, total shards: %d)", shards.keySet(), totalShards);
+    }
+
+}
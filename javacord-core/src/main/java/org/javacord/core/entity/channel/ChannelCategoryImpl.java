@@ -1,6 +1,7 @@
 package org.javacord.core.entity.channel;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.javacord.api.entity.DiscordEntity;
 import org.javacord.api.entity.channel.Categorizable;
 import org.javacord.api.entity.channel.ChannelCategory;
@@ -66,6 +67,11 @@ public class ChannelCategoryImpl extends ServerChannelImpl
         return nsfw;
     }
 
+    @Override
+    public ObjectNode toJsonNode(ObjectNode object) {
+        return super.toJsonNode(object).put("nsfw", nsfw);
+    }
+
     @Override
     public boolean equals(Object o) {
         return (this == o)
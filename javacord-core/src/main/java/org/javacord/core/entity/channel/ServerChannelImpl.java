@@ -1,40 +1,40 @@
 package org.javacord.core.entity.channel;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.javacord.api.DiscordApi;
 import org.javacord.api.entity.DiscordEntity;
 import org.javacord.api.entity.Permissionable;
 import org.javacord.api.entity.channel.ServerChannel;
-import org.javacord.api.entity.permission.PermissionState;
 import org.javacord.api.entity.permission.PermissionType;
 import org.javacord.api.entity.permission.Permissions;
-import org.javacord.api.entity.permission.PermissionsBuilder;
 import org.javacord.api.entity.permission.Role;
 import org.javacord.api.entity.server.Server;
 import org.javacord.api.entity.server.invite.RichInvite;
 import org.javacord.api.entity.user.User;
 import org.javacord.core.DiscordApiImpl;
+import org.javacord.core.entity.permission.ChannelPermissionCache;
+import org.javacord.core.entity.permission.PermissionBitmasks;
 import org.javacord.core.entity.permission.PermissionsImpl;
 import org.javacord.core.entity.server.ServerImpl;
 import org.javacord.core.entity.server.invite.InviteImpl;
+import org.javacord.core.entity.user.MemberImpl;
 import org.javacord.core.listener.channel.server.InternalServerChannelAttachableListenerManager;
 import org.javacord.core.util.logging.LoggerUtil;
 import org.javacord.core.util.rest.RestEndpoint;
 import org.javacord.core.util.rest.RestMethod;
 import org.javacord.core.util.rest.RestRequest;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
 
 /**
  * The implementation of {@link ServerChannel}.
@@ -83,6 +83,11 @@ public abstract class ServerChannelImpl implements ServerChannel, InternalServer
      */
     private final ConcurrentHashMap<Long, Permissions> overwrittenRolePermissions = new ConcurrentHashMap<>();
 
+    /**
+     * The cached effective permissions of members in this channel.
+     */
+    private final ChannelPermissionCache permissionCache = new ChannelPermissionCache();
+
     /**
      * Creates a new server channel object.
      *
@@ -218,48 +223,76 @@ public abstract class ServerChannelImpl implements ServerChannel, InternalServer
 
     @Override
     public Permissions getEffectiveOverwrittenPermissions(User user) {
-        PermissionsBuilder builder = new PermissionsBuilder(PermissionsImpl.EMPTY_PERMISSIONS);
-        Server server = getServer();
-        Role everyoneRole = server.getEveryoneRole();
-        Permissions everyoneRolePermissionOverwrites = getOverwrittenPermissions(everyoneRole);
-        for (PermissionType type : PermissionType.values()) {
-            if (everyoneRolePermissionOverwrites.getState(type) == PermissionState.DENIED) {
-                builder.setState(type, PermissionState.DENIED);
-            }
-            if (everyoneRolePermissionOverwrites.getState(type) == PermissionState.ALLOWED) {
-                builder.setState(type, PermissionState.ALLOWED);
-            }
-        }
-        List<Role> rolesOfUser = new ArrayList<>(server.getRoles(user));
-        rolesOfUser.remove(everyoneRole);
-        List<Permissions> permissionOverwrites = rolesOfUser.stream()
-                .map(this::getOverwrittenPermissions)
-                .collect(Collectors.toList());
-        for (Permissions permissions : permissionOverwrites) {
-            for (PermissionType type : PermissionType.values()) {
-                if (permissions.getState(type) == PermissionState.DENIED) {
-                    builder.setState(type, PermissionState.DENIED);
-                }
-            }
-        }
-        for (Permissions permissions : permissionOverwrites) {
-            for (PermissionType type : PermissionType.values()) {
-                if (permissions.getState(type) == PermissionState.ALLOWED) {
-                    builder.setState(type, PermissionState.ALLOWED);
-                }
-            }
+        MemberImpl member = server.getPermissionMember(user);
+        return calculateOverwrites(user.getId(), member == null ? Collections.emptyList() : member.getRoleIds());
+    }
+
+    /**
+     * Gets the effective allowed permissions of a user in this channel as a bitmask.
+     *
+     * @param user The user.
+     * @return The allowed permissions.
+     */
+    public int getEffectivePermissionBitmask(User user) {
+        MemberImpl member = server.getPermissionMember(user);
+        if (member == null) {
+            int serverPermissions = server.getPermissionBitmask(user);
+            return PermissionBitmasks.applyOverwrites(
+                    serverPermissions, calculateOverwrites(user.getId(), Collections.emptyList()));
         }
-        for (PermissionType type : PermissionType.values()) {
-            Permissions permissions = overwrittenUserPermissions
-                    .getOrDefault(user.getId(), PermissionsImpl.EMPTY_PERMISSIONS);
-            if (permissions.getState(type) == PermissionState.DENIED) {
-                builder.setState(type, PermissionState.DENIED);
-            }
-            if (permissions.getState(type) == PermissionState.ALLOWED) {
-                builder.setState(type, PermissionState.ALLOWED);
-            }
+        int version = server.getPermissionVersion();
+        long cached = permissionCache.get(member, version);
+        if (cached != ChannelPermissionCache.NOT_CACHED) {
+            return (int) cached;
         }
-        return builder.build();
+        int permissions = PermissionBitmasks.applyOverwrites(
+                member.getPermissionBitmask(), calculateOverwrites(member.getId(), member.getRoleIds()));
+        permissionCache.put(member, version, permissions);
+        return permissions;
+    }
+
+    /**
+     * Calculates the combined permission overwrites of a user in this channel.
+     *
+     * @param userId The id of the user.
+     * @param roleIds The ids of the roles of the user.
+     * @return The combined permission overwrites.
+     */
+    private Permissions calculateOverwrites(long userId, Collection<Long> roleIds) {
+        return PermissionBitmasks.calculateOverwrites(
+                server.getId(), roleIds, userId, overwrittenRolePermissions, overwrittenUserPermissions);
+    }
+
+    @Override
+    public Permissions getEffectivePermissions(User user) {
+        int allowed = getEffectivePermissionBitmask(user);
+        return new PermissionsImpl(allowed, PermissionBitmasks.ALL_PERMISSIONS & ~allowed);
+    }
+
+    @Override
+    public Collection<PermissionType> getEffectiveAllowedPermissions(User user) {
+        return PermissionBitmasks.getPermissionTypes(getEffectivePermissionBitmask(user));
+    }
+
+    @Override
+    public Collection<PermissionType> getEffectiveDeniedPermissions(User user) {
+        return PermissionBitmasks.getPermissionTypes(PermissionBitmasks.ALL_PERMISSIONS
+                & ~getEffectivePermissionBitmask(user));
+    }
+
+    @Override
+    public boolean hasPermissions(User user, PermissionType... type) {
+        return PermissionBitmasks.areAllSet(getEffectivePermissionBitmask(user), type);
+    }
+
+    @Override
+    public boolean hasAnyPermission(User user, PermissionType... type) {
+        return PermissionBitmasks.isAnySet(getEffectivePermissionBitmask(user), type);
+    }
+
+    @Override
+    public boolean hasPermission(User user, PermissionType permission) {
+        return PermissionBitmasks.isSet(getEffectivePermissionBitmask(user), permission);
     }
 
     @Override
@@ -270,6 +303,42 @@ public abstract class ServerChannelImpl implements ServerChannel, InternalServer
                 .execute(result -> null);
     }
 
+    /**
+     * Adds the json data of the channel to the given object node, in the same format as it is sent by Discord.
+     *
+     * @param object The object, the data should be added to.
+     * @return The provided object with the data of the channel.
+     */
+    public ObjectNode toJsonNode(ObjectNode object) {
+        object.put("id", Long.toUnsignedString(id))
+                .put("type", getType().getId())
+                .put("name", name)
+                .put("position", rawPosition);
+        ArrayNode permissionOverwrites = object.putArray("permission_overwrites");
+        overwrittenRolePermissions.forEach((roleId, permissions) ->
+                addPermissionOverwrite(permissionOverwrites, roleId, "role", permissions));
+        overwrittenUserPermissions.forEach((userId, permissions) ->
+                addPermissionOverwrite(permissionOverwrites, userId, "member", permissions));
+        return object;
+    }
+
+    /**
+     * Adds a permission overwrite to the given array node.
+     *
+     * @param permissionOverwrites The array of permission overwrites.
+     * @param id The id of the role or user.
+     * @param type The type of the overwrite.
+     * @param permissions The overwritten permissions.
+     */
+    private static void addPermissionOverwrite(
+            ArrayNode permissionOverwrites, long id, String type, Permissions permissions) {
+        permissionOverwrites.addObject()
+                .put("id", Long.toUnsignedString(id))
+                .put("type", type)
+                .put("allow", permissions.getAllowedBitmask())
+                .put("deny", permissions.getDeniedBitmask());
+    }
+
     @Override
     public boolean equals(Object o) {
         return (this == o)
@@ -1,6 +1,7 @@
 package org.javacord.core.entity.channel;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.javacord.api.entity.DiscordEntity;
 import org.javacord.api.entity.channel.ChannelCategory;
 import org.javacord.api.entity.channel.ServerTextChannel;
@@ -135,6 +136,18 @@ public class ServerTextChannelImpl extends ServerChannelImpl
         messageCache.cleanup();
     }
 
+    @Override
+    public ObjectNode toJsonNode(ObjectNode object) {
+        super.toJsonNode(object)
+                .put("nsfw", nsfw)
+                .put("topic", topic)
+                .put("rate_limit_per_user", delay);
+        if (parentId != -1) {
+            object.put("parent_id", Long.toUnsignedString(parentId));
+        }
+        return object;
+    }
+
     @Override
     public boolean equals(Object o) {
         return (this == o)
@@ -1,6 +1,7 @@
 package org.javacord.core.entity.channel;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.javacord.api.audio.AudioConnection;
 import org.javacord.api.entity.DiscordEntity;
 import org.javacord.api.entity.channel.ChannelCategory;
@@ -156,6 +157,17 @@ public class ServerVoiceChannelImpl extends ServerChannelImpl
         return connectedUsers.contains(userId);
     }
 
+    @Override
+    public ObjectNode toJsonNode(ObjectNode object) {
+        super.toJsonNode(object)
+                .put("bitrate", bitrate)
+                .put("user_limit", userLimit);
+        if (parentId != -1) {
+            object.put("parent_id", Long.toUnsignedString(parentId));
+        }
+        return object;
+    }
+
     @Override
     public boolean equals(Object o) {
         return (this == o)
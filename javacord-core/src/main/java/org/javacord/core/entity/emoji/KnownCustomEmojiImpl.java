@@ -1,6 +1,8 @@
 package org.javacord.core.entity.emoji;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.javacord.api.entity.emoji.KnownCustomEmoji;
 import org.javacord.api.entity.permission.Role;
 import org.javacord.api.entity.server.Server;
@@ -141,6 +143,26 @@ public class KnownCustomEmojiImpl extends CustomEmojiImpl
         }
     }
 
+    /**
+     * Adds the json data of the emoji to the given object node, in the same format as it is sent by Discord.
+     *
+     * @param object The object, the data should be added to.
+     * @return The provided object with the data of the emoji.
+     */
+    public ObjectNode toJsonNode(ObjectNode object) {
+        object.put("id", getIdAsString())
+                .put("name", getName())
+                .put("animated", isAnimated())
+                .put("require_colons", requiresColons)
+                .put("managed", managed);
+        Collection<Role> whitelist = this.whitelist;
+        if (whitelist != null) {
+            ArrayNode roles = object.putArray("roles");
+            whitelist.forEach(role -> roles.add(role.getIdAsString()));
+        }
+        return object;
+    }
+
     @Override
     public String toString() {
         return String.format("KnownCustomEmoji (id: %s, name: %s, animated: %b, server: %#s)",
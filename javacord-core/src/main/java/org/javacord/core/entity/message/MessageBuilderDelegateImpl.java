@@ -2,9 +2,7 @@ package org.javacord.core.entity.message;
 
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
-import okhttp3.MediaType;
 import okhttp3.MultipartBody;
-import okhttp3.RequestBody;
 import org.javacord.api.entity.Icon;
 import org.javacord.api.entity.Mentionable;
 import org.javacord.api.entity.channel.TextChannel;
@@ -28,7 +26,6 @@ import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.InputStream;
 import java.net.URL;
-import java.net.URLConnection;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -318,15 +315,8 @@ public class MessageBuilderDelegateImpl implements MessageBuilderDelegate {
                     }
                     Collections.reverse(tempAttachments);
                     for (int i = 0; i < tempAttachments.size(); i++) {
-                        byte[] bytes = tempAttachments.get(i).asByteArray(channel.getApi()).join();
-
-                        String mediaType = URLConnection
-                                .guessContentTypeFromName(tempAttachments.get(i).getFileTypeOrName());
-                        if (mediaType == null) {
-                            mediaType = "application/octet-stream";
-                        }
                         multipartBodyBuilder.addFormDataPart("file" + i, tempAttachments.get(i).getFileTypeOrName(),
-                                RequestBody.create(MediaType.parse(mediaType), bytes));
+                                tempAttachments.get(i).asRequestBody(channel.getApi()));
                     }
 
                     request.setMultipartBody(multipartBodyBuilder.build());
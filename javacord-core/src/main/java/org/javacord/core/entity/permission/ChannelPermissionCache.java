@@ -0,0 +1,96 @@
+package org.javacord.core.entity.permission;
+
+import org.javacord.core.entity.user.Member;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A cache for the effective permissions of members in a single channel.
+ *
+ * <p>The cache is a small direct-mapped table, an entry just replaces any other entry in the same slot. Entries are
+ * only valid for the exact member object they were calculated for and the permission version of the server, so
+ * updated members and changed roles or overwrites never return stale permissions.
+ */
+public class ChannelPermissionCache {
+
+    /**
+     * The value returned for members without a cached entry.
+     */
+    public static final long NOT_CACHED = -1;
+
+    /**
+     * The amount of slots. Must be a power of two.
+     */
+    private static final int SLOT_COUNT = 64;
+
+    private volatile AtomicReferenceArray<Entry> entries;
+
+    /**
+     * Gets the cached permissions of a member.
+     *
+     * @param member The member.
+     * @param version The current permission version of the server.
+     * @return The allowed permissions or {@link #NOT_CACHED}.
+     */
+    public long get(Member member, int version) {
+        AtomicReferenceArray<Entry> entries = this.entries;
+        if (entries == null) {
+            return NOT_CACHED;
+        }
+        Entry entry = entries.get(getSlot(member.getId()));
+        if (entry == null || entry.member != member || entry.version != version) {
+            return NOT_CACHED;
+        }
+        return entry.permissions & 0xFFFFFFFFL;
+    }
+
+    /**
+     * Caches the permissions of a member.
+     *
+     * @param member The member.
+     * @param version The permission version of the server the permissions were calculated for.
+     * @param permissions The allowed permissions.
+     */
+    public void put(Member member, int version, int permissions) {
+        AtomicReferenceArray<Entry> entries = this.entries;
+        if (entries == null) {
+            synchronized (this) {
+                entries = this.entries;
+                if (entries == null) {
+                    entries = new AtomicReferenceArray<>(SLOT_COUNT);
+                    this.entries = entries;
+                }
+            }
+        }
+        entries.set(getSlot(member.getId()), new Entry(member, version, permissions));
+    }
+
+    /**
+     * Gets the slot of the given user id.
+     *
+     * @param userId The id of the user.
+     * @return The slot.
+     */
+    private static int getSlot(long userId) {
+        long hash = userId * 0x9E3779B97F4A7C15L;
+        return (int) (hash >>> 58) & (SLOT_COUNT - 1);
+    }
+
+    /**
+     * An immutable cache entry.
+     */
+    private static final class Entry {
+
+        private final Member member;
+        private final int version;
+        private final int permissions;
+
+        private Entry(Member member, int version, int permissions) {
+            this.member = member;
+            this.version = version;
+            this.permissions = permissions;
+        }
+
+    }
+
+}
@@ -0,0 +1,183 @@
+package org.javacord.core.entity.permission;
+
+import org.javacord.api.entity.permission.PermissionType;
+import org.javacord.api.entity.permission.Permissions;
+import org.javacord.api.entity.permission.Role;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Calculates permissions as bitmasks.
+ *
+ * <p>The calculation follows the algorithm documented by Discord: The permissions of all roles of a member are
+ * combined, administrators and the owner of a server have all permissions. In a channel, the overwrites of the
+ * everyone role, the other roles of the member and the member itself are applied in this order.
+ *
+ * @see <a href="https://discord.com/developers/docs/topics/permissions">Discord Docs</a>
+ */
+public final class PermissionBitmasks {
+
+    /**
+     * A bitmask with all known permission types.
+     */
+    public static final int ALL_PERMISSIONS;
+
+    /**
+     * All known permission types.
+     */
+    private static final PermissionType[] PERMISSION_TYPES = PermissionType.values();
+
+    static {
+        int allPermissions = 0;
+        for (PermissionType type : PERMISSION_TYPES) {
+            allPermissions |= type.getValue();
+        }
+        ALL_PERMISSIONS = allPermissions;
+    }
+
+    private PermissionBitmasks() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Calculates the server-wide permissions of a member.
+     *
+     * @param owner Whether the member is the owner of the server or not.
+     * @param roles The roles of the member, including the everyone role.
+     * @return The allowed permissions.
+     */
+    public static int calculateServerPermissions(boolean owner, Iterable<? extends Role> roles) {
+        if (owner) {
+            return ALL_PERMISSIONS;
+        }
+        int allowed = 0;
+        for (Role role : roles) {
+            allowed |= role.getPermissions().getAllowedBitmask();
+        }
+        return isSet(allowed, PermissionType.ADMINISTRATOR) ? ALL_PERMISSIONS : allowed;
+    }
+
+    /**
+     * Calculates the combined permission overwrites of a member in a channel.
+     *
+     * @param everyoneRoleId The id of the everyone role.
+     * @param roleIds The ids of the roles of the member.
+     * @param userId The id of the user.
+     * @param rolePermissions The overwritten role permissions of the channel.
+     * @param userPermissions The overwritten user permissions of the channel.
+     * @return The combined permission overwrites.
+     */
+    public static Permissions calculateOverwrites(long everyoneRoleId, Collection<Long> roleIds, long userId,
+                                                  Map<Long, Permissions> rolePermissions,
+                                                  Map<Long, Permissions> userPermissions) {
+        int allowed = 0;
+        int denied = 0;
+
+        Permissions everyoneOverwrite = rolePermissions.get(everyoneRoleId);
+        if (everyoneOverwrite != null) {
+            denied = (denied | everyoneOverwrite.getDeniedBitmask()) & ~everyoneOverwrite.getAllowedBitmask();
+            allowed = (allowed & ~everyoneOverwrite.getDeniedBitmask()) | everyoneOverwrite.getAllowedBitmask();
+        }
+
+        int roleAllowed = 0;
+        int roleDenied = 0;
+        for (long roleId : roleIds) {
+            if (roleId == everyoneRoleId) {
+                continue;
+            }
+            Permissions roleOverwrite = rolePermissions.get(roleId);
+            if (roleOverwrite != null) {
+                roleAllowed |= roleOverwrite.getAllowedBitmask();
+                roleDenied |= roleOverwrite.getDeniedBitmask();
+            }
+        }
+        denied = (denied | roleDenied) & ~roleAllowed;
+        allowed = (allowed & ~roleDenied) | roleAllowed;
+
+        Permissions userOverwrite = userPermissions.get(userId);
+        if (userOverwrite != null) {
+            denied = (denied | userOverwrite.getDeniedBitmask()) & ~userOverwrite.getAllowedBitmask();
+            allowed = (allowed & ~userOverwrite.getDeniedBitmask()) | userOverwrite.getAllowedBitmask();
+        }
+
+        return allowed == 0 && denied == 0 ? PermissionsImpl.EMPTY_PERMISSIONS : new PermissionsImpl(allowed, denied);
+    }
+
+    /**
+     * Applies permission overwrites to the server-wide permissions of a member.
+     *
+     * @param serverPermissions The server-wide permissions.
+     * @param overwrites The combined permission overwrites.
+     * @return The allowed permissions in the channel.
+     */
+    public static int applyOverwrites(int serverPermissions, Permissions overwrites) {
+        if (isSet(serverPermissions, PermissionType.ADMINISTRATOR)) {
+            return ALL_PERMISSIONS;
+        }
+        return (serverPermissions & ~overwrites.getDeniedBitmask()) | overwrites.getAllowedBitmask();
+    }
+
+    /**
+     * Checks if a permission type is set in the given bitmask.
+     *
+     * @param bitmask The bitmask.
+     * @param type The permission type.
+     * @return Whether the permission type is set or not.
+     */
+    public static boolean isSet(int bitmask, PermissionType type) {
+        return (bitmask & type.getValue()) != 0;
+    }
+
+    /**
+     * Checks if all given permission types are set in the given bitmask.
+     *
+     * @param bitmask The bitmask.
+     * @param types The permission types.
+     * @return Whether all permission types are set or not.
+     */
+    public static boolean areAllSet(int bitmask, PermissionType... types) {
+        for (PermissionType type : types) {
+            if (!isSet(bitmask, type)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if any of the given permission types is set in the given bitmask.
+     *
+     * @param bitmask The bitmask.
+     * @param types The permission types.
+     * @return Whether any of the permission types is set or not.
+     */
+    public static boolean isAnySet(int bitmask, PermissionType... types) {
+        for (PermissionType type : types) {
+            if (isSet(bitmask, type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the permission types which are set in the given bitmask.
+     *
+     * @param bitmask The bitmask.
+     * @return The permission types which are set.
+     */
+    public static Collection<PermissionType> getPermissionTypes(int bitmask) {
+        List<PermissionType> types = new ArrayList<>();
+        for (PermissionType type : PERMISSION_TYPES) {
+            if (isSet(bitmask, type)) {
+                types.add(type);
+            }
+        }
+        return Collections.unmodifiableCollection(types);
+    }
+
+}
@@ -1,6 +1,7 @@
 package org.javacord.core.entity.permission;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.javacord.api.DiscordApi;
 import org.javacord.api.entity.DiscordEntity;
 import org.javacord.api.entity.permission.Permissions;
@@ -155,6 +156,7 @@ public class RoleImpl implements Role, InternalRoleAttachableListenerManager {
      */
     public void setPermissions(PermissionsImpl permissions) {
         this.permissions = permissions;
+        server.invalidatePermissions();
     }
 
     /**
@@ -212,12 +214,19 @@ public class RoleImpl implements Role, InternalRoleAttachableListenerManager {
             return getServer().getMembers();
         }
 
-        return server.getRealMembers().stream()
-                .filter(member -> member.hasRole(this))
+        return api.getEntityCache().get().getMemberCache().getMembersByRole(getId()).stream()
                 .map(Member::getUser)
                 .collect(Collectors.toSet());
     }
 
+    @Override
+    public int getUserCount() {
+        if (isEveryoneRole()) {
+            return server.getRealMembers().size();
+        }
+        return api.getEntityCache().get().getMemberCache().getMembersByRole(getId()).size();
+    }
+
     @Override
     public boolean hasUser(User user) {
         return ((UserImpl) user).getMember()
@@ -262,6 +271,24 @@ public class RoleImpl implements Role, InternalRoleAttachableListenerManager {
         return ROLE_COMPARATOR.compare(this, role);
     }
 
+    /**
+     * Adds the json data of the role to the given object node, in the same format as it is sent by Discord.
+     *
+     * @param object The object, the data should be added to.
+     * @return The provided object with the data of the role.
+     */
+    public ObjectNode toJsonNode(ObjectNode object) {
+        return object
+                .put("id", Long.toUnsignedString(id))
+                .put("name", name)
+                .put("position", rawPosition)
+                .put("color", color)
+                .put("hoist", hoist)
+                .put("mentionable", mentionable)
+                .put("permissions", permissions.getAllowedBitmask())
+                .put("managed", managed);
+    }
+
     @Override
     public boolean equals(Object o) {
         return (this == o)
@@ -3,6 +3,7 @@ package org.javacord.core.entity.server;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.apache.logging.log4j.Logger;
 import org.javacord.api.DiscordApi;
 import org.javacord.api.Javacord;
@@ -23,6 +24,8 @@ import org.javacord.api.entity.channel.ServerTextChannel;
 import org.javacord.api.entity.channel.ServerVoiceChannel;
 import org.javacord.api.entity.emoji.KnownCustomEmoji;
 import org.javacord.api.entity.intent.Intent;
+import org.javacord.api.entity.permission.PermissionType;
+import org.javacord.api.entity.permission.Permissions;
 import org.javacord.api.entity.permission.Role;
 import org.javacord.api.entity.server.Ban;
 import org.javacord.api.entity.server.BoostLevel;
@@ -46,6 +49,9 @@ import org.javacord.core.entity.channel.ChannelCategoryImpl;
 import org.javacord.core.entity.channel.ServerChannelImpl;
 import org.javacord.core.entity.channel.ServerTextChannelImpl;
 import org.javacord.core.entity.channel.ServerVoiceChannelImpl;
+import org.javacord.core.entity.emoji.KnownCustomEmojiImpl;
+import org.javacord.core.entity.permission.PermissionBitmasks;
+import org.javacord.core.entity.permission.PermissionsImpl;
 import org.javacord.core.entity.permission.RoleImpl;
 import org.javacord.core.entity.server.invite.InviteImpl;
 import org.javacord.core.entity.user.Member;
@@ -55,6 +61,7 @@ import org.javacord.core.entity.webhook.WebhookImpl;
 import org.javacord.core.listener.server.InternalServerAttachableListenerManager;
 import org.javacord.core.util.Cleanupable;
 import org.javacord.core.util.event.DispatchQueueSelector;
+import org.javacord.core.util.gateway.DiscordWebSocketAdapter;
 import org.javacord.core.util.logging.LoggerUtil;
 import org.javacord.core.util.rest.RestEndpoint;
 import org.javacord.core.util.rest.RestMethod;
@@ -73,6 +80,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalDouble;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
@@ -182,6 +190,12 @@ public class ServerImpl implements Server, Cleanupable, InternalServerAttachable
      */
     private volatile boolean ready;
 
+    /**
+     * The ids of the members which are known to be part of the server while its members are resynchronized, or
+     * {@code null} if its members are not resynchronized.
+     */
+    private volatile Set<Long> resyncedMemberIds;
+
     /**
      * A lock that is used ti prevent lock on {@code audioConnection} and {@code pendingAudioConnection}.
      */
@@ -197,6 +211,12 @@ public class ServerImpl implements Server, Cleanupable, InternalServerAttachable
      */
     private final ConcurrentHashMap<Long, Role> roles = new ConcurrentHashMap<>();
 
+    /**
+     * The version of the permissions of the server.
+     * It is incremented whenever cached permission bitmasks of members might have become invalid.
+     */
+    private final AtomicInteger permissionVersion = new AtomicInteger(1);
+
     /**
      * A set with all members that are muted.
      */
@@ -370,6 +390,8 @@ public class ServerImpl implements Server, Cleanupable, InternalServerAttachable
 
         if (data.has("members")) {
             addMembers(data.get("members"));
+        } else {
+            checkIfReady();
         }
 
         if (data.hasNonNull("voice_states")) {
@@ -381,13 +403,7 @@ public class ServerImpl implements Server, Cleanupable, InternalServerAttachable
             }
         }
 
-        if (
-                (isLarge() || !api.getIntents().contains(Intent.GUILD_PRESENCES))
-                && getMembers().size() < getMemberCount()
-                && api.hasUserCacheEnabled()
-        ) {
-            api.getWebSocketAdapter().queueRequestGuildMembers(this);
-        }
+        requestMissingMembers();
 
         if (data.has("emojis")) {
             for (JsonNode emojiJson : data.get("emojis")) {
@@ -411,30 +427,33 @@ public class ServerImpl implements Server, Cleanupable, InternalServerAttachable
                     continue;
                 }
 
-                if (presenceJson.has("game")) {
-                    Activity activity;
-                    if (!presenceJson.get("game").isNull()) {
-                        activity = new ActivityImpl(api, presenceJson.get("game"));
-                    } else {
-                        activity = null;
+                // The packets of other servers might update the presence of the same user concurrently
+                synchronized (api.getUserUpdateLock(userId)) {
+                    if (presenceJson.has("game")) {
+                        Activity activity;
+                        if (!presenceJson.get("game").isNull()) {
+                            activity = new ActivityImpl(api, presenceJson.get("game"));
+                        } else {
+                            activity = null;
+                        }
+                        api.updateUserPresence(userId, presence -> presence.setActivity(activity));
+                    }
+                    if (presenceJson.has("status")) {
+                        UserStatus status = UserStatus.fromString(presenceJson.get("status").asText());
+                        api.updateUserPresence(userId, presence -> presence.setStatus(status));
                     }
-                    api.updateUserPresence(userId, presence -> presence.setActivity(activity));
-                }
-                if (presenceJson.has("status")) {
-                    UserStatus status = UserStatus.fromString(presenceJson.get("status").asText());
-                    api.updateUserPresence(userId, presence -> presence.setStatus(status));
-                }
 
-                if (presenceJson.has("client_status")) {
-                    JsonNode clientStatus = presenceJson.get("client_status");
-                    for (DiscordClient client : DiscordClient.values()) {
-                        if (clientStatus.hasNonNull(client.getName())) {
-                            UserStatus status = UserStatus.fromString(clientStatus.get(client.getName()).asText());
-                            api.updateUserPresence(userId, presence -> presence
-                                    .setClientStatus(presence.getClientStatus().put(client, status)));
-                        } else {
-                            api.updateUserPresence(userId, presence -> presence
-                                    .setClientStatus(presence.getClientStatus().put(client, UserStatus.OFFLINE)));
+                    if (presenceJson.has("client_status")) {
+                        JsonNode clientStatus = presenceJson.get("client_status");
+                        for (DiscordClient client : DiscordClient.values()) {
+                            if (clientStatus.hasNonNull(client.getName())) {
+                                UserStatus status = UserStatus.fromString(clientStatus.get(client.getName()).asText());
+                                api.updateUserPresence(userId, presence -> presence
+                                        .setClientStatus(presence.getClientStatus().put(client, status)));
+                            } else {
+                                api.updateUserPresence(userId, presence -> presence
+                                        .setClientStatus(presence.getClientStatus().put(client, UserStatus.OFFLINE)));
+                            }
                         }
                     }
                 }
@@ -592,6 +611,55 @@ public class ServerImpl implements Server, Cleanupable, InternalServerAttachable
      */
     public void setOwnerId(long ownerId) {
         this.ownerId = ownerId;
+        invalidatePermissions();
+    }
+
+    /**
+     * Gets the current version of the permissions of the server.
+     *
+     * @return The current permission version.
+     */
+    public int getPermissionVersion() {
+        return permissionVersion.get();
+    }
+
+    /**
+     * Invalidates all cached permission bitmasks of the server.
+     * This must be called whenever the permissions of a role, the roles or the owner of the server, or the permission
+     * overwrites of a channel changed.
+     */
+    public void invalidatePermissions() {
+        permissionVersion.incrementAndGet();
+    }
+
+    /**
+     * Gets the member object which is used to calculate the permissions of the given user.
+     *
+     * @param user The user.
+     * @return The member object or {@code null} if the user is not a member of the server.
+     */
+    public MemberImpl getPermissionMember(User user) {
+        if (user instanceof UserImpl) {
+            MemberImpl member = ((UserImpl) user).getMember().orElse(null);
+            if (member != null && member.getServer() == this) {
+                return member;
+            }
+        }
+        return (MemberImpl) getRealMemberById(user.getId()).orElse(null);
+    }
+
+    /**
+     * Gets the server-wide allowed permissions of a user as a bitmask.
+     *
+     * @param user The user.
+     * @return The allowed permissions.
+     */
+    public int getPermissionBitmask(User user) {
+        MemberImpl member = getPermissionMember(user);
+        if (member != null) {
+            return member.getPermissionBitmask();
+        }
+        return PermissionBitmasks.calculateServerPermissions(isOwner(user), Collections.emptyList());
     }
 
     /**
@@ -627,7 +695,11 @@ public class ServerImpl implements Server, Cleanupable, InternalServerAttachable
      * @param roleId The id of the role to remove.
      */
     public void removeRole(long roleId) {
-        roles.remove(roleId);
+        Role role = roles.remove(roleId);
+        invalidatePermissions();
+        if (role != null) {
+            api.removeRoleFromMemberCache(role);
+        }
     }
 
     /**
@@ -660,6 +732,7 @@ public class ServerImpl implements Server, Cleanupable, InternalServerAttachable
             return getRoleById(id).orElseGet(() -> {
                 Role role = new RoleImpl(api, this, data);
                 this.roles.put(role.getId(), role);
+                invalidatePermissions();
                 return role;
             });
         }
@@ -747,15 +820,105 @@ public class ServerImpl implements Server, Cleanupable, InternalServerAttachable
     public MemberImpl addMember(JsonNode memberJson) {
         MemberImpl member = new MemberImpl(api, this, memberJson, null);
         api.addMemberToCacheOrReplaceExisting(member);
+        addResyncedMemberId(member.getId());
+        checkIfReady();
+        return member;
+    }
+
+    /**
+     * Requests the members which are not cached yet, unless Discord sends them without a request.
+     * Members cannot be requested before the websocket adapter was created, e.g. while a cache snapshot is restored.
+     */
+    public void requestMissingMembers() {
+        DiscordWebSocketAdapter webSocketAdapter = api.getWebSocketAdapter();
+        if (
+                webSocketAdapter != null
+                && (isLarge() || !api.getIntents().contains(Intent.GUILD_PRESENCES))
+                && getMembers().size() < getMemberCount()
+                && api.hasUserCacheEnabled()
+        ) {
+            webSocketAdapter.queueRequestGuildMembers(this);
+        }
+    }
+
+    /**
+     * Requests all members of the server again to resynchronize the cached members, e.g. after a session could not be
+     * resumed. Cached members which are not part of the server anymore are removed once all member chunks were
+     * received.
+     *
+     * @param memberIds The ids of the members which are already known to be part of the server.
+     * @return Whether the members were requested or not.
+     */
+    public boolean resyncMembers(Collection<Long> memberIds) {
+        DiscordWebSocketAdapter webSocketAdapter = api.getWebSocketAdapter();
+        if (webSocketAdapter == null || !api.hasUserCacheEnabled()) {
+            return false;
+        }
+        Set<Long> resyncedMemberIds = ConcurrentHashMap.newKeySet();
+        resyncedMemberIds.addAll(memberIds);
+        this.resyncedMemberIds = resyncedMemberIds;
+        webSocketAdapter.queueRequestGuildMembers(this);
+        return true;
+    }
+
+    /**
+     * Checks if the members of the server are resynchronized.
+     *
+     * @return Whether the members of the server are resynchronized or not.
+     */
+    public boolean isResyncingMembers() {
+        return resyncedMemberIds != null;
+    }
+
+    /**
+     * Marks a member as part of the server while its members are resynchronized.
+     *
+     * @param userId The id of the member.
+     */
+    public void addResyncedMemberId(long userId) {
+        Set<Long> resyncedMemberIds = this.resyncedMemberIds;
+        if (resyncedMemberIds != null) {
+            resyncedMemberIds.add(userId);
+        }
+    }
+
+    /**
+     * Finishes the resynchronization of the members of the server.
+     *
+     * @return The ids of all members of the server or an empty optional if its members were not resynchronized.
+     */
+    public Optional<Set<Long>> finishMemberResync() {
+        Set<Long> resyncedMemberIds = this.resyncedMemberIds;
+        this.resyncedMemberIds = null;
+        return Optional.ofNullable(resyncedMemberIds);
+    }
 
+    /**
+     * Marks the server as ready and informs the ready consumers if all members are cached.
+     */
+    private void checkIfReady() {
         synchronized (readyConsumers) {
-            if (!ready && getRealMembers().size() == getMemberCount()) {
+            if (ready) {
+                return;
+            }
+            int cachedMemberCount = getRealMembers().size();
+            api.getStartupTracker().ifPresent(
+                    tracker -> tracker.updateMemberProgress(getId(), cachedMemberCount, getMemberCount()));
+            if (cachedMemberCount == getMemberCount()) {
                 ready = true;
                 readyConsumers.forEach(consumer -> consumer.accept(this));
                 readyConsumers.clear();
             }
         }
-        return member;
+    }
+
+    /**
+     * Sets the member count.
+     *
+     * @param memberCount The member count.
+     */
+    public void setMemberCount(int memberCount) {
+        this.memberCount.set(memberCount);
     }
 
     /**
@@ -799,9 +962,12 @@ public class ServerImpl implements Server, Cleanupable, InternalServerAttachable
      * @param members An array of guild member objects.
      */
     public void addMembers(JsonNode members) {
-        for (JsonNode member : members) {
-            addMember(member);
+        List<Member> newMembers = new ArrayList<>(members.size());
+        for (JsonNode memberJson : members) {
+            newMembers.add(new MemberImpl(api, this, memberJson, null));
         }
+        api.addMembersToCacheOrReplaceExisting(newMembers);
+        checkIfReady();
     }
 
     /**
@@ -1215,6 +1381,20 @@ public class ServerImpl implements Server, Cleanupable, InternalServerAttachable
         return getRealMembers().size() >= getMemberCount();
     }
 
+    @Override
+    public double getMemberLoadingProgress() {
+        int cachedMemberCount = getRealMembers().size();
+        int memberCount = getMemberCount();
+        if (cachedMemberCount >= memberCount) {
+            return 1;
+        }
+        DiscordWebSocketAdapter webSocketAdapter = api.getWebSocketAdapter();
+        OptionalDouble requestProgress = webSocketAdapter == null
+                ? OptionalDouble.empty()
+                : webSocketAdapter.getGuildMembersRequestTracker().getProgress(getId());
+        return requestProgress.orElse((double) cachedMemberCount / memberCount);
+    }
+
     @Override
     public Set<User> getMembers() {
         return api.getEntityCache().get().getMemberCache()
@@ -1276,6 +1456,31 @@ public class ServerImpl implements Server, Cleanupable, InternalServerAttachable
                                 .map(Member::getRoles).orElseGet(Collections::emptyList));
     }
 
+    @Override
+    public Permissions getPermissions(User user) {
+        return new PermissionsImpl(getPermissionBitmask(user), 0);
+    }
+
+    @Override
+    public Collection<PermissionType> getAllowedPermissions(User user) {
+        return PermissionBitmasks.getPermissionTypes(getPermissionBitmask(user));
+    }
+
+    @Override
+    public boolean hasPermissions(User user, PermissionType... type) {
+        return PermissionBitmasks.areAllSet(getPermissionBitmask(user), type);
+    }
+
+    @Override
+    public boolean hasAnyPermission(User user, PermissionType... type) {
+        return PermissionBitmasks.isAnySet(getPermissionBitmask(user), type);
+    }
+
+    @Override
+    public boolean hasPermission(User user, PermissionType permission) {
+        return PermissionBitmasks.isSet(getPermissionBitmask(user), permission);
+    }
+
     @Override
     public Optional<Role> getRoleById(long id) {
         return Optional.ofNullable(roles.get(id));
@@ -1527,6 +1732,93 @@ public class ServerImpl implements Server, Cleanupable, InternalServerAttachable
                 .forEach(api::removeChannelFromCache);
     }
 
+    /**
+     * Adds the json data of the server to the given object node, in the same format as it is sent by Discord in the
+     * guild create packet.
+     *
+     * <p>User activities are not included.
+     *
+     * @param object The object, the data should be added to.
+     * @return The provided object with the data of the server.
+     */
+    public ObjectNode toJsonNode(ObjectNode object) {
+        object.put("id", getIdAsString())
+                .put("name", name)
+                .put("region", region.getKey())
+                .put("large", large)
+                .put("member_count", getMemberCount())
+                .put("owner_id", Long.toUnsignedString(ownerId))
+                .put("verification_level", verificationLevel.getId())
+                .put("explicit_content_filter", explicitContentFilterLevel.getId())
+                .put("default_message_notifications", defaultMessageNotificationLevel.getId())
+                .put("mfa_level", multiFactorAuthenticationLevel.getId())
+                .put("premium_tier", boostLevel.getId())
+                .put("premium_subscription_count", serverBoostCount)
+                .put("preferred_locale", preferredLocale.toLanguageTag())
+                .put("icon", iconHash)
+                .put("splash", splash)
+                .put("discovery_splash", discoverySplash)
+                .put("description", description)
+                .put("afk_timeout", afkTimeout)
+                .put("system_channel_flags", (hasJoinMessagesEnabled ? 0 : 1) | (hasBoostMessagesEnabled ? 0 : 1 << 1));
+        putId(object, "afk_channel_id", afkChannelId);
+        putId(object, "system_channel_id", systemChannelId);
+        putId(object, "application_id", applicationId);
+        putId(object, "rules_channel_id", rulesChannelId);
+        putId(object, "public_updates_channel_id", moderatorsOnlyChannelId);
+        if (vanityUrlCode != null) {
+            object.put("vanity_url_code", vanityUrlCode.getCode());
+        }
+        ArrayNode features = object.putArray("features");
+        getFeatures().forEach(feature -> features.add(feature.name()));
+
+        ArrayNode channels = object.putArray("channels");
+        ArrayNode voiceStates = object.putArray("voice_states");
+        for (ServerChannel channel : getUnorderedChannels()) {
+            ((ServerChannelImpl) channel).toJsonNode(channels.addObject());
+            channel.asServerVoiceChannel().ifPresent(voiceChannel -> voiceChannel.getConnectedUserIds()
+                    .forEach(userId -> voiceStates.addObject()
+                            .put("channel_id", voiceChannel.getIdAsString())
+                            .put("user_id", Long.toUnsignedString(userId))));
+        }
+        ArrayNode roles = object.putArray("roles");
+        this.roles.values().forEach(role -> ((RoleImpl) role).toJsonNode(roles.addObject()));
+        ArrayNode emojis = object.putArray("emojis");
+        getCustomEmojis().forEach(emoji -> ((KnownCustomEmojiImpl) emoji).toJsonNode(emojis.addObject()));
+
+        ArrayNode members = object.putArray("members");
+        ArrayNode presences = object.putArray("presences");
+        for (Member member : getRealMembers()) {
+            ((MemberImpl) member).toJsonNode(members.addObject());
+            api.getEntityCache().get().getUserPresenceCache().getPresenceByUserId(member.getId())
+                    .ifPresent(presence -> {
+                        ObjectNode presenceJson = presences.addObject();
+                        presenceJson.putObject("user").put("id", member.getIdAsString());
+                        presenceJson.put("status", presence.getStatus().getStatusString());
+                        ObjectNode clientStatus = presenceJson.putObject("client_status");
+                        presence.getClientStatus().forEach((client, status) -> {
+                            if (status != UserStatus.OFFLINE) {
+                                clientStatus.put(client.getName(), status.getStatusString());
+                            }
+                        });
+                    });
+        }
+        return object;
+    }
+
+    /**
+     * Adds an optional id to the given object node.
+     *
+     * @param object The object, the id should be added to.
+     * @param fieldName The name of the field.
+     * @param id The id or {@code -1} if there is none.
+     */
+    private static void putId(ObjectNode object, String fieldName, long id) {
+        if (id != -1) {
+            object.put(fieldName, Long.toUnsignedString(id));
+        }
+    }
+
     @Override
     public boolean equals(Object o) {
         return (this == o)
@@ -60,6 +60,13 @@ public interface Member extends DiscordEntity, Messageable, Mentionable, Permiss
      */
     List<Role> getRoles();
 
+    /**
+     * Gets a list with the ids of all roles of this member, including the everyone role.
+     *
+     * @return A list with the ids of all roles of this member.
+     */
+    List<Long> getRoleIds();
+
     /**
      * Checks if this member has the given role.
      *
@@ -1,11 +1,14 @@
 package org.javacord.core.entity.user;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.javacord.api.DiscordApi;
 import org.javacord.api.entity.permission.Role;
 import org.javacord.api.entity.server.Server;
 import org.javacord.api.entity.user.User;
 import org.javacord.core.DiscordApiImpl;
+import org.javacord.core.entity.permission.PermissionBitmasks;
 import org.javacord.core.entity.server.ServerImpl;
 
 import java.awt.Color;
@@ -34,6 +37,12 @@ public final class MemberImpl implements Member {
     private final boolean selfDeafened;
     private final boolean selfMuted;
 
+    /**
+     * The cached server-wide permissions of the member.
+     * The upper 32 bits contain the permission version of the server, the lower 32 bits the permission bitmask.
+     */
+    private volatile long cachedPermissions = 0;
+
     /**
      * Creates a new immutable member instance.
      *
@@ -131,13 +140,26 @@ public final class MemberImpl implements Member {
                 api, server, user, nickname, roleIds, joinedAt, serverBoostingSince, selfDeafened, selfMuted);
     }
 
+    @Override
+    public List<Long> getRoleIds() {
+        return roleIds;
+    }
+
     /**
-     * Gets a list with the member's role ids.
+     * Gets the server-wide allowed permissions of the member as a bitmask.
+     * The bitmask is cached until the permission version of the server changes.
      *
-     * @return A list with the member's role ids.
+     * @return The allowed permissions.
      */
-    public List<Long> getRoleIds() {
-        return roleIds;
+    public int getPermissionBitmask() {
+        int version = server.getPermissionVersion();
+        long cached = cachedPermissions;
+        if ((int) (cached >>> 32) == version) {
+            return (int) cached;
+        }
+        int permissions = PermissionBitmasks.calculateServerPermissions(server.getOwnerId() == getId(), getRoles());
+        cachedPermissions = ((long) version << 32) | (permissions & 0xFFFFFFFFL);
+        return permissions;
     }
 
     /**
@@ -241,6 +263,29 @@ public final class MemberImpl implements Member {
         return selfDeafened;
     }
 
+    /**
+     * Adds the json data of the member to the given object node, in the same format as it is sent by Discord.
+     *
+     * @param object The object, the data should be added to.
+     * @return The provided object with the data of the member.
+     */
+    public ObjectNode toJsonNode(ObjectNode object) {
+        user.toJsonNode(object.putObject("user"));
+        object.put("nick", nickname);
+        ArrayNode roles = object.putArray("roles");
+        for (long roleId : roleIds) {
+            // The everyone role is added implicitly
+            if (roleId != server.getId()) {
+                roles.add(Long.toUnsignedString(roleId));
+            }
+        }
+        return object
+                .put("joined_at", joinedAt)
+                .put("premium_since", serverBoostingSince)
+                .put("deaf", selfDeafened)
+                .put("mute", selfMuted);
+    }
+
     @Override
     public String toString() {
         return String.format("Member (id: %s, display name: %s)", getIdAsString(), getDisplayName());
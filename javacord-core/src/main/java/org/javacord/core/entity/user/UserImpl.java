@@ -2,6 +2,7 @@ package org.javacord.core.entity.user;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.javacord.api.DiscordApi;
 import org.javacord.api.Javacord;
 import org.javacord.api.entity.DiscordClient;
@@ -355,6 +356,26 @@ public class UserImpl implements User, InternalUserAttachableListenerManager {
                 );
     }
 
+    /**
+     * Adds the json data of the user to the given object node, in the same format as it is sent by Discord.
+     *
+     * @param object The object, the data should be added to.
+     * @return The provided object with the data of the user.
+     */
+    public ObjectNode toJsonNode(ObjectNode object) {
+        int flags = 0;
+        for (UserFlag flag : userFlags) {
+            flags |= flag.asInt();
+        }
+        return object
+                .put("id", Long.toUnsignedString(id))
+                .put("username", name)
+                .put("discriminator", discriminator)
+                .put("avatar", avatarHash)
+                .put("public_flags", flags)
+                .put("bot", bot);
+    }
+
     @Override
     public boolean equals(Object o) {
         return (this == o)
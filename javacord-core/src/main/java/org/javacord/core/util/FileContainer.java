@@ -1,5 +1,8 @@
 package org.javacord.core.util;
 
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.BufferedSink;
 import org.apache.logging.log4j.Logger;
 import org.javacord.api.DiscordApi;
 import org.javacord.api.Javacord;
@@ -16,10 +19,16 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.PipedInputStream;
 import java.io.PipedOutputStream;
 import java.net.HttpURLConnection;
 import java.net.URL;
+import java.net.URLConnection;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 
@@ -238,8 +247,18 @@ public class FileContainer {
                 future.complete(fileAsByteArray);
                 return future;
             }
-            if (fileAsBufferedImage != null
-                    || fileAsFile != null
+            if (fileAsBufferedImage != null) {
+                api.getThreadPool().getExecutorService().submit(() -> {
+                    try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+                        writeBufferedImage(out);
+                        future.complete(out.toByteArray());
+                    } catch (Throwable t) {
+                        future.completeExceptionally(t);
+                    }
+                });
+                return future;
+            }
+            if (fileAsFile != null
                     || fileAsIcon != null
                     || fileAsUrl != null
                     || fileAsInputStream != null) {
@@ -267,6 +286,85 @@ public class FileContainer {
         return future;
     }
 
+    /**
+     * Gets a request body which streams the file when it is sent.
+     *
+     * <p>Files and buffered images are read or encoded every time the body is written, so the body can be sent again
+     * if a request has to be retried, without keeping the whole file in memory. Urls and icons are downloaded into a
+     * byte array once, before the request is sent, so a retried request does not download them again. Input streams
+     * can only be read once and are therefore read into a byte array, too.
+     *
+     * @param api The discord api instance.
+     * @return A request body for the file.
+     */
+    public RequestBody asRequestBody(DiscordApi api) {
+        MediaType mediaType = getMediaType();
+        if (fileAsByteArray != null) {
+            return RequestBody.create(mediaType, fileAsByteArray);
+        }
+        if (fileAsFile != null) {
+            return new RequestBody() {
+                @Override
+                public MediaType contentType() {
+                    return mediaType;
+                }
+
+                @Override
+                public long contentLength() {
+                    return fileAsFile.length();
+                }
+
+                @Override
+                public void writeTo(BufferedSink sink) throws IOException {
+                    try (FileChannel channel = FileChannel.open(fileAsFile.toPath(), StandardOpenOption.READ)) {
+                        WritableByteChannel target = Channels.newChannel(sink.outputStream());
+                        long size = channel.size();
+                        long position = 0;
+                        while (position < size) {
+                            position += channel.transferTo(position, size - position, target);
+                        }
+                    }
+                }
+            };
+        }
+        if (fileAsBufferedImage != null) {
+            return new RequestBody() {
+                @Override
+                public MediaType contentType() {
+                    return mediaType;
+                }
+
+                @Override
+                public void writeTo(BufferedSink sink) throws IOException {
+                    writeBufferedImage(sink.outputStream());
+                }
+            };
+        }
+        return RequestBody.create(mediaType, asByteArray(api).join());
+    }
+
+    /**
+     * Gets the media type of the file, guessed by its name.
+     *
+     * @return The media type of the file.
+     */
+    private MediaType getMediaType() {
+        String mediaType = URLConnection.guessContentTypeFromName(fileTypeOrName);
+        return MediaType.parse(mediaType == null ? "application/octet-stream" : mediaType);
+    }
+
+    /**
+     * Encodes the buffered image and writes it to the given output stream.
+     *
+     * @param out The output stream. It is not closed by this method.
+     * @throws IOException If an IO error occurs.
+     */
+    private void writeBufferedImage(OutputStream out) throws IOException {
+        if (!ImageIO.write(fileAsBufferedImage, getFileType(), out)) {
+            throw new IOException(String.format("No image writer found for format \"%s\"", getFileType()));
+        }
+    }
+
     /**
      * Gets the input stream for the file.
      *
@@ -280,7 +378,7 @@ public class FileContainer {
             PipedInputStream pis = new PipedInputStream(pos);
             api.getThreadPool().getExecutorService().submit(() -> {
                 try {
-                    ImageIO.write(fileAsBufferedImage, getFileType(), pos);
+                    writeBufferedImage(pos);
                     pos.close();
                 } catch (Throwable t) {
                     logger.error("Failed to process buffered image file!", t);
@@ -116,6 +116,39 @@ public class Cache<T> {
         return new Cache<>(newElements, newIndexes);
     }
 
+    /**
+     * Adds many elements to the cache in a single step.
+     *
+     * <p>Compared to calling {@link #addElement(Object)} for every element, this only creates one new cache and one
+     * new version of every index, instead of one for every element.
+     *
+     * <p>This method has an effective time complexity of {@code O(n * m)} with {@code n} being the amount of elements
+     * to add and {@code m} being the amount of indexes in the cache.
+     *
+     * @param elementsToAdd The elements to add.
+     * @return The new cache after adding the elements.
+     */
+    public Cache<T> addElements(Iterable<T> elementsToAdd) {
+        Set<T> newElements = elements.addAll(elementsToAdd);
+        Map<String, Index<Object, T>> newIndexes = indexes.mapValues(index -> index.addElements(elementsToAdd));
+        return new Cache<>(newElements, newIndexes);
+    }
+
+    /**
+     * Removes many elements from the cache in a single step.
+     *
+     * <p>This method has an effective time complexity of {@code O(n * m)} with {@code n} being the amount of elements
+     * to remove and {@code m} being the amount of indexes in the cache.
+     *
+     * @param elementsToRemove The elements to remove.
+     * @return The new cache after removing the elements.
+     */
+    public Cache<T> removeElements(Iterable<T> elementsToRemove) {
+        Set<T> newElements = elements.removeAll(elementsToRemove);
+        Map<String, Index<Object, T>> newIndexes = indexes.mapValues(index -> index.removeElements(elementsToRemove));
+        return new Cache<>(newElements, newIndexes);
+    }
+
     /**
      * Updates the indexes of the cache for the given element.
      *
@@ -0,0 +1,229 @@
+package org.javacord.core.util.cache;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import org.javacord.api.entity.server.Server;
+import org.javacord.core.DiscordApiImpl;
+import org.javacord.core.entity.server.ServerImpl;
+import org.javacord.core.entity.user.MemberImpl;
+import org.javacord.core.entity.user.UserImpl;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * A snapshot of the cache and the gateway session of a shard.
+ *
+ * <p>The snapshot is a compact binary container. It starts with a header which identifies the bot and the shard and
+ * contains the gateway session. The header is followed by length-prefixed json records of the own user and of every
+ * server in the format of the guild create packet, and by the ids of the unavailable servers. The records are parsed
+ * straight from the (usually memory-mapped) buffer, one at a time.
+ */
+public class CacheSnapshot {
+
+    /**
+     * The first bytes of every snapshot ("JCCS").
+     */
+    private static final int MAGIC = 0x4A434353;
+
+    /**
+     * The version of the format. Snapshots with another version are ignored.
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * The length of the fingerprint of the token.
+     */
+    private static final int FINGERPRINT_LENGTH = 32;
+
+    private final String sessionId;
+    private final int lastSeq;
+    private final long createdAt;
+    private final ByteBuffer records;
+
+    private CacheSnapshot(String sessionId, int lastSeq, long createdAt, ByteBuffer records) {
+        this.sessionId = sessionId;
+        this.lastSeq = lastSeq;
+        this.createdAt = createdAt;
+        this.records = records;
+    }
+
+    /**
+     * Writes a snapshot of the cache of the given shard.
+     *
+     * <p>The cache must not be modified while the snapshot is written, i.e. no packets must be handled. Only a single
+     * record is held in memory at a time.
+     *
+     * @param api The shard.
+     * @param sessionId The id of the gateway session.
+     * @param lastSeq The sequence of the last handled packet.
+     * @param output The output stream to write to. It is flushed, but not closed.
+     * @return The amount of written bytes.
+     * @throws IOException If the cache could not be serialized or written.
+     */
+    public static int write(DiscordApiImpl api, String sessionId, int lastSeq, OutputStream output)
+            throws IOException {
+        ObjectMapper mapper = api.getObjectMapper();
+        DataOutputStream out = new DataOutputStream(output);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.write(getFingerprint(api.getToken()));
+        out.writeInt(api.getCurrentShard());
+        out.writeInt(api.getTotalShards());
+        out.writeLong(System.currentTimeMillis());
+        byte[] sessionIdBytes = sessionId.getBytes(StandardCharsets.UTF_8);
+        out.writeShort(sessionIdBytes.length);
+        out.write(sessionIdBytes);
+        out.writeInt(lastSeq);
+
+        writeRecord(out, mapper.writeValueAsBytes(
+                ((UserImpl) api.getYourself()).toJsonNode(JsonNodeFactory.instance.objectNode())));
+        Collection<Server> servers = api.getAllServers();
+        out.writeInt(servers.size());
+        for (Server server : servers) {
+            writeRecord(out, mapper.writeValueAsBytes(
+                    ((ServerImpl) server).toJsonNode(JsonNodeFactory.instance.objectNode())));
+        }
+        Collection<Long> unavailableServers = api.getUnavailableServers();
+        out.writeInt(unavailableServers.size());
+        for (long serverId : unavailableServers) {
+            out.writeLong(serverId);
+        }
+        out.flush();
+        return out.size();
+    }
+
+    /**
+     * Reads the header of the given snapshot.
+     *
+     * @param api The shard which wants to restore the snapshot.
+     * @param buffer The snapshot.
+     * @return The snapshot or an empty optional if it has another version or belongs to another bot or shard.
+     */
+    public static Optional<CacheSnapshot> read(DiscordApiImpl api, ByteBuffer buffer) {
+        ByteBuffer snapshot = buffer.duplicate();
+        if (snapshot.remaining() < 8 || snapshot.getInt() != MAGIC || snapshot.getInt() != VERSION) {
+            return Optional.empty();
+        }
+        byte[] fingerprint = new byte[FINGERPRINT_LENGTH];
+        snapshot.get(fingerprint);
+        int shard = snapshot.getInt();
+        int totalShards = snapshot.getInt();
+        if (!Arrays.equals(fingerprint, getFingerprint(api.getToken()))
+                || shard != api.getCurrentShard() || totalShards != api.getTotalShards()) {
+            return Optional.empty();
+        }
+        long createdAt = snapshot.getLong();
+        byte[] sessionId = new byte[snapshot.getShort() & 0xFFFF];
+        snapshot.get(sessionId);
+        int lastSeq = snapshot.getInt();
+        return Optional.of(new CacheSnapshot(
+                new String(sessionId, StandardCharsets.UTF_8), lastSeq, createdAt, snapshot.slice()));
+    }
+
+    /**
+     * Restores the cache of the snapshot.
+     *
+     * @param api The shard.
+     * @return The amount of restored servers.
+     * @throws IOException If the snapshot is broken.
+     */
+    public int restore(DiscordApiImpl api) throws IOException {
+        ObjectMapper mapper = api.getObjectMapper();
+        ByteBuffer snapshot = records.duplicate();
+        api.setYourself(new UserImpl(api, readRecord(mapper, snapshot), (MemberImpl) null, null));
+        int serverCount = snapshot.getInt();
+        for (int i = 0; i < serverCount; i++) {
+            new ServerImpl(api, readRecord(mapper, snapshot));
+        }
+        int unavailableServerCount = snapshot.getInt();
+        for (int i = 0; i < unavailableServerCount; i++) {
+            api.addUnavailableServerToCache(snapshot.getLong());
+        }
+        return serverCount;
+    }
+
+    /**
+     * Gets the id of the gateway session.
+     *
+     * @return The id of the gateway session.
+     */
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    /**
+     * Gets the sequence of the last packet that is included in the snapshot.
+     *
+     * @return The sequence of the last packet that is included in the snapshot.
+     */
+    public int getLastSeq() {
+        return lastSeq;
+    }
+
+    /**
+     * Gets the time the snapshot was created at, in milliseconds since the epoch.
+     *
+     * @return The time the snapshot was created at.
+     */
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * Writes a length-prefixed record.
+     *
+     * @param out The output to write to.
+     * @param record The record.
+     * @throws IOException If the record could not be written.
+     */
+    private static void writeRecord(DataOutputStream out, byte[] record) throws IOException {
+        out.writeInt(record.length);
+        out.write(record);
+    }
+
+    /**
+     * Reads a length-prefixed record without copying it.
+     *
+     * @param mapper The object mapper.
+     * @param snapshot The snapshot, positioned at the record. The position is moved behind the record.
+     * @return The record.
+     * @throws IOException If the record is broken.
+     */
+    private static JsonNode readRecord(ObjectMapper mapper, ByteBuffer snapshot) throws IOException {
+        int length = snapshot.getInt();
+        ByteBuffer record = snapshot.slice();
+        record.limit(length);
+        snapshot.position(snapshot.position() + length);
+        try (InputStream in = new ByteBufferBackedInputStream(record)) {
+            return mapper.readTree(in);
+        }
+    }
+
+    /**
+     * Gets the fingerprint of the given token, so snapshots can be matched to a bot without storing its token.
+     *
+     * @param token The token.
+     * @return The fingerprint of the token.
+     */
+    private static byte[] getFingerprint(String token) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new AssertionError(e);
+        }
+    }
+
+}
@@ -0,0 +1,151 @@
+package org.javacord.core.util.cache;
+
+import org.javacord.api.entity.channel.Channel;
+import org.javacord.api.entity.channel.ChannelType;
+import org.javacord.api.entity.channel.PrivateChannel;
+import org.javacord.api.entity.channel.ServerChannel;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * A mutable, thread-safe cache for all channel entities.
+ *
+ * <p>Modifications are striped by the channel id, so updates of different channels do not contend with each other.
+ * Sets for a single type or server are weakly consistent views, sets that combine several types are copies.
+ */
+public class ConcurrentChannelCache implements ChannelCache {
+
+    /**
+     * The amount of lock stripes. Must be a power of two.
+     */
+    private static final int LOCK_STRIPES = 64;
+
+    private final Object[] channelLocks = new Object[LOCK_STRIPES];
+
+    private final ConcurrentHashMap<Long, Channel> channelsById = new ConcurrentHashMap<>();
+
+    private final Map<ChannelType, Set<Channel>> channelsByType = new EnumMap<>(ChannelType.class);
+
+    private final ConcurrentHashMap<Long, Set<ServerChannel>> channelsByServerId = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<Long, PrivateChannel> privateChannelsByUserId = new ConcurrentHashMap<>();
+
+    private final Set<Channel> channelsView = new ValuesSetView<>(channelsById.values(),
+            o -> o instanceof Channel && o.equals(channelsById.get(((Channel) o).getId())));
+
+    /**
+     * Creates a new empty concurrent channel cache.
+     */
+    public ConcurrentChannelCache() {
+        for (int i = 0; i < channelLocks.length; i++) {
+            channelLocks[i] = new Object();
+        }
+        for (ChannelType type : ChannelType.values()) {
+            channelsByType.put(type, ConcurrentHashMap.newKeySet());
+        }
+    }
+
+    @Override
+    public ConcurrentChannelCache addChannel(Channel channel) {
+        synchronized (getChannelLock(channel.getId())) {
+            Channel oldChannel = channelsById.put(channel.getId(), channel);
+            if (oldChannel != null) {
+                removeFromIndexes(oldChannel);
+            }
+            channelsByType.get(channel.getType()).add(channel);
+            channel.asServerChannel().ifPresent(serverChannel -> channelsByServerId
+                    .computeIfAbsent(serverChannel.getServer().getId(), id -> ConcurrentHashMap.newKeySet())
+                    .add(serverChannel));
+            channel.asPrivateChannel().ifPresent(privateChannel ->
+                    privateChannelsByUserId.put(privateChannel.getRecipient().getId(), privateChannel));
+        }
+        return this;
+    }
+
+    @Override
+    public ConcurrentChannelCache removeChannel(Channel channel) {
+        synchronized (getChannelLock(channel.getId())) {
+            if (channelsById.remove(channel.getId(), channel)) {
+                removeFromIndexes(channel);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Removes the channel from all indexes. The caller must hold the lock of the channel.
+     *
+     * @param channel The channel to remove.
+     */
+    private void removeFromIndexes(Channel channel) {
+        channelsByType.get(channel.getType()).remove(channel);
+        channel.asServerChannel().ifPresent(serverChannel -> {
+            Set<ServerChannel> channelsOfServer = channelsByServerId.get(serverChannel.getServer().getId());
+            if (channelsOfServer != null) {
+                channelsOfServer.remove(serverChannel);
+            }
+        });
+        channel.asPrivateChannel().ifPresent(privateChannel ->
+                privateChannelsByUserId.remove(privateChannel.getRecipient().getId(), privateChannel));
+    }
+
+    /**
+     * Gets the lock for the channel with the given id.
+     *
+     * @param channelId The id of the channel.
+     * @return The lock for the channel.
+     */
+    private Object getChannelLock(long channelId) {
+        return channelLocks[Long.hashCode(channelId * 0x9E3779B97F4A7C15L) & (LOCK_STRIPES - 1)];
+    }
+
+    @Override
+    public Set<Channel> getChannels() {
+        return channelsView;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T extends Channel> Set<T> getChannelsWithTypes(ChannelType... types) {
+        if (types.length == 1) {
+            return (Set<T>) Collections.unmodifiableSet(channelsByType.get(types[0]));
+        }
+        Set<Channel> channels = new HashSet<>();
+        for (ChannelType type : types) {
+            channels.addAll(channelsByType.get(type));
+        }
+        return (Set<T>) Collections.unmodifiableSet(channels);
+    }
+
+    @Override
+    public Set<ServerChannel> getChannelsOfServer(long serverId) {
+        Set<ServerChannel> channelsOfServer = channelsByServerId.get(serverId);
+        return channelsOfServer == null ? Collections.emptySet() : Collections.unmodifiableSet(channelsOfServer);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T extends Channel> Set<T> getChannelsOfServerAndType(long serverId, ChannelType type) {
+        return (Set<T>) Collections.unmodifiableSet(getChannelsOfServer(serverId).stream()
+                .filter(channel -> channel.getType() == type)
+                .collect(Collectors.toSet()));
+    }
+
+    @Override
+    public Optional<Channel> getChannelById(long id) {
+        return Optional.ofNullable(channelsById.get(id));
+    }
+
+    @Override
+    public Optional<PrivateChannel> getPrivateChannelByUserId(long userId) {
+        return Optional.ofNullable(privateChannelsByUserId.get(userId));
+    }
+
+}
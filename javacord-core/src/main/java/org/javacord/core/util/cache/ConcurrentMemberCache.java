@@ -0,0 +1,238 @@
+package org.javacord.core.util.cache;
+
+import org.javacord.api.entity.permission.Role;
+import org.javacord.api.entity.server.Server;
+import org.javacord.core.entity.user.Member;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * A mutable, thread-safe cache for all member entities.
+ *
+ * <p>Modifications are striped by the server id of the member, so updates for members of different servers do
+ * not contend with each other. All returned sets are weakly consistent views and not snapshots.
+ */
+public class ConcurrentMemberCache implements MemberCache {
+
+    /**
+     * The amount of lock stripes. Must be a power of two.
+     */
+    private static final int LOCK_STRIPES = 64;
+
+    private final Object[] serverLocks = new Object[LOCK_STRIPES];
+
+    /**
+     * The members of every server, mapped by their id.
+     */
+    private final ConcurrentHashMap<Long, ConcurrentHashMap<Long, Member>> membersByServerId =
+            new ConcurrentHashMap<>();
+
+    /**
+     * The members of every user, mapped by the id of their server.
+     */
+    private final ConcurrentHashMap<Long, ConcurrentHashMap<Long, Member>> membersByUserId =
+            new ConcurrentHashMap<>();
+
+    /**
+     * The members of every role except the everyone role, mapped by their id.
+     */
+    private final ConcurrentHashMap<Long, ConcurrentHashMap<Long, Member>> membersByRoleId =
+            new ConcurrentHashMap<>();
+
+    private final ConcurrentUserCache userCache = new ConcurrentUserCache();
+
+    /**
+     * Creates a new empty concurrent member cache.
+     */
+    public ConcurrentMemberCache() {
+        for (int i = 0; i < serverLocks.length; i++) {
+            serverLocks[i] = new Object();
+        }
+    }
+
+    @Override
+    public ConcurrentMemberCache addMember(Member member) {
+        long serverId = member.getServer().getId();
+        synchronized (getServerLock(serverId)) {
+            addMemberUnderLock(member, serverId);
+        }
+        return this;
+    }
+
+    @Override
+    public ConcurrentMemberCache addMembers(Collection<Member> members) {
+        Map<Long, List<Member>> membersGroupedByServerId = members.stream()
+                .collect(Collectors.groupingBy(member -> member.getServer().getId()));
+        membersGroupedByServerId.forEach((serverId, membersOfServer) -> {
+            synchronized (getServerLock(serverId)) {
+                membersOfServer.forEach(member -> addMemberUnderLock(member, serverId));
+            }
+        });
+        return this;
+    }
+
+    @Override
+    public ConcurrentMemberCache removeMember(Member member) {
+        if (member == null) {
+            return this;
+        }
+        long serverId = member.getServer().getId();
+        long userId = member.getId();
+        synchronized (getServerLock(serverId)) {
+            // Empty member maps of servers are kept, so that set views stay attached to them
+            Map<Long, Member> membersOfServer = membersByServerId.get(serverId);
+            if (membersOfServer != null && membersOfServer.remove(userId, member)) {
+                removeFromRoleIndex(member, serverId);
+            }
+            membersByUserId.computeIfPresent(userId, (id, membersOfUser) -> {
+                membersOfUser.remove(serverId, member);
+                if (membersOfUser.isEmpty()) {
+                    userCache.removeUser(member.getUser());
+                    return null;
+                }
+                return membersOfUser;
+            });
+        }
+        return this;
+    }
+
+    @Override
+    public ConcurrentMemberCache removeRole(Role role) {
+        synchronized (getServerLock(role.getServer().getId())) {
+            membersByRoleId.remove(role.getId());
+        }
+        return this;
+    }
+
+    /**
+     * Adds the member to all maps. The caller must hold the lock of the member's server.
+     *
+     * @param member The member to add.
+     * @param serverId The id of the member's server.
+     */
+    private void addMemberUnderLock(Member member, long serverId) {
+        long userId = member.getId();
+        Member oldMember = membersByServerId.computeIfAbsent(serverId, id -> new ConcurrentHashMap<>())
+                .put(userId, member);
+        if (oldMember != null) {
+            removeFromRoleIndex(oldMember, serverId);
+        }
+        for (long roleId : member.getRoleIds()) {
+            if (roleId != serverId) {
+                membersByRoleId.computeIfAbsent(roleId, id -> new ConcurrentHashMap<>()).put(userId, member);
+            }
+        }
+        // The user cache is updated inside the compute function to serialize it with member
+        // changes of the same user in other servers
+        membersByUserId.compute(userId, (id, membersOfUser) -> {
+            ConcurrentHashMap<Long, Member> newMembersOfUser =
+                    membersOfUser == null ? new ConcurrentHashMap<>() : membersOfUser;
+            newMembersOfUser.put(serverId, member);
+            userCache.addUser(member.getUser());
+            return newMembersOfUser;
+        });
+    }
+
+    /**
+     * Removes the member from the role index. The caller must hold the lock of the member's server.
+     *
+     * <p>Empty member maps of roles are kept, so that set views stay attached to them. They are only removed together
+     * with the role.
+     *
+     * @param member The member to remove.
+     * @param serverId The id of the member's server.
+     */
+    private void removeFromRoleIndex(Member member, long serverId) {
+        for (long roleId : member.getRoleIds()) {
+            Map<Long, Member> membersOfRole = roleId == serverId ? null : membersByRoleId.get(roleId);
+            if (membersOfRole != null) {
+                membersOfRole.remove(member.getId(), member);
+            }
+        }
+    }
+
+    /**
+     * Gets the lock for the server with the given id.
+     *
+     * @param serverId The id of the server.
+     * @return The lock for the server.
+     */
+    private Object getServerLock(long serverId) {
+        return serverLocks[Long.hashCode(serverId * 0x9E3779B97F4A7C15L) & (LOCK_STRIPES - 1)];
+    }
+
+    @Override
+    public Set<Server> getServers(long userId) {
+        Map<Long, Member> membersOfUser = membersByUserId.get(userId);
+        if (membersOfUser == null) {
+            return Collections.emptySet();
+        }
+        return Collections.unmodifiableSet(membersOfUser.values().stream()
+                .map(Member::getServer)
+                .collect(Collectors.toSet()));
+    }
+
+    @Override
+    public UserCache getUserCache() {
+        return userCache;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This method creates a copy and has a time complexity of {@code O(n)} with {@code n} being the amount of
+     * members in the cache.
+     */
+    @Override
+    public Set<Member> getMembers() {
+        Set<Member> members = new HashSet<>();
+        membersByServerId.values().forEach(membersOfServer -> members.addAll(membersOfServer.values()));
+        return Collections.unmodifiableSet(members);
+    }
+
+    @Override
+    public Set<Member> getMembersById(long id) {
+        return createView(membersByUserId.get(id), member -> member.getServer().getId());
+    }
+
+    @Override
+    public Set<Member> getMembersByServer(long serverId) {
+        return createView(membersByServerId.get(serverId), Member::getId);
+    }
+
+    @Override
+    public Optional<Member> getMemberByIdAndServer(long id, long serverId) {
+        Map<Long, Member> membersOfServer = membersByServerId.get(serverId);
+        return membersOfServer == null ? Optional.empty() : Optional.ofNullable(membersOfServer.get(id));
+    }
+
+    @Override
+    public Set<Member> getMembersByRole(long roleId) {
+        return createView(membersByRoleId.get(roleId), Member::getId);
+    }
+
+    /**
+     * Creates a set view of the given members.
+     *
+     * @param members The members mapped by either their id or their server's id.
+     * @param keyMapper A function that maps a member to its key in the given map.
+     * @return A set view of the members.
+     */
+    private Set<Member> createView(Map<Long, Member> members, Function<Member, Long> keyMapper) {
+        if (members == null) {
+            return Collections.emptySet();
+        }
+        return new ValuesSetView<>(members.values(),
+                o -> o instanceof Member && members.get(keyMapper.apply((Member) o)) == o);
+    }
+
+}
@@ -0,0 +1,54 @@
+package org.javacord.core.util.cache;
+
+import org.javacord.api.entity.user.User;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A mutable, thread-safe cache for all user entities.
+ */
+public class ConcurrentUserCache implements UserCache {
+
+    private final ConcurrentHashMap<Long, User> usersById = new ConcurrentHashMap<>();
+
+    private final Set<User> usersView = new ValuesSetView<>(usersById.values(),
+            o -> o instanceof User && o.equals(usersById.get(((User) o).getId())));
+
+    @Override
+    public ConcurrentUserCache addUser(User user) {
+        usersById.put(user.getId(), user);
+        return this;
+    }
+
+    @Override
+    public ConcurrentUserCache addUsers(Collection<User> users) {
+        users.forEach(this::addUser);
+        return this;
+    }
+
+    @Override
+    public ConcurrentUserCache removeUser(User user) {
+        usersById.remove(user.getId(), user);
+        return this;
+    }
+
+    @Override
+    public ConcurrentUserCache removeUsers(Collection<User> users) {
+        users.forEach(this::removeUser);
+        return this;
+    }
+
+    @Override
+    public Set<User> getUsers() {
+        return usersView;
+    }
+
+    @Override
+    public Optional<User> getUserById(long id) {
+        return Optional.ofNullable(usersById.get(id));
+    }
+
+}
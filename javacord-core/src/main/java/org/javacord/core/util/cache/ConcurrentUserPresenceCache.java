@@ -0,0 +1,34 @@
+package org.javacord.core.util.cache;
+
+import org.javacord.core.entity.user.UserPresence;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A mutable, thread-safe cache for all user presences.
+ */
+public class ConcurrentUserPresenceCache implements UserPresenceCache {
+
+    private final ConcurrentHashMap<Long, UserPresence> presencesByUserId = new ConcurrentHashMap<>();
+
+    @Override
+    public ConcurrentUserPresenceCache addUserPresence(UserPresence presence) {
+        presencesByUserId.put(presence.getUserId(), presence);
+        return this;
+    }
+
+    @Override
+    public ConcurrentUserPresenceCache removeUserPresence(UserPresence presence) {
+        if (presence != null) {
+            presencesByUserId.remove(presence.getUserId(), presence);
+        }
+        return this;
+    }
+
+    @Override
+    public Optional<UserPresence> getPresenceByUserId(long userId) {
+        return Optional.ofNullable(presencesByUserId.get(userId));
+    }
+
+}
@@ -0,0 +1,221 @@
+package org.javacord.core.util.cache;
+
+import io.vavr.Tuple;
+import io.vavr.Tuple2;
+import org.javacord.api.entity.permission.Role;
+import org.javacord.api.entity.server.Server;
+import org.javacord.api.entity.user.User;
+import org.javacord.core.entity.user.Member;
+import org.javacord.core.util.ImmutableToJavaMapper;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * An immutable cache for all member entities.
+ */
+public class ImmutableMemberCache implements MemberCache {
+
+    private static final String ID_INDEX_NAME = "id";
+    private static final String SERVER_ID_INDEX_NAME = "server-id";
+    private static final String ID_AND_SERVER_ID_INDEX_NAME = "server-id | type";
+
+    private static final String MEMBER_SERVER_MEMBER_ID_INDEX_NAME = "ms > member-id";
+    private static final String MEMBER_SERVER_MEMBER_ID_SERVER_ID_INDEX_NAME = "ms > member-id | server-id";
+
+    private static final String MEMBER_ROLE_ROLE_ID_INDEX_NAME = "mr > role-id";
+    private static final String MEMBER_ROLE_MEMBER_ID_SERVER_ID_INDEX_NAME = "mr > member-id | server-id";
+
+    private static final ImmutableMemberCache EMPTY_CACHE = new ImmutableMemberCache(
+            Cache.<Member>empty()
+                    .addIndex(ID_INDEX_NAME, Member::getId)
+                    .addIndex(SERVER_ID_INDEX_NAME, member -> member.getServer().getId())
+                    .addIndex(ID_AND_SERVER_ID_INDEX_NAME,
+                            member -> Tuple.of(member.getId(), member.getServer().getId())),
+            ImmutableUserCache.empty(),
+            Cache.<Tuple2<Member, Server>>empty()
+                    .addIndex(MEMBER_SERVER_MEMBER_ID_INDEX_NAME, tuple -> tuple._1().getId())
+                    .addIndex(MEMBER_SERVER_MEMBER_ID_SERVER_ID_INDEX_NAME,
+                            tuple -> Tuple.of(tuple._1.getId(), tuple._2.getId())),
+            Cache.<Tuple2<Member, Long>>empty()
+                    .addIndex(MEMBER_ROLE_ROLE_ID_INDEX_NAME, tuple -> tuple._2)
+                    .addIndex(MEMBER_ROLE_MEMBER_ID_SERVER_ID_INDEX_NAME,
+                            tuple -> Tuple.of(tuple._1.getId(), tuple._1.getServer().getId()))
+    );
+
+    private final Cache<Tuple2<Member, Server>> memberServerCache;
+    private final Cache<Tuple2<Member, Long>> memberRoleCache;
+    private final Cache<Member> cache;
+    private final UserCache userCache;
+
+    private ImmutableMemberCache(Cache<Member> cache, UserCache userCache,
+                                 Cache<Tuple2<Member, Server>> memberServerCache,
+                                 Cache<Tuple2<Member, Long>> memberRoleCache) {
+        this.cache = cache;
+        this.userCache = userCache;
+        this.memberServerCache = memberServerCache;
+        this.memberRoleCache = memberRoleCache;
+    }
+
+    /**
+     * Gets an empty member cache.
+     *
+     * @return An empty member cache.
+     */
+    public static ImmutableMemberCache empty() {
+        return EMPTY_CACHE;
+    }
+
+    @Override
+    public ImmutableMemberCache addMember(Member member) {
+        return new ImmutableMemberCache(
+                cache.addElement(member),
+                userCache.getUserById(member.getId())
+                        .map(userCache::removeUser)
+                        .orElse(userCache)
+                        .addUser(member.getUser()),
+                memberServerCache.addElement(Tuple.of(member, member.getServer())),
+                memberRoleCache.addElements(getMemberRoleTuples(member))
+        );
+    }
+
+    @Override
+    public ImmutableMemberCache removeMember(Member member) {
+        if (member == null) {
+            return this;
+        }
+        Tuple2<Member, Server> memberServerTuple = memberServerCache
+                .findAnyByIndex(
+                        MEMBER_SERVER_MEMBER_ID_SERVER_ID_INDEX_NAME,
+                        Tuple.of(member.getId(), member.getServer().getId())
+                )
+                .orElse(null);
+
+        return new ImmutableMemberCache(
+                cache.removeElement(member),
+                userCache.getUserById(member.getId())
+                        .map(userCache::removeUser)
+                        .orElse(userCache),
+                memberServerTuple == null ? memberServerCache : memberServerCache.removeElement(memberServerTuple),
+                memberRoleCache.removeElements(memberRoleCache.findByIndex(
+                        MEMBER_ROLE_MEMBER_ID_SERVER_ID_INDEX_NAME,
+                        Tuple.of(member.getId(), member.getServer().getId())))
+        );
+    }
+
+    @Override
+    public ImmutableMemberCache removeRole(Role role) {
+        io.vavr.collection.Set<Tuple2<Member, Long>> memberRoleTuples =
+                memberRoleCache.findByIndex(MEMBER_ROLE_ROLE_ID_INDEX_NAME, role.getId());
+        if (memberRoleTuples.isEmpty()) {
+            return this;
+        }
+        return new ImmutableMemberCache(
+                cache, userCache, memberServerCache, memberRoleCache.removeElements(memberRoleTuples));
+    }
+
+    @Override
+    public ImmutableMemberCache addMembers(Collection<Member> members) {
+        if (members.isEmpty()) {
+            return this;
+        }
+        // If the same member is contained more than once, the last one wins
+        java.util.Map<Tuple2<Long, Long>, Member> newMembersByIdAndServer = new LinkedHashMap<>();
+        for (Member member : members) {
+            newMembersByIdAndServer.put(Tuple.of(member.getId(), member.getServer().getId()), member);
+        }
+
+        List<Member> oldMembers = new ArrayList<>();
+        List<Tuple2<Member, Server>> oldMemberServerTuples = new ArrayList<>();
+        List<Tuple2<Member, Long>> oldMemberRoleTuples = new ArrayList<>();
+        List<User> oldUsers = new ArrayList<>();
+        List<Member> newMembers = new ArrayList<>(newMembersByIdAndServer.size());
+        List<Tuple2<Member, Server>> newMemberServerTuples = new ArrayList<>(newMembersByIdAndServer.size());
+        List<Tuple2<Member, Long>> newMemberRoleTuples = new ArrayList<>();
+        java.util.Map<Long, User> newUsersById = new LinkedHashMap<>();
+        for (java.util.Map.Entry<Tuple2<Long, Long>, Member> entry : newMembersByIdAndServer.entrySet()) {
+            Member member = entry.getValue();
+            cache.findAnyByIndex(ID_AND_SERVER_ID_INDEX_NAME, entry.getKey()).ifPresent(oldMembers::add);
+            memberServerCache.findAnyByIndex(MEMBER_SERVER_MEMBER_ID_SERVER_ID_INDEX_NAME, entry.getKey())
+                    .ifPresent(oldMemberServerTuples::add);
+            memberRoleCache.findByIndex(MEMBER_ROLE_MEMBER_ID_SERVER_ID_INDEX_NAME, entry.getKey())
+                    .forEach(oldMemberRoleTuples::add);
+            if (!newUsersById.containsKey(member.getId())) {
+                userCache.getUserById(member.getId()).ifPresent(oldUsers::add);
+            }
+            newMembers.add(member);
+            newMemberServerTuples.add(Tuple.of(member, member.getServer()));
+            newMemberRoleTuples.addAll(getMemberRoleTuples(member));
+            newUsersById.put(member.getId(), member.getUser());
+        }
+
+        return new ImmutableMemberCache(
+                cache.removeElements(oldMembers).addElements(newMembers),
+                userCache.removeUsers(oldUsers).addUsers(newUsersById.values()),
+                memberServerCache.removeElements(oldMemberServerTuples).addElements(newMemberServerTuples),
+                memberRoleCache.removeElements(oldMemberRoleTuples).addElements(newMemberRoleTuples)
+        );
+    }
+
+    /**
+     * Gets the tuples for the role index of the given member.
+     *
+     * @param member The member.
+     * @return The tuples of the member and all its roles except the everyone role.
+     */
+    private static List<Tuple2<Member, Long>> getMemberRoleTuples(Member member) {
+        long serverId = member.getServer().getId();
+        List<Tuple2<Member, Long>> memberRoleTuples = new ArrayList<>(member.getRoleIds().size());
+        for (long roleId : member.getRoleIds()) {
+            if (roleId != serverId) {
+                memberRoleTuples.add(Tuple.of(member, roleId));
+            }
+        }
+        return memberRoleTuples;
+    }
+
+    @Override
+    public Set<Server> getServers(long userId) {
+        return ImmutableToJavaMapper.mapToJava(
+                memberServerCache.findByIndex(MEMBER_SERVER_MEMBER_ID_INDEX_NAME, userId)
+                        .map(tuple -> tuple._2)
+        );
+    }
+
+    @Override
+    public UserCache getUserCache() {
+        return userCache;
+    }
+
+    @Override
+    public Set<Member> getMembers() {
+        return ImmutableToJavaMapper.mapToJava(cache.getAll());
+    }
+
+    @Override
+    public Set<Member> getMembersById(long id) {
+        return ImmutableToJavaMapper.mapToJava(cache.findByIndex(ID_INDEX_NAME, id));
+    }
+
+    @Override
+    public Set<Member> getMembersByServer(long serverId) {
+        return ImmutableToJavaMapper.mapToJava(cache.findByIndex(SERVER_ID_INDEX_NAME, serverId));
+    }
+
+    @Override
+    public Optional<Member> getMemberByIdAndServer(long id, long serverId) {
+        return cache.findAnyByIndex(ID_AND_SERVER_ID_INDEX_NAME, Tuple.of(id, serverId));
+    }
+
+    @Override
+    public Set<Member> getMembersByRole(long roleId) {
+        return ImmutableToJavaMapper.mapToJava(
+                memberRoleCache.findByIndex(MEMBER_ROLE_ROLE_ID_INDEX_NAME, roleId)
+                        .map(tuple -> tuple._1)
+        );
+    }
+}
@@ -0,0 +1,66 @@
+package org.javacord.core.util.cache;
+
+import org.javacord.api.entity.user.User;
+import org.javacord.core.util.ImmutableToJavaMapper;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * An immutable cache for all user entities.
+ */
+public class ImmutableUserCache implements UserCache {
+
+    private static final String ID_INDEX_NAME = "id";
+
+    private static final ImmutableUserCache EMPTY_CACHE = new ImmutableUserCache(Cache.<User>empty()
+            .addIndex(ID_INDEX_NAME, User::getId)
+    );
+
+    private final Cache<User> cache;
+
+    private ImmutableUserCache(Cache<User> cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Gets an empty user cache.
+     *
+     * @return An empty user cache.
+     */
+    public static ImmutableUserCache empty() {
+        return EMPTY_CACHE;
+    }
+
+    @Override
+    public ImmutableUserCache addUser(User user) {
+        return new ImmutableUserCache(cache.addElement(user));
+    }
+
+    @Override
+    public ImmutableUserCache removeUser(User user) {
+        return new ImmutableUserCache(cache.removeElement(user));
+    }
+
+    @Override
+    public ImmutableUserCache addUsers(Collection<User> users) {
+        return new ImmutableUserCache(cache.addElements(users));
+    }
+
+    @Override
+    public ImmutableUserCache removeUsers(Collection<User> users) {
+        return new ImmutableUserCache(cache.removeElements(users));
+    }
+
+    @Override
+    public Set<User> getUsers() {
+        return ImmutableToJavaMapper.mapToJava(cache.getAll());
+    }
+
+    @Override
+    public Optional<User> getUserById(long id) {
+        return cache.findAnyByIndex(ID_INDEX_NAME, id);
+    }
+
+}
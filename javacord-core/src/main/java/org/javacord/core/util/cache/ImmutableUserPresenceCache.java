@@ -0,0 +1,52 @@
+package org.javacord.core.util.cache;
+
+import org.javacord.core.entity.user.UserPresence;
+
+import java.util.Optional;
+
+/**
+ * An immutable cache for all user presences.
+ */
+public class ImmutableUserPresenceCache implements UserPresenceCache {
+
+    private static final String USER_ID_INDEX_NAME = "user-id";
+
+    private static final ImmutableUserPresenceCache EMPTY_CACHE = new ImmutableUserPresenceCache(
+            Cache.<UserPresence>empty()
+                    .addIndex(USER_ID_INDEX_NAME, UserPresence::getUserId)
+    );
+
+    private final Cache<UserPresence> cache;
+
+    private ImmutableUserPresenceCache(Cache<UserPresence> cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Gets an empty user presence cache.
+     *
+     * @return An empty user presence cache.
+     */
+    public static ImmutableUserPresenceCache empty() {
+        return EMPTY_CACHE;
+    }
+
+    @Override
+    public ImmutableUserPresenceCache addUserPresence(UserPresence presence) {
+        return new ImmutableUserPresenceCache(cache.addElement(presence));
+    }
+
+    @Override
+    public ImmutableUserPresenceCache removeUserPresence(UserPresence presence) {
+        if (presence == null) {
+            return this;
+        }
+        return new ImmutableUserPresenceCache(cache.removeElement(presence));
+    }
+
+    @Override
+    public Optional<UserPresence> getPresenceByUserId(long userId) {
+        return cache.findAnyByIndex(USER_ID_INDEX_NAME, userId);
+    }
+
+}
@@ -5,6 +5,8 @@ import io.vavr.collection.HashSet;
 import io.vavr.collection.Map;
 import io.vavr.collection.Set;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.function.Function;
 
@@ -115,6 +117,74 @@ public class Index<K, E> {
         return new Index<>(keyMapper, newElementsByKey, newKeyByElement);
     }
 
+    /**
+     * Adds many elements to the index at once.
+     *
+     * <p>The elements are grouped by their key in mutable collections first, so every key of the index is only
+     * copied once, no matter how many elements are added for it.
+     *
+     * <p>This method has an effective time complexity of {@code O(n)} with {@code n} being the amount of elements
+     * to add.
+     *
+     * @param elementsToAdd The elements to add.
+     * @return The new index with the added elements.
+     */
+    public Index<K, E> addElements(Iterable<E> elementsToAdd) {
+        java.util.Map<K, List<E>> newElementsGroupedByKey = new java.util.HashMap<>();
+        java.util.Map<E, K> newKeyByElementBuilder = new java.util.HashMap<>();
+        for (E element : elementsToAdd) {
+            K key = keyMapper.apply(element);
+            if (key == null || newKeyByElementBuilder.containsKey(element) || find(key).contains(element)) {
+                continue;
+            }
+            if (keyByElement.containsKey(element)) {
+                throw new IllegalStateException("The given element is already in the index with a different key");
+            }
+            newElementsGroupedByKey.computeIfAbsent(key, k -> new ArrayList<>()).add(element);
+            newKeyByElementBuilder.put(element, key);
+        }
+        if (newKeyByElementBuilder.isEmpty()) {
+            return this;
+        }
+        Map<K, Set<E>> newElementsByKey = elementsByKey;
+        for (java.util.Map.Entry<K, List<E>> entry : newElementsGroupedByKey.entrySet()) {
+            newElementsByKey = newElementsByKey.put(entry.getKey(), find(entry.getKey()).addAll(entry.getValue()));
+        }
+        Map<E, K> newKeyByElement = keyByElement.merge(HashMap.ofAll(newKeyByElementBuilder));
+        return new Index<>(keyMapper, newElementsByKey, newKeyByElement);
+    }
+
+    /**
+     * Removes many elements from the index at once.
+     *
+     * <p>This method has an effective time complexity of {@code O(n)} with {@code n} being the amount of elements
+     * to remove.
+     *
+     * @param elementsToRemove The elements to remove.
+     * @return The new index with the elements removed.
+     */
+    public Index<K, E> removeElements(Iterable<E> elementsToRemove) {
+        java.util.Map<K, List<E>> removedElementsGroupedByKey = new java.util.HashMap<>();
+        List<E> removedElements = new ArrayList<>();
+        for (E element : elementsToRemove) {
+            K key = keyByElement.getOrElse(element, null);
+            if (key == null) {
+                continue;
+            }
+            removedElementsGroupedByKey.computeIfAbsent(key, k -> new ArrayList<>()).add(element);
+            removedElements.add(element);
+        }
+        if (removedElements.isEmpty()) {
+            return this;
+        }
+        Map<K, Set<E>> newElementsByKey = elementsByKey;
+        for (java.util.Map.Entry<K, List<E>> entry : removedElementsGroupedByKey.entrySet()) {
+            newElementsByKey = newElementsByKey.put(entry.getKey(), find(entry.getKey()).removeAll(entry.getValue()));
+        }
+        Map<E, K> newKeyByElement = keyByElement.removeAll(removedElements);
+        return new Index<>(keyMapper, newElementsByKey, newKeyByElement);
+    }
+
     /**
      * Gets a set with all elements with the given key.
      *
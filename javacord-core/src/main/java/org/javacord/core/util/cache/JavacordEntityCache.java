@@ -1,14 +1,19 @@
 package org.javacord.core.util.cache;
 
+import org.javacord.api.util.cache.EntityCacheType;
+
 import java.util.function.UnaryOperator;
 
 /**
- * An immutable cache with all Javacord entites.
+ * A cache with all Javacord entites.
+ *
+ * <p>If the underlying caches are immutable, this cache is immutable, too. If they are mutable, all update methods
+ * return the same instance.
  */
 public class JavacordEntityCache {
 
     private static final JavacordEntityCache EMPTY_CACHE = new JavacordEntityCache(
-            ChannelCache.empty(), MemberCache.empty(), UserPresenceCache.empty());
+            ImmutableChannelCache.empty(), ImmutableMemberCache.empty(), ImmutableUserPresenceCache.empty());
 
     private final ChannelCache channelCache;
     private final MemberCache memberCache;
@@ -23,6 +28,26 @@ public class JavacordEntityCache {
         return EMPTY_CACHE;
     }
 
+    /**
+     * Gets an empty Javacord cache of the given type.
+     *
+     * <p>Caches of type {@link EntityCacheType#CONCURRENT} are mutable, so a new instance is created for every call.
+     *
+     * @param type The type of the cache.
+     * @return An empty Javacord cache.
+     */
+    public static JavacordEntityCache empty(EntityCacheType type) {
+        switch (type) {
+            case IMMUTABLE:
+                return EMPTY_CACHE;
+            case CONCURRENT:
+                return new JavacordEntityCache(
+                        new ConcurrentChannelCache(), new ConcurrentMemberCache(), new ConcurrentUserPresenceCache());
+            default:
+                throw new IllegalArgumentException("Unknown entity cache type " + type);
+        }
+    }
+
     private JavacordEntityCache(
             ChannelCache channelCache, MemberCache memberCache, UserPresenceCache userPresenceCache) {
         this.channelCache = channelCache;
@@ -56,6 +81,9 @@ public class JavacordEntityCache {
      * @return The new Javacord entity cache.
      */
     public JavacordEntityCache setChannelCache(ChannelCache channelCache) {
+        if (this.channelCache == channelCache) {
+            return this;
+        }
         return new JavacordEntityCache(channelCache, memberCache, userPresenceCache);
     }
 
@@ -85,6 +113,9 @@ public class JavacordEntityCache {
      * @return The new Javacord entity cache.
      */
     public JavacordEntityCache setMemberCache(MemberCache memberCache) {
+        if (this.memberCache == memberCache) {
+            return this;
+        }
         return new JavacordEntityCache(channelCache, memberCache, userPresenceCache);
     }
 
@@ -114,6 +145,9 @@ public class JavacordEntityCache {
      * @return The new Javacord entity cache.
      */
     public JavacordEntityCache setUserPresenceCache(UserPresenceCache userPresenceCache) {
+        if (this.userPresenceCache == userPresenceCache) {
+            return this;
+        }
         return new JavacordEntityCache(channelCache, memberCache, userPresenceCache);
     }
 }
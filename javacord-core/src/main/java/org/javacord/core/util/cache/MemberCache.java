@@ -1,76 +1,40 @@
 package org.javacord.core.util.cache;
 
-import io.vavr.Tuple;
-import io.vavr.Tuple2;
+import org.javacord.api.entity.permission.Role;
 import org.javacord.api.entity.server.Server;
 import org.javacord.core.entity.user.Member;
-import org.javacord.core.util.ImmutableToJavaMapper;
 
+import java.util.Collection;
 import java.util.Optional;
 import java.util.Set;
 
 /**
- * An immutable cache for all member entities.
+ * A cache for all member entities.
+ *
+ * <p>All modifying methods return the cache after the modification. Immutable implementations return a new
+ * instance, while mutable implementations modify themselves and return the same instance.
  */
-public class MemberCache {
-
-    private static final String ID_INDEX_NAME = "id";
-    private static final String SERVER_ID_INDEX_NAME = "server-id";
-    private static final String ID_AND_SERVER_ID_INDEX_NAME = "server-id | type";
-
-    private static final String MEMBER_SERVER_MEMBER_ID_INDEX_NAME = "ms > member-id";
-    private static final String MEMBER_SERVER_MEMBER_ID_SERVER_ID_INDEX_NAME = "ms > member-id | server-id";
-
-    private static final MemberCache EMPTY_CACHE = new MemberCache(
-            Cache.<Member>empty()
-                    .addIndex(ID_INDEX_NAME, Member::getId)
-                    .addIndex(SERVER_ID_INDEX_NAME, member -> member.getServer().getId())
-                    .addIndex(ID_AND_SERVER_ID_INDEX_NAME,
-                            member -> Tuple.of(member.getId(), member.getServer().getId())),
-            UserCache.empty(),
-            Cache.<Tuple2<Member, Server>>empty()
-                    .addIndex(MEMBER_SERVER_MEMBER_ID_INDEX_NAME, tuple -> tuple._1().getId())
-                    .addIndex(MEMBER_SERVER_MEMBER_ID_SERVER_ID_INDEX_NAME,
-                            tuple -> Tuple.of(tuple._1.getId(), tuple._2.getId()))
-    );
-
-    private final Cache<Tuple2<Member, Server>> memberServerCache;
-    private final Cache<Member> cache;
-    private final UserCache userCache;
-
-    private MemberCache(Cache<Member> cache, UserCache userCache, Cache<Tuple2<Member, Server>> memberServerCache) {
-        this.cache = cache;
-        this.userCache = userCache;
-        this.memberServerCache = memberServerCache;
-    }
+public interface MemberCache {
 
     /**
-     * Gets an empty channel cache.
+     * Adds a member to the cache.
      *
-     * @return An empty channel cache.
+     * <p>Automatically updates the underlying user cache, too.
+     *
+     * @param member The member to add.
+     * @return The new member cache.
      */
-    public static MemberCache empty() {
-        return EMPTY_CACHE;
-    }
+    MemberCache addMember(Member member);
 
     /**
-     * Adds a member to the cache.
+     * Adds many members to the cache in a single step, replacing members with the same id and server.
      *
      * <p>Automatically updates the underlying user cache, too.
      *
-     * @param member The member to add.
+     * @param members The members to add.
      * @return The new member cache.
      */
-    public MemberCache addMember(Member member) {
-        return new MemberCache(
-                cache.addElement(member),
-                userCache.getUserById(member.getId())
-                        .map(userCache::removeUser)
-                        .orElse(userCache)
-                        .addUser(member.getUser()),
-                memberServerCache.addElement(Tuple.of(member, member.getServer()))
-        );
-    }
+    MemberCache addMembers(Collection<Member> members);
 
     /**
      * Removes a member from the cache.
@@ -80,25 +44,17 @@ public class MemberCache {
      * @param member The member to remove.
      * @return The new member cache.
      */
-    public MemberCache removeMember(Member member) {
-        if (member == null) {
-            return this;
-        }
-        Tuple2<Member, Server> memberServerTuple = memberServerCache
-                .findAnyByIndex(
-                        MEMBER_SERVER_MEMBER_ID_SERVER_ID_INDEX_NAME,
-                        Tuple.of(member.getId(), member.getServer().getId())
-                )
-                .orElse(null);
+    MemberCache removeMember(Member member);
 
-        return new MemberCache(
-                cache.removeElement(member),
-                userCache.getUserById(member.getId())
-                        .map(userCache::removeUser)
-                        .orElse(userCache),
-                memberServerTuple == null ? memberServerCache : memberServerCache.removeElement(memberServerTuple)
-        );
-    }
+    /**
+     * Removes a role from the role index of the cache.
+     *
+     * <p>The members themselves are not modified.
+     *
+     * @param role The role to remove.
+     * @return The new member cache.
+     */
+    MemberCache removeRole(Role role);
 
     /**
      * Gets a list with all servers that the user with the given id is a member of.
@@ -106,30 +62,21 @@ public class MemberCache {
      * @param userId The id of the user.
      * @return A list with all servers that the user with the given id is a member of.
      */
-    public Set<Server> getServers(long userId) {
-        return ImmutableToJavaMapper.mapToJava(
-                memberServerCache.findByIndex(MEMBER_SERVER_MEMBER_ID_INDEX_NAME, userId)
-                        .map(tuple -> tuple._2)
-        );
-    }
+    Set<Server> getServers(long userId);
 
     /**
      * Gets the underlying user cache.
      *
      * @return The underlying user cache.
      */
-    public UserCache getUserCache() {
-        return userCache;
-    }
+    UserCache getUserCache();
 
     /**
-     * Gets a set with all channels in the cache.
+     * Gets a set with all members in the cache.
      *
-     * @return A set with all channels.
+     * @return A set with all members.
      */
-    public Set<Member> getMembers() {
-        return ImmutableToJavaMapper.mapToJava(cache.getAll());
-    }
+    Set<Member> getMembers();
 
     /**
      * Get a set with all members with the given id.
@@ -137,9 +84,7 @@ public class MemberCache {
      * @param id The id of the member.
      * @return A set with all member with the given id.
      */
-    public Set<Member> getMembersById(long id) {
-        return ImmutableToJavaMapper.mapToJava(cache.findByIndex(ID_INDEX_NAME, id));
-    }
+    Set<Member> getMembersById(long id);
 
     /**
      * Get a set with all members in the server with the given id.
@@ -147,9 +92,7 @@ public class MemberCache {
      * @param serverId The server id.
      * @return A set with all member of the server with the given id.
      */
-    public Set<Member> getMembersByServer(long serverId) {
-        return ImmutableToJavaMapper.mapToJava(cache.findByIndex(SERVER_ID_INDEX_NAME, serverId));
-    }
+    Set<Member> getMembersByServer(long serverId);
 
     /**
      * Gets the member with the given id in the server with the given id.
@@ -158,7 +101,16 @@ public class MemberCache {
      * @param serverId The server id.
      * @return The member.
      */
-    public Optional<Member> getMemberByIdAndServer(long id, long serverId) {
-        return cache.findAnyByIndex(ID_AND_SERVER_ID_INDEX_NAME, Tuple.of(id, serverId));
-    }
+    Optional<Member> getMemberByIdAndServer(long id, long serverId);
+
+    /**
+     * Get a set with all members that have the role with the given id.
+     *
+     * <p>The everyone role is not indexed, use {@link #getMembersByServer(long)} instead.
+     *
+     * @param roleId The id of the role.
+     * @return A set with all members that have the role with the given id.
+     */
+    Set<Member> getMembersByRole(long roleId);
+
 }
@@ -0,0 +1,192 @@
+package org.javacord.core.util.cache;
+
+import org.apache.logging.log4j.Logger;
+import org.javacord.api.entity.message.Message;
+import org.javacord.core.DiscordApiImpl;
+import org.javacord.core.util.logging.LoggerUtil;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.Comparator;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The engine which maintains the message caches of all channels of a discord api instance.
+ *
+ * <p>Every {@link MessageCacheImpl} is a segment of the engine which holds the messages of a single channel. Instead
+ * of scheduling periodic tasks for every channel, the engine sweeps all segments in a single task. Segments which
+ * contain messages that have to be evicted at some point are kept in an eviction index, which is ordered by the time
+ * the oldest message of the segment expires. A sweep only visits the segments which are due, so the cost of the
+ * engine is proportional to the amount of cached messages and not to the amount of channels.
+ */
+public class MessageCacheEngine {
+
+    /**
+     * The logger of this class.
+     */
+    private static final Logger logger = LoggerUtil.getLogger(MessageCacheEngine.class);
+
+    /**
+     * The eviction time of segments which are not in the eviction index.
+     */
+    static final long NOT_SCHEDULED = Long.MAX_VALUE;
+
+    /**
+     * The interval of the sweeps in seconds.
+     */
+    private static final int SWEEP_INTERVAL_SECONDS = 30;
+
+    /**
+     * The discord api instance.
+     */
+    private final DiscordApiImpl api;
+
+    /**
+     * The queue that is notified if a message became softly-reachable.
+     */
+    private final ReferenceQueue<Message> messagesCleanupQueue = new ReferenceQueue<>();
+
+    /**
+     * The segments which have to be cleaned, ordered by the time they have to be cleaned.
+     */
+    private final NavigableSet<MessageCacheImpl> evictionIndex = new TreeSet<>(
+            Comparator.<MessageCacheImpl>comparingLong(segment -> segment.scheduledEviction)
+                    .thenComparingLong(segment -> segment.segmentId));
+
+    /**
+     * The counter for the ids of the segments.
+     */
+    private final AtomicLong segmentIdCounter = new AtomicLong();
+
+    /**
+     * Creates a new message cache engine.
+     *
+     * @param api The discord api instance.
+     */
+    public MessageCacheEngine(DiscordApiImpl api) {
+        this.api = api;
+    }
+
+    /**
+     * Starts the periodic sweeps of the engine.
+     */
+    public void start() {
+        // After minimum JDK 9 is required this can be switched to use a Cleaner for the softly referenced messages
+        api.getThreadPool().getScheduler().scheduleWithFixedDelay(() -> {
+            try {
+                sweep();
+            } catch (Throwable t) {
+                logger.error("Failed to clean message cache!", t);
+            }
+        }, SWEEP_INTERVAL_SECONDS, SWEEP_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Removes all messages that were collected because of memory shortage and cleans all segments which are due.
+     */
+    public void sweep() {
+        int removedMessages = 0;
+        for (Reference<? extends Message> messageRef = messagesCleanupQueue.poll();
+                messageRef != null;
+                messageRef = messagesCleanupQueue.poll()) {
+            MessageReference reference = (MessageReference) messageRef;
+            reference.segment.removeReference(reference.messageId, reference);
+            removedMessages++;
+        }
+        if (removedMessages > 0) {
+            logger.warn("Heap memory was too low to hold all configured messages in the cache. "
+                        + "Removed {} messages from the cache due to memory shortage. "
+                        + "Either increase your heap settings or decrease your message cache settings!",
+                        removedMessages);
+        }
+
+        long now = System.currentTimeMillis();
+        for (MessageCacheImpl segment = pollDueSegment(now); segment != null; segment = pollDueSegment(now)) {
+            segment.clean();
+        }
+    }
+
+    /**
+     * Removes the segment with the earliest eviction time from the index, if it is due.
+     *
+     * @param now The current time in milliseconds.
+     * @return The due segment or {@code null} if no segment is due.
+     */
+    private MessageCacheImpl pollDueSegment(long now) {
+        synchronized (evictionIndex) {
+            if (evictionIndex.isEmpty() || evictionIndex.first().scheduledEviction > now) {
+                return null;
+            }
+            MessageCacheImpl segment = evictionIndex.pollFirst();
+            segment.scheduledEviction = NOT_SCHEDULED;
+            return segment;
+        }
+    }
+
+    /**
+     * Gets a new id for a segment.
+     *
+     * @return A new segment id.
+     */
+    long nextSegmentId() {
+        return segmentIdCounter.incrementAndGet();
+    }
+
+    /**
+     * Creates a new soft reference to a message of the given segment.
+     *
+     * @param segment The segment which holds the reference.
+     * @param message The message.
+     * @return The reference to the message.
+     */
+    Reference<Message> newReference(MessageCacheImpl segment, Message message) {
+        return new MessageReference(segment, message, messagesCleanupQueue);
+    }
+
+    /**
+     * Schedules the next cleaning of the given segment.
+     *
+     * @param segment The segment.
+     * @param evictionTime The time in milliseconds when the segment has to be cleaned or {@link #NOT_SCHEDULED}
+     *                     if it does not have to be cleaned.
+     */
+    void schedule(MessageCacheImpl segment, long evictionTime) {
+        if (segment.scheduledEviction == evictionTime) {
+            // The eviction time of the oldest message usually stays the same when new messages are added
+            return;
+        }
+        synchronized (evictionIndex) {
+            if (segment.scheduledEviction == evictionTime) {
+                return;
+            }
+            if (segment.scheduledEviction != NOT_SCHEDULED) {
+                evictionIndex.remove(segment);
+            }
+            segment.scheduledEviction = evictionTime;
+            if (evictionTime != NOT_SCHEDULED) {
+                evictionIndex.add(segment);
+            }
+        }
+    }
+
+    /**
+     * A soft reference to a message which knows the segment that holds it and the id of the message.
+     */
+    private static final class MessageReference extends SoftReference<Message> {
+
+        private final MessageCacheImpl segment;
+        private final long messageId;
+
+        private MessageReference(MessageCacheImpl segment, Message message, ReferenceQueue<Message> queue) {
+            super(message, queue);
+            this.segment = segment;
+            this.messageId = message.getId();
+        }
+
+    }
+
+}
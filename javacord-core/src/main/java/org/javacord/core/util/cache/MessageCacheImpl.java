@@ -1,68 +1,54 @@
 package org.javacord.core.util.cache;
 
-import org.apache.logging.log4j.Logger;
 import org.javacord.api.DiscordApi;
+import org.javacord.api.entity.DiscordEntity;
 import org.javacord.api.entity.message.Message;
 import org.javacord.api.util.cache.MessageCache;
 import org.javacord.core.DiscordApiImpl;
 import org.javacord.core.util.Cleanupable;
-import org.javacord.core.util.logging.LoggerUtil;
 
 import java.lang.ref.Reference;
-import java.lang.ref.ReferenceQueue;
-import java.lang.ref.SoftReference;
-import java.time.Instant;
-import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
-import java.util.Objects;
-import java.util.Optional;
-import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicReference;
-import java.util.stream.Collectors;
 
 /**
  * The implementation of {@link MessageCache}.
+ *
+ * <p>The message cache of a channel is a segment of the {@link MessageCacheEngine}, which cleans all message caches.
  */
 public class MessageCacheImpl implements MessageCache, Cleanupable {
 
     /**
-     * The logger of this class.
+     * The messages which are not cached forever, sorted by their id.
      */
-    private static final Logger logger = LoggerUtil.getLogger(MessageCacheImpl.class);
+    private final SnowflakeRing<Reference<? extends Message>> messages = new SnowflakeRing<>();
 
     /**
-     * A list with all messages.
+     * A list with all messages that should be cached forever.
      */
-    private final List<Reference<? extends Message>> messages = new ArrayList<>();
+    private final List<Message> cacheForeverMessages = Collections.synchronizedList(new ArrayList<>());
 
     /**
-     * The queue that is notified if a message became softly-reachable.
+     * The discord api instance.
      */
-    private final ReferenceQueue<Message> messagesCleanupQueue = new ReferenceQueue<>();
+    private final DiscordApiImpl api;
 
     /**
-     * The messages cleanup future to be cancelled in {@link #cleanup()}.
+     * The engine which cleans this cache.
      */
-    private final Future<?> messagesCleanupFuture;
+    private final MessageCacheEngine engine;
 
     /**
-     * A list with all messages that should be cached forever.
+     * The id of this cache in the engine.
      */
-    private final List<Message> cacheForeverMessages = Collections.synchronizedList(new ArrayList<>());
+    final long segmentId;
 
     /**
-     * The cache clean future to be cancelled in {@link #cleanup()}.
+     * The time in milliseconds when the engine has to clean this cache. Only modified by the engine.
      */
-    private final AtomicReference<Future<?>> cleanFuture = new AtomicReference<>();
-
-    /**
-     * The discord api instance.
-     */
-    private final DiscordApiImpl api;
+    volatile long scheduledEviction = MessageCacheEngine.NOT_SCHEDULED;
 
     /**
      * The maximum amount of stored messages.
@@ -74,6 +60,11 @@ public class MessageCacheImpl implements MessageCache, Cleanupable {
      */
     private volatile int storageTimeInSeconds;
 
+    /**
+     * Whether the cache is cleaned automatically or not.
+     */
+    private volatile boolean automaticCleanupEnabled;
+
     /**
      * Creates a new message cache.
      *
@@ -84,31 +75,11 @@ public class MessageCacheImpl implements MessageCache, Cleanupable {
      */
     public MessageCacheImpl(DiscordApi api, int capacity, int storageTimeInSeconds, boolean automaticCleanupEnabled) {
         this.api = (DiscordApiImpl) api;
+        this.engine = this.api.getMessageCacheEngine();
+        this.segmentId = engine.nextSegmentId();
         this.capacity = capacity;
         this.storageTimeInSeconds = storageTimeInSeconds;
-
-        setAutomaticCleanupEnabled(automaticCleanupEnabled);
-
-        // After minimum JDK 9 is required this can be switched to use a Cleaner
-        messagesCleanupFuture = api.getThreadPool().getScheduler().scheduleWithFixedDelay(() -> {
-            try {
-                int removedMessages = 0;
-                for (Reference<? extends Message> messageRef = messagesCleanupQueue.poll();
-                         messageRef != null;
-                         messageRef = messagesCleanupQueue.poll()) {
-                    messages.remove(messageRef);
-                    removedMessages++;
-                }
-                if (removedMessages > 0) {
-                    logger.warn("Heap memory was too low to hold all configured messages in the cache. "
-                                + "Removed {} messages from the cache due to memory shortage. "
-                                + "Either increase your heap settings or decrease your message cache settings!",
-                                removedMessages);
-                }
-            } catch (Throwable t) {
-                logger.error("Failed to clean softly referenced messages!", t);
-            }
-        }, 30, 30, TimeUnit.SECONDS);
+        this.automaticCleanupEnabled = automaticCleanupEnabled;
     }
 
     /**
@@ -119,17 +90,23 @@ public class MessageCacheImpl implements MessageCache, Cleanupable {
     public void addMessage(Message message) {
         synchronized (messages) {
             api.addMessageToCache(message);
-            if (messages.stream().map(Reference::get).anyMatch(message::equals)) {
+            // Messages which are cached forever are strongly referenced by the cache forever list
+            if (message.isCachedForever()) {
                 return;
             }
-            // Add the message in the correct order
-            messages.removeIf(messageRef -> messageRef.get() == null);
-            Reference<Message> messageRef = new SoftReference<>(message, messagesCleanupQueue);
-            int pos = Collections.binarySearch(messages, messageRef, Comparator.comparing(Reference::get));
-            if (pos < 0) {
-                pos = -pos - 1;
+            Reference<? extends Message> cachedRef = messages.find(message.getId());
+            if (cachedRef != null) {
+                if (cachedRef.get() != null) {
+                    return;
+                }
+                // The previous message object was collected because of memory shortage
+                messages.remove(message.getId());
             }
-            messages.add(pos, messageRef);
+            messages.add(message.getId(), engine.newReference(this, message));
+            if (automaticCleanupEnabled) {
+                evictOverCapacity();
+            }
+            scheduleEviction();
         }
     }
 
@@ -140,6 +117,10 @@ public class MessageCacheImpl implements MessageCache, Cleanupable {
      */
     public void addCacheForeverMessage(Message message) {
         cacheForeverMessages.add(message);
+        synchronized (messages) {
+            messages.remove(message.getId());
+            scheduleEviction();
+        }
     }
 
     /**
@@ -148,7 +129,10 @@ public class MessageCacheImpl implements MessageCache, Cleanupable {
      * @param message The message to remove.
      */
     public void removeCacheForeverMessage(Message message) {
-        cacheForeverMessages.remove(message);
+        if (cacheForeverMessages.remove(message)) {
+            // The message is now cached like every other message
+            addMessage(message);
+        }
     }
 
     /**
@@ -158,7 +142,24 @@ public class MessageCacheImpl implements MessageCache, Cleanupable {
      */
     public void removeMessage(Message message) {
         synchronized (messages) {
-            messages.removeIf(messageRef -> Objects.equals(messageRef.get(), message));
+            messages.remove(message.getId());
+            scheduleEviction();
+        }
+    }
+
+    /**
+     * Removes a reference to a message which was collected because of memory shortage.
+     *
+     * @param messageId The id of the message.
+     * @param messageRef The reference to remove.
+     */
+    void removeReference(long messageId, Reference<? extends Message> messageRef) {
+        synchronized (messages) {
+            // The message might have been cached again in the meantime
+            if (messages.find(messageId) == messageRef) {
+                messages.remove(messageId);
+                scheduleEviction();
+            }
         }
     }
 
@@ -166,25 +167,48 @@ public class MessageCacheImpl implements MessageCache, Cleanupable {
      * Cleans the cache.
      */
     public void clean() {
-        Instant minAge = Instant.now().minus(storageTimeInSeconds, ChronoUnit.SECONDS);
+        long minCreationTime = System.currentTimeMillis() - TimeUnit.SECONDS.toMillis(storageTimeInSeconds);
         synchronized (messages) {
-            messages.removeIf(messageRef -> Optional.ofNullable(messageRef.get())
-                    .map(message -> !message.isCachedForever() && message.getCreationTimestamp().isBefore(minAge))
-                    .orElse(true));
-            long foreverCachedAmount = messages.stream()
-                    .map(Reference::get)
-                    .filter(Objects::nonNull)
-                    .filter(Message::isCachedForever)
-                    .count();
-            messages.removeAll(messages.stream()
-                                       .filter(messageRef -> Optional.ofNullable(messageRef.get())
-                                               .map(message -> !message.isCachedForever())
-                                               .orElse(true))
-                                       .limit(Math.max(0, messages.size() - capacity - foreverCachedAmount))
-                                       .collect(Collectors.toList()));
+            while (!messages.isEmpty() && getCreationTime(messages.getId(0)) < minCreationTime) {
+                messages.removeFirst();
+            }
+            evictOverCapacity();
+            scheduleEviction();
+        }
+    }
+
+    /**
+     * Removes the oldest messages which exceed the capacity of the cache.
+     * Must be called while holding the lock of {@link #messages}.
+     */
+    private void evictOverCapacity() {
+        while (messages.size() > capacity) {
+            messages.removeFirst();
         }
     }
 
+    /**
+     * Schedules the next cleaning of this cache when the oldest message expires.
+     * Must be called while holding the lock of {@link #messages}.
+     */
+    private void scheduleEviction() {
+        long evictionTime = MessageCacheEngine.NOT_SCHEDULED;
+        if (automaticCleanupEnabled && !messages.isEmpty()) {
+            evictionTime = getCreationTime(messages.getId(0)) + TimeUnit.SECONDS.toMillis(storageTimeInSeconds);
+        }
+        engine.schedule(this, evictionTime);
+    }
+
+    /**
+     * Gets the creation time of the message with the given id.
+     *
+     * @param messageId The id of the message.
+     * @return The creation time in milliseconds.
+     */
+    private static long getCreationTime(long messageId) {
+        return DiscordEntity.getCreationTimestamp(messageId).toEpochMilli();
+    }
+
     @Override
     public int getCapacity() {
         return capacity;
@@ -193,6 +217,11 @@ public class MessageCacheImpl implements MessageCache, Cleanupable {
     @Override
     public void setCapacity(int capacity) {
         this.capacity = Math.max(capacity, 0);
+        if (automaticCleanupEnabled) {
+            synchronized (messages) {
+                evictOverCapacity();
+            }
+        }
     }
 
     @Override
@@ -203,39 +232,22 @@ public class MessageCacheImpl implements MessageCache, Cleanupable {
     @Override
     public void setStorageTimeInSeconds(int storageTimeInSeconds) {
         this.storageTimeInSeconds = Math.max(storageTimeInSeconds, 0);
+        synchronized (messages) {
+            scheduleEviction();
+        }
     }
 
     @Override
     public void setAutomaticCleanupEnabled(boolean automaticCleanupEnabled) {
-        if (automaticCleanupEnabled) {
-            cleanFuture.updateAndGet(future -> {
-                // already enabled
-                if (future != null) {
-                    return future;
-                }
-
-                return api.getThreadPool().getScheduler().scheduleWithFixedDelay(() -> {
-                    try {
-                        clean();
-                    } catch (Throwable t) {
-                        logger.error("Failed to clean message cache!", t);
-                    }
-                }, 1, 1, TimeUnit.MINUTES);
-            });
-        } else {
-            cleanFuture.updateAndGet(future -> {
-                if (future != null) {
-                    future.cancel(false);
-                }
-                return null;
-            });
+        this.automaticCleanupEnabled = automaticCleanupEnabled;
+        synchronized (messages) {
+            scheduleEviction();
         }
     }
 
     @Override
     public void cleanup() {
         setAutomaticCleanupEnabled(false);
-        messagesCleanupFuture.cancel(false);
     }
 
 }
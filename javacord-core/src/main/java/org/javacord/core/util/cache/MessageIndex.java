@@ -0,0 +1,365 @@
+package org.javacord.core.util.cache;
+
+import org.javacord.api.entity.message.Message;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.locks.StampedLock;
+import java.util.stream.Stream;
+
+/**
+ * An index of all messages of a discord api instance by their id.
+ *
+ * <p>The messages are weakly referenced, the index does not prevent them from being garbage collected. The index is
+ * split into stripes with primitive long keys, each of them guarded by its own lock. Lookups are usually lock-free.
+ * Iterations are weakly consistent, they only block the modification of a single stripe while it gets copied.
+ */
+public class MessageIndex {
+
+    /**
+     * The amount of stripes. Must be a power of two.
+     */
+    private static final int STRIPE_COUNT = 64;
+
+    /**
+     * The queue that is notified if a message became weakly-reachable.
+     */
+    private final ReferenceQueue<Message> messagesCleanupQueue = new ReferenceQueue<>();
+
+    /**
+     * The stripes of the index.
+     */
+    private final Stripe[] stripes = new Stripe[STRIPE_COUNT];
+
+    /**
+     * The locks which are used to create messages.
+     */
+    private final Object[] creationLocks = new Object[STRIPE_COUNT];
+
+    /**
+     * Creates a new message index.
+     */
+    public MessageIndex() {
+        for (int i = 0; i < STRIPE_COUNT; i++) {
+            stripes[i] = new Stripe();
+            creationLocks[i] = new Object();
+        }
+    }
+
+    /**
+     * Gets the message with the given id.
+     *
+     * @param id The id of the message.
+     * @return The message with the given id or {@code null} if it is not in the index.
+     */
+    public Message get(long id) {
+        MessageReference messageRef = getStripe(id).get(id);
+        return messageRef == null ? null : messageRef.get();
+    }
+
+    /**
+     * Adds a message to the index, unless the index already contains a message with the same id.
+     *
+     * @param message The message to add.
+     */
+    public void add(Message message) {
+        getStripe(message.getId()).add(message, messagesCleanupQueue);
+    }
+
+    /**
+     * Removes the message with the given id.
+     *
+     * @param id The id of the message.
+     */
+    public void remove(long id) {
+        getStripe(id).remove(id, null);
+    }
+
+    /**
+     * Removes all messages.
+     */
+    public void clear() {
+        for (Stripe stripe : stripes) {
+            stripe.clear();
+        }
+    }
+
+    /**
+     * Removes the entries of all messages which were garbage collected.
+     */
+    public void expungeStaleEntries() {
+        for (Reference<? extends Message> messageRef = messagesCleanupQueue.poll();
+                messageRef != null;
+                messageRef = messagesCleanupQueue.poll()) {
+            MessageReference reference = (MessageReference) messageRef;
+            getStripe(reference.messageId).remove(reference.messageId, reference);
+        }
+    }
+
+    /**
+     * Gets the lock which has to be held while creating the message with the given id, to prevent the creation of
+     * multiple message objects for the same message. Messages with different ids usually have different locks.
+     *
+     * @param id The id of the message.
+     * @return The lock for the given message id.
+     */
+    public Object getCreationLock(long id) {
+        return creationLocks[getStripeIndex(id)];
+    }
+
+    /**
+     * Creates a weakly consistent stream of all messages in the index.
+     *
+     * <p>The stream is split by the stripes of the index, so it can be scanned in parallel efficiently.
+     *
+     * @return A stream of all messages.
+     */
+    public Stream<Message> stream() {
+        return Arrays.stream(stripes)
+                .flatMap(stripe -> stripe.snapshot().stream())
+                .map(MessageReference::get)
+                .filter(Objects::nonNull);
+    }
+
+    /**
+     * Gets the stripe of the given message id.
+     *
+     * @param id The id of the message.
+     * @return The stripe of the given message id.
+     */
+    private Stripe getStripe(long id) {
+        return stripes[getStripeIndex(id)];
+    }
+
+    /**
+     * Gets the index of the stripe of the given message id.
+     *
+     * @param id The id of the message.
+     * @return The index of the stripe.
+     */
+    private static int getStripeIndex(long id) {
+        return (int) (mix(id) >>> 58) & (STRIPE_COUNT - 1);
+    }
+
+    /**
+     * Mixes the bits of the given id, as the lower bits of snowflakes are mostly zero.
+     *
+     * @param id The id.
+     * @return The mixed id.
+     */
+    private static long mix(long id) {
+        long hash = id * 0x9E3779B97F4A7C15L;
+        return hash ^ (hash >>> 32);
+    }
+
+    /**
+     * A stripe of the index, which is an open addressing hash table with linear probing.
+     * The id {@code 0} marks empty slots.
+     */
+    private static final class Stripe {
+
+        private static final int INITIAL_CAPACITY = 16;
+
+        private final StampedLock lock = new StampedLock();
+        private long[] keys = new long[INITIAL_CAPACITY];
+        private MessageReference[] values = new MessageReference[INITIAL_CAPACITY];
+        private int size = 0;
+
+        /**
+         * Gets the reference to the message with the given id.
+         *
+         * @param id The id of the message.
+         * @return The reference or {@code null} if the stripe does not contain the message.
+         */
+        private MessageReference get(long id) {
+            long stamp = lock.tryOptimisticRead();
+            MessageReference result = find(keys, values, id);
+            if (!lock.validate(stamp)) {
+                stamp = lock.readLock();
+                try {
+                    result = find(keys, values, id);
+                } finally {
+                    lock.unlockRead(stamp);
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Adds a message, unless the stripe already contains a message with the same id.
+         *
+         * @param message The message to add.
+         * @param queue The queue that is notified if the message became weakly-reachable.
+         */
+        private void add(Message message, ReferenceQueue<Message> queue) {
+            long id = message.getId();
+            long stamp = lock.writeLock();
+            try {
+                int mask = keys.length - 1;
+                int slot = (int) mix(id) & mask;
+                while (keys[slot] != 0) {
+                    if (keys[slot] == id) {
+                        if (values[slot].get() == null) {
+                            values[slot] = new MessageReference(message, queue);
+                        }
+                        return;
+                    }
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = id;
+                values[slot] = new MessageReference(message, queue);
+                if (++size > keys.length >>> 1) {
+                    resize(keys.length << 1);
+                }
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        /**
+         * Removes the message with the given id.
+         *
+         * @param id The id of the message.
+         * @param expectedRef The reference which has to be removed or {@code null} to remove any reference.
+         */
+        private void remove(long id, MessageReference expectedRef) {
+            long stamp = lock.writeLock();
+            try {
+                int mask = keys.length - 1;
+                int slot = (int) mix(id) & mask;
+                while (keys[slot] != id) {
+                    if (keys[slot] == 0) {
+                        return;
+                    }
+                    slot = (slot + 1) & mask;
+                }
+                if (expectedRef != null && values[slot] != expectedRef) {
+                    return;
+                }
+                // Shift the following entries back, so no entry gets unreachable
+                int emptySlot = slot;
+                for (slot = (slot + 1) & mask; keys[slot] != 0; slot = (slot + 1) & mask) {
+                    int homeSlot = (int) mix(keys[slot]) & mask;
+                    if (((slot - homeSlot) & mask) >= ((slot - emptySlot) & mask)) {
+                        keys[emptySlot] = keys[slot];
+                        values[emptySlot] = values[slot];
+                        emptySlot = slot;
+                    }
+                }
+                keys[emptySlot] = 0;
+                values[emptySlot] = null;
+                size--;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        /**
+         * Removes all messages.
+         */
+        private void clear() {
+            long stamp = lock.writeLock();
+            try {
+                keys = new long[INITIAL_CAPACITY];
+                values = new MessageReference[INITIAL_CAPACITY];
+                size = 0;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        /**
+         * Copies the references of the stripe.
+         *
+         * @return The references of the stripe.
+         */
+        private List<MessageReference> snapshot() {
+            long stamp = lock.readLock();
+            try {
+                List<MessageReference> snapshot = new ArrayList<>(size);
+                for (MessageReference value : values) {
+                    if (value != null) {
+                        snapshot.add(value);
+                    }
+                }
+                return snapshot;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        /**
+         * Changes the size of the table.
+         *
+         * @param newLength The new size of the table. Must be a power of two.
+         */
+        private void resize(int newLength) {
+            long[] newKeys = new long[newLength];
+            MessageReference[] newValues = new MessageReference[newLength];
+            int mask = newLength - 1;
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == 0) {
+                    continue;
+                }
+                int slot = (int) mix(keys[i]) & mask;
+                while (newKeys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                newKeys[slot] = keys[i];
+                newValues[slot] = values[i];
+            }
+            keys = newKeys;
+            values = newValues;
+        }
+
+        /**
+         * Searches the reference to the message with the given id.
+         * As this is also used for optimistic reads, it must not fail if the table is modified concurrently.
+         *
+         * @param keys The keys of the table.
+         * @param values The values of the table.
+         * @param id The id of the message.
+         * @return The reference or {@code null} if the table does not contain the message.
+         */
+        private static MessageReference find(long[] keys, MessageReference[] values, long id) {
+            if (keys.length != values.length) {
+                // Inconsistent read during a resize, the caller will retry with a lock
+                return null;
+            }
+            int mask = keys.length - 1;
+            int slot = (int) mix(id) & mask;
+            for (int i = 0; i < keys.length; i++) {
+                long key = keys[slot];
+                if (key == id) {
+                    return values[slot];
+                }
+                if (key == 0) {
+                    return null;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return null;
+        }
+
+    }
+
+    /**
+     * A weak reference to a message which knows the id of the message.
+     */
+    private static final class MessageReference extends WeakReference<Message> {
+
+        private final long messageId;
+
+        private MessageReference(Message message, ReferenceQueue<Message> queue) {
+            super(message, queue);
+            this.messageId = message.getId();
+        }
+
+    }
+
+}
@@ -0,0 +1,275 @@
+package org.javacord.core.util.cache;
+
+import java.util.Arrays;
+
+/**
+ * A collection of values which are sorted by their snowflake id, backed by a ring buffer.
+ *
+ * <p>Snowflakes of new entities are usually larger than all previous ones, so adding a value with a new largest id
+ * appends it to the tail in constant time. Values with older ids are inserted by a binary search, removing the oldest
+ * value is done in constant time. This class is not thread-safe.
+ *
+ * @param <T> The type of the values.
+ */
+class SnowflakeRing<T> {
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final long[] EMPTY_IDS = new long[0];
+    private static final Object[] EMPTY_VALUES = new Object[0];
+
+    private long[] ids = EMPTY_IDS;
+    private Object[] values = EMPTY_VALUES;
+    private int head = 0;
+    private int size = 0;
+
+    /**
+     * Gets the amount of values in the ring.
+     *
+     * @return The amount of values.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the ring is empty.
+     *
+     * @return Whether the ring is empty or not.
+     */
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Gets the id at the given position.
+     *
+     * @param index The position, {@code 0} being the smallest id.
+     * @return The id at the given position.
+     */
+    long getId(int index) {
+        checkIndex(index);
+        return ids[slot(index)];
+    }
+
+    /**
+     * Gets the value at the given position.
+     *
+     * @param index The position, {@code 0} being the smallest id.
+     * @return The value at the given position.
+     */
+    @SuppressWarnings("unchecked")
+    T get(int index) {
+        checkIndex(index);
+        return (T) values[slot(index)];
+    }
+
+    /**
+     * Gets the value with the given id.
+     *
+     * @param id The id.
+     * @return The value with the given id or {@code null} if the ring does not contain a value with the given id.
+     */
+    T find(long id) {
+        if (size == 0 || id > ids[slot(size - 1)]) {
+            return null;
+        }
+        int index = indexOf(id);
+        return index < 0 ? null : get(index);
+    }
+
+    /**
+     * Checks if the ring contains a value with the given id.
+     *
+     * @param id The id.
+     * @return Whether the ring contains a value with the given id or not.
+     */
+    boolean contains(long id) {
+        if (size == 0 || id > ids[slot(size - 1)]) {
+            return false;
+        }
+        return indexOf(id) >= 0;
+    }
+
+    /**
+     * Adds a value to the ring.
+     *
+     * @param id The id of the value.
+     * @param value The value.
+     * @return Whether the value was added or not, because the ring already contains a value with the given id.
+     */
+    boolean add(long id, T value) {
+        int index;
+        if (size == 0 || id > ids[slot(size - 1)]) {
+            index = size;
+        } else {
+            index = indexOf(id);
+            if (index >= 0) {
+                return false;
+            }
+            index = -index - 1;
+        }
+        if (size == ids.length) {
+            resize(ids.length == 0 ? INITIAL_CAPACITY : ids.length << 1);
+        }
+        if (index < size / 2) {
+            // Move the values before the index one slot to the front
+            head = (head - 1) & (ids.length - 1);
+            for (int i = 0; i < index; i++) {
+                move(i + 1, i);
+            }
+        } else {
+            // Move the values after the index one slot to the back
+            for (int i = size; i > index; i--) {
+                move(i - 1, i);
+            }
+        }
+        int slot = slot(index);
+        ids[slot] = id;
+        values[slot] = value;
+        size++;
+        return true;
+    }
+
+    /**
+     * Removes the value with the smallest id.
+     *
+     * @return The removed value.
+     */
+    T removeFirst() {
+        T value = get(0);
+        values[head] = null;
+        head = (head + 1) & (ids.length - 1);
+        size--;
+        shrinkIfSparse();
+        return value;
+    }
+
+    /**
+     * Removes the value with the given id.
+     *
+     * @param id The id of the value.
+     * @return The removed value or {@code null} if the ring does not contain a value with the given id.
+     */
+    T remove(long id) {
+        int index = indexOf(id);
+        if (index < 0) {
+            return null;
+        }
+        T value = get(index);
+        if (index < size / 2) {
+            // Move the values before the index one slot to the back
+            for (int i = index; i > 0; i--) {
+                move(i - 1, i);
+            }
+            values[head] = null;
+            head = (head + 1) & (ids.length - 1);
+        } else {
+            // Move the values after the index one slot to the front
+            for (int i = index; i < size - 1; i++) {
+                move(i + 1, i);
+            }
+            values[slot(size - 1)] = null;
+        }
+        size--;
+        shrinkIfSparse();
+        return value;
+    }
+
+    /**
+     * Searches the given id.
+     *
+     * @param id The id to search.
+     * @return The position of the id or {@code (-(insertion point) - 1)} if the ring does not contain the id.
+     */
+    private int indexOf(long id) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long middleId = ids[slot(middle)];
+            if (middleId < id) {
+                low = middle + 1;
+            } else if (middleId > id) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
+    /**
+     * Moves the id and value at the given position to another position.
+     *
+     * @param from The position to move from.
+     * @param to The position to move to.
+     */
+    private void move(int from, int to) {
+        int fromSlot = slot(from);
+        int toSlot = slot(to);
+        ids[toSlot] = ids[fromSlot];
+        values[toSlot] = values[fromSlot];
+    }
+
+    /**
+     * Gets the slot in the buffer of the given position.
+     *
+     * @param index The position.
+     * @return The slot in the buffer.
+     */
+    private int slot(int index) {
+        return (head + index) & (ids.length - 1);
+    }
+
+    /**
+     * Changes the size of the buffer.
+     *
+     * @param newLength The new size of the buffer. Must be a power of two.
+     */
+    private void resize(int newLength) {
+        long[] newIds = new long[newLength];
+        Object[] newValues = new Object[newLength];
+        for (int i = 0; i < size; i++) {
+            newIds[i] = ids[slot(i)];
+            newValues[i] = values[slot(i)];
+        }
+        ids = newIds;
+        values = newValues;
+        head = 0;
+    }
+
+    /**
+     * Releases the buffer if the ring is empty and shrinks it if it is mostly unused, so the memory used by the ring
+     * is proportional to its size.
+     */
+    private void shrinkIfSparse() {
+        if (size == 0) {
+            ids = EMPTY_IDS;
+            values = EMPTY_VALUES;
+            head = 0;
+        } else if (ids.length > INITIAL_CAPACITY && size < ids.length >>> 2) {
+            resize(ids.length >>> 1);
+        }
+    }
+
+    /**
+     * Checks if the given position is valid.
+     *
+     * @param index The position.
+     */
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    @Override
+    public String toString() {
+        long[] sortedIds = new long[size];
+        for (int i = 0; i < size; i++) {
+            sortedIds[i] = ids[slot(i)];
+        }
+        return "SnowflakeRing" + Arrays.toString(sortedIds);
+    }
+
+}
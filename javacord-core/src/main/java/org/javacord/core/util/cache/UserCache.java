@@ -1,46 +1,34 @@
 package org.javacord.core.util.cache;
 
 import org.javacord.api.entity.user.User;
-import org.javacord.core.util.ImmutableToJavaMapper;
 
+import java.util.Collection;
 import java.util.Optional;
 import java.util.Set;
 
 /**
- * An immutable cache for all user entities.
+ * A cache for all user entities.
+ *
+ * <p>All modifying methods return the cache after the modification. Immutable implementations return a new
+ * instance, while mutable implementations modify themselves and return the same instance.
  */
-public class UserCache {
-
-    private static final String ID_INDEX_NAME = "id";
-
-    private static final UserCache EMPTY_CACHE = new UserCache(Cache.<User>empty()
-            .addIndex(ID_INDEX_NAME, User::getId)
-    );
-
-    private final Cache<User> cache;
-
-    private UserCache(Cache<User> cache) {
-        this.cache = cache;
-    }
+public interface UserCache {
 
     /**
-     * Gets an empty channel cache.
+     * Adds a user to the cache.
      *
-     * @return An empty channel cache.
+     * @param user The user to add.
+     * @return The new user cache.
      */
-    public static UserCache empty() {
-        return EMPTY_CACHE;
-    }
+    UserCache addUser(User user);
 
     /**
-     * Adds a user to the cache.
+     * Adds many users to the cache at once.
      *
-     * @param user The user to add.
+     * @param users The users to add.
      * @return The new user cache.
      */
-    public UserCache addUser(User user) {
-        return new UserCache(cache.addElement(user));
-    }
+    UserCache addUsers(Collection<User> users);
 
     /**
      * Removes a user from the cache.
@@ -48,18 +36,22 @@ public class UserCache {
      * @param user The user to remove.
      * @return The new user cache.
      */
-    public UserCache removeUser(User user) {
-        return new UserCache(cache.removeElement(user));
-    }
+    UserCache removeUser(User user);
+
+    /**
+     * Removes many users from the cache at once.
+     *
+     * @param users The users to remove.
+     * @return The new user cache.
+     */
+    UserCache removeUsers(Collection<User> users);
 
     /**
-     * Gets a set with all channels in the cache.
+     * Gets a set with all users in the cache.
      *
-     * @return A set with all channels.
+     * @return A set with all users.
      */
-    public Set<User> getUsers() {
-        return ImmutableToJavaMapper.mapToJava(cache.getAll());
-    }
+    Set<User> getUsers();
 
     /**
      * Get the user with the given id.
@@ -67,8 +59,6 @@ public class UserCache {
      * @param id The id of the user.
      * @return The user with the given id.
      */
-    public Optional<User> getUserById(long id) {
-        return cache.findAnyByIndex(ID_INDEX_NAME, id);
-    }
+    Optional<User> getUserById(long id);
 
 }
@@ -5,30 +5,12 @@ import org.javacord.core.entity.user.UserPresence;
 import java.util.Optional;
 
 /**
- * An immutable cache for all user presences.
+ * A cache for all user presences.
+ *
+ * <p>All modifying methods return the cache after the modification. Immutable implementations return a new
+ * instance, while mutable implementations modify themselves and return the same instance.
  */
-public class UserPresenceCache {
-
-    private static final String USER_ID_INDEX_NAME = "user-id";
-
-    private static final UserPresenceCache EMPTY_CACHE = new UserPresenceCache(Cache.<UserPresence>empty()
-            .addIndex(USER_ID_INDEX_NAME, UserPresence::getUserId)
-    );
-
-    private final Cache<UserPresence> cache;
-
-    private UserPresenceCache(Cache<UserPresence> cache) {
-        this.cache = cache;
-    }
-
-    /**
-     * Gets an empty user presence cache.
-     *
-     * @return An empty user presence cache.
-     */
-    public static UserPresenceCache empty() {
-        return EMPTY_CACHE;
-    }
+public interface UserPresenceCache {
 
     /**
      * Adds a user presence to the cache.
@@ -36,9 +18,7 @@ public class UserPresenceCache {
      * @param presence The user presence to add.
      * @return The new user presence cache.
      */
-    public UserPresenceCache addUserPresence(UserPresence presence) {
-        return new UserPresenceCache(cache.addElement(presence));
-    }
+    UserPresenceCache addUserPresence(UserPresence presence);
 
     /**
      * Removes a user presence from the cache.
@@ -46,12 +26,7 @@ public class UserPresenceCache {
      * @param presence The user presence to remove.
      * @return The new user presence cache.
      */
-    public UserPresenceCache removeUserPresence(UserPresence presence) {
-        if (presence == null) {
-            return this;
-        }
-        return new UserPresenceCache(cache.removeElement(presence));
-    }
+    UserPresenceCache removeUserPresence(UserPresence presence);
 
     /**
      * Get the presence for the user with the given id.
@@ -59,8 +34,6 @@ public class UserPresenceCache {
      * @param userId The id of the user.
      * @return The presence for the user with the given id.
      */
-    public Optional<UserPresence> getPresenceByUserId(long userId) {
-        return cache.findAnyByIndex(USER_ID_INDEX_NAME, userId);
-    }
+    Optional<UserPresence> getPresenceByUserId(long userId);
 
 }
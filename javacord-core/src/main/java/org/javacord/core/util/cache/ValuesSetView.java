@@ -0,0 +1,55 @@
+package org.javacord.core.util.cache;
+
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.function.Predicate;
+
+/**
+ * An unmodifiable, weakly consistent set view of the values of a concurrent map.
+ *
+ * <p>The view reflects all changes of the underlying map. Iteration never throws a
+ * {@link java.util.ConcurrentModificationException}, but might or might not reflect changes that happen after the
+ * iterator was created.
+ *
+ * @param <E> The type of the elements in the set.
+ */
+class ValuesSetView<E> extends AbstractSet<E> {
+
+    private final Collection<E> values;
+    private final Predicate<Object> containsCheck;
+
+    /**
+     * Creates a new values set view.
+     *
+     * @param values The values of the underlying map. The values must be distinct.
+     * @param containsCheck A predicate that checks if the given object is contained in the underlying map in
+     *                      effectively {@code O(1)}.
+     */
+    ValuesSetView(Collection<E> values, Predicate<Object> containsCheck) {
+        this.values = values;
+        this.containsCheck = containsCheck;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return Collections.unmodifiableCollection(values).iterator();
+    }
+
+    @Override
+    public int size() {
+        return values.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return values.isEmpty();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return containsCheck.test(o);
+    }
+
+}
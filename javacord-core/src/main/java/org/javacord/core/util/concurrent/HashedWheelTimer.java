@@ -0,0 +1,271 @@
+package org.javacord.core.util.concurrent;
+
+import org.apache.logging.log4j.Logger;
+import org.javacord.core.util.logging.LoggerUtil;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A timer for a large amount of short-living timeouts which are usually cancelled before they expire.
+ *
+ * <p>Timeouts are sorted into the buckets of a wheel by their deadline. Arming and cancelling a timeout is O(1) and
+ * doesn't block. The wheel is advanced by a worker in fixed ticks, so timeouts expire with a precision of one tick.
+ * The worker only runs while there are active timeouts, so an idle timer doesn't cost anything.
+ * Expired tasks are executed by the worker and must not block.
+ */
+public class HashedWheelTimer {
+
+    /**
+     * The logger of this class.
+     */
+    private static final Logger logger = LoggerUtil.getLogger(HashedWheelTimer.class);
+
+    private final ExecutorService workerExecutor;
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final long startNanos = System.nanoTime();
+
+    private final Queue<Timeout> pendingTimeouts = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelledTimeouts = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger activeTimeouts = new AtomicInteger();
+    private final AtomicBoolean workerRunning = new AtomicBoolean();
+
+    /**
+     * The current tick. Only accessed by the worker.
+     */
+    private long tick = 0;
+
+    /**
+     * Creates a new timer.
+     *
+     * @param workerExecutor The executor which runs the worker. Must not run more than one task at once.
+     * @param tickDuration The duration of a tick.
+     * @param unit The time unit of the tick duration.
+     * @param ticksPerWheel The amount of buckets of the wheel. Is rounded up to a power of two.
+     */
+    public HashedWheelTimer(ExecutorService workerExecutor, long tickDuration, TimeUnit unit, int ticksPerWheel) {
+        if (tickDuration <= 0) {
+            throw new IllegalArgumentException("tickDuration must be greater than 0!");
+        }
+        if (ticksPerWheel <= 0 || ticksPerWheel > 1 << 30) {
+            throw new IllegalArgumentException("ticksPerWheel must be between 1 and 2^30!");
+        }
+        this.workerExecutor = workerExecutor;
+        this.tickNanos = unit.toNanos(tickDuration);
+        int wheelSize = Integer.highestOneBit(ticksPerWheel - 1) << 1;
+        wheel = new Bucket[Math.max(wheelSize, 1)];
+        for (int i = 0; i < wheel.length; i++) {
+            wheel[i] = new Bucket();
+        }
+        mask = wheel.length - 1;
+    }
+
+    /**
+     * Executes the given task after the given delay, unless the returned timeout is cancelled before.
+     *
+     * @param task The task to execute.
+     * @param delay The delay.
+     * @param unit The time unit of the delay.
+     * @return The timeout.
+     */
+    public Timeout newTimeout(Runnable task, long delay, TimeUnit unit) {
+        Timeout timeout = new Timeout(task, System.nanoTime() - startNanos + unit.toNanos(delay));
+        activeTimeouts.incrementAndGet();
+        pendingTimeouts.add(timeout);
+        if (workerRunning.compareAndSet(false, true)) {
+            try {
+                workerExecutor.submit(this::work);
+            } catch (RejectedExecutionException e) {
+                // The executor was shut down
+                workerRunning.set(false);
+            }
+        }
+        return timeout;
+    }
+
+    /**
+     * Advances the wheel until there are no more active timeouts.
+     */
+    private void work() {
+        // Skip the ticks which passed while the worker wasn't running
+        tick = Math.max(tick, (System.nanoTime() - startNanos) / tickNanos);
+        while (true) {
+            long sleepNanos = (tick + 1) * tickNanos - (System.nanoTime() - startNanos);
+            if (sleepNanos > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(sleepNanos);
+                } catch (InterruptedException e) {
+                    // The executor was shut down
+                    workerRunning.set(false);
+                    return;
+                }
+            }
+            removeCancelledTimeouts();
+            transferPendingTimeouts();
+            wheel[(int) (tick & mask)].expireTimeouts();
+            tick++;
+
+            if (activeTimeouts.get() == 0) {
+                workerRunning.set(false);
+                // Check again, as a timeout might have been armed before the flag was reset
+                if (activeTimeouts.get() == 0 || !workerRunning.compareAndSet(false, true)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes the cancelled timeouts from their buckets.
+     */
+    private void removeCancelledTimeouts() {
+        Timeout timeout;
+        while ((timeout = cancelledTimeouts.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    /**
+     * Adds the newly armed timeouts to their buckets.
+     */
+    private void transferPendingTimeouts() {
+        Timeout timeout;
+        while ((timeout = pendingTimeouts.poll()) != null) {
+            if (timeout.state.get() != Timeout.ARMED) {
+                continue;
+            }
+            long expirationTick = timeout.deadlineNanos / tickNanos;
+            timeout.remainingRounds = (expirationTick - tick) / wheel.length;
+            wheel[(int) (Math.max(expirationTick, tick) & mask)].add(timeout);
+        }
+    }
+
+    /**
+     * A timeout of the timer.
+     */
+    public final class Timeout {
+
+        private static final int ARMED = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        private final Runnable task;
+        private final long deadlineNanos;
+        private final AtomicInteger state = new AtomicInteger(ARMED);
+
+        // Only accessed by the worker
+        private long remainingRounds;
+        private Bucket bucket;
+        private Timeout next;
+        private Timeout previous;
+
+        private Timeout(Runnable task, long deadlineNanos) {
+            this.task = task;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        /**
+         * Cancels the timeout.
+         *
+         * @return Whether the timeout was cancelled or not, because it already expired or was cancelled before.
+         */
+        public boolean cancel() {
+            if (!state.compareAndSet(ARMED, CANCELLED)) {
+                return false;
+            }
+            cancelledTimeouts.add(this);
+            activeTimeouts.decrementAndGet();
+            return true;
+        }
+
+        /**
+         * Executes the task of the timeout, unless it was cancelled.
+         */
+        private void expire() {
+            if (!state.compareAndSet(ARMED, EXPIRED)) {
+                return;
+            }
+            activeTimeouts.decrementAndGet();
+            try {
+                task.run();
+            } catch (Throwable t) {
+                logger.error("Unhandled exception in a timeout task!", t);
+            }
+        }
+
+    }
+
+    /**
+     * A bucket of the wheel, which is a doubly-linked list of timeouts. Only accessed by the worker.
+     */
+    private static final class Bucket {
+
+        private Timeout head;
+        private Timeout tail;
+
+        /**
+         * Adds the given timeout to the bucket.
+         *
+         * @param timeout The timeout to add.
+         */
+        private void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.previous = tail;
+            }
+            tail = timeout;
+        }
+
+        /**
+         * Removes the given timeout from the bucket.
+         *
+         * @param timeout The timeout to remove.
+         */
+        private void remove(Timeout timeout) {
+            if (timeout.previous == null) {
+                head = timeout.next;
+            } else {
+                timeout.previous.next = timeout.next;
+            }
+            if (timeout.next == null) {
+                tail = timeout.previous;
+            } else {
+                timeout.next.previous = timeout.previous;
+            }
+            timeout.bucket = null;
+            timeout.next = null;
+            timeout.previous = null;
+        }
+
+        /**
+         * Expires all timeouts of the bucket which have no remaining rounds.
+         */
+        private void expireTimeouts() {
+            Timeout timeout = head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.remainingRounds <= 0) {
+                    remove(timeout);
+                    timeout.expire();
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+
+    }
+
+}
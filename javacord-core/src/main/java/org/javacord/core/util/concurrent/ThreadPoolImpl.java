@@ -1,45 +1,212 @@
 package org.javacord.core.util.concurrent;
 
 import org.javacord.api.util.concurrent.ThreadPool;
+import org.javacord.api.util.concurrent.ThreadPoolType;
 
 import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * The implementation of {@link ThreadPool}.
  */
 public class ThreadPoolImpl implements ThreadPool {
 
+    /**
+     * The default maximum amount of threads of a {@link ThreadPoolType#BOUNDED bounded} executor service.
+     */
+    public static final int DEFAULT_MAX_THREADS = 64;
+
+    /**
+     * The default capacity of the work queue of a {@link ThreadPoolType#BOUNDED bounded} executor service.
+     */
+    public static final int DEFAULT_QUEUE_CAPACITY = 1024;
+
     private static final int CORE_POOL_SIZE = 1;
     private static final int MAXIMUM_POOL_SIZE = Integer.MAX_VALUE;
     private static final int KEEP_ALIVE_TIME = 60;
     private static final TimeUnit TIME_UNIT = TimeUnit.SECONDS;
+    private static final String EXECUTOR_SERVICE_THREAD_NAME = "Javacord - Central ExecutorService - %d";
+
+    /**
+     * Whether the current thread is an internal thread of a scheduler or a single thread executor service.
+     * These threads must not execute rejected tasks, as this would block heartbeats, packet handlers and similar.
+     */
+    private static final ThreadLocal<Boolean> internalThread = ThreadLocal.withInitial(() -> false);
 
-    private final ExecutorService executorService = new ThreadPoolExecutor(
-            CORE_POOL_SIZE, MAXIMUM_POOL_SIZE, KEEP_ALIVE_TIME, TIME_UNIT, new SynchronousQueue<>(),
-            new ThreadFactory("Javacord - Central ExecutorService - %d", false));
-    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(
-            CORE_POOL_SIZE, new ThreadFactory("Javacord - Central Scheduler - %d", false));
-    private final ScheduledExecutorService daemonScheduler = Executors.newScheduledThreadPool(
-            CORE_POOL_SIZE, new ThreadFactory("Javacord - Central Daemon Scheduler - %d", true));
+    private final ThreadPoolType type;
+    private final ExecutorService executorService;
+    private final ExecutorService overflowExecutorService;
+    private final AtomicInteger activeVirtualThreads = new AtomicInteger();
+    private final AtomicLong callerRunsTaskCount = new AtomicLong();
+    private final ScheduledExecutorService scheduler;
+    private final ScheduledExecutorService daemonScheduler;
     private final ConcurrentHashMap<String, ExecutorService> executorServiceSingleThreads = new ConcurrentHashMap<>();
 
+    /**
+     * The thread pool whose central executor service and schedulers are used by this thread pool, if it is a shard
+     * thread pool of a shard group.
+     */
+    private final ThreadPoolImpl sharedThreadPool;
+
+    /**
+     * The prefix of the names of single thread executor services.
+     */
+    private final String singleThreadNamePrefix;
+
+    /**
+     * The listener which is called when this thread pool is shut down.
+     */
+    private final Runnable shutdownListener;
+
+    private final AtomicBoolean shutdown = new AtomicBoolean();
+
+    /**
+     * Creates a new thread pool with an {@link ThreadPoolType#AUTOMATIC automatically} chosen executor service.
+     */
+    public ThreadPoolImpl() {
+        this(ThreadPoolType.AUTOMATIC, DEFAULT_MAX_THREADS, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * Creates a new thread pool.
+     *
+     * @param type The type of the central executor service.
+     * @param maxThreads The maximum amount of threads. Only used by {@link ThreadPoolType#BOUNDED bounded} executor
+     *                   services.
+     * @param queueCapacity The capacity of the work queue. Only used by {@link ThreadPoolType#BOUNDED bounded}
+     *                      executor services.
+     */
+    public ThreadPoolImpl(ThreadPoolType type, int maxThreads, int queueCapacity) {
+        if (type == ThreadPoolType.AUTOMATIC) {
+            type = VirtualThreads.isSupported() ? ThreadPoolType.VIRTUAL : ThreadPoolType.CACHED;
+        }
+        this.type = type;
+        sharedThreadPool = null;
+        singleThreadNamePrefix = "";
+        shutdownListener = null;
+        scheduler = Executors.newScheduledThreadPool(
+                CORE_POOL_SIZE, newInternalThreadFactory("Javacord - Central Scheduler - %d", false));
+        daemonScheduler = Executors.newScheduledThreadPool(
+                CORE_POOL_SIZE, newInternalThreadFactory("Javacord - Central Daemon Scheduler - %d", true));
+        // Executes the rejected tasks of internal threads one after another
+        overflowExecutorService = type != ThreadPoolType.BOUNDED ? null : new ThreadPoolExecutor(
+                0, 1, KEEP_ALIVE_TIME, TIME_UNIT, new LinkedBlockingQueue<>(),
+                new ThreadFactory("Javacord - Central Overflow ExecutorService - %d", false));
+        switch (type) {
+            case CACHED:
+                executorService = new ThreadPoolExecutor(
+                        CORE_POOL_SIZE, MAXIMUM_POOL_SIZE, KEEP_ALIVE_TIME, TIME_UNIT, new SynchronousQueue<>(),
+                        new ThreadFactory(EXECUTOR_SERVICE_THREAD_NAME, false));
+                break;
+            case BOUNDED:
+                ThreadPoolExecutor boundedExecutorService = new ThreadPoolExecutor(
+                        maxThreads, maxThreads, KEEP_ALIVE_TIME, TIME_UNIT, new ArrayBlockingQueue<>(queueCapacity),
+                        new ThreadFactory(EXECUTOR_SERVICE_THREAD_NAME, false), this::runInCaller);
+                boundedExecutorService.allowCoreThreadTimeOut(true);
+                executorService = boundedExecutorService;
+                break;
+            case VIRTUAL:
+                java.util.concurrent.ThreadFactory virtualThreadFactory =
+                        VirtualThreads.newThreadFactory("Javacord - Central ExecutorService - ");
+                executorService = VirtualThreads.newThreadPerTaskExecutor(task -> virtualThreadFactory.newThread(() -> {
+                    activeVirtualThreads.incrementAndGet();
+                    try {
+                        task.run();
+                    } finally {
+                        activeVirtualThreads.decrementAndGet();
+                    }
+                }));
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown thread pool type " + type);
+        }
+    }
+
+    /**
+     * Creates a new thread pool for a single shard of a shard group.
+     *
+     * <p>The thread pool uses the central executor service and schedulers of the shared thread pool, but has its own
+     * single thread executor services, as they are used for long-running tasks of a shard. Shutting down this thread
+     * pool only shuts down its single thread executor services and calls the shutdown listener.
+     *
+     * @param sharedThreadPool The thread pool which is shared by all shards.
+     * @param singleThreadNamePrefix The prefix of the names of single thread executor services.
+     * @param shutdownListener The listener which is called when this thread pool is shut down.
+     */
+    public ThreadPoolImpl(ThreadPoolImpl sharedThreadPool, String singleThreadNamePrefix, Runnable shutdownListener) {
+        this.sharedThreadPool = sharedThreadPool;
+        this.singleThreadNamePrefix = singleThreadNamePrefix;
+        this.shutdownListener = shutdownListener;
+        type = sharedThreadPool.type;
+        executorService = sharedThreadPool.executorService;
+        overflowExecutorService = sharedThreadPool.overflowExecutorService;
+        scheduler = sharedThreadPool.scheduler;
+        daemonScheduler = sharedThreadPool.daemonScheduler;
+    }
+
+    /**
+     * Creates a thread factory for internal threads, which must not execute rejected tasks.
+     *
+     * @param namePattern The name pattern, may contain a {@code %d} wildcard where the counter gets filled in.
+     * @param daemon Whether to create daemon or non-daemon threads.
+     * @return The thread factory.
+     */
+    private static java.util.concurrent.ThreadFactory newInternalThreadFactory(String namePattern, boolean daemon) {
+        ThreadFactory threadFactory = new ThreadFactory(namePattern, daemon);
+        return task -> threadFactory.newThread(() -> {
+            internalThread.set(true);
+            task.run();
+        });
+    }
+
+    /**
+     * Executes a task which was rejected by the bounded executor service in the submitting thread.
+     * Rejected tasks of internal threads are executed by the overflow executor service instead.
+     *
+     * @param task The rejected task.
+     * @param executor The executor service which rejected the task.
+     */
+    private void runInCaller(Runnable task, ThreadPoolExecutor executor) {
+        if (executor.isShutdown()) {
+            throw new RejectedExecutionException("The executor service has been shut down");
+        }
+        callerRunsTaskCount.incrementAndGet();
+        if (internalThread.get()) {
+            overflowExecutorService.execute(task);
+            return;
+        }
+        task.run();
+    }
+
     /**
      * Shutdowns the thread pool.
      * This method is called automatically after disconnecting.
      */
     public void shutdown() {
-        executorService.shutdown();
-        scheduler.shutdown();
-        daemonScheduler.shutdown();
+        if (sharedThreadPool == null) {
+            executorService.shutdown();
+            if (overflowExecutorService != null) {
+                overflowExecutorService.shutdown();
+            }
+            scheduler.shutdown();
+            daemonScheduler.shutdown();
+        }
         executorServiceSingleThreads.values().forEach(ExecutorService::shutdown);
+        if (shutdownListener != null && shutdown.compareAndSet(false, true)) {
+            shutdownListener.run();
+        }
     }
 
     @Override
@@ -47,6 +214,38 @@ public class ThreadPoolImpl implements ThreadPool {
         return executorService;
     }
 
+    @Override
+    public ThreadPoolType getType() {
+        return type;
+    }
+
+    @Override
+    public int getActiveTaskCount() {
+        if (sharedThreadPool != null) {
+            return sharedThreadPool.getActiveTaskCount();
+        }
+        if (executorService instanceof ThreadPoolExecutor) {
+            return ((ThreadPoolExecutor) executorService).getActiveCount();
+        }
+        return activeVirtualThreads.get();
+    }
+
+    @Override
+    public int getQueuedTaskCount() {
+        if (executorService instanceof ThreadPoolExecutor) {
+            return ((ThreadPoolExecutor) executorService).getQueue().size();
+        }
+        return 0;
+    }
+
+    @Override
+    public long getCallerRunsTaskCount() {
+        if (sharedThreadPool != null) {
+            return sharedThreadPool.getCallerRunsTaskCount();
+        }
+        return callerRunsTaskCount.get();
+    }
+
     @Override
     public ScheduledExecutorService getScheduler() {
         return scheduler;
@@ -61,14 +260,14 @@ public class ThreadPoolImpl implements ThreadPool {
     public ExecutorService getSingleThreadExecutorService(String threadName) {
         return executorServiceSingleThreads.computeIfAbsent(threadName, key ->
                 new ThreadPoolExecutor(0, 1, KEEP_ALIVE_TIME, TIME_UNIT, new LinkedBlockingQueue<>(),
-                                       new ThreadFactory("Javacord - " + threadName, false)));
+                        newInternalThreadFactory("Javacord - " + singleThreadNamePrefix + threadName, false)));
     }
 
     @Override
     public ExecutorService getSingleDaemonThreadExecutorService(String threadName) {
         return executorServiceSingleThreads.computeIfAbsent(threadName, key ->
                 new ThreadPoolExecutor(0, 1, KEEP_ALIVE_TIME, TIME_UNIT, new LinkedBlockingQueue<>(),
-                                       new ThreadFactory("Javacord - " + threadName, true)));
+                        newInternalThreadFactory("Javacord - " + singleThreadNamePrefix + threadName, true)));
     }
 
     @Override
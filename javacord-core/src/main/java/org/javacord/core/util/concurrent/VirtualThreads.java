@@ -0,0 +1,101 @@
+package org.javacord.core.util.concurrent;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * A helper class to create virtual threads.
+ *
+ * <p>Javacord is compiled for Java 8, so the virtual thread API of Java 21 is looked up at runtime.
+ */
+public class VirtualThreads {
+
+    private static final MethodHandle OF_VIRTUAL;
+    private static final MethodHandle NAME;
+    private static final MethodHandle FACTORY;
+    private static final MethodHandle NEW_THREAD_PER_TASK_EXECUTOR;
+
+    static {
+        MethodHandle ofVirtual = null;
+        MethodHandle name = null;
+        MethodHandle factory = null;
+        MethodHandle newThreadPerTaskExecutor = null;
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Class<?> virtualBuilderClass = Class.forName("java.lang.Thread$Builder$OfVirtual");
+            ofVirtual = lookup.findStatic(Thread.class, "ofVirtual", MethodType.methodType(virtualBuilderClass));
+            name = lookup.findVirtual(builderClass, "name",
+                    MethodType.methodType(builderClass, String.class, long.class));
+            factory = lookup.findVirtual(builderClass, "factory",
+                    MethodType.methodType(java.util.concurrent.ThreadFactory.class));
+            newThreadPerTaskExecutor = lookup.findStatic(Executors.class,
+                    "newThreadPerTaskExecutor",
+                    MethodType.methodType(ExecutorService.class, java.util.concurrent.ThreadFactory.class));
+            // Virtual threads are a preview feature in Java 19 and 20 and fail if previews are not enabled
+            ofVirtual.invoke();
+        } catch (Throwable ignored) {
+            // Virtual threads are not supported by this JVM
+            ofVirtual = null;
+        }
+        OF_VIRTUAL = ofVirtual;
+        NAME = name;
+        FACTORY = factory;
+        NEW_THREAD_PER_TASK_EXECUTOR = newThreadPerTaskExecutor;
+    }
+
+    private VirtualThreads() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Checks if the JVM supports virtual threads.
+     *
+     * @return Whether the JVM supports virtual threads or not.
+     */
+    public static boolean isSupported() {
+        return OF_VIRTUAL != null;
+    }
+
+    /**
+     * Creates a new thread factory for virtual threads.
+     *
+     * @param namePrefix The prefix of the thread names. The threads are numbered, starting at {@code 0}.
+     * @return The thread factory.
+     * @throws UnsupportedOperationException If the JVM doesn't support virtual threads.
+     */
+    public static java.util.concurrent.ThreadFactory newThreadFactory(String namePrefix) {
+        if (!isSupported()) {
+            throw new UnsupportedOperationException("Virtual threads require Java 21 or newer!");
+        }
+        try {
+            Object builder = OF_VIRTUAL.invoke();
+            builder = NAME.invoke(builder, namePrefix, 0L);
+            return (java.util.concurrent.ThreadFactory) FACTORY.invoke(builder);
+        } catch (Throwable t) {
+            throw new IllegalStateException("Failed to create a virtual thread factory!", t);
+        }
+    }
+
+    /**
+     * Creates a new executor service which executes every task on a new thread of the given factory.
+     *
+     * @param threadFactory The factory which creates the threads.
+     * @return The executor service.
+     * @throws UnsupportedOperationException If the JVM doesn't support virtual threads.
+     */
+    public static ExecutorService newThreadPerTaskExecutor(java.util.concurrent.ThreadFactory threadFactory) {
+        if (!isSupported()) {
+            throw new UnsupportedOperationException("Virtual threads require Java 21 or newer!");
+        }
+        try {
+            return (ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR.invoke(threadFactory);
+        } catch (Throwable t) {
+            throw new IllegalStateException("Failed to create a thread-per-task executor!", t);
+        }
+    }
+
+}
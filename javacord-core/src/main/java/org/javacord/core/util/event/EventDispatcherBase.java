@@ -4,21 +4,19 @@ import org.apache.logging.log4j.Logger;
 import org.javacord.api.DiscordApi;
 import org.javacord.core.DiscordApiImpl;
 import org.javacord.core.entity.server.ServerImpl;
+import org.javacord.core.util.concurrent.HashedWheelTimer;
 import org.javacord.core.util.logging.LoggerUtil;
 
+import java.time.Duration;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 import java.util.Queue;
-import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
 /**
@@ -32,48 +30,97 @@ public abstract class EventDispatcherBase {
     private static final Logger logger = LoggerUtil.getLogger(EventDispatcherBase.class);
 
     /**
-     * The time which a listener task is allowed to take until it get's interrupted.
+     * The default time which a listener task is allowed to take until it get's interrupted.
      */
-    private static final int MAX_EXECUTION_TIME_IN_SECONDS = 2 * 60; // 2 minutes
+    private static final Duration DEFAULT_MAX_EXECUTION_TIME = Duration.ofMinutes(2);
 
     /**
-     * The time which a listener task is allowed to take until a warning appears on INFO log level.
+     * The default time which a listener task is allowed to take until a warning appears on WARN log level.
      */
-    private static final int INFO_WARNING_DELAY_IN_SECONDS = 10; // 10 seconds
+    private static final Duration DEFAULT_WARNING_THRESHOLD = Duration.ofSeconds(10);
 
     /**
-     * The time which a listener task is allowed to take until a warning appears on DEBUG log level.
+     * The default time which a listener task is allowed to take until a warning appears on DEBUG log level.
+     */
+    private static final Duration DEFAULT_DEBUG_THRESHOLD = Duration.ofMillis(500);
+
+    /**
+     * The precision of the execution time checking in milliseconds.
      */
-    private static final int DEBUG_WARNING_DELAY_IN_MILLIS = 500; // 500 milliseconds
+    private static final int WATCHDOG_TICK_IN_MILLIS = 20;
+
+    /**
+     * The maximum amount of listener tasks a mailbox executes before it gets rescheduled.
+     * This prevents busy queue selectors from starving others.
+     */
+    private static final int MAX_BATCH_SIZE = 64;
 
     /**
      * Whether execution time checking should be enabled or not.
      */
     private volatile boolean executionTimeCheckingEnabled = true;
 
+    /**
+     * The time which a listener task is allowed to take until a warning appears on DEBUG log level.
+     */
+    private volatile Duration debugThreshold = DEFAULT_DEBUG_THRESHOLD;
+
+    /**
+     * The time which a listener task is allowed to take until a warning appears on WARN log level.
+     */
+    private volatile Duration warningThreshold = DEFAULT_WARNING_THRESHOLD;
+
+    /**
+     * The time which a listener task is allowed to take until it get's interrupted.
+     */
+    private volatile Duration maxExecutionTime = DEFAULT_MAX_EXECUTION_TIME;
+
+    /**
+     * The timer which is used to check the execution time of listener tasks.
+     */
+    private final HashedWheelTimer watchdog;
+
     /**
      * The discord api instance.
      */
     private final DiscordApiImpl api;
 
     /**
-     * This map which holds a queue for every object (usually a server) with tasks to call the waiting listeners.
+     * A map with a mailbox for every object (usually a server) with tasks to call the waiting listeners.
+     */
+    private final ConcurrentHashMap<DispatchQueueSelector, Mailbox> mailboxes = new ConcurrentHashMap<>();
+
+    /**
+     * The mailbox for object-independent tasks (the {@code null} queue selector).
      */
-    private final Map<DispatchQueueSelector, Queue<Runnable>> queuedListenerTasks =
-            Collections.synchronizedMap(new HashMap<>());
+    private final Mailbox objectIndependentMailbox = new Mailbox(null);
 
     /**
-     * A list with all objects which currently have a running listener.
+     * The amount of object-dependent listener tasks that are queued or running.
      */
-    private final Set<DispatchQueueSelector> runningListeners = Collections.synchronizedSet(new HashSet<>());
+    private final AtomicInteger pendingObjectDependentTasks = new AtomicInteger();
 
     /**
-     * A map with all running listeners as it's key. The value contains an array where the first element is a long
-     * with the start time of the listener (using {@link System#nanoTime()} and the second element is the object
-     * of the listener (usually a server).
+     * Whether object-independent tasks are queued or running.
+     * While this is the case, new dispatches are held back in {@link #heldDispatches}.
      */
-    private final Map<AtomicReference<Future<?>>, Object[]> activeListeners =
-            Collections.synchronizedMap(new HashMap<>());
+    private volatile boolean objectIndependentPhase = false;
+
+    /**
+     * The dispatches that were held back during an object-independent phase in the order of their dispatching.
+     * Only accessed while holding the {@link #phaseLock}.
+     */
+    private final Queue<HeldDispatch> heldDispatches = new ArrayDeque<>();
+
+    /**
+     * The lock for transitions from and to object-independent phases.
+     */
+    private final Object phaseLock = new Object();
+
+    /**
+     * A map with all mailboxes that currently execute a listener task and the task.
+     */
+    private final ConcurrentHashMap<Mailbox, RunningTask> runningTasks = new ConcurrentHashMap<>();
 
     /**
      * Creates a new event dispatcher.
@@ -82,63 +129,9 @@ public abstract class EventDispatcherBase {
      */
     protected EventDispatcherBase(DiscordApiImpl api) {
         this.api = api;
-        queuedListenerTasks.put(null, new ConcurrentLinkedQueue<>());
-        api.getThreadPool().getScheduler().scheduleAtFixedRate(() -> {
-            try {
-                if (!executionTimeCheckingEnabled) {
-                    return;
-                }
-                List<DispatchQueueSelector> canceledObjects = new ArrayList<>();
-                synchronized (activeListeners) {
-                    long currentNanoTime = System.nanoTime();
-                    Iterator<Map.Entry<AtomicReference<Future<?>>, Object[]>> iterator =
-                            activeListeners.entrySet().iterator();
-                    while (iterator.hasNext()) {
-                        Map.Entry<AtomicReference<Future<?>>, Object[]> entry = iterator.next();
-                        long difference = currentNanoTime - ((long) entry.getValue()[0]);
-                        DispatchQueueSelector queueSelector = (DispatchQueueSelector) entry.getValue()[1];
-                        if (difference > DEBUG_WARNING_DELAY_IN_MILLIS * 1_000_000L
-                                && difference < DEBUG_WARNING_DELAY_IN_MILLIS * 1_000_000L + 201_000_000L) {
-                            logger.debug("Detected a {} which is now running for over {}ms ({}ms). This is"
-                                            + " an unusually long execution time for a listener task. Make"
-                                            + " sure to not do any heavy computations in listener threads!",
-                                    () -> getThreadType(queueSelector),
-                                    () -> DEBUG_WARNING_DELAY_IN_MILLIS,
-                                    () -> (int) (difference / 1_000_000L));
-                        }
-                        if (difference > INFO_WARNING_DELAY_IN_SECONDS * 1_000_000_000L
-                                && difference < INFO_WARNING_DELAY_IN_SECONDS * 1_000_000_000L + 201_000_000L) {
-                            logger.warn("Detected a {} which is now running for over {} seconds ({}ms)."
-                                            + " This is a very unusually long execution time for a listener task. Make"
-                                            + " sure to not do any heavy computations in listener threads!",
-                                    () -> getThreadType(queueSelector),
-                                    () -> INFO_WARNING_DELAY_IN_SECONDS,
-                                    () -> (int) (difference / 1_000_000L));
-                        }
-                        if (difference > MAX_EXECUTION_TIME_IN_SECONDS * 1_000_000_000L) {
-                            entry.getKey().get().cancel(true);
-                            logger.error("Interrupted a {}, because it was running over {} seconds! This was most "
-                                            + "likely caused by a deadlock or very heavy computation/blocking "
-                                            + "operations in the listener thread. "
-                                            + "Make sure to not block listener threads!",
-                                    () -> getThreadType(queueSelector), () -> MAX_EXECUTION_TIME_IN_SECONDS);
-                            runningListeners.remove(queueSelector);
-                            iterator.remove();
-                            canceledObjects.add(queueSelector);
-                        }
-                    }
-                }
-                if (canceledObjects.isEmpty()) {
-                    // Inform the dispatchEvent method that it maybe can queue new listeners now
-                    synchronized (queuedListenerTasks) {
-                        queuedListenerTasks.notifyAll();
-                    }
-                }
-                canceledObjects.forEach(this::checkRunningListenersAndStartIfPossible);
-            } catch (Throwable t) {
-                logger.error("Failed to check execution times!", t);
-            }
-        }, 200, 200, TimeUnit.MILLISECONDS);
+        watchdog = new HashedWheelTimer(
+                api.getThreadPool().getSingleDaemonThreadExecutorService("Listener Execution Watchdog"),
+                WATCHDOG_TICK_IN_MILLIS, TimeUnit.MILLISECONDS, 512);
     }
 
     /**
@@ -159,6 +152,57 @@ public abstract class EventDispatcherBase {
         executionTimeCheckingEnabled = enable;
     }
 
+    /**
+     * Sets the thresholds for the execution time of listener tasks.
+     *
+     * @param debugThreshold The time until a warning appears on DEBUG log level.
+     * @param warningThreshold The time until a warning appears on WARN log level.
+     * @param maxExecutionTime The time until the listener task gets interrupted.
+     */
+    public void setExecutionTimeThresholds(Duration debugThreshold, Duration warningThreshold,
+                                           Duration maxExecutionTime) {
+        if (debugThreshold.isNegative() || debugThreshold.isZero()) {
+            throw new IllegalArgumentException("The debug threshold must be positive!");
+        }
+        if (warningThreshold.compareTo(debugThreshold) < 0) {
+            throw new IllegalArgumentException("The warning threshold must not be less than the debug threshold!");
+        }
+        if (maxExecutionTime.compareTo(warningThreshold) < 0) {
+            throw new IllegalArgumentException(
+                    "The maximum execution time must not be less than the warning threshold!");
+        }
+        this.debugThreshold = debugThreshold;
+        this.warningThreshold = warningThreshold;
+        this.maxExecutionTime = maxExecutionTime;
+    }
+
+    /**
+     * Gets the time which a listener task is allowed to take until a warning appears on DEBUG log level.
+     *
+     * @return The debug threshold.
+     */
+    public Duration getDebugThreshold() {
+        return debugThreshold;
+    }
+
+    /**
+     * Gets the time which a listener task is allowed to take until a warning appears on WARN log level.
+     *
+     * @return The warning threshold.
+     */
+    public Duration getWarningThreshold() {
+        return warningThreshold;
+    }
+
+    /**
+     * Gets the time which a listener task is allowed to take until it gets interrupted.
+     *
+     * @return The maximum execution time.
+     */
+    public Duration getMaxExecutionTime() {
+        return maxExecutionTime;
+    }
+
     /**
      * Dispatches an event to the given listeners using the provided consumer.
      * Calling this method usually looks like this:
@@ -179,102 +223,166 @@ public abstract class EventDispatcherBase {
      * @param <T>           The type of the listener.
      */
     protected <T> void dispatchEvent(DispatchQueueSelector queueSelector, List<T> listeners, Consumer<T> consumer) {
-        api.getThreadPool().getSingleThreadExecutorService("Event Dispatch Queues Manager").submit(() -> {
-            if (queueSelector != null) { // Object dependent listeners
-                // Don't allow adding of more events while there are unfinished object independent tasks
-                Queue<Runnable> objectIndependentQueue = queuedListenerTasks.get(null);
-                while (!objectIndependentQueue.isEmpty()) {
-                    try {
-                        synchronized (queuedListenerTasks) {
-                            // Just to be on the safe side, we use a timeout of 5 seconds
-                            queuedListenerTasks.wait(5000);
-                        }
-                    } catch (InterruptedException ignored) { }
+        if (listeners.isEmpty()) {
+            return;
+        }
+        List<Runnable> tasks = new ArrayList<>(listeners.size());
+        listeners.forEach(listener -> tasks.add(() -> consumer.accept(listener)));
+
+        if (queueSelector == null) {
+            synchronized (phaseLock) {
+                if (objectIndependentPhase) {
+                    heldDispatches.add(new HeldDispatch(null, tasks));
+                    return;
                 }
+                objectIndependentPhase = true;
+                objectIndependentMailbox.tasks.addAll(tasks);
             }
-            Queue<Runnable> queue = queuedListenerTasks.computeIfAbsent(
-                    queueSelector, o -> new ConcurrentLinkedQueue<>());
-            listeners.forEach(listener -> queue.add(() -> consumer.accept(listener)));
-            checkRunningListenersAndStartIfPossible(queueSelector);
-        });
+            startObjectIndependentTasksIfPossible();
+            return;
+        }
+
+        while (true) {
+            // Must be incremented BEFORE checking the phase, so that object-independent tasks wait for these tasks
+            pendingObjectDependentTasks.addAndGet(tasks.size());
+            if (!objectIndependentPhase) {
+                getMailbox(queueSelector).enqueue(tasks);
+                return;
+            }
+            finishObjectDependentTasks(tasks.size());
+            synchronized (phaseLock) {
+                if (objectIndependentPhase) {
+                    heldDispatches.add(new HeldDispatch(queueSelector, tasks));
+                    return;
+                }
+            }
+            // The phase ended in the meantime, so try again
+        }
     }
 
     /**
-     * Checks if there are listeners running for the given object and if
-     * not it takes one from the queue for the object and executes it.
+     * Gets the mailbox for the given queue selector.
      *
-     * <p>If all object-dependent tasks are finished,
-     * object-independent ones will be executed instead
-     * and after all object-independent are finished,
-     * new object-dependent tasks can get queued.
+     * @param queueSelector The queue selector.
+     * @return The mailbox for the given queue selector.
+     */
+    private Mailbox getMailbox(DispatchQueueSelector queueSelector) {
+        return mailboxes.computeIfAbsent(queueSelector, Mailbox::new);
+    }
+
+    /**
+     * Marks the given amount of object-dependent tasks as finished.
      *
-     * @param queueSelector The object which is used to determine in which thread the consumer should be executed.
-     */
-    private void checkRunningListenersAndStartIfPossible(DispatchQueueSelector queueSelector) {
-        synchronized (queuedListenerTasks) {
-            // if either
-            // - running for object-independent tasks or
-            // - running for object-dependent tasks, but queue is empty or not present
-            Queue<Runnable> queue = queueSelector == null ? null : queuedListenerTasks.get(queueSelector);
-            if (queue == null || queue.isEmpty()) {
-                // if no object-independent tasks to be processed everything is fine, return
-                if (queuedListenerTasks.get(null).isEmpty()) {
-                    return;
+     * @param amount The amount of tasks.
+     */
+    private void finishObjectDependentTasks(int amount) {
+        if (pendingObjectDependentTasks.addAndGet(-amount) == 0) {
+            startObjectIndependentTasksIfPossible();
+        }
+    }
+
+    /**
+     * Starts the execution of object-independent tasks, if there are some and no object-dependent tasks are queued or
+     * running anymore.
+     */
+    private void startObjectIndependentTasksIfPossible() {
+        if (objectIndependentPhase && pendingObjectDependentTasks.get() == 0
+                && !objectIndependentMailbox.tasks.isEmpty()) {
+            objectIndependentMailbox.schedule();
+        }
+    }
+
+    /**
+     * Ends the current object-independent phase after all its tasks were executed.
+     *
+     * <p>The held back dispatches are released in their original order until the next object-independent dispatch,
+     * which starts a new phase.
+     */
+    private void finishObjectIndependentPhase() {
+        synchronized (phaseLock) {
+            HeldDispatch heldDispatch;
+            while ((heldDispatch = heldDispatches.poll()) != null) {
+                if (heldDispatch.queueSelector == null) {
+                    objectIndependentMailbox.tasks.addAll(heldDispatch.tasks);
+                    break;
                 }
-                // if object-independent tasks to be processed
-                // check whether there are still queued object-dependent tasks
-                boolean moreObjectDependentTasks = queuedListenerTasks.entrySet()
-                        .stream()
-                        .filter(entry -> !entry.getValue().isEmpty())
-                        .anyMatch(entry -> entry.getKey() != null);
-                // if there are object-dependent tasks scheduled or there are still tasks running => retry later
-                if (moreObjectDependentTasks || !runningListeners.isEmpty()) {
+                pendingObjectDependentTasks.addAndGet(heldDispatch.tasks.size());
+                getMailbox(heldDispatch.queueSelector).enqueue(heldDispatch.tasks);
+            }
+            if (heldDispatch == null) {
+                objectIndependentPhase = false;
+                return;
+            }
+        }
+        startObjectIndependentTasksIfPossible();
+    }
+
+    /**
+     * Starts watching the execution time of the given running task.
+     *
+     * <p>Only the next threshold is armed at once. When it expires, the following threshold is armed.
+     *
+     * @param mailbox The mailbox which executes the task.
+     * @param runningTask The running task.
+     */
+    private void watchExecutionTime(Mailbox mailbox, RunningTask runningTask) {
+        if (!executionTimeCheckingEnabled) {
+            return;
+        }
+        Duration debugThreshold = this.debugThreshold;
+        Duration warningThreshold = this.warningThreshold;
+        Duration maxExecutionTime = this.maxExecutionTime;
+        runningTask.timeout = watchdog.newTimeout(() -> {
+            if (runningTasks.get(mailbox) != runningTask) {
+                return;
+            }
+            logger.debug("Detected a {} which is now running for over {}ms ({}ms). This is"
+                            + " an unusually long execution time for a listener task. Make"
+                            + " sure to not do any heavy computations in listener threads!",
+                    () -> getThreadType(mailbox.queueSelector),
+                    debugThreshold::toMillis,
+                    runningTask::getExecutionTimeInMillis);
+            runningTask.timeout = watchdog.newTimeout(() -> {
+                if (runningTasks.get(mailbox) != runningTask) {
                     return;
                 }
-                // force object-independent task being handled
-                // after all queued object-dependent tasks are finished
-                // and before new object-dependent tasks will get queued
-                queueSelector = null;
-                queue = queuedListenerTasks.get(null);
-            }
-            DispatchQueueSelector finalQueueSelector = queueSelector;
-            Queue<Runnable> taskQueue = queue;
-            // if there is something to execute and there is task running already
-            if (!queue.isEmpty() && runningListeners.add(finalQueueSelector)) {
-                AtomicReference<Future<?>> activeListener = new AtomicReference<>();
-                activeListener.set(api.getThreadPool().getExecutorService().submit(() -> {
-                    if (finalQueueSelector instanceof ServerImpl) {
-                        Object serverReadyNotifier = new Object();
-                        ((ServerImpl) finalQueueSelector)
-                                .addServerReadyConsumer(s -> {
-                                    synchronized (serverReadyNotifier) {
-                                        serverReadyNotifier.notifyAll();
-                                    }
-                                });
-                        while (!((ServerImpl) finalQueueSelector).isReady()) {
-                            try {
-                                synchronized (serverReadyNotifier) {
-                                    serverReadyNotifier.wait(5000);
-                                }
-                            } catch (InterruptedException ignored) { }
-                        }
-                    }
-                    // Add the future to the list of active listeners
-                    activeListeners.put(activeListener, new Object[]{System.nanoTime(), finalQueueSelector});
-                    try {
-                        taskQueue.poll().run();
-                    } catch (Throwable t) {
-                        logger.error(() -> "Unhandled exception in " + getThreadType(finalQueueSelector) + "!", t);
+                logger.warn("Detected a {} which is now running for over {}ms ({}ms)."
+                                + " This is a very unusually long execution time for a listener task. Make"
+                                + " sure to not do any heavy computations in listener threads!",
+                        () -> getThreadType(mailbox.queueSelector),
+                        warningThreshold::toMillis,
+                        runningTask::getExecutionTimeInMillis);
+                runningTask.timeout = watchdog.newTimeout(() -> {
+                    if (mailbox.abandon(runningTask)) {
+                        logger.error("Interrupted a {}, because it was running over {}ms! This was most "
+                                        + "likely caused by a deadlock or very heavy computation/blocking "
+                                        + "operations in the listener thread. "
+                                        + "Make sure to not block listener threads!",
+                                () -> getThreadType(mailbox.queueSelector), maxExecutionTime::toMillis);
                     }
-                    activeListeners.remove(activeListener);
-                    runningListeners.remove(finalQueueSelector);
-                    // Inform the dispatchEvent method that it maybe can queue new listeners now
-                    synchronized (queuedListenerTasks) {
-                        queuedListenerTasks.notifyAll();
-                    }
-                    checkRunningListenersAndStartIfPossible(finalQueueSelector);
-                }));
+                }, maxExecutionTime.minus(warningThreshold).toNanos(), TimeUnit.NANOSECONDS);
+            }, warningThreshold.minus(debugThreshold).toNanos(), TimeUnit.NANOSECONDS);
+        }, debugThreshold.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Blocks the current thread until the given server is ready.
+     *
+     * @param server The server.
+     */
+    private static void waitForServer(ServerImpl server) {
+        Object serverReadyNotifier = new Object();
+        server.addServerReadyConsumer(s -> {
+            synchronized (serverReadyNotifier) {
+                serverReadyNotifier.notifyAll();
             }
+        });
+        while (!server.isReady()) {
+            try {
+                synchronized (serverReadyNotifier) {
+                    serverReadyNotifier.wait(5000);
+                }
+            } catch (InterruptedException ignored) { }
         }
     }
 
@@ -296,4 +404,154 @@ public abstract class EventDispatcherBase {
         return threadType;
     }
 
+    /**
+     * A dispatch that was held back during an object-independent phase.
+     */
+    private static final class HeldDispatch {
+
+        private final DispatchQueueSelector queueSelector;
+        private final List<Runnable> tasks;
+
+        private HeldDispatch(DispatchQueueSelector queueSelector, List<Runnable> tasks) {
+            this.queueSelector = queueSelector;
+            this.tasks = tasks;
+        }
+
+    }
+
+    /**
+     * A listener task that is currently executed.
+     */
+    private static final class RunningTask {
+
+        private final Thread thread = Thread.currentThread();
+        private final long startNanos = System.nanoTime();
+        private volatile HashedWheelTimer.Timeout timeout;
+
+        /**
+         * Gets the time since the task was started.
+         *
+         * @return The time since the task was started in milliseconds.
+         */
+        private long getExecutionTimeInMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        }
+
+        /**
+         * Stops watching the execution time of the task.
+         */
+        private void stopWatching() {
+            HashedWheelTimer.Timeout timeout = this.timeout;
+            if (timeout != null) {
+                timeout.cancel();
+            }
+        }
+
+    }
+
+    /**
+     * A mailbox which executes the listener tasks of a queue selector sequentially.
+     *
+     * <p>The mailbox is scheduled on the central executor service whenever it has tasks and isn't already scheduled,
+     * and then executes up to {@link #MAX_BATCH_SIZE} tasks in one go.
+     */
+    private final class Mailbox {
+
+        private final DispatchQueueSelector queueSelector;
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private Mailbox(DispatchQueueSelector queueSelector) {
+            this.queueSelector = queueSelector;
+        }
+
+        /**
+         * Adds the given tasks to the mailbox and schedules it if necessary.
+         *
+         * @param newTasks The tasks to add.
+         */
+        private void enqueue(List<Runnable> newTasks) {
+            tasks.addAll(newTasks);
+            schedule();
+        }
+
+        /**
+         * Schedules the mailbox if it isn't already scheduled.
+         */
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                api.getThreadPool().getExecutorService().submit(this::run);
+            }
+        }
+
+        /**
+         * Stops waiting for the given task, because it is running for too long, and continues with the next tasks on
+         * another thread.
+         *
+         * @param runningTask The running task.
+         * @return Whether the task was abandoned or not, because it finished in the meantime.
+         */
+        private boolean abandon(RunningTask runningTask) {
+            if (!runningTasks.remove(this, runningTask)) {
+                return false;
+            }
+            runningTask.stopWatching();
+            runningTask.thread.interrupt();
+            onTaskFinished();
+            // The mailbox stays scheduled, so we continue on a new thread
+            api.getThreadPool().getExecutorService().submit(this::run);
+            return true;
+        }
+
+        /**
+         * Executes a batch of tasks.
+         */
+        private void run() {
+            if (queueSelector instanceof ServerImpl) {
+                waitForServer((ServerImpl) queueSelector);
+            }
+            for (int i = 0; i < MAX_BATCH_SIZE; i++) {
+                Runnable task = tasks.poll();
+                if (task == null) {
+                    break;
+                }
+                RunningTask runningTask = new RunningTask();
+                runningTasks.put(this, runningTask);
+                watchExecutionTime(this, runningTask);
+                try {
+                    task.run();
+                } catch (Throwable t) {
+                    logger.error(() -> "Unhandled exception in " + getThreadType(queueSelector) + "!", t);
+                }
+                if (!runningTasks.remove(this, runningTask)) {
+                    // The task was abandoned and the mailbox already continues on another thread
+                    Thread.interrupted();
+                    return;
+                }
+                runningTask.stopWatching();
+                onTaskFinished();
+            }
+            scheduled.set(false);
+            if (!tasks.isEmpty()) {
+                if (queueSelector == null) {
+                    startObjectIndependentTasksIfPossible();
+                } else {
+                    schedule();
+                }
+            } else if (queueSelector == null) {
+                finishObjectIndependentPhase();
+            }
+        }
+
+        /**
+         * Called after a task of this mailbox finished or was abandoned.
+         */
+        private void onTaskFinished() {
+            if (queueSelector != null) {
+                finishObjectDependentTasks(1);
+            }
+        }
+
+    }
+
 }
@@ -0,0 +1,55 @@
+package org.javacord.core.util.gateway;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * An enum with the supported encryption modes of voice connections as defined by
+ * <a href="https://discord.com/developers/docs/topics/voice-connections#encrypting-and-sending-voice">Discord</a>.
+ */
+public enum AudioEncryptionMode {
+
+    /**
+     * The nonce is the rtp header of the packet.
+     */
+    XSALSA20_POLY1305("xsalsa20_poly1305"),
+
+    /**
+     * The nonce is an incrementing 32 bit integer which is appended to the packet.
+     */
+    XSALSA20_POLY1305_LITE("xsalsa20_poly1305_lite");
+
+    /**
+     * The name of the mode.
+     */
+    private final String name;
+
+    /**
+     * Creates a new audio encryption mode.
+     *
+     * @param name The name of the mode.
+     */
+    AudioEncryptionMode(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Gets the audio encryption mode by its name.
+     *
+     * @param name The name of the mode.
+     * @return The audio encryption mode with the given name.
+     */
+    public static Optional<AudioEncryptionMode> fromName(String name) {
+        return Arrays.stream(values()).filter(mode -> mode.name.equals(name)).findAny();
+    }
+
+    /**
+     * Gets the name of the mode.
+     *
+     * @return The name of the mode.
+     */
+    public String getName() {
+        return name;
+    }
+
+}
@@ -0,0 +1,172 @@
+package org.javacord.core.util.gateway;
+
+import org.bouncycastle.crypto.engines.XSalsa20Engine;
+import org.bouncycastle.crypto.macs.Poly1305;
+import org.bouncycastle.crypto.params.KeyParameter;
+import org.bouncycastle.crypto.params.ParametersWithIV;
+import org.javacord.api.audio.SilentAudioSource;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Writes encrypted audio packets of a single voice connection.
+ *
+ * <p>The writer reuses its buffers and cipher instances for all packets. A packet consists of the rtp header, the
+ * {@code XSalsa20-Poly1305} encrypted audio frame and, depending on the encryption mode, the nonce. The frame is
+ * encrypted in place in a reusable array, which is then copied into a direct buffer that can be sent without any
+ * further copies.
+ *
+ * <p>This class is not thread-safe.
+ *
+ * @see <a href="https://discord.com/developers/docs/topics/voice-connections#encrypting-and-sending-voice">Discord
+ *      Docs</a>
+ */
+public class AudioPacketWriter {
+
+    private static final byte RTP_TYPE = (byte) 0x80;
+    private static final byte RTP_VERSION = (byte) 0x78;
+    private static final int RTP_HEADER_LENGTH = 12;
+    private static final int NONCE_LENGTH = 24;
+    private static final int LITE_NONCE_LENGTH = 4;
+    private static final int MAC_LENGTH = 16;
+    private static final int MAC_KEY_LENGTH = 32;
+
+    /**
+     * The initial maximum size of an audio frame. The buffers grow if a larger frame is written.
+     */
+    private static final int INITIAL_MAX_FRAME_LENGTH = 2048;
+
+    /**
+     * The input which is used to derive the Poly1305 key from the key stream.
+     */
+    private static final byte[] ZEROS = new byte[MAC_KEY_LENGTH];
+
+    private final int ssrc;
+    private final AudioEncryptionMode mode;
+
+    private final XSalsa20Engine cipher = new XSalsa20Engine();
+    private final Poly1305 mac = new Poly1305();
+    private final KeyParameter key;
+
+    private final byte[] nonce = new byte[NONCE_LENGTH];
+    private final byte[] macKey = new byte[MAC_KEY_LENGTH];
+
+    /**
+     * The packet which is assembled in place.
+     */
+    private byte[] packet;
+
+    /**
+     * The direct buffer which contains the last written packet.
+     */
+    private ByteBuffer buffer;
+
+    /**
+     * The nonce of the next packet in {@link AudioEncryptionMode#XSALSA20_POLY1305_LITE} mode.
+     */
+    private int liteNonce = 0;
+
+    /**
+     * Creates a new audio packet writer.
+     *
+     * @param ssrc The ssrc.
+     * @param secretKey The secret key used to encrypt audio packets.
+     * @param mode The encryption mode.
+     */
+    public AudioPacketWriter(int ssrc, byte[] secretKey, AudioEncryptionMode mode) {
+        this.ssrc = ssrc;
+        this.mode = mode;
+        key = new KeyParameter(secretKey);
+        packet = new byte[getPacketLength(INITIAL_MAX_FRAME_LENGTH)];
+        buffer = ByteBuffer.allocateDirect(packet.length);
+    }
+
+    /**
+     * Gets the encryption mode of this writer.
+     *
+     * @return The encryption mode.
+     */
+    public AudioEncryptionMode getMode() {
+        return mode;
+    }
+
+    /**
+     * Writes an encrypted audio packet.
+     *
+     * <p>The returned buffer is reused by the next call of this method.
+     *
+     * @param audioFrame A byte array containing 20ms of audio or {@code null} for a silent frame.
+     * @param sequence The sequence.
+     * @param timestamp The timestamp.
+     * @return A buffer which contains the packet, ready to be sent.
+     */
+    public ByteBuffer write(byte[] audioFrame, char sequence, int timestamp) {
+        if (audioFrame == null) {
+            audioFrame = SilentAudioSource.SILENCE_FRAME;
+        }
+        int packetLength = getPacketLength(audioFrame.length);
+        if (packetLength > packet.length) {
+            packet = new byte[packetLength];
+            buffer = ByteBuffer.allocateDirect(packetLength);
+        }
+
+        packet[0] = RTP_TYPE;
+        packet[1] = RTP_VERSION;
+        packet[2] = (byte) (sequence >>> 8);
+        packet[3] = (byte) sequence;
+        writeInt(packet, 4, timestamp);
+        writeInt(packet, 8, ssrc);
+
+        switch (mode) {
+            case XSALSA20_POLY1305_LITE:
+                writeInt(nonce, 0, liteNonce);
+                System.arraycopy(nonce, 0, packet, packetLength - LITE_NONCE_LENGTH, LITE_NONCE_LENGTH);
+                liteNonce++;
+                break;
+            case XSALSA20_POLY1305:
+            default:
+                System.arraycopy(packet, 0, nonce, 0, RTP_HEADER_LENGTH);
+                break;
+        }
+
+        // The first 32 bytes of the key stream are the Poly1305 key, the following bytes encrypt the frame
+        int ciphertextOffset = RTP_HEADER_LENGTH + MAC_LENGTH;
+        cipher.init(true, new ParametersWithIV(key, nonce));
+        cipher.processBytes(ZEROS, 0, MAC_KEY_LENGTH, macKey, 0);
+        cipher.processBytes(audioFrame, 0, audioFrame.length, packet, ciphertextOffset);
+        mac.init(new KeyParameter(macKey));
+        mac.update(packet, ciphertextOffset, audioFrame.length);
+        mac.doFinal(packet, RTP_HEADER_LENGTH);
+
+        buffer.clear();
+        buffer.put(packet, 0, packetLength);
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Gets the length of a packet with a frame of the given length.
+     *
+     * @param frameLength The length of the audio frame.
+     * @return The length of the packet.
+     */
+    private int getPacketLength(int frameLength) {
+        int length = RTP_HEADER_LENGTH + MAC_LENGTH + frameLength;
+        return mode == AudioEncryptionMode.XSALSA20_POLY1305_LITE ? length + LITE_NONCE_LENGTH : length;
+    }
+
+    /**
+     * Writes a big endian integer into the given array.
+     *
+     * @param array The array.
+     * @param offset The offset.
+     * @param value The value.
+     */
+    private static void writeInt(byte[] array, int offset, int value) {
+        array[offset] = (byte) (value >>> 24);
+        array[offset + 1] = (byte) (value >>> 16);
+        array[offset + 2] = (byte) (value >>> 8);
+        array[offset + 3] = (byte) value;
+    }
+
+}
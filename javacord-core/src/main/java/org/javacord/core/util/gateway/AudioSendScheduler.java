@@ -0,0 +1,182 @@
+package org.javacord.core.util.gateway;
+
+import org.apache.logging.log4j.Logger;
+import org.javacord.core.DiscordApiImpl;
+import org.javacord.core.util.logging.LoggerUtil;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Paces the audio frames of all audio connections of a shard on a small, fixed number of lanes.
+ *
+ * <p>Every lane is a single thread which sends the frames of all its sockets. Instead of sleeping a fixed amount of
+ * time after every frame, every socket has an absolute deadline for its next frame. The lane parks until the earliest
+ * deadline of its sockets, so the delay of one frame does not shift the following frames.
+ *
+ * <p>The lanes never call the audio sources themselves. Every socket prepares its next frame asynchronously and wakes
+ * up its lane once the frame is ready, so a slow audio source only delays its own connection. A lane stops its thread
+ * when its last socket was removed and starts a new one when a socket is added again.
+ */
+public class AudioSendScheduler {
+
+    /**
+     * The logger of this class.
+     */
+    private static final Logger logger = LoggerUtil.getLogger(AudioSendScheduler.class);
+
+    /**
+     * The name of the lane threads.
+     */
+    private static final String LANE_NAME = "Javacord Audio Send Thread";
+
+    private final DiscordApiImpl api;
+    private final Lane[] lanes;
+    private final AtomicInteger nextLane = new AtomicInteger();
+
+    /**
+     * Creates a new audio send scheduler.
+     *
+     * @param api The discord api instance.
+     * @param laneCount The amount of lanes.
+     */
+    public AudioSendScheduler(DiscordApiImpl api, int laneCount) {
+        this.api = api;
+        lanes = new Lane[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            lanes[i] = new Lane(laneCount == 1 ? LANE_NAME : LANE_NAME + " - " + i);
+        }
+    }
+
+    /**
+     * Creates a new audio send scheduler with a lane count that depends on the available processors.
+     *
+     * @param api The discord api instance.
+     */
+    public AudioSendScheduler(DiscordApiImpl api) {
+        this(api, Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2)));
+    }
+
+    /**
+     * Starts sending the frames of the given socket.
+     *
+     * @param socket The socket.
+     */
+    public void register(AudioUdpSocket socket) {
+        lanes[Math.floorMod(nextLane.getAndIncrement(), lanes.length)].add(socket);
+    }
+
+    /**
+     * Stops sending the frames of the given socket.
+     *
+     * @param socket The socket.
+     */
+    public void unregister(AudioUdpSocket socket) {
+        for (Lane lane : lanes) {
+            lane.remove(socket);
+        }
+    }
+
+    /**
+     * Wakes up the lane of the given socket, because the next frame of the socket is ready.
+     *
+     * @param socket The socket.
+     */
+    public void wakeUp(AudioUdpSocket socket) {
+        for (Lane lane : lanes) {
+            if (lane.sockets.contains(socket)) {
+                LockSupport.unpark(lane.thread);
+            }
+        }
+    }
+
+    /**
+     * A single thread which sends the frames of its sockets.
+     */
+    private final class Lane implements Runnable {
+
+        private final String name;
+        private final List<AudioUdpSocket> sockets = new CopyOnWriteArrayList<>();
+        private volatile Thread thread;
+        private boolean started;
+
+        private Lane(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Adds a socket to the lane and starts the lane if it was not started yet.
+         *
+         * @param socket The socket.
+         */
+        private void add(AudioUdpSocket socket) {
+            sockets.add(socket);
+            synchronized (this) {
+                if (!started) {
+                    started = true;
+                    api.getThreadPool().getSingleThreadExecutorService(name).submit(this);
+                    return;
+                }
+            }
+            LockSupport.unpark(thread);
+        }
+
+        /**
+         * Removes a socket from the lane.
+         * The lane stops its thread once it has no sockets anymore.
+         *
+         * @param socket The socket.
+         */
+        private void remove(AudioUdpSocket socket) {
+            if (sockets.remove(socket)) {
+                LockSupport.unpark(thread);
+            }
+        }
+
+        @Override
+        public void run() {
+            thread = Thread.currentThread();
+            while (!Thread.currentThread().isInterrupted()) {
+                if (sockets.isEmpty()) {
+                    synchronized (this) {
+                        if (sockets.isEmpty()) {
+                            // A socket which is added afterwards starts a new thread
+                            started = false;
+                            api.getThreadPool().removeAndShutdownSingleThreadExecutorService(name);
+                            return;
+                        }
+                    }
+                    continue;
+                }
+                long now = System.nanoTime();
+                long nextDeadline = now + AudioUdpSocket.FRAME_DURATION_NANOS;
+                for (AudioUdpSocket socket : sockets) {
+                    if (!socket.isFrameReady()) {
+                        // The socket wakes up the lane once the frame of its audio source is ready
+                        continue;
+                    }
+                    long deadline = socket.getNextFrameDeadline();
+                    if (deadline - now <= 0) {
+                        try {
+                            deadline = socket.sendFrame(now);
+                        } catch (Throwable t) {
+                            logger.error("Failed to send audio frame for {}", socket, t);
+                            deadline = now + AudioUdpSocket.FRAME_DURATION_NANOS;
+                        }
+                    }
+                    if (deadline - nextDeadline < 0) {
+                        nextDeadline = deadline;
+                    }
+                }
+                long delay = nextDeadline - System.nanoTime();
+                if (delay > 0) {
+                    LockSupport.parkNanos(this, delay);
+                }
+            }
+        }
+
+    }
+
+}
@@ -10,64 +10,102 @@ import org.javacord.core.event.audio.AudioSourceFinishedEventImpl;
 import org.javacord.core.util.logging.LoggerUtil;
 
 import java.io.IOException;
-import java.net.DatagramPacket;
-import java.net.DatagramSocket;
 import java.net.InetSocketAddress;
-import java.net.SocketException;
 import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
 import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class AudioUdpSocket {
 
+    /**
+     * The duration of a single audio frame in nanoseconds.
+     */
+    public static final long FRAME_DURATION_NANOS = 20_000_000;
+
+    /**
+     * The maximum delay of a frame before the schedule is reset instead of sending the missed frames without delay.
+     */
+    private static final long MAX_FRAME_DELAY_NANOS = 5 * FRAME_DURATION_NANOS;
+
     /**
      * The logger of this class.
      */
     private static final Logger logger = LoggerUtil.getLogger(AudioUdpSocket.class);
 
-    private final DatagramSocket socket;
-    private final String threadName;
+    private final DatagramChannel channel;
 
     private final AudioConnectionImpl connection;
-    private final InetSocketAddress address;
     private final int ssrc;
 
     private volatile boolean shouldSend = false;
 
     /**
-     * The secret key used to encrypt audio packets.
+     * The writer which is used to assemble and encrypt audio packets.
      */
-    private byte[] secretKey;
+    private volatile AudioPacketWriter packetWriter;
 
     /**
      * Gets incremented for every packet sent.
      */
     private char sequence = (char) 0;
 
+    /**
+     * The {@link System#nanoTime()} at which the next frame should be sent.
+     */
+    private volatile long nextFrameDeadline;
+
+    /**
+     * Whether the next frame should be sent without delay, e.g. because the previous source has finished.
+     */
+    private volatile boolean dontSleep = true;
+
+    /**
+     * The next frame of the audio source, or {@code null} if it is not prepared yet.
+     * It is prepared outside of the {@link AudioSendScheduler}, so a slow audio source does not delay other sockets.
+     */
+    private volatile PreparedFrame preparedFrame;
+
+    /**
+     * Whether the next frame is being prepared currently.
+     */
+    private final AtomicBoolean preparingFrame = new AtomicBoolean();
+
+    /**
+     * Whether the connection is currently speaking or not.
+     */
+    private boolean speaking = false;
+
+    /**
+     * The amount of silent frames to send after the last audio frame.
+     */
+    private long framesOfSilenceToPlay = 5;
+
     /**
      * Creates a new audio udp socket.
      *
      * @param connection The audio connection that uses the socket.
      * @param address The address to connect to.
      * @param ssrc The ssrc.
-     * @throws SocketException If the socket could not be opened,
-     *                         or the socket could not bind to the specified local port.
+     * @throws IOException If the socket could not be opened,
+     *                     or the socket could not bind to the specified local port.
      */
-    public AudioUdpSocket(AudioConnectionImpl connection, InetSocketAddress address, int ssrc) throws SocketException {
+    public AudioUdpSocket(AudioConnectionImpl connection, InetSocketAddress address, int ssrc) throws IOException {
         this.connection = connection;
-        this.address = address;
         this.ssrc = ssrc;
 
-        socket = new DatagramSocket();
-        threadName = String.format("Javacord Audio Send Thread (%#s)", connection.getServer());
+        channel = DatagramChannel.open();
+        channel.connect(address);
     }
 
     /**
-     * Sets the secret key which is used to encrypt audio packets.
+     * Sets the secret key and the mode which are used to encrypt audio packets.
      *
      * @param secretKey The secret key.
+     * @param mode The encryption mode.
      */
-    public void setSecretKey(byte[] secretKey) {
-        this.secretKey = secretKey;
+    public void setSecretKey(byte[] secretKey, AudioEncryptionMode mode) {
+        packetWriter = new AudioPacketWriter(ssrc, secretKey, mode);
     }
 
     /**
@@ -82,10 +120,10 @@ public class AudioUdpSocket {
         byte[] buffer = new byte[70];
         ByteBuffer.wrap(buffer).putInt(0, ssrc);
         // send the byte array which contains the ssrc
-        socket.send(new DatagramPacket(buffer, buffer.length, address));
+        channel.write(ByteBuffer.wrap(buffer));
         // create a new buffer which is used to receive data from discord
         buffer = new byte[70];
-        socket.receive(new DatagramPacket(buffer, buffer.length));
+        channel.read(ByteBuffer.wrap(buffer));
         // gets the ip of the packet
         String ip = new String(Arrays.copyOfRange(buffer, 3, buffer.length - 2)).trim();
         // gets the port (last two bytes) which is a little endian unsigned short
@@ -102,100 +140,191 @@ public class AudioUdpSocket {
             return;
         }
         shouldSend = true;
+        dontSleep = true;
+        nextFrameDeadline = System.nanoTime();
+        prepareNextFrame();
+
+        ((DiscordApiImpl) connection.getChannel().getApi()).getAudioSendScheduler().register(this);
+    }
 
+    /**
+     * Gets the {@link System#nanoTime()} at which the next frame should be sent.
+     *
+     * @return The time at which the next frame should be sent.
+     */
+    long getNextFrameDeadline() {
+        return nextFrameDeadline;
+    }
+
+    /**
+     * Checks if the next frame of the audio source is ready to be sent.
+     *
+     * @return Whether the next frame is ready or not.
+     */
+    boolean isFrameReady() {
+        return !shouldSend || preparedFrame != null;
+    }
+
+    /**
+     * Prepares the next frame of the audio source asynchronously, if it is not prepared or being prepared already.
+     * The {@link AudioSendScheduler} is woken up once the frame is ready.
+     */
+    private void prepareNextFrame() {
+        if (!shouldSend || preparedFrame != null || !preparingFrame.compareAndSet(false, true)) {
+            return;
+        }
         DiscordApiImpl api = (DiscordApiImpl) connection.getChannel().getApi();
-        api.getThreadPool().getSingleThreadExecutorService(threadName).submit(() -> {
+        api.getThreadPool().getExecutorService().submit(() -> {
+            PreparedFrame frame;
             try {
-                long nextFrameTimestamp = System.nanoTime();
-                boolean dontSleep = true;
-                boolean speaking = false;
-                long framesOfSilenceToPlay = 5;
-                while (shouldSend) {
-                    // Get the current audio source. If none is available, it will block the thread
-                    AudioSource source = connection.getCurrentAudioSourceBlocking();
-                    if (source == null) {
-                        logger.error("Got null audio source without being interrupted ({})", connection);
-                        return;
-                    }
-
-                    if (source.hasFinished()) {
-                        connection.removeAudioSource();
-                        dontSleep = true;
-
-                        // Dispatch AudioSourceFinishedEvent AFTER removing the source.
-                        // Otherwise AudioSourceFinishedEvent#getNextSource() won't work
-                        api.getEventDispatcher().dispatchAudioSourceFinishedEvent(
-                                (ServerImpl) connection.getServer(),
-                                connection,
-                                ((AudioSourceBase) source).getDelegate(),
-                                new AudioSourceFinishedEventImpl(source, connection));
-                        continue;
-                    }
-
-                    AudioPacket packet = null;
-                    byte[] frame = source.hasNextFrame() ? source.getNextFrame() : null;
-
-                    // If the source is muted, replace the frame with a muted frame
-                    if (source.isMuted()) {
-                        frame = null;
-                    }
-
-                    if (frame != null || framesOfSilenceToPlay > 0) {
-                        if (!speaking && frame != null) {
-                            speaking = true;
-                            connection.setSpeaking(true);
-                        }
-                        packet = new AudioPacket(frame, ssrc, sequence, ((int) sequence) * 960);
-                        // We can stop sending frames of silence after 5 frames
-                        if (frame == null) {
-                            framesOfSilenceToPlay--;
-                            if (framesOfSilenceToPlay == 0) {
-                                speaking = false;
-                                connection.setSpeaking(false);
-                            }
-                        } else {
-                            framesOfSilenceToPlay = 5;
-                        }
-                    }
-
-                    nextFrameTimestamp = nextFrameTimestamp + 20_000_000;
-
-                    sequence++;
-
-                    if (packet != null) {
-                        packet.encrypt(secretKey);
-                    }
-                    try {
-                        if (dontSleep) {
-                            nextFrameTimestamp = System.nanoTime() + 20_000_000;
-                            dontSleep = false;
-                        } else {
-                            Thread.sleep(Math.max(0, nextFrameTimestamp - System.nanoTime()) / 1_000_000);
-                        }
-                        if (packet != null) {
-                            socket.send(packet.asUdpPacket(address));
-                        }
-                    } catch (IOException e) {
-                        logger.error("Failed to send audio packet for {}", connection);
-                    }
-                }
-            } catch (InterruptedException e) {
-                if (shouldSend) {
-                    logger.debug("Got interrupted unexpectedly while waiting for next audio source packet");
-                }
+                frame = pollFrame();
+            } catch (Throwable t) {
+                logger.error("Failed to poll audio frame for {}", connection, t);
+                frame = new PreparedFrame(null, false);
             }
+            // Must be reset before the frame is published, as the lane prepares the next frame after taking it
+            preparingFrame.set(false);
+            preparedFrame = frame;
+            api.getAudioSendScheduler().wakeUp(this);
         });
     }
 
+    /**
+     * Polls the next frame from the audio connection.
+     *
+     * @return The next frame.
+     */
+    private PreparedFrame pollFrame() {
+        boolean sourceChanged = false;
+        while (true) {
+            AudioSource source = connection.getCurrentAudioSource();
+            if (source == null) {
+                return PreparedFrame.NO_SOURCE;
+            }
+            if (!source.hasFinished()) {
+                byte[] frame = source.hasNextFrame() ? source.getNextFrame() : null;
+                // If the source is muted, replace the frame with a muted frame
+                return new PreparedFrame(source.isMuted() ? null : frame, sourceChanged);
+            }
+
+            connection.removeAudioSource();
+            sourceChanged = true;
+
+            // Dispatch AudioSourceFinishedEvent AFTER removing the source.
+            // Otherwise AudioSourceFinishedEvent#getNextSource() won't work
+            DiscordApiImpl api = (DiscordApiImpl) connection.getChannel().getApi();
+            api.getEventDispatcher().dispatchAudioSourceFinishedEvent(
+                    (ServerImpl) connection.getServer(),
+                    connection,
+                    ((AudioSourceBase) source).getDelegate(),
+                    new AudioSourceFinishedEventImpl(source, connection));
+        }
+    }
+
+    /**
+     * Sends the prepared frame and starts preparing the next one.
+     *
+     * <p>This method is called by the {@link AudioSendScheduler} once the deadline of the next frame is reached and
+     * the frame {@link #isFrameReady() is ready}.
+     *
+     * @param now The current {@link System#nanoTime()}.
+     * @return The time at which the next frame should be sent.
+     */
+    long sendFrame(long now) {
+        PreparedFrame prepared = preparedFrame;
+        if (!shouldSend || prepared == null) {
+            return nextFrameDeadline = now + FRAME_DURATION_NANOS;
+        }
+        preparedFrame = null;
+        prepareNextFrame();
+
+        if (prepared == PreparedFrame.NO_SOURCE) {
+            // Send the first frame of the next source without delay
+            dontSleep = true;
+            return nextFrameDeadline = now + FRAME_DURATION_NANOS;
+        }
+        if (prepared.sourceChanged) {
+            // The previous source has finished
+            dontSleep = true;
+        }
+        byte[] frame = prepared.frame;
+
+        ByteBuffer packet = null;
+        if (frame != null || framesOfSilenceToPlay > 0) {
+            if (!speaking && frame != null) {
+                speaking = true;
+                connection.setSpeaking(true);
+            }
+            packet = packetWriter.write(frame, sequence, ((int) sequence) * 960);
+            // We can stop sending frames of silence after 5 frames
+            if (frame == null) {
+                framesOfSilenceToPlay--;
+                if (framesOfSilenceToPlay == 0) {
+                    speaking = false;
+                    connection.setSpeaking(false);
+                }
+            } else {
+                framesOfSilenceToPlay = 5;
+            }
+        }
+
+        sequence++;
+
+        if (packet != null) {
+            try {
+                channel.write(packet);
+            } catch (IOException e) {
+                logger.error("Failed to send audio packet for {}", connection);
+            }
+        }
+
+        long deadline = nextFrameDeadline + FRAME_DURATION_NANOS;
+        if (dontSleep || now - deadline > MAX_FRAME_DELAY_NANOS) {
+            // Restart the schedule instead of sending all missed frames at once
+            deadline = now + FRAME_DURATION_NANOS;
+            dontSleep = false;
+        }
+        return nextFrameDeadline = deadline;
+    }
+
     /**
      * Stops polling frames from the audio connection.
      */
     public void stopSending() {
         shouldSend = false;
-        connection.getChannel()
-                .getApi()
-                .getThreadPool()
-                .removeAndShutdownSingleThreadExecutorService(threadName);
+        ((DiscordApiImpl) connection.getChannel().getApi()).getAudioSendScheduler().unregister(this);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("AudioUdpSocket (connection: %s)", connection);
+    }
+
+    /**
+     * A frame which was polled from the audio source of the connection.
+     */
+    private static final class PreparedFrame {
+
+        /**
+         * The frame if the connection had no audio source.
+         */
+        private static final PreparedFrame NO_SOURCE = new PreparedFrame(null, false);
+
+        /**
+         * The frame or {@code null} to send silence.
+         */
+        private final byte[] frame;
+
+        /**
+         * Whether the previous audio source has finished before the frame was polled.
+         */
+        private final boolean sourceChanged;
+
+        private PreparedFrame(byte[] frame, boolean sourceChanged) {
+            this.frame = frame;
+            this.sourceChanged = sourceChanged;
+        }
+
     }
 
 }
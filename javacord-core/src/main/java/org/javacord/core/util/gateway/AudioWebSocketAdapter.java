@@ -49,6 +49,11 @@ public class AudioWebSocketAdapter extends WebSocketAdapter {
     private AudioUdpSocket socket;
     private int ssrc;
 
+    /**
+     * The encryption mode which is selected for the udp socket.
+     */
+    private AudioEncryptionMode encryptionMode = AudioEncryptionMode.XSALSA20_POLY1305;
+
     /**
      * A boolean to indicate if the websocket should try to reconnect.
      *
@@ -113,6 +118,12 @@ public class AudioWebSocketAdapter extends WebSocketAdapter {
                 String ip = data.get("ip").asText();
                 int port = data.get("port").asInt();
                 ssrc = data.get("ssrc").asInt();
+                encryptionMode = AudioEncryptionMode.XSALSA20_POLY1305;
+                for (JsonNode mode : data.path("modes")) {
+                    if (AudioEncryptionMode.XSALSA20_POLY1305_LITE.getName().equals(mode.asText())) {
+                        encryptionMode = AudioEncryptionMode.XSALSA20_POLY1305_LITE;
+                    }
+                }
 
                 socket = new AudioUdpSocket(connection, new InetSocketAddress(ip, port), ssrc);
                 sendSelectProtocol(websocket);
@@ -123,7 +134,9 @@ public class AudioWebSocketAdapter extends WebSocketAdapter {
 
                 data = packet.get("d");
                 byte[] secretKey = api.getObjectMapper().convertValue(data.get("secret_key"), byte[].class);
-                socket.setSecretKey(secretKey);
+                AudioEncryptionMode mode =
+                        AudioEncryptionMode.fromName(data.path("mode").asText()).orElse(encryptionMode);
+                socket.setSecretKey(secretKey, mode);
                 socket.startSending();
                 // We established a connection with the udp socket. Now we are ready to send audio! :-)
                 connection.getReadyFuture().complete(connection);
@@ -359,7 +372,7 @@ public class AudioWebSocketAdapter extends WebSocketAdapter {
                 .putObject("data")
                 .put("address", address.getHostString())
                 .put("port", address.getPort())
-                .put("mode", "xsalsa20_poly1305");
+                .put("mode", encryptionMode.getName());
         logger.debug("Sending select protocol packet for {}", connection);
         WebSocketFrame selectProtocolFrame = WebSocketFrame.createTextFrame(selectProtocolPacket.toString());
         websocket.sendFrame(selectProtocolFrame);
@@ -28,6 +28,17 @@ public class BinaryMessageDecompressor {
      * @throws DataFormatException If the compressed data format is invalid.
      */
     public static String decompress(byte[] data) throws DataFormatException {
+        return new String(inflate(data), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Decompresses the given byte array.
+     *
+     * @param data The data to decompress.
+     * @return The decompressed bytes.
+     * @throws DataFormatException If the compressed data format is invalid.
+     */
+    public static byte[] inflate(byte[] data) throws DataFormatException {
         Inflater decompressor = new Inflater();
         decompressor.setInput(data);
         ByteArrayOutputStream bos = new ByteArrayOutputStream(data.length);
@@ -40,8 +51,7 @@ public class BinaryMessageDecompressor {
         try {
             bos.close();
         } catch (IOException ignored) { }
-        byte[] decompressedData = bos.toByteArray();
-        return new String(decompressedData, StandardCharsets.UTF_8);
+        return bos.toByteArray();
     }
 
 }
@@ -2,6 +2,7 @@ package org.javacord.core.util.gateway;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.neovisionaries.ws.client.ProxySettings;
@@ -12,6 +13,7 @@ import com.neovisionaries.ws.client.WebSocketFactory;
 import com.neovisionaries.ws.client.WebSocketFrame;
 import com.neovisionaries.ws.client.WebSocketListener;
 import org.apache.logging.log4j.Logger;
+import org.javacord.api.AccountType;
 import org.javacord.api.Javacord;
 import org.javacord.api.entity.Nameable;
 import org.javacord.api.entity.activity.Activity;
@@ -24,6 +26,7 @@ import org.javacord.api.event.connection.ReconnectEvent;
 import org.javacord.api.event.connection.ResumeEvent;
 import org.javacord.api.util.auth.Authenticator;
 import org.javacord.api.util.auth.Request;
+import org.javacord.api.util.cache.CacheSnapshotStorage;
 import org.javacord.core.DiscordApiImpl;
 import org.javacord.core.entity.server.ServerImpl;
 import org.javacord.core.event.connection.LostConnectionEventImpl;
@@ -31,6 +34,7 @@ import org.javacord.core.event.connection.ReconnectEventImpl;
 import org.javacord.core.event.connection.ResumeEventImpl;
 import org.javacord.core.util.auth.NvWebSocketResponseImpl;
 import org.javacord.core.util.auth.NvWebSocketRouteImpl;
+import org.javacord.core.util.cache.CacheSnapshot;
 import org.javacord.core.util.handler.ReadyHandler;
 import org.javacord.core.util.handler.ResumedHandler;
 import org.javacord.core.util.handler.channel.ChannelCreateHandler;
@@ -81,17 +85,22 @@ import java.net.SocketAddress;
 import java.net.URI;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.WeakHashMap;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicMarkableReference;
@@ -118,17 +127,37 @@ public class DiscordWebSocketAdapter extends WebSocketAdapter {
     private static final Lock gatewayReadLock = gatewayLock.readLock();
     private static final Lock gatewayWriteLock = gatewayLock.writeLock();
 
+    /**
+     * The maximum amount of shards which are allowed to identify at the same time, mapped by the token.
+     */
+    private static final Map<String, Integer> maxConcurrency = new ConcurrentHashMap<>();
+
     private static final long WEB_SOCKET_FRAME_SENDING_RATELIMIT_DURATION =
             TimeUnit.NANOSECONDS.convert(1, TimeUnit.MINUTES);
     private static final long ONE_SECOND = TimeUnit.NANOSECONDS.convert(1, TimeUnit.SECONDS);
     private static final int WEB_SOCKET_FRAME_SENDING_RATELIMIT = 120;
 
+    /**
+     * The maximum amount of servers in a single "request guild members" packet.
+     */
+    private static final int MAX_SERVERS_PER_REQUEST_GUILD_MEMBERS_PACKET = 75;
+
+    /**
+     * The maximum amount of "request guild members" frames which wait in the frame sending queue at once.
+     */
+    private static final int MAX_QUEUED_REQUEST_GUILD_MEMBERS_FRAMES = 2;
+
     private final DiscordApiImpl api;
     private final HashMap<String, PacketHandler> handlers = new HashMap<>();
     private final CompletableFuture<Boolean> ready = new CompletableFuture<>();
 
     private final AtomicReference<WebSocket> websocket = new AtomicReference<>();
 
+    /**
+     * The decompressor of the current connection if transport compression is enabled.
+     */
+    private volatile ZlibStreamDecompressor zlibStreamDecompressor;
+
     private final Heart heart;
 
     private volatile int lastSeq = -1;
@@ -144,14 +173,23 @@ public class DiscordWebSocketAdapter extends WebSocketAdapter {
     private final AtomicReference<WebSocketFrame> nextHeartbeatFrame = new AtomicReference<>(null);
     private final List<WebSocketListener> identifyFrameListeners = Collections.synchronizedList(new ArrayList<>());
 
-    private volatile long lastGuildMembersChunkReceived = System.currentTimeMillis();
-
     // A reconnect attempt counter
     private final AtomicInteger reconnectAttempt = new AtomicInteger();
 
     // A queue which contains server ids for the "request guild members" packet
     private final BlockingQueue<Long> requestGuildMembersQueue = new LinkedBlockingQueue<>();
 
+    // Limits the "request guild members" frames which wait in the frame sending queue
+    private final Semaphore requestGuildMembersFramePermits = new Semaphore(MAX_QUEUED_REQUEST_GUILD_MEMBERS_FRAMES);
+
+    private final GuildMembersRequestTracker guildMembersRequestTracker = new GuildMembersRequestTracker();
+
+    // Completed once the cache snapshot was saved after disconnecting, or if no snapshot is saved
+    private final CompletableFuture<Void> cacheSnapshotSaved = new CompletableFuture<>();
+
+    // Tracks the loading of servers and members after the latest READY packet
+    private volatile StartupTracker startupTracker;
+
     // A queue which contains web socket frame sending requests
     private BlockingQueue<WebSocketFrameSendingQueueEntry> webSocketFrameSendingQueue = new PriorityBlockingQueue<>();
     private AtomicReference<Thread> webSocketFrameSenderThread = new AtomicReference<>();
@@ -163,7 +201,17 @@ public class DiscordWebSocketAdapter extends WebSocketAdapter {
      * @param api The discord api instance.
      */
     public DiscordWebSocketAdapter(DiscordApiImpl api) {
-        this(api, true);
+        this(api, true, null);
+    }
+
+    /**
+     * Creates a new discord websocket adapter which resumes the session of a restored cache snapshot.
+     *
+     * @param api           The discord api instance.
+     * @param cacheSnapshot The restored cache snapshot or {@code null} to start a new session.
+     */
+    public DiscordWebSocketAdapter(DiscordApiImpl api, CacheSnapshot cacheSnapshot) {
+        this(api, true, cacheSnapshot);
     }
 
     /**
@@ -173,8 +221,24 @@ public class DiscordWebSocketAdapter extends WebSocketAdapter {
      * @param reconnect Whether to try to reconnect.
      */
     DiscordWebSocketAdapter(DiscordApiImpl api, boolean reconnect) {
+        this(api, reconnect, null);
+    }
+
+    /**
+     * Creates a new discord websocket adapter.
+     *
+     * @param api           The discord api instance.
+     * @param reconnect     Whether to try to reconnect.
+     * @param cacheSnapshot The restored cache snapshot or {@code null} to start a new session.
+     */
+    private DiscordWebSocketAdapter(DiscordApiImpl api, boolean reconnect, CacheSnapshot cacheSnapshot) {
         this.api = api;
+        startupTracker = new StartupTracker(api);
         this.reconnect = reconnect;
+        if (cacheSnapshot != null) {
+            sessionId = cacheSnapshot.getSessionId();
+            lastSeq = cacheSnapshot.getLastSeq();
+        }
         this.heart = new Heart(
                 api,
                 heartbeatFrame -> sendFrame(websocket.get(), heartbeatFrame, true, true),
@@ -195,23 +259,20 @@ public class DiscordWebSocketAdapter extends WebSocketAdapter {
                     if (nextServerId == null) {
                         continue;
                     }
-                    // put the element back to the queue
-                    requestGuildMembersQueue.add(nextServerId);
-                    // send requests
-                    requestGuildMembersQueue.stream().distinct()
-                            .forEach(serverId -> {
-                                requestGuildMembersQueue.remove(serverId);
-                                ObjectNode requestGuildMembersPacket = JsonNodeFactory.instance.objectNode()
-                                        .put("op", GatewayOpcode.REQUEST_GUILD_MEMBERS.getCode());
-                                ObjectNode data = requestGuildMembersPacket.putObject("d")
-                                        .put("query", "")
-                                        .put("limit", 0);
-                                data.put("guild_id", Long.toUnsignedString(serverId));
-                                logger.debug("Sending request guild members packet {}",
-                                             requestGuildMembersPacket);
-                                sendTextFrame(requestGuildMembersPacket.toString());
-                            });
-                    Thread.sleep(1000);
+                    // wait until previous requests left the frame sending queue, so that requests are sent as fast
+                    // as the frame sending ratelimit allows and the batches grow while it is exhausted
+                    boolean permitAcquired = requestGuildMembersFramePermits.tryAcquire(1, TimeUnit.MINUTES);
+                    Set<Long> serverIds = new LinkedHashSet<>();
+                    serverIds.add(nextServerId);
+                    while (serverIds.size() < MAX_SERVERS_PER_REQUEST_GUILD_MEMBERS_PACKET) {
+                        Long serverId = requestGuildMembersQueue.poll();
+                        if (serverId == null) {
+                            break;
+                        }
+                        serverIds.add(serverId);
+                    }
+                    sendRequestGuildMembersPacket(serverIds,
+                            permitAcquired ? requestGuildMembersFramePermits::release : null);
                 } catch (InterruptedException ignored) {
                 } catch (Throwable t) {
                     logger.error("Failed to process request guild members queue!", t);
@@ -287,6 +348,7 @@ public class DiscordWebSocketAdapter extends WebSocketAdapter {
                             webSocketFrameSendingQueueEntry.isPriorityLifecyle() ? "priority lifecycle " : "",
                             frame);
                     webSocket.sendFrame(frame);
+                    webSocketFrameSendingQueueEntry.notifySent();
                     webSocketFrameSendingQueueEntry = null;
                 } catch (InterruptedException ignored) {
                 } catch (Throwable t) {
@@ -348,12 +410,61 @@ public class DiscordWebSocketAdapter extends WebSocketAdapter {
         }
     }
 
+    /**
+     * Gets the maximum amount of shards which are allowed to identify at the same time.
+     * If it was not requested or set so far for the token of the given api, it will request it from Discord.
+     * Client accounts and failed requests use a concurrency of {@code 1}, failed requests are retried on the next call.
+     *
+     * @param api The api used to make the rest call.
+     * @return The maximum amount of shards which are allowed to identify at the same time.
+     */
+    public static int getMaxConcurrency(DiscordApiImpl api) {
+        if (api.getAccountType() != AccountType.BOT) {
+            return 1;
+        }
+        Integer cachedMaxConcurrency = maxConcurrency.get(api.getToken());
+        if (cachedMaxConcurrency != null) {
+            return cachedMaxConcurrency;
+        }
+        // The request is not made inside of a map operation, as that would block the map while waiting for Discord
+        int requestedMaxConcurrency;
+        try {
+            requestedMaxConcurrency = new RestRequest<Integer>(api, RestMethod.GET, RestEndpoint.GATEWAY_BOT)
+                    .execute(result -> result.getJsonBody()
+                            .path("session_start_limit").path("max_concurrency").asInt(1))
+                    .thenApply(concurrency -> Math.max(concurrency, 1))
+                    .join();
+        } catch (Throwable t) {
+            // The fallback is not cached, so that the next identify retries the request
+            logger.warn("Failed to request the maximum identify concurrency. Identifying one shard at a time", t);
+            return 1;
+        }
+        Integer previousMaxConcurrency = maxConcurrency.putIfAbsent(api.getToken(), requestedMaxConcurrency);
+        return previousMaxConcurrency == null ? requestedMaxConcurrency : previousMaxConcurrency;
+    }
+
+    /**
+     * Sets the maximum amount of shards which are allowed to identify at the same time.
+     *
+     * @param token The token of the bot.
+     * @param maxConcurrency The maximum amount of shards which are allowed to identify at the same time.
+     */
+    public static void setMaxConcurrency(String token, int maxConcurrency) {
+        DiscordWebSocketAdapter.maxConcurrency.put(token, Math.max(maxConcurrency, 1));
+    }
+
     /**
      * Disconnects from the websocket.
      */
     public void disconnect() {
         reconnect = false;
-        sendCloseFrame(WebSocketCloseReason.DISCONNECT.getNumericCloseCode());
+        if (sessionId != null && api.getCacheSnapshotStorage().isPresent()) {
+            // A normal close would invalidate the session which is saved in the cache snapshot
+            sendCloseFrame(WebSocketCloseReason.DISCONNECT_RESUMABLE.getNumericCloseCode(),
+                    WebSocketCloseReason.DISCONNECT_RESUMABLE.getCloseReason());
+        } else {
+            sendCloseFrame(WebSocketCloseReason.DISCONNECT.getNumericCloseCode());
+        }
         // cancel heartbeat if within one minute no disconnect event was dispatched
         api.getThreadPool().getDaemonScheduler().schedule(heart::squash, 1, TimeUnit.MINUTES);
     }
@@ -364,7 +475,8 @@ public class DiscordWebSocketAdapter extends WebSocketAdapter {
     private void connect() {
         try {
             WebSocketFactory factory = new WebSocketFactory();
-            String webSocketUri = getGateway(api) + "?encoding=json&v=" + Javacord.DISCORD_GATEWAY_VERSION;
+            String webSocketUri = getGateway(api) + "?encoding=json&v=" + Javacord.DISCORD_GATEWAY_VERSION
+                    + (api.isTransportCompressionEnabled() ? "&compress=zlib-stream" : "");
             Proxy proxy = api.getProxy().orElseGet(() -> {
                 List<Proxy> proxies = api.getProxySelector().orElseGet(ProxySelector::getDefault).select(URI.create(
                         webSocketUri.replace("wss://", "https://").replace("ws://", "http://")));
@@ -442,11 +554,17 @@ public class DiscordWebSocketAdapter extends WebSocketAdapter {
             }
             WebSocket websocket = factory.createSocket(webSocketUri);
             this.websocket.set(websocket);
+            if (api.isTransportCompressionEnabled()) {
+                // Every connection has its own zlib context
+                zlibStreamDecompressor = new ZlibStreamDecompressor();
+            }
             websocket.addHeader("Accept-Encoding", "gzip");
+            // Payloads are parsed from the raw UTF-8 bytes, so they don't have to be decoded to a String first
+            websocket.setDirectTextMessage(true);
             websocket.addListener(this);
             websocket.addListener(new WebSocketLogger());
 
-            api.getGatewayIdentifyRatelimiter().requestQuota();
+            api.requestGatewayIdentifyQuota();
             websocket.connect();
         } catch (Throwable t) {
             logger.warn("An error occurred while connecting to websocket", t);
@@ -479,6 +597,12 @@ public class DiscordWebSocketAdapter extends WebSocketAdapter {
         Optional<WebSocketFrame> closeFrameOptional =
                 Optional.ofNullable(closedByServer ? serverCloseFrame : clientCloseFrame);
 
+        ZlibStreamDecompressor decompressor = zlibStreamDecompressor;
+        if (decompressor != null) {
+            zlibStreamDecompressor = null;
+            decompressor.close();
+        }
+
         String closeReason = closeFrameOptional
                 .map(WebSocketFrame::getCloseReason)
                 .orElse("unknown");
@@ -495,6 +619,10 @@ public class DiscordWebSocketAdapter extends WebSocketAdapter {
         logger.info("Websocket closed with reason '{}' and code {} by {}!",
                     closeReason, closeCodeString, closedByServer ? "server" : "client");
 
+        if (!reconnect) {
+            saveCacheSnapshot();
+        }
+
         LostConnectionEvent lostConnectionEvent = new LostConnectionEventImpl(api);
         api.getEventDispatcher().dispatchLostConnectionEvent(null, lostConnectionEvent);
 
@@ -522,33 +650,47 @@ public class DiscordWebSocketAdapter extends WebSocketAdapter {
     }
 
     @Override
-    public void onTextMessage(WebSocket websocket, String text) throws Exception {
+    public void onTextMessage(WebSocket websocket, byte[] data) throws Exception {
+        handlePayload(websocket, GatewayPayload.parse(api.getObjectMapper(), data, data.length));
+    }
+
+    /**
+     * Handles the given payload.
+     *
+     * <p>The data of the payload is only materialized if it is needed, i.e. there's a handler for the dispatched
+     * event type or the opcode requires it.
+     *
+     * @param websocket The websocket the payload was received from.
+     * @param payload The payload.
+     * @throws Exception If something went wrong while handling the payload.
+     */
+    private void handlePayload(WebSocket websocket, GatewayPayload payload) throws Exception {
         ObjectMapper mapper = api.getObjectMapper();
-        JsonNode packet = mapper.readTree(text);
 
-        heart.handlePacket(packet);
+        int op = payload.getOpcode();
+        heart.handlePacket(op, payload.getSequence());
 
-        int op = packet.get("op").asInt();
         Optional<GatewayOpcode> opcode = GatewayOpcode.fromCode(op);
         if (!opcode.isPresent()) {
-            logger.debug("Received unknown packet (op: {}, content: {})", op, packet);
+            logger.debug("Received unknown packet (op: {}, content: {})", op, payload);
             return;
         }
 
         switch (opcode.get()) {
             case DISPATCH:
-                lastSeq = packet.get("s").asInt();
-                String type = packet.get("t").asText();
+                lastSeq = payload.getSequence();
+                String type = payload.getType();
+                if (type.equals("READY")) {
+                    // The ready handler already adds the unavailable servers to the new tracker
+                    startupTracker = new StartupTracker(api);
+                }
                 PacketHandler handler = handlers.get(type);
                 if (handler != null) {
-                    handler.handlePacket(packet.get("d"));
+                    handler.handlePacket(payload.readData(mapper));
                 } else {
-                    logger.debug("Received unknown packet of type {} (packet: {})", type, packet);
+                    logger.debug("Received unknown packet of type {} (packet: {})", type, payload);
                 }
 
-                if (type.equals("GUILD_MEMBERS_CHUNK")) {
-                    lastGuildMembersChunkReceived = System.currentTimeMillis();
-                }
                 if (type.equals("RESUMED")) {
                     reconnectingOrResumingLock.lock();
                     try {
@@ -561,6 +703,13 @@ public class DiscordWebSocketAdapter extends WebSocketAdapter {
 
                     ResumeEvent resumeEvent = new ResumeEventImpl(api);
                     api.getEventDispatcher().dispatchResumeEvent(null, resumeEvent);
+                    if (!ready.isDone()) {
+                        // The session of a restored cache snapshot was resumed. Its servers are already loaded, so
+                        // the startup is finished as soon as it is started
+                        api.getAllServers().forEach(server -> ((ServerImpl) server).requestMissingMembers());
+                        startupTracker.start();
+                        ready.complete(true);
+                    }
                 }
                 if (type.equals("READY")) {
                     reconnectingOrResumingLock.lock();
@@ -570,44 +719,13 @@ public class DiscordWebSocketAdapter extends WebSocketAdapter {
                     } finally {
                         reconnectingOrResumingLock.unlock();
                     }
-                    sessionId = packet.get("d").get("session_id").asText();
+                    sessionId = payload.readData(mapper).get("session_id").asText();
                     // Discord sends us GUILD_CREATE packets after logging in. We will wait for them.
-                    api.getThreadPool().getSingleThreadExecutorService("Startup Servers Wait Thread").submit(() -> {
-                        boolean allUsersLoaded = false;
-                        boolean allServersLoaded = false;
-                        int lastUnavailableServerAmount = 0;
-                        int sameUnavailableServerCounter = 0;
-                        while (api.isWaitingForServersOnStartup() && (!allServersLoaded || !allUsersLoaded)) {
-                            if (api.getUnavailableServers().size() == lastUnavailableServerAmount) {
-                                sameUnavailableServerCounter++;
-                            } else {
-                                lastUnavailableServerAmount = api.getUnavailableServers().size();
-                                sameUnavailableServerCounter = 0;
-                            }
-                            allServersLoaded = api.getUnavailableServers().isEmpty();
-                            if (allServersLoaded) {
-                                allUsersLoaded = !api.hasUserCacheEnabled()
-                                        || !api.isWaitingForUsersOnStartup()
-                                        || api.getAllServers().stream()
-                                        .map(ServerImpl.class::cast)
-                                        .noneMatch(server -> server.getMemberCount() != server.getRealMembers().size());
-                            }
-                            if (sameUnavailableServerCounter > 1000
-                                    && lastGuildMembersChunkReceived + 5000 < System.currentTimeMillis()) {
-                                // It has been more than 1 minute since no more servers became available and more
-                                // than five seconds since the last guild member chunk event was received. We
-                                // can assume that this will not change anytime soon, most likely because Discord
-                                // itself has some issues. Let's break the loop!
-                                break;
-                            }
-                            try {
-                                Thread.sleep(100);
-                            } catch (InterruptedException ignored) { }
-                        }
+                    startupTracker.start().thenRunAsync(() -> {
                         ReconnectEvent reconnectEvent = new ReconnectEventImpl(api);
                         api.getEventDispatcher().dispatchReconnectEvent(null, reconnectEvent);
                         ready.complete(true);
-                    });
+                    }, api.getThreadPool().getExecutorService());
                     logger.debug("Received READY packet");
                 }
                 break;
@@ -635,13 +753,13 @@ public class DiscordWebSocketAdapter extends WebSocketAdapter {
                         return;
                     }
                 }
-                api.getGatewayIdentifyRatelimiter().requestQuota();
+                api.requestGatewayIdentifyQuota();
                 sendIdentify(websocket);
                 break;
             case HELLO:
                 logger.debug("Received HELLO packet");
 
-                JsonNode data = packet.get("d");
+                JsonNode data = payload.readData(mapper);
                 int heartbeatInterval = data.get("heartbeat_interval").asInt();
 
                 // calculate reserved places for heartbeats
@@ -658,22 +776,44 @@ public class DiscordWebSocketAdapter extends WebSocketAdapter {
                 // Handled by the heart
                 break;
             default:
-                logger.debug("Received unknown packet (op: {}, content: {})", op, packet);
+                logger.debug("Received unknown packet (op: {}, content: {})", op, payload);
                 break;
         }
     }
 
     @Override
     public void onBinaryMessage(WebSocket websocket, byte[] binary) throws Exception {
-        String message;
+        byte[] buffer;
+        int length;
         try {
-            message = BinaryMessageDecompressor.decompress(binary);
+            ZlibStreamDecompressor decompressor = zlibStreamDecompressor;
+            if (decompressor == null) {
+                buffer = BinaryMessageDecompressor.inflate(binary);
+                length = buffer.length;
+            } else {
+                length = decompressor.inflate(binary);
+                buffer = decompressor.getBuffer();
+            }
         } catch (DataFormatException e) {
-            logger.warn("An error occurred while decompressing data", e);
+            ZlibStreamDecompressor decompressor = zlibStreamDecompressor;
+            if (decompressor == null) {
+                logger.warn("An error occurred while decompressing data", e);
+                return;
+            }
+            // All following frames of the connection depend on the corrupted zlib context, so we have to reconnect
+            logger.warn("An error occurred while decompressing the zlib stream. Trying to resume the session!", e);
+            decompressor.reset();
+            sendCloseFrame(websocket, WebSocketCloseReason.DECOMPRESSION_FAILED.getNumericCloseCode(),
+                    WebSocketCloseReason.DECOMPRESSION_FAILED.getCloseReason());
             return;
         }
-        logger.trace("onTextMessage: text='{}'", message);
-        onTextMessage(websocket, message);
+        if (length < 0) {
+            // The message is split across multiple frames
+            return;
+        }
+        GatewayPayload payload = GatewayPayload.parse(api.getObjectMapper(), buffer, length);
+        logger.trace("onTextMessage: text='{}'", payload);
+        handlePayload(websocket, payload);
     }
 
     /**
@@ -703,7 +843,7 @@ public class DiscordWebSocketAdapter extends WebSocketAdapter {
         ObjectNode data = identifyPacket.putObject("d");
         String token = api.getPrefixedToken();
         data.put("token", token)
-                .put("compress", true)
+                .put("compress", !api.isTransportCompressionEnabled())
                 .put("large_threshold", 250)
                 .putObject("properties")
                 .put("$os", System.getProperty("os.name"))
@@ -995,11 +1135,26 @@ public class DiscordWebSocketAdapter extends WebSocketAdapter {
      * @param lifecycle Whether the frame is a lifecycle frame and should only be sent over the given or current socket.
      */
     private void sendFrame(WebSocket webSocket, WebSocketFrame frame, boolean priority, boolean lifecycle) {
+        sendFrame(webSocket, frame, priority, lifecycle, null);
+    }
+
+    /**
+     * Send the given web socket frame over the given web socket after ratelimit allows, optionally with priority
+     * before non-priority send requests already present in the queue.
+     *
+     * @param webSocket The web socket to send the frame to.
+     * @param frame The web socket frame to send.
+     * @param priority Whether the frame should be sent with priority.
+     * @param lifecycle Whether the frame is a lifecycle frame and should only be sent over the given or current socket.
+     * @param sentListener A listener which is called after the frame was sent. Might be {@code null}.
+     */
+    private void sendFrame(WebSocket webSocket, WebSocketFrame frame, boolean priority, boolean lifecycle,
+                           Runnable sentListener) {
         logger.debug("Queued {}lifecycle frame for sending with{} priority: {}",
                      lifecycle ? "" : "non-", priority ? "" : "out", frame);
         webSocketFrameSendingQueue.add(new WebSocketFrameSendingQueueEntry(
                 Optional.ofNullable(webSocket).orElseGet(() -> lifecycle ? this.websocket.get() : null),
-                frame, priority, lifecycle));
+                frame, priority, lifecycle, sentListener));
         if (priority && lifecycle) {
             // interrupt the web socket frame sender thread to get
             // the heartbeat out if it is still waiting to send a different frame
@@ -1017,6 +1172,82 @@ public class DiscordWebSocketAdapter extends WebSocketAdapter {
         requestGuildMembersQueue.add(server.getId());
     }
 
+    /**
+     * Sends a "request guild members" packet for the given servers.
+     *
+     * @param serverIds The ids of the servers.
+     * @param sentListener A listener which is called after the packet was sent. Might be {@code null}.
+     */
+    private void sendRequestGuildMembersPacket(Collection<Long> serverIds, Runnable sentListener) {
+        String nonce = guildMembersRequestTracker.startRequest(serverIds);
+        ObjectNode requestGuildMembersPacket = JsonNodeFactory.instance.objectNode()
+                .put("op", GatewayOpcode.REQUEST_GUILD_MEMBERS.getCode());
+        ObjectNode data = requestGuildMembersPacket.putObject("d")
+                .put("query", "")
+                .put("limit", 0)
+                .put("nonce", nonce);
+        if (serverIds.size() == 1) {
+            data.put("guild_id", Long.toUnsignedString(serverIds.iterator().next()));
+        } else {
+            ArrayNode guildIds = data.putArray("guild_id");
+            serverIds.forEach(serverId -> guildIds.add(Long.toUnsignedString(serverId)));
+        }
+        logger.debug("Sending request guild members packet {}", requestGuildMembersPacket);
+        sendFrame(null, WebSocketFrame.createTextFrame(requestGuildMembersPacket.toString()), false, false,
+                sentListener);
+    }
+
+    /**
+     * Gets the tracker for the progress of "request guild members" requests.
+     *
+     * @return The tracker for "request guild members" requests.
+     */
+    public GuildMembersRequestTracker getGuildMembersRequestTracker() {
+        return guildMembersRequestTracker;
+    }
+
+    /**
+     * Saves a snapshot of the cache once all received packets were handled, if a cache snapshot storage is set.
+     */
+    private void saveCacheSnapshot() {
+        CacheSnapshotStorage storage = api.getCacheSnapshotStorage().orElse(null);
+        String sessionId = this.sessionId;
+        if (storage == null || sessionId == null || !ready.isDone() || cacheSnapshotSaved.isDone()) {
+            cacheSnapshotSaved.complete(null);
+            return;
+        }
+        api.getPacketHandlerExecutor().executeAfterPendingPackets(() -> {
+            try {
+                AtomicInteger size = new AtomicInteger();
+                storage.save(api.getCurrentShard(), out -> size.set(CacheSnapshot.write(api, sessionId, lastSeq, out)));
+                logger.debug("Saved cache snapshot with {} bytes", size.get());
+            } catch (Throwable t) {
+                logger.warn("Failed to save the cache snapshot", t);
+            } finally {
+                cacheSnapshotSaved.complete(null);
+            }
+        });
+    }
+
+    /**
+     * Gets a future which is completed once the cache snapshot was saved after disconnecting.
+     * It is also completed if no snapshot is saved.
+     *
+     * @return A future which is completed once the cache snapshot was saved.
+     */
+    public CompletableFuture<Void> getCacheSnapshotSaved() {
+        return cacheSnapshotSaved;
+    }
+
+    /**
+     * Gets the tracker for the loading of servers and members after the latest READY packet.
+     *
+     * @return The tracker for the startup.
+     */
+    public StartupTracker getStartupTracker() {
+        return startupTracker;
+    }
+
     @Override
     public void onError(WebSocket websocket, WebSocketException cause) {
         switch (cause.getMessage()) {
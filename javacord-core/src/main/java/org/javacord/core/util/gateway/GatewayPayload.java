@@ -0,0 +1,143 @@
+package org.javacord.core.util.gateway;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.NullNode;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A payload received from the gateway.
+ *
+ * <p>Only the opcode, the event type and the sequence number are read when the payload is parsed. The data object
+ * is skipped and only materialized by {@link #readData(ObjectMapper)}, directly from the buffer the payload was
+ * parsed from. As the buffer might be reused afterwards, the payload must not be used after the next payload was
+ * received.
+ */
+public class GatewayPayload {
+
+    private final byte[] buffer;
+    private final int length;
+
+    private int op = -1;
+    private String type = null;
+    private int sequence = -1;
+
+    private JsonNode data = null;
+    private int dataStart = -1;
+    private int dataEnd = -1;
+
+    /**
+     * Creates a new gateway payload.
+     *
+     * @param buffer The buffer which contains the payload, starting at index 0.
+     * @param length The length of the payload.
+     */
+    private GatewayPayload(byte[] buffer, int length) {
+        this.buffer = buffer;
+        this.length = length;
+    }
+
+    /**
+     * Parses the envelope of the given payload.
+     *
+     * @param mapper The object mapper to use.
+     * @param buffer The buffer which contains the payload, starting at index 0.
+     * @param length The length of the payload.
+     * @return The parsed payload.
+     * @throws IOException If the payload is no valid json object.
+     */
+    public static GatewayPayload parse(ObjectMapper mapper, byte[] buffer, int length) throws IOException {
+        GatewayPayload payload = new GatewayPayload(buffer, length);
+        try (JsonParser parser = mapper.getFactory().createParser(buffer, 0, length)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Gateway payload is not a json object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.getCurrentName();
+                JsonToken token = parser.nextToken();
+                switch (fieldName) {
+                    case "op":
+                        payload.op = token == JsonToken.VALUE_NUMBER_INT ? parser.getIntValue() : -1;
+                        break;
+                    case "t":
+                        payload.type = token == JsonToken.VALUE_NULL ? null : parser.getText();
+                        break;
+                    case "s":
+                        payload.sequence = token == JsonToken.VALUE_NUMBER_INT ? parser.getIntValue() : -1;
+                        break;
+                    case "d":
+                        if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+                            // Remember where the data is, so it can be materialized later if it's needed
+                            payload.dataStart = (int) parser.getTokenLocation().getByteOffset();
+                            parser.skipChildren();
+                            payload.dataEnd = (int) parser.getCurrentLocation().getByteOffset();
+                        } else {
+                            payload.data = mapper.readTree(parser);
+                        }
+                        break;
+                    default:
+                        parser.skipChildren();
+                        break;
+                }
+            }
+        }
+        return payload;
+    }
+
+    /**
+     * Gets the opcode of the payload.
+     *
+     * @return The opcode of the payload or {@code -1} if it has none.
+     */
+    public int getOpcode() {
+        return op;
+    }
+
+    /**
+     * Gets the event type of the payload.
+     *
+     * @return The event type of the payload or {@code null} if it is not a dispatch.
+     */
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * Gets the sequence number of the payload.
+     *
+     * @return The sequence number of the payload or {@code -1} if it has none.
+     */
+    public int getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Reads the data object of the payload.
+     *
+     * @param mapper The object mapper to use.
+     * @return The data of the payload, {@link NullNode} if it has no data.
+     * @throws IOException If the data could not be parsed.
+     */
+    public JsonNode readData(ObjectMapper mapper) throws IOException {
+        if (data == null) {
+            if (dataStart < 0) {
+                data = NullNode.getInstance();
+            } else {
+                try (JsonParser parser = mapper.getFactory().createParser(buffer, dataStart, dataEnd - dataStart)) {
+                    data = mapper.readTree(parser);
+                }
+            }
+        }
+        return data;
+    }
+
+    @Override
+    public String toString() {
+        return new String(buffer, 0, length, StandardCharsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,138 @@
+package org.javacord.core.util.gateway;
+
+import java.util.Collection;
+import java.util.OptionalDouble;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks the progress of "request guild members" requests.
+ *
+ * <p>Every request gets a unique nonce, which Discord includes in every member chunk of the request. As members of a
+ * server are split into {@code chunk_count} chunks, the progress of a server is the fraction of its received chunks.
+ * A server is no longer tracked once all its chunks were received.
+ */
+public class GuildMembersRequestTracker {
+
+    /**
+     * A counter to create unique nonces.
+     */
+    private final AtomicLong nonceCounter = new AtomicLong();
+
+    /**
+     * The progress of all servers with a pending request, mapped by the server id.
+     */
+    private final ConcurrentHashMap<Long, Progress> progressByServerId = new ConcurrentHashMap<>();
+
+    /**
+     * Starts tracking a request for the given servers.
+     *
+     * @param serverIds The ids of the requested servers.
+     * @return The nonce of the request.
+     */
+    public String startRequest(Collection<Long> serverIds) {
+        String nonce = Long.toString(nonceCounter.incrementAndGet(), Character.MAX_RADIX);
+        for (long serverId : serverIds) {
+            progressByServerId.put(serverId, new Progress(nonce));
+        }
+        return nonce;
+    }
+
+    /**
+     * Handles a received member chunk.
+     *
+     * <p>Chunks without a nonce or with the nonce of an outdated request are ignored.
+     *
+     * @param serverId The id of the server.
+     * @param nonce The nonce of the chunk or {@code null} if it has none.
+     * @param chunkIndex The index of the chunk.
+     * @param chunkCount The total amount of chunks for the server.
+     * @return Whether this was the last chunk of the request for the server or not.
+     */
+    public boolean handleChunk(long serverId, String nonce, int chunkIndex, int chunkCount) {
+        Progress progress = progressByServerId.get(serverId);
+        if (nonce == null || progress == null || !progress.nonce.equals(nonce)) {
+            return false;
+        }
+        if (progress.addChunk(chunkIndex, chunkCount)) {
+            progressByServerId.remove(serverId, progress);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Stops tracking the request for the given server, e.g. because Discord reported it as not found.
+     *
+     * @param serverId The id of the server.
+     */
+    public void cancel(long serverId) {
+        progressByServerId.remove(serverId);
+    }
+
+    /**
+     * Gets the progress of the pending request for the given server.
+     *
+     * @param serverId The id of the server.
+     * @return The progress between {@code 0} and {@code 1} or an empty optional if there is no pending request.
+     */
+    public OptionalDouble getProgress(long serverId) {
+        Progress progress = progressByServerId.get(serverId);
+        return progress == null ? OptionalDouble.empty() : OptionalDouble.of(progress.getProgress());
+    }
+
+    /**
+     * Gets the amount of servers with a pending request.
+     *
+     * @return The amount of servers with a pending request.
+     */
+    public int getPendingServerCount() {
+        return progressByServerId.size();
+    }
+
+    /**
+     * The progress of a request for a single server.
+     */
+    private static final class Progress {
+
+        private final String nonce;
+        private int chunkCount = -1;
+        private long[] receivedChunks;
+        private int receivedChunkCount;
+
+        private Progress(String nonce) {
+            this.nonce = nonce;
+        }
+
+        /**
+         * Marks a chunk as received.
+         *
+         * @param chunkIndex The index of the chunk.
+         * @param chunkCount The total amount of chunks.
+         * @return Whether all chunks were received or not.
+         */
+        private synchronized boolean addChunk(int chunkIndex, int chunkCount) {
+            if (this.chunkCount < 0) {
+                this.chunkCount = chunkCount;
+                receivedChunks = new long[(chunkCount + 63) >>> 6];
+            }
+            if (chunkIndex >= 0 && chunkIndex < this.chunkCount
+                    && (receivedChunks[chunkIndex >>> 6] & (1L << chunkIndex)) == 0) {
+                receivedChunks[chunkIndex >>> 6] |= 1L << chunkIndex;
+                receivedChunkCount++;
+            }
+            return receivedChunkCount >= this.chunkCount;
+        }
+
+        /**
+         * Gets the fraction of the received chunks.
+         *
+         * @return The fraction of the received chunks.
+         */
+        private synchronized double getProgress() {
+            return chunkCount <= 0 ? 0 : (double) receivedChunkCount / chunkCount;
+        }
+
+    }
+
+}
@@ -6,8 +6,6 @@ import org.javacord.api.DiscordApi;
 import org.javacord.core.DiscordApiImpl;
 import org.javacord.core.util.logging.LoggerUtil;
 
-import java.util.concurrent.ExecutorService;
-
 /**
  * This class is extended by all PacketHandlers.
  */
@@ -21,7 +19,6 @@ public abstract class PacketHandler {
     protected final DiscordApiImpl api;
     private final String type;
     private final boolean async;
-    private ExecutorService executorService;
 
     /**
      * Creates a new instance of this class.
@@ -34,9 +31,6 @@ public abstract class PacketHandler {
         this.api = (DiscordApiImpl) api;
         this.async = async;
         this.type = type;
-        if (async) {
-            executorService = api.getThreadPool().getSingleThreadExecutorService("Handlers Processor");
-        }
     }
 
     /**
@@ -46,21 +40,24 @@ public abstract class PacketHandler {
      */
     public void handlePacket(final JsonNode packet) {
         if (async) {
-            executorService.submit(() -> {
-                try {
-                    handle(packet);
-                } catch (Throwable t) {
-                    logger.warn("Couldn't handle packet of type {}. Please contact the developer! (packet: {})",
-                            getType(), packet, t);
-                }
-            });
+            api.getPacketHandlerExecutor().execute(type, packet, () -> handlePacketInCurrentThread(packet));
         } else {
-            try {
-                handle(packet);
-            } catch (Throwable t) {
-                logger.warn("Couldn't handle packet of type {}. Please contact the developer! (packet: {})",
-                        getType(), packet, t);
-            }
+            handlePacketInCurrentThread(packet);
+        }
+    }
+
+    /**
+     * Handles the packet in the current thread, even if the handler is asynchronous.
+     * This is used to apply packets which are derived from another packet that is currently handled.
+     *
+     * @param packet The packet (the "d"-object).
+     */
+    public void handlePacketInCurrentThread(JsonNode packet) {
+        try {
+            handle(packet);
+        } catch (Throwable t) {
+            logger.warn("Couldn't handle packet of type {}. Please contact the developer! (packet: {})",
+                    getType(), packet, t);
         }
     }
 
@@ -0,0 +1,127 @@
+package org.javacord.core.util.gateway;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.javacord.core.DiscordApiImpl;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executes asynchronous packet handlers on a fixed number of ordered lanes.
+ *
+ * <p>Packets are partitioned by the server they belong to or, if they don't belong to a server, by their channel.
+ * All packets of a partition are handled on the same lane in the order they were received. Packets which belong to
+ * neither are handled after all previously received packets of all lanes and before all packets that are received
+ * after them.
+ */
+public class PacketHandlerExecutor {
+
+    /**
+     * The name of the lane if there is only a single lane.
+     */
+    private static final String SINGLE_LANE_NAME = "Handlers Processor";
+
+    private final ExecutorService[] lanes;
+
+    /**
+     * Creates a new packet handler executor.
+     *
+     * @param api The discord api instance.
+     * @param laneCount The amount of lanes.
+     */
+    public PacketHandlerExecutor(DiscordApiImpl api, int laneCount) {
+        lanes = new ExecutorService[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            String name = laneCount == 1 ? SINGLE_LANE_NAME : SINGLE_LANE_NAME + " - " + i;
+            lanes[i] = api.getThreadPool().getSingleThreadExecutorService(name);
+        }
+    }
+
+    /**
+     * Gets the amount of lanes.
+     *
+     * @return The amount of lanes.
+     */
+    public int getLaneCount() {
+        return lanes.length;
+    }
+
+    /**
+     * Executes the given task on the lane of the given packet.
+     *
+     * @param type The type of the packet.
+     * @param packet The packet (the "d"-object).
+     * @param task The task which handles the packet.
+     */
+    public void execute(String type, JsonNode packet, Runnable task) {
+        if (lanes.length == 1) {
+            lanes[0].submit(task);
+            return;
+        }
+        long partitionKey = getPartitionKey(type, packet);
+        if (partitionKey == -1) {
+            executeAfterPendingPackets(task);
+            return;
+        }
+        lanes[Math.floorMod(Long.hashCode(partitionKey), lanes.length)].submit(task);
+    }
+
+    /**
+     * Executes the given task once all lanes finished the previously submitted tasks.
+     * The lanes are blocked until the task is finished.
+     *
+     * @param task The task to execute.
+     */
+    public void executeAfterPendingPackets(Runnable task) {
+        AtomicInteger remainingLanes = new AtomicInteger(lanes.length);
+        CountDownLatch finished = new CountDownLatch(1);
+        for (ExecutorService lane : lanes) {
+            lane.submit(() -> {
+                if (remainingLanes.decrementAndGet() == 0) {
+                    // This is the last lane to reach the task, so all other lanes are waiting
+                    try {
+                        task.run();
+                    } finally {
+                        finished.countDown();
+                    }
+                    return;
+                }
+                boolean interrupted = false;
+                while (true) {
+                    try {
+                        finished.await();
+                        break;
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+    }
+
+    /**
+     * Gets the key which is used to partition the given packet.
+     *
+     * @param type The type of the packet.
+     * @param packet The packet (the "d"-object).
+     * @return The id of the server or channel the packet belongs to or {@code -1} if it belongs to neither.
+     */
+    private static long getPartitionKey(String type, JsonNode packet) {
+        if (packet.hasNonNull("guild_id")) {
+            return packet.get("guild_id").asLong();
+        }
+        if (packet.hasNonNull("channel_id")) {
+            return packet.get("channel_id").asLong();
+        }
+        // GUILD_CREATE, GUILD_UPDATE, GUILD_DELETE and the CHANNEL_* packets of private channels
+        if ((type.startsWith("GUILD_") || type.startsWith("CHANNEL_")) && packet.hasNonNull("id")) {
+            return packet.get("id").asLong();
+        }
+        return -1;
+    }
+
+}
@@ -0,0 +1,188 @@
+package org.javacord.core.util.gateway;
+
+import org.apache.logging.log4j.Logger;
+import org.javacord.api.StartupProgress;
+import org.javacord.core.DiscordApiImpl;
+import org.javacord.core.util.logging.LoggerUtil;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks the loading of servers and members after a READY packet.
+ *
+ * <p>A server is pending from the moment it is known to be unavailable or not ready until it becomes ready, i.e.
+ * until all its members are cached. Every update costs constant time, and the startup is finished as soon as the last
+ * pending server is loaded. If there was no progress for {@link #STALL_TIMEOUT_NANOS}, most likely because Discord
+ * itself has some issues, the startup is finished anyway.
+ */
+public class StartupTracker implements StartupProgress {
+
+    /**
+     * The logger of this class.
+     */
+    private static final Logger logger = LoggerUtil.getLogger(StartupTracker.class);
+
+    /**
+     * The time without any progress after which the startup is finished anyway.
+     */
+    static final long STALL_TIMEOUT_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final DiscordApiImpl api;
+    private final CompletableFuture<Void> finished = new CompletableFuture<>();
+
+    /**
+     * The ids of all servers which are not loaded yet.
+     */
+    private final Set<Long> pendingServerIds = ConcurrentHashMap.newKeySet();
+
+    /**
+     * The loaded and expected members of all servers which are not loaded yet, mapped by the server id.
+     */
+    private final ConcurrentHashMap<Long, int[]> memberProgress = new ConcurrentHashMap<>();
+
+    private final AtomicInteger expectedServerCount = new AtomicInteger();
+    private final AtomicInteger loadedServerCount = new AtomicInteger();
+    private final AtomicLong expectedMemberCount = new AtomicLong();
+    private final AtomicLong loadedMemberCount = new AtomicLong();
+
+    private volatile long lastProgress = System.nanoTime();
+    private volatile boolean started;
+
+    /**
+     * Creates a new startup tracker.
+     *
+     * @param api The discord api instance.
+     */
+    public StartupTracker(DiscordApiImpl api) {
+        this.api = api;
+    }
+
+    /**
+     * Adds a server which has to be loaded before the startup is finished.
+     *
+     * @param serverId The id of the server.
+     */
+    public void addPendingServer(long serverId) {
+        if (finished.isDone()) {
+            return;
+        }
+        if (pendingServerIds.add(serverId)) {
+            expectedServerCount.incrementAndGet();
+            lastProgress = System.nanoTime();
+        }
+    }
+
+    /**
+     * Marks a server as loaded.
+     *
+     * @param serverId The id of the server.
+     */
+    public void serverLoaded(long serverId) {
+        if (finished.isDone()) {
+            return;
+        }
+        if (pendingServerIds.remove(serverId)) {
+            loadedServerCount.incrementAndGet();
+            lastProgress = System.nanoTime();
+        }
+        memberProgress.remove(serverId);
+        checkIfFinished();
+    }
+
+    /**
+     * Updates the member progress of a server.
+     *
+     * @param serverId The id of the server.
+     * @param loadedMembers The amount of cached members of the server.
+     * @param expectedMembers The total amount of members of the server.
+     */
+    public void updateMemberProgress(long serverId, int loadedMembers, int expectedMembers) {
+        if (finished.isDone()) {
+            return;
+        }
+        int[] previous = memberProgress.put(serverId, new int[] {loadedMembers, expectedMembers});
+        loadedMemberCount.addAndGet(loadedMembers - (previous == null ? 0 : previous[0]));
+        expectedMemberCount.addAndGet(expectedMembers - (previous == null ? 0 : previous[1]));
+        lastProgress = System.nanoTime();
+    }
+
+    /**
+     * Starts waiting for the pending servers once the READY packet was handled.
+     *
+     * @return A future which is completed once the startup is finished.
+     */
+    public CompletableFuture<Void> start() {
+        started = true;
+        if (!api.isWaitingForServersOnStartup()) {
+            finished.complete(null);
+            return finished;
+        }
+        checkIfFinished();
+        if (!finished.isDone()) {
+            scheduleStallCheck(STALL_TIMEOUT_NANOS);
+        }
+        return finished;
+    }
+
+    /**
+     * Finishes the startup if it was started and no server is pending.
+     */
+    private void checkIfFinished() {
+        if (started && pendingServerIds.isEmpty() && finished.complete(null)) {
+            logger.debug("Finished startup after loading {} servers with {} members",
+                    loadedServerCount.get(), loadedMemberCount.get());
+        }
+    }
+
+    /**
+     * Schedules a check whether the startup made progress in the last {@link #STALL_TIMEOUT_NANOS}.
+     *
+     * @param delay The delay of the check in nanoseconds.
+     */
+    private void scheduleStallCheck(long delay) {
+        api.getThreadPool().getScheduler().schedule(() -> {
+            if (finished.isDone()) {
+                return;
+            }
+            long idle = System.nanoTime() - lastProgress;
+            if (idle < STALL_TIMEOUT_NANOS) {
+                scheduleStallCheck(STALL_TIMEOUT_NANOS - idle);
+                return;
+            }
+            logger.debug("No startup progress for {} seconds. Finishing startup with {} pending servers",
+                    TimeUnit.NANOSECONDS.toSeconds(idle), pendingServerIds.size());
+            finished.complete(null);
+        }, delay, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public boolean isFinished() {
+        return finished.isDone();
+    }
+
+    @Override
+    public int getExpectedServerCount() {
+        return expectedServerCount.get();
+    }
+
+    @Override
+    public int getLoadedServerCount() {
+        return loadedServerCount.get();
+    }
+
+    @Override
+    public long getExpectedMemberCount() {
+        return expectedMemberCount.get();
+    }
+
+    @Override
+    public long getLoadedMemberCount() {
+        return loadedMemberCount.get();
+    }
+
+}
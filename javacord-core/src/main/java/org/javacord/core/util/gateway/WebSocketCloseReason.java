@@ -6,7 +6,9 @@ package org.javacord.core.util.gateway;
 public enum WebSocketCloseReason {
 
     DISCONNECT(WebSocketCloseCode.NORMAL),
+    DISCONNECT_RESUMABLE(WebSocketCloseCode.UNKNOWN_ERROR, "Disconnected with a resumable session"),
     HEARTBEAT_NOT_PROPERLY_ANSWERED(WebSocketCloseCode.UNKNOWN_ERROR, "Heartbeat was not answered properly"),
+    DECOMPRESSION_FAILED(WebSocketCloseCode.UNKNOWN_ERROR, "The zlib stream could not be decompressed"),
     COMMANDED_RECONNECT(WebSocketCloseCode.COMMANDED_RECONNECT, "Discord commanded a reconnect (Received opcode 7)");
 
     /**
@@ -39,6 +39,11 @@ public class WebSocketFrameSendingQueueEntry implements Comparable<WebSocketFram
      */
     private final boolean lifecycle;
 
+    /**
+     * A listener which is called after the frame was sent. Might be {@code null}.
+     */
+    private final Runnable sentListener;
+
     /**
      * The timestamp when this entry was created.
      */
@@ -54,6 +59,20 @@ public class WebSocketFrameSendingQueueEntry implements Comparable<WebSocketFram
      */
     public WebSocketFrameSendingQueueEntry(
             WebSocket webSocket, WebSocketFrame webSocketFrame, boolean priority, boolean lifecycle) {
+        this(webSocket, webSocketFrame, priority, lifecycle, null);
+    }
+
+    /**
+     * Creates a new web socket frame sending queue entry.
+     *
+     * @param webSocket The web socket on which to send the frame.
+     * @param webSocketFrame The web socket frame to be sent.
+     * @param priority Whether this entry is a priority entry.
+     * @param lifecycle Whether this entry is a lifecycle entry.
+     * @param sentListener A listener which is called after the frame was sent. Might be {@code null}.
+     */
+    public WebSocketFrameSendingQueueEntry(WebSocket webSocket, WebSocketFrame webSocketFrame, boolean priority,
+                                           boolean lifecycle, Runnable sentListener) {
         if (lifecycle && (webSocket == null)) {
             throw new IllegalArgumentException("lifecycle frame sending requests must specify the web socket");
         }
@@ -61,6 +80,7 @@ public class WebSocketFrameSendingQueueEntry implements Comparable<WebSocketFram
         this.webSocketFrame = webSocketFrame;
         this.priority = priority;
         this.lifecycle = lifecycle;
+        this.sentListener = sentListener;
     }
 
     /**
@@ -99,6 +119,15 @@ public class WebSocketFrameSendingQueueEntry implements Comparable<WebSocketFram
         return lifecycle;
     }
 
+    /**
+     * Informs the sent listener that the frame was sent.
+     */
+    public void notifySent() {
+        if (sentListener != null) {
+            sentListener.run();
+        }
+    }
+
     @Override
     public int compareTo(WebSocketFrameSendingQueueEntry other) {
         return ENTRY_COMPARATOR.compare(this, other);
@@ -0,0 +1,135 @@
+package org.javacord.core.util.gateway;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Decompresses the binary messages of a gateway connection with {@code zlib-stream} transport compression.
+ *
+ * <p>All messages of a connection share one zlib context, so one instance must be used per connection and must not
+ * be shared between threads. A message may be split across multiple binary frames, the last of which ends with the
+ * {@code Z_SYNC_FLUSH} suffix {@code 00 00 ff ff}.
+ */
+public class ZlibStreamDecompressor {
+
+    /**
+     * The initial size of the buffers.
+     */
+    private static final int INITIAL_BUFFER_SIZE = 8 * 1024;
+
+    /**
+     * The inflater of the connection.
+     */
+    private final Inflater inflater = new Inflater();
+
+    /**
+     * The buffer for the frames of a message that was not completely received yet.
+     */
+    private byte[] compressedBuffer = new byte[INITIAL_BUFFER_SIZE];
+
+    /**
+     * The amount of bytes in the compressed buffer.
+     */
+    private int compressedLength = 0;
+
+    /**
+     * The buffer for decompressed messages.
+     */
+    private byte[] decompressedBuffer = new byte[INITIAL_BUFFER_SIZE];
+
+    /**
+     * Decompresses the given binary frame.
+     *
+     * @param data The data of the frame.
+     * @return The decompressed message or {@code null} if the message is not complete yet.
+     * @throws DataFormatException If the compressed data format is invalid.
+     */
+    public String decompress(byte[] data) throws DataFormatException {
+        int length = inflate(data);
+        return length < 0 ? null : new String(decompressedBuffer, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Decompresses the given binary frame into the {@link #getBuffer() buffer} of this decompressor.
+     *
+     * @param data The data of the frame.
+     * @return The length of the decompressed message or {@code -1} if the message is not complete yet.
+     * @throws DataFormatException If the compressed data format is invalid.
+     */
+    public int inflate(byte[] data) throws DataFormatException {
+        byte[] input = data;
+        int inputLength = data.length;
+        if (compressedLength > 0 || !endsWithSyncFlush(data, data.length)) {
+            if (compressedLength + data.length > compressedBuffer.length) {
+                compressedBuffer = Arrays.copyOf(
+                        compressedBuffer, Math.max(compressedBuffer.length * 2, compressedLength + data.length));
+            }
+            System.arraycopy(data, 0, compressedBuffer, compressedLength, data.length);
+            compressedLength += data.length;
+            if (!endsWithSyncFlush(compressedBuffer, compressedLength)) {
+                return -1;
+            }
+            input = compressedBuffer;
+            inputLength = compressedLength;
+            compressedLength = 0;
+        }
+
+        inflater.setInput(input, 0, inputLength);
+        int length = 0;
+        do {
+            if (length == decompressedBuffer.length) {
+                decompressedBuffer = Arrays.copyOf(decompressedBuffer, decompressedBuffer.length * 2);
+            }
+            length += inflater.inflate(decompressedBuffer, length, decompressedBuffer.length - length);
+            if (inflater.needsDictionary()) {
+                throw new DataFormatException("Unexpected preset dictionary in zlib stream");
+            }
+        } while (length == decompressedBuffer.length || (!inflater.needsInput() && !inflater.finished()));
+        return length;
+    }
+
+    /**
+     * Gets the buffer which contains the last decompressed message, starting at index 0.
+     * The buffer is reused for the next message.
+     *
+     * @return The buffer with the last decompressed message.
+     */
+    public byte[] getBuffer() {
+        return decompressedBuffer;
+    }
+
+    /**
+     * Resets the zlib context and discards the frames of an incomplete message.
+     * Must be called after a {@link DataFormatException}, as the context is corrupted afterwards.
+     */
+    public void reset() {
+        inflater.reset();
+        compressedLength = 0;
+    }
+
+    /**
+     * Releases the native resources of the inflater.
+     * The decompressor must not be used afterwards.
+     */
+    public void close() {
+        inflater.end();
+    }
+
+    /**
+     * Checks if the given data ends with the {@code Z_SYNC_FLUSH} suffix.
+     *
+     * @param data The data.
+     * @param length The amount of bytes of the data.
+     * @return Whether the given data ends with the suffix or not.
+     */
+    private static boolean endsWithSyncFlush(byte[] data, int length) {
+        return length >= 4
+                && data[length - 4] == 0
+                && data[length - 3] == 0
+                && data[length - 2] == (byte) 0xff
+                && data[length - 1] == (byte) 0xff;
+    }
+
+}
@@ -1,17 +1,24 @@
 package org.javacord.core.util.handler;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import org.apache.logging.log4j.Logger;
 import org.javacord.api.DiscordApi;
 import org.javacord.api.entity.channel.ChannelType;
+import org.javacord.api.entity.server.Server;
 import org.javacord.core.entity.channel.GroupChannelImpl;
 import org.javacord.core.entity.channel.PrivateChannelImpl;
 import org.javacord.core.entity.server.ServerImpl;
 import org.javacord.core.entity.user.MemberImpl;
 import org.javacord.core.entity.user.UserImpl;
 import org.javacord.core.util.gateway.PacketHandler;
+import org.javacord.core.util.handler.guild.GuildDeleteHandler;
+import org.javacord.core.util.handler.guild.ServerReconciler;
 import org.javacord.core.util.logging.LoggerUtil;
 
+import java.util.HashSet;
+import java.util.Set;
+
 /**
  * This class handles the ready packet.
  */
@@ -19,6 +26,9 @@ public class ReadyHandler extends PacketHandler {
 
     private static final Logger logger = LoggerUtil.getLogger(ReadyHandler.class);
 
+    private final GuildDeleteHandler guildDeleteHandler;
+    private final ServerReconciler serverReconciler;
+
     /**
      * Creates a new instance of this class.
      *
@@ -26,20 +36,37 @@ public class ReadyHandler extends PacketHandler {
      */
     public ReadyHandler(DiscordApi api) {
         super(api, false, "READY");
+        guildDeleteHandler = new GuildDeleteHandler(api);
+        serverReconciler = new ServerReconciler(api);
     }
 
     @Override
     public void handle(JsonNode packet) {
-        // Purge the cache first
-        api.purgeCache();
-
         JsonNode guilds = packet.get("guilds");
+        if (api.getAllServers().isEmpty()) {
+            api.purgeCache();
+        } else {
+            // A session could not be resumed. Keep the cache and reconcile it with the following guild create packets
+            removeLeftServers(guilds);
+        }
+
         for (JsonNode guildJson : guilds) {
+            long serverId = guildJson.get("id").asLong();
+            ServerImpl server = api.getPossiblyUnreadyServerById(serverId).map(ServerImpl.class::cast).orElse(null);
             if (guildJson.has("unavailable") && guildJson.get("unavailable").asBoolean()) {
-                api.addUnavailableServerToCache(guildJson.get("id").asLong());
+                if (server == null) {
+                    api.addUnavailableServerToCache(serverId);
+                } else {
+                    // The cached server is kept until its guild create packet is received
+                    api.getStartupTracker().ifPresent(tracker -> tracker.addPendingServer(serverId));
+                }
                 continue;
             }
-            new ServerImpl(api, guildJson);
+            if (server == null) {
+                new ServerImpl(api, guildJson);
+            } else {
+                serverReconciler.reconcile(server, guildJson);
+            }
         }
 
         // Private channels array is empty for bots, see
@@ -65,4 +92,27 @@ public class ReadyHandler extends PacketHandler {
         api.setYourself(new UserImpl(api, packet.get("user"), (MemberImpl) null, null));
     }
 
+    /**
+     * Removes the cached servers which are not part of the new session, because the bot left them in the meantime.
+     *
+     * @param guilds The guilds of the ready packet.
+     */
+    private void removeLeftServers(JsonNode guilds) {
+        Set<Long> serverIds = new HashSet<>();
+        for (JsonNode guildJson : guilds) {
+            serverIds.add(guildJson.get("id").asLong());
+        }
+        for (Server server : api.getAllServers()) {
+            if (!serverIds.contains(server.getId())) {
+                guildDeleteHandler.handlePacketInCurrentThread(
+                        JsonNodeFactory.instance.objectNode().put("id", server.getIdAsString()));
+            }
+        }
+        for (long serverId : api.getUnavailableServers()) {
+            if (!serverIds.contains(serverId)) {
+                api.removeUnavailableServerFromCache(serverId);
+            }
+        }
+    }
+
 }
@@ -190,6 +190,7 @@ public class ChannelUpdateHandler extends PacketHandler {
                 Permissions newOverwrittenPermissions = new PermissionsImpl(allow, deny);
                 if (!newOverwrittenPermissions.equals(oldOverwrittenPermissions)) {
                     overwrittenPermissions.put(entityId, newOverwrittenPermissions);
+                    server.invalidatePermissions();
                     if (server.isReady()) {
                         dispatchServerChannelChangeOverwrittenPermissionsEvent(
                                 channel, newOverwrittenPermissions, oldOverwrittenPermissions, entityId,
@@ -216,6 +217,7 @@ public class ChannelUpdateHandler extends PacketHandler {
             }
             Permissions oldPermissions = entry.getValue();
             userIt.remove();
+            server.invalidatePermissions();
             if (server.isReady()) {
                 dispatchServerChannelChangeOverwrittenPermissionsEvent(
                         channel, PermissionsImpl.EMPTY_PERMISSIONS, oldPermissions, entry.getKey(),
@@ -233,6 +235,7 @@ public class ChannelUpdateHandler extends PacketHandler {
             api.getRoleById(entry.getKey()).ifPresent(role -> {
                 Permissions oldPermissions = entry.getValue();
                 roleIt.remove();
+                server.invalidatePermissions();
                 if (server.isReady()) {
                     dispatchServerChannelChangeOverwrittenPermissionsEvent(
                             channel, PermissionsImpl.EMPTY_PERMISSIONS, oldPermissions, role.getId(), role);
@@ -14,6 +14,8 @@ import org.javacord.core.util.gateway.PacketHandler;
  */
 public class GuildCreateHandler extends PacketHandler {
 
+    private final ServerReconciler serverReconciler;
+
     /**
      * Creates a new instance of this class.
      *
@@ -21,6 +23,7 @@ public class GuildCreateHandler extends PacketHandler {
      */
     public GuildCreateHandler(DiscordApi api) {
         super(api, true, "GUILD_CREATE");
+        serverReconciler = new ServerReconciler(api);
     }
 
     @Override
@@ -29,6 +32,15 @@ public class GuildCreateHandler extends PacketHandler {
             return;
         }
         long id = packet.get("id").asLong();
+        ServerImpl cachedServer = api.getPossiblyUnreadyServerById(id).map(ServerImpl.class::cast).orElse(null);
+        if (cachedServer != null) {
+            // The server was kept from a session which could not be resumed
+            serverReconciler.reconcile(cachedServer, packet);
+            if (cachedServer.isReady()) {
+                api.getStartupTracker().ifPresent(tracker -> tracker.serverLoaded(id));
+            }
+            return;
+        }
         if (api.getUnavailableServers().contains(id)) {
             ServerImpl server = new ServerImpl(api, packet);
             ServerBecomesAvailableEvent event = new ServerBecomesAvailableEventImpl(server);
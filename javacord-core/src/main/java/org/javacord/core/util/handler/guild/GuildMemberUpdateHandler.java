@@ -46,9 +46,12 @@ public class GuildMemberUpdateHandler extends PacketHandler {
         api.getPossiblyUnreadyServerById(packet.get("guild_id").asLong()).map(server -> (ServerImpl) server)
                 .ifPresent(server -> {
                     MemberImpl newMember = new MemberImpl(api, server, packet, null);
-                    Member oldMember = server.getRealMemberById(newMember.getId()).orElse(null);
-
-                    api.addMemberToCacheOrReplaceExisting(newMember);
+                    Member oldMember;
+                    // The packets of other servers might update the same user concurrently
+                    synchronized (api.getUserUpdateLock(newMember.getId())) {
+                        oldMember = server.getRealMemberById(newMember.getId()).orElse(null);
+                        api.addMemberToCacheOrReplaceExisting(newMember);
+                    }
 
                     if (oldMember == null) {
                         // Should only happen shortly after startup and is unproblematic
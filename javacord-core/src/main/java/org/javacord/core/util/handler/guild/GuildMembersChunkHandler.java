@@ -3,6 +3,7 @@ package org.javacord.core.util.handler.guild;
 import com.fasterxml.jackson.databind.JsonNode;
 import org.javacord.api.DiscordApi;
 import org.javacord.core.entity.server.ServerImpl;
+import org.javacord.core.util.gateway.GuildMembersRequestTracker;
 import org.javacord.core.util.gateway.PacketHandler;
 
 /**
@@ -10,6 +11,8 @@ import org.javacord.core.util.gateway.PacketHandler;
  */
 public class GuildMembersChunkHandler extends PacketHandler {
 
+    private final ServerReconciler serverReconciler;
+
     /**
      * Creates a new instance of this class.
      *
@@ -17,13 +20,37 @@ public class GuildMembersChunkHandler extends PacketHandler {
      */
     public GuildMembersChunkHandler(DiscordApi api) {
         super(api, true, "GUILD_MEMBERS_CHUNK");
+        serverReconciler = new ServerReconciler(api);
     }
 
     @Override
     public void handle(JsonNode packet) {
-        api.getPossiblyUnreadyServerById(packet.get("guild_id").asLong())
-            .map(server -> (ServerImpl) server)
-            .ifPresent(server -> server.addMembers(packet.get("members")));
+        long serverId = packet.get("guild_id").asLong();
+        ServerImpl server = api.getPossiblyUnreadyServerById(serverId).map(ServerImpl.class::cast).orElse(null);
+        if (server != null) {
+            if (server.isResyncingMembers()) {
+                serverReconciler.reconcileMemberChunk(server, packet.get("members"));
+            } else {
+                server.addMembers(packet.get("members"));
+            }
+        }
+
+        GuildMembersRequestTracker tracker = api.getWebSocketAdapter().getGuildMembersRequestTracker();
+        if (packet.hasNonNull("nonce")) {
+            boolean lastChunk = tracker.handleChunk(serverId, packet.get("nonce").asText(),
+                    packet.path("chunk_index").asInt(0), packet.path("chunk_count").asInt(1));
+            if (lastChunk && server != null) {
+                serverReconciler.finishMemberResync(server);
+            }
+        }
+        if (packet.hasNonNull("not_found")) {
+            for (JsonNode notFoundServerId : packet.get("not_found")) {
+                tracker.cancel(notFoundServerId.asLong());
+                api.getPossiblyUnreadyServerById(notFoundServerId.asLong())
+                        .map(ServerImpl.class::cast)
+                        .ifPresent(ServerImpl::finishMemberResync);
+            }
+        }
     }
 
 }
\ No newline at end of file
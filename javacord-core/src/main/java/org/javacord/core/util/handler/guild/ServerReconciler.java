@@ -0,0 +1,380 @@
+package org.javacord.core.util.handler.guild;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.javacord.api.DiscordApi;
+import org.javacord.api.entity.channel.ServerChannel;
+import org.javacord.api.entity.channel.ServerVoiceChannel;
+import org.javacord.api.entity.intent.Intent;
+import org.javacord.api.entity.permission.Role;
+import org.javacord.api.entity.user.User;
+import org.javacord.api.entity.user.UserStatus;
+import org.javacord.api.event.server.member.ServerMemberJoinEvent;
+import org.javacord.core.DiscordApiImpl;
+import org.javacord.core.entity.channel.ServerVoiceChannelImpl;
+import org.javacord.core.entity.server.ServerImpl;
+import org.javacord.core.entity.user.Member;
+import org.javacord.core.entity.user.MemberImpl;
+import org.javacord.core.entity.user.UserImpl;
+import org.javacord.core.entity.user.UserPresence;
+import org.javacord.core.event.server.member.ServerMemberJoinEventImpl;
+import org.javacord.core.util.gateway.PacketHandler;
+import org.javacord.core.util.handler.channel.ChannelCreateHandler;
+import org.javacord.core.util.handler.channel.ChannelDeleteHandler;
+import org.javacord.core.util.handler.channel.ChannelUpdateHandler;
+import org.javacord.core.util.handler.guild.role.GuildRoleCreateHandler;
+import org.javacord.core.util.handler.guild.role.GuildRoleDeleteHandler;
+import org.javacord.core.util.handler.guild.role.GuildRoleUpdateHandler;
+import org.javacord.core.util.handler.user.PresenceUpdateHandler;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Reconciles a cached server with its guild create packet after a new gateway session was started.
+ *
+ * <p>If a session could not be resumed, the cache of the previous session is kept instead of being purged. The guild
+ * create packets of the new session are compared with the cached servers, which are updated in place. Every
+ * difference is applied by the handler of the packet that would have announced it, so only the events of actual
+ * changes are dispatched and all cached objects, messages and attached listeners stay valid.
+ */
+public class ServerReconciler {
+
+    private final DiscordApiImpl api;
+
+    private final PacketHandler guildUpdateHandler;
+    private final PacketHandler roleCreateHandler;
+    private final PacketHandler roleUpdateHandler;
+    private final PacketHandler roleDeleteHandler;
+    private final PacketHandler channelCreateHandler;
+    private final PacketHandler channelUpdateHandler;
+    private final PacketHandler channelDeleteHandler;
+    private final PacketHandler emojisUpdateHandler;
+    private final PacketHandler memberUpdateHandler;
+    private final PacketHandler memberRemoveHandler;
+    private final PacketHandler voiceStateUpdateHandler;
+    private final PacketHandler presenceUpdateHandler;
+
+    /**
+     * Creates a new server reconciler.
+     *
+     * @param api The api.
+     */
+    public ServerReconciler(DiscordApi api) {
+        this.api = (DiscordApiImpl) api;
+        guildUpdateHandler = new GuildUpdateHandler(api);
+        roleCreateHandler = new GuildRoleCreateHandler(api);
+        roleUpdateHandler = new GuildRoleUpdateHandler(api);
+        roleDeleteHandler = new GuildRoleDeleteHandler(api);
+        channelCreateHandler = new ChannelCreateHandler(api);
+        channelUpdateHandler = new ChannelUpdateHandler(api);
+        channelDeleteHandler = new ChannelDeleteHandler(api);
+        emojisUpdateHandler = new GuildEmojisUpdateHandler(api);
+        memberUpdateHandler = new GuildMemberUpdateHandler(api);
+        memberRemoveHandler = new GuildMemberRemoveHandler(api);
+        voiceStateUpdateHandler = new VoiceStateUpdateHandler(api);
+        presenceUpdateHandler = new PresenceUpdateHandler(api);
+    }
+
+    /**
+     * Updates the given server in place to match the given guild create packet.
+     *
+     * @param server The cached server.
+     * @param packet The guild create packet of the server.
+     */
+    public void reconcile(ServerImpl server, JsonNode packet) {
+        guildUpdateHandler.handlePacketInCurrentThread(packet);
+        reconcileRoles(server, packet);
+        reconcileChannels(server, packet);
+        if (packet.has("emojis")) {
+            ObjectNode emojisPacket = createPacket(server);
+            emojisPacket.set("emojis", packet.get("emojis"));
+            emojisUpdateHandler.handlePacketInCurrentThread(emojisPacket);
+        }
+        Map<Long, JsonNode> members = reconcileMembers(server, packet);
+        reconcileVoiceStates(server, packet, members);
+        reconcilePresences(server, packet);
+    }
+
+    /**
+     * Creates, updates and deletes the roles of the server.
+     *
+     * @param server The cached server.
+     * @param packet The guild create packet of the server.
+     */
+    private void reconcileRoles(ServerImpl server, JsonNode packet) {
+        Set<Long> roleIds = new HashSet<>();
+        for (JsonNode roleJson : packet.path("roles")) {
+            long roleId = roleJson.get("id").asLong();
+            roleIds.add(roleId);
+            ObjectNode rolePacket = createPacket(server);
+            rolePacket.set("role", roleJson);
+            if (server.getRoleById(roleId).isPresent()) {
+                roleUpdateHandler.handlePacketInCurrentThread(rolePacket);
+            } else {
+                roleCreateHandler.handlePacketInCurrentThread(rolePacket);
+            }
+        }
+        for (Role role : server.getRoles()) {
+            if (!roleIds.contains(role.getId())) {
+                ObjectNode rolePacket = createPacket(server).put("role_id", role.getIdAsString());
+                roleDeleteHandler.handlePacketInCurrentThread(rolePacket);
+            }
+        }
+    }
+
+    /**
+     * Creates, updates and deletes the channels of the server.
+     *
+     * @param server The cached server.
+     * @param packet The guild create packet of the server.
+     */
+    private void reconcileChannels(ServerImpl server, JsonNode packet) {
+        Set<Long> channelIds = new HashSet<>();
+        for (JsonNode channelJson : packet.path("channels")) {
+            long channelId = channelJson.get("id").asLong();
+            channelIds.add(channelId);
+            ObjectNode channelPacket = ((ObjectNode) channelJson).deepCopy()
+                    .put("guild_id", server.getIdAsString());
+            if (server.getChannelById(channelId).isPresent()) {
+                channelUpdateHandler.handlePacketInCurrentThread(channelPacket);
+            } else {
+                channelCreateHandler.handlePacketInCurrentThread(channelPacket);
+            }
+        }
+        for (ServerChannel channel : server.getUnorderedChannels()) {
+            if (!channelIds.contains(channel.getId())) {
+                channelDeleteHandler.handlePacketInCurrentThread(createPacket(server)
+                        .put("id", channel.getIdAsString())
+                        .put("type", channel.getType().getId()));
+            }
+        }
+    }
+
+    /**
+     * Adds, updates and removes the members of the server.
+     *
+     * <p>Members can only be removed if the packet contains all members of the server. Otherwise, all members are
+     * requested again and the cached members which are not part of the response are removed once all member chunks
+     * were received.
+     *
+     * @param server The cached server.
+     * @param packet The guild create packet of the server.
+     * @return The members of the packet, mapped by their id.
+     */
+    private Map<Long, JsonNode> reconcileMembers(ServerImpl server, JsonNode packet) {
+        Map<Long, JsonNode> members = new HashMap<>();
+        for (JsonNode memberJson : packet.path("members")) {
+            members.put(memberJson.get("user").get("id").asLong(), memberJson);
+        }
+
+        int memberCount = packet.get("member_count").asInt();
+        if (members.size() >= memberCount) {
+            removeLeftMembers(server, members.keySet());
+        } else {
+            server.resyncMembers(members.keySet());
+        }
+        server.setMemberCount(memberCount);
+
+        members.values().forEach(memberJson -> addOrUpdateMember(server, memberJson));
+        return members;
+    }
+
+    /**
+     * Adds or updates the members of a member chunk while the members of the server are resynchronized.
+     *
+     * @param server The cached server.
+     * @param members The members of the chunk.
+     */
+    public void reconcileMemberChunk(ServerImpl server, JsonNode members) {
+        for (JsonNode memberJson : members) {
+            server.addResyncedMemberId(memberJson.get("user").get("id").asLong());
+            addOrUpdateMember(server, memberJson);
+        }
+    }
+
+    /**
+     * Removes the cached members which were not part of the member chunks, once all chunks of the resynchronization
+     * of the members of the server were received.
+     *
+     * @param server The cached server.
+     */
+    public void finishMemberResync(ServerImpl server) {
+        server.finishMemberResync().ifPresent(memberIds -> {
+            // The member count of the guild create packet does not include the members who left in the meantime
+            int memberCount = server.getMemberCount();
+            removeLeftMembers(server, memberIds);
+            server.setMemberCount(memberCount);
+        });
+    }
+
+    /**
+     * Removes the cached members of the server which are not part of the given members.
+     *
+     * @param server The cached server.
+     * @param memberIds The ids of all members of the server.
+     */
+    private void removeLeftMembers(ServerImpl server, Set<Long> memberIds) {
+        List<Member> leftMembers = new ArrayList<>();
+        for (Member member : server.getRealMembers()) {
+            if (!memberIds.contains(member.getId())) {
+                leftMembers.add(member);
+            }
+        }
+        for (Member member : leftMembers) {
+            ObjectNode memberPacket = createPacket(server);
+            ((UserImpl) member.getUser()).toJsonNode(memberPacket.putObject("user"));
+            memberRemoveHandler.handlePacketInCurrentThread(memberPacket);
+        }
+    }
+
+    /**
+     * Updates a cached member or adds a member which was not cached yet.
+     *
+     * <p>If all members of the server are cached, a member which was not cached yet joined the server in the
+     * meantime. Otherwise, it might only have been uncached, so it is added silently, like the members of a chunk.
+     *
+     * @param server The cached server.
+     * @param memberJson The member.
+     */
+    private void addOrUpdateMember(ServerImpl server, JsonNode memberJson) {
+        if (server.getRealMemberById(memberJson.get("user").get("id").asLong()).isPresent()) {
+            ObjectNode memberPacket = ((ObjectNode) memberJson).deepCopy()
+                    .put("guild_id", server.getIdAsString());
+            memberUpdateHandler.handlePacketInCurrentThread(memberPacket);
+            return;
+        }
+        MemberImpl member = server.addMember(memberJson);
+        if (api.hasUserCacheEnabled()) {
+            User user = new UserImpl(api, memberJson.get("user"), member, server);
+            ServerMemberJoinEvent event = new ServerMemberJoinEventImpl(server, user);
+            api.getEventDispatcher().dispatchServerMemberJoinEvent(server, server, user, event);
+        }
+    }
+
+    /**
+     * Moves the users of the server into the voice channels they are connected to.
+     *
+     * @param server The cached server.
+     * @param packet The guild create packet of the server.
+     * @param members The members of the packet, mapped by their id.
+     */
+    private void reconcileVoiceStates(ServerImpl server, JsonNode packet, Map<Long, JsonNode> members) {
+        Map<Long, JsonNode> voiceStates = new HashMap<>();
+        for (JsonNode voiceStateJson : packet.path("voice_states")) {
+            if (voiceStateJson.hasNonNull("channel_id")) {
+                voiceStates.put(voiceStateJson.get("user_id").asLong(), voiceStateJson);
+            }
+        }
+
+        for (ServerVoiceChannel channel : server.getVoiceChannels()) {
+            for (long userId : new ArrayList<>(channel.getConnectedUserIds())) {
+                if (voiceStates.containsKey(userId)) {
+                    continue;
+                }
+                ObjectNode voiceStatePacket = createPacket(server)
+                        .put("user_id", Long.toUnsignedString(userId))
+                        .putNull("channel_id")
+                        .put("self_mute", server.isSelfMuted(userId))
+                        .put("self_deaf", server.isSelfDeafened(userId))
+                        .put("mute", server.isMuted(userId))
+                        .put("deaf", server.isDeafened(userId));
+                applyVoiceState(server, userId, voiceStatePacket, members);
+            }
+        }
+
+        voiceStates.forEach((userId, voiceStateJson) -> {
+            ObjectNode voiceStatePacket = ((ObjectNode) voiceStateJson).deepCopy()
+                    .put("guild_id", server.getIdAsString());
+            applyVoiceState(server, userId, voiceStatePacket, members);
+        });
+    }
+
+    /**
+     * Applies a voice state of a user.
+     *
+     * <p>The voice state update handler needs the member of the voice state to dispatch its events. If the member is
+     * unknown or if it is the own user, whose audio connection must not be touched, the connected user of the voice
+     * channels is updated silently.
+     *
+     * @param server The cached server.
+     * @param userId The id of the user.
+     * @param voiceStatePacket The voice state update packet.
+     * @param members The members of the packet, mapped by their id.
+     */
+    private void applyVoiceState(
+            ServerImpl server, long userId, ObjectNode voiceStatePacket, Map<Long, JsonNode> members) {
+        Optional<JsonNode> memberJson = Optional.ofNullable(members.get(userId));
+        if (!memberJson.isPresent()) {
+            memberJson = server.getRealMemberById(userId)
+                    .map(member -> ((MemberImpl) member).toJsonNode(JsonNodeFactory.instance.objectNode()));
+        }
+        if (memberJson.isPresent() && userId != api.getYourself().getId()) {
+            voiceStatePacket.set("member", memberJson.get());
+            voiceStateUpdateHandler.handlePacketInCurrentThread(voiceStatePacket);
+            return;
+        }
+        server.getConnectedVoiceChannel(userId)
+                .map(ServerVoiceChannelImpl.class::cast)
+                .ifPresent(channel -> channel.removeConnectedUser(userId));
+        if (voiceStatePacket.hasNonNull("channel_id")) {
+            server.getVoiceChannelById(voiceStatePacket.get("channel_id").asLong())
+                    .map(ServerVoiceChannelImpl.class::cast)
+                    .ifPresent(channel -> channel.addConnectedUser(userId));
+        }
+    }
+
+    /**
+     * Updates the presences of the members of the server.
+     *
+     * <p>Offline members are not part of the packet, so every cached member who is not part of it went offline.
+     *
+     * @param server The cached server.
+     * @param packet The guild create packet of the server.
+     */
+    private void reconcilePresences(ServerImpl server, JsonNode packet) {
+        if (!api.getIntents().contains(Intent.GUILD_PRESENCES)) {
+            return;
+        }
+        Set<Long> onlineUserIds = new HashSet<>();
+        for (JsonNode presenceJson : packet.path("presences")) {
+            onlineUserIds.add(presenceJson.get("user").get("id").asLong());
+            ObjectNode presencePacket = ((ObjectNode) presenceJson).deepCopy()
+                    .put("guild_id", server.getIdAsString());
+            presenceUpdateHandler.handlePacketInCurrentThread(presencePacket);
+        }
+        for (Member member : server.getRealMembers()) {
+            if (onlineUserIds.contains(member.getId())) {
+                continue;
+            }
+            UserStatus status = api.getEntityCache().get().getUserPresenceCache().getPresenceByUserId(member.getId())
+                    .map(UserPresence::getStatus)
+                    .orElse(UserStatus.OFFLINE);
+            if (status != UserStatus.OFFLINE) {
+                ObjectNode presencePacket = createPacket(server)
+                        .put("status", UserStatus.OFFLINE.getStatusString())
+                        .putNull("game");
+                presencePacket.putObject("user").put("id", member.getIdAsString());
+                presencePacket.putObject("client_status");
+                presenceUpdateHandler.handlePacketInCurrentThread(presencePacket);
+            }
+        }
+    }
+
+    /**
+     * Creates a packet for the given server.
+     *
+     * @param server The server.
+     * @return A packet which only contains the id of the server.
+     */
+    private static ObjectNode createPacket(ServerImpl server) {
+        return JsonNodeFactory.instance.objectNode().put("guild_id", server.getIdAsString());
+    }
+
+}
@@ -46,6 +46,19 @@ public class PresenceUpdateHandler extends PacketHandler {
         // ignore the guild_id and send to all mutual servers instead or we must track the properties per server
         // or all packets after the first do not detect a change and will not send around an event for the server
         long userId = packet.get("user").get("id").asLong();
+        // The packets of other servers might update the same user concurrently
+        synchronized (api.getUserUpdateLock(userId)) {
+            handle(userId, packet);
+        }
+    }
+
+    /**
+     * Handles the presence update packet while holding the update lock of the user.
+     *
+     * @param userId The id of the user.
+     * @param packet The packet (the "d"-object).
+     */
+    private void handle(long userId, JsonNode packet) {
         UserImpl oldUser = api.getCachedUserById(userId).map(UserImpl.class::cast).orElse(null);
 
         AtomicReference<UserPresence> presence = new AtomicReference<>(
@@ -95,10 +108,7 @@ public class PresenceUpdateHandler extends PacketHandler {
                 }
             }
         }
-        Map<DiscordClient, UserStatus> newClientStatus = api.getEntityCache().get().getUserPresenceCache()
-                .getPresenceByUserId(userId)
-                .map(UserPresence::getClientStatus)
-                .orElse(HashMap.empty());
+        Map<DiscordClient, UserStatus> newClientStatus = presence.get().getClientStatus();
 
         api.updateUserPresence(userId, p -> presence.get());
 
@@ -155,12 +165,10 @@ public class PresenceUpdateHandler extends PacketHandler {
                                                                Map<DiscordClient, UserStatus> oldClientStatus) {
         UserImpl user = api.getCachedUserById(userId).map(UserImpl.class::cast).orElse(null);
         // Only dispatch the event if something changed
-        boolean shouldDispatch = false;
-        if (newClientStatus != oldClientStatus) {
-            shouldDispatch = true;
-        }
+        boolean shouldDispatch = newStatus != oldStatus;
         for (DiscordClient client : DiscordClient.values()) {
-            if (newClientStatus.get(client) != oldClientStatus.get(client)) {
+            if (newClientStatus.get(client).getOrElse(UserStatus.OFFLINE)
+                    != oldClientStatus.get(client).getOrElse(UserStatus.OFFLINE)) {
                 shouldDispatch = true;
             }
         }
@@ -8,6 +8,7 @@ import com.neovisionaries.ws.client.WebSocketListener;
 import com.neovisionaries.ws.client.WebSocketState;
 import org.apache.logging.log4j.Logger;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 
@@ -73,7 +74,7 @@ public class WebSocketLogger implements WebSocketListener {
 
     @Override
     public void onTextMessage(WebSocket websocket, byte[] data) {
-        logger.trace("onTextFrame: data='{}'", data);
+        logger.trace("onTextMessage: text='{}'", () -> new String(data, StandardCharsets.UTF_8));
     }
 
     @Override
@@ -20,6 +20,7 @@ public class RatelimitBucket {
 
     private final RestEndpoint endpoint;
     private final String majorUrlParameter;
+    private final String bucketHash;
 
     private volatile long ratelimitResetTimestamp = 0;
     private volatile int ratelimitRemaining = 1;
@@ -42,12 +43,63 @@ public class RatelimitBucket {
      * @param majorUrlParameter The url parameter this bucket is specific for. May be null.
      */
     public RatelimitBucket(DiscordApi api, RestEndpoint endpoint, String majorUrlParameter) {
+        this(api, endpoint, majorUrlParameter, null);
+    }
+
+    /**
+     * Creates a RatelimitBucket for the given endpoint / parameter combination.
+     *
+     * <p>If a bucket hash is given, the bucket is shared by all routes for which Discord sent this hash in the
+     * {@code X-RateLimit-Bucket} header, and the endpoint is only used for logging.
+     *
+     * @param api The api/shard to use.
+     * @param endpoint The REST endpoint the ratelimit is tracked for.
+     * @param majorUrlParameter The url parameter this bucket is specific for. May be null.
+     * @param bucketHash The bucket hash Discord sent for the endpoint. May be null.
+     */
+    public RatelimitBucket(DiscordApi api, RestEndpoint endpoint, String majorUrlParameter, String bucketHash) {
         this.api = (DiscordApiImpl) api;
         if (endpoint.isGlobal()) {
             endpoint = null;
         }
         this.endpoint = endpoint;
         this.majorUrlParameter = majorUrlParameter;
+        this.bucketHash = endpoint == null ? null : bucketHash;
+    }
+
+    /**
+     * Gets the key of the bucket for the given endpoint / parameter combination.
+     *
+     * <p>Two buckets are equal if, and only if, their keys are equal.
+     *
+     * @param endpoint The REST endpoint the ratelimit is tracked for.
+     * @param majorUrlParameter The url parameter the bucket is specific for. May be null.
+     * @return The key of the bucket.
+     */
+    public static String getKey(RestEndpoint endpoint, String majorUrlParameter) {
+        String endpointKey = endpoint == null || endpoint.isGlobal() ? "global" : endpoint.name();
+        return majorUrlParameter == null ? endpointKey : endpointKey + ':' + majorUrlParameter;
+    }
+
+    /**
+     * Gets the key of this bucket.
+     *
+     * @return The key of this bucket.
+     */
+    public String getKey() {
+        return bucketHash == null ? getKey(endpoint, majorUrlParameter) : getSharedKey(bucketHash, majorUrlParameter);
+    }
+
+    /**
+     * Gets the key of the bucket that is shared by all routes with the given bucket hash / parameter combination.
+     *
+     * @param bucketHash The bucket hash Discord sent in the {@code X-RateLimit-Bucket} header.
+     * @param majorUrlParameter The url parameter the bucket is specific for. May be null.
+     * @return The key of the bucket.
+     */
+    public static String getSharedKey(String bucketHash, String majorUrlParameter) {
+        String hashKey = "hash:" + bucketHash;
+        return majorUrlParameter == null ? hashKey : hashKey + ':' + majorUrlParameter;
     }
 
     /**
@@ -106,14 +158,15 @@ public class RatelimitBucket {
     }
 
     /**
-     * Gets the time in seconds how long you have to wait till there's space in the bucket again.
+     * Gets the time in milliseconds how long you have to wait till there's space in the bucket again.
      *
-     * @return The time in seconds how long you have to wait till there's space in the bucket again.
+     * @return The time in milliseconds how long you have to wait till there's space in the bucket again.
      */
     public int getTimeTillSpaceGetsAvailable() {
         long globalRatelimitResetTimestamp =
                 RatelimitBucket.globalRatelimitResetTimestamp.getOrDefault(api.getToken(), 0L);
-        long timestamp = System.currentTimeMillis() + (api.getTimeOffset() == null ? 0 : api.getTimeOffset());
+        // All timestamps are in local time, as they are calculated from the relative X-RateLimit-Reset-After header
+        long timestamp = System.currentTimeMillis();
         if (ratelimitRemaining > 0 && (globalRatelimitResetTimestamp - timestamp) <= 0) {
             return 0;
         }
@@ -128,10 +181,10 @@ public class RatelimitBucket {
      * @return Whether a bucket created with the given parameters would equal this bucket or not.
      */
     public boolean equals(RestEndpoint endpoint, String majorUrlParameter) {
-        if (endpoint.isGlobal()) {
+        if (endpoint != null && endpoint.isGlobal()) {
             endpoint = null;
         }
-        boolean endpointSame = this.endpoint == endpoint;
+        boolean endpointSame = this.endpoint == endpoint && bucketHash == null;
         boolean majorUrlParameterBothNull = this.majorUrlParameter == null && majorUrlParameter == null;
         boolean majorUrlParameterEqual =
                 this.majorUrlParameter != null && this.majorUrlParameter.equals(majorUrlParameter);
@@ -146,24 +199,21 @@ public class RatelimitBucket {
             return false;
         }
         RatelimitBucket otherBucket = (RatelimitBucket) obj;
-        return equals(otherBucket.endpoint, otherBucket.majorUrlParameter);
+        return getKey().equals(otherBucket.getKey());
     }
 
     @Override
     public int hashCode() {
-        int hash = 42;
-        int urlParamHash = majorUrlParameter == null ? 0 : majorUrlParameter.hashCode();
-        int endpointHash = endpoint == null ? 0 : endpoint.hashCode();
-
-        hash = hash * 11 + urlParamHash;
-        hash = hash * 17 + endpointHash;
-        return hash;
+        return getKey().hashCode();
     }
 
     @Override
     public String toString() {
         String str = "Endpoint: " + (endpoint == null ? "global" : endpoint.getEndpointUrl());
         str += ", Major url parameter:" + (majorUrlParameter == null ? "none" : majorUrlParameter);
+        if (bucketHash != null) {
+            str += ", Bucket hash: " + bucketHash;
+        }
         return str;
     }
 }
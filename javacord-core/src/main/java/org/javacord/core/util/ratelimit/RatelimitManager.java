@@ -5,15 +5,24 @@ import org.apache.logging.log4j.Logger;
 import org.javacord.api.exception.DiscordException;
 import org.javacord.core.DiscordApiImpl;
 import org.javacord.core.util.logging.LoggerUtil;
+import org.javacord.core.util.rest.RestEndpoint;
 import org.javacord.core.util.rest.RestRequest;
 import org.javacord.core.util.rest.RestRequestResponseInformationImpl;
 import org.javacord.core.util.rest.RestRequestResult;
 
 import java.time.OffsetDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 
 /**
@@ -32,9 +41,21 @@ public class RatelimitManager {
     private final DiscordApiImpl api;
 
     /**
-     * A set with all buckets.
+     * A map with all buckets which currently have queued requests or an active ratelimit.
+     *
+     * <p>The key is the bucket key of the endpoint and major url parameter, see
+     * {@link RatelimitBucket#getKey(RestEndpoint, String)}, or of the bucket hash and major url parameter if Discord
+     * already told us the bucket of the route, see {@link RatelimitBucket#getSharedKey(String, String)}.
      */
-    private final Set<RatelimitBucket> buckets = new HashSet<>();
+    private final ConcurrentHashMap<String, RatelimitBucket> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * A map with the bucket hashes Discord sent in the {@code X-RateLimit-Bucket} header.
+     *
+     * <p>The key is the route of the request, which consists of the http method and the endpoint.
+     * Routes with the same bucket hash share their ratelimit.
+     */
+    private final ConcurrentHashMap<String, String> bucketHashByRoute = new ConcurrentHashMap<>();
 
     /**
      * Creates a new ratelimit manager.
@@ -46,12 +67,12 @@ public class RatelimitManager {
     }
 
     /**
-     * Gets a set with all ratelimit buckets.
+     * Gets a collection with all ratelimit buckets.
      *
-     * @return A set with all ratelimit buckets.
+     * @return A collection with all ratelimit buckets.
      */
-    public Set<RatelimitBucket> getBuckets() {
-        return buckets;
+    public Collection<RatelimitBucket> getBuckets() {
+        return Collections.unmodifiableCollection(buckets.values());
     }
 
     /**
@@ -61,101 +82,215 @@ public class RatelimitManager {
      * @param request The request to queue.
      */
     public void queueRequest(RestRequest<?> request) {
-        final RatelimitBucket bucket;
-        final boolean alreadyInQueue;
-        synchronized (buckets) {
-            // Search for a bucket that fits to this request
-            bucket = buckets.stream()
-                    .filter(b -> b.equals(request.getEndpoint(), request.getMajorUrlParameter().orElse(null)))
-                    .findAny()
-                    .orElseGet(() -> new RatelimitBucket(
-                            api, request.getEndpoint(), request.getMajorUrlParameter().orElse(null)));
+        RestEndpoint endpoint = request.getEndpoint();
+        String majorUrlParameter = request.getMajorUrlParameter().orElse(null);
+        String bucketHash = getBucketHash(request);
+        String key = getBucketKey(request);
 
+        AtomicBoolean alreadyInQueue = new AtomicBoolean();
+        RatelimitBucket bucket = buckets.compute(key, (k, existingBucket) -> {
+            RatelimitBucket newBucket = existingBucket == null
+                    ? new RatelimitBucket(api, endpoint, majorUrlParameter, bucketHash)
+                    : existingBucket;
             // Must be executed BEFORE adding the request to the queue
-            alreadyInQueue = bucket.peekRequestFromQueue() != null;
-
-            // Add the bucket to the set of buckets (does nothing if it's already in the set)
-            buckets.add(bucket);
-
-            // Add the request to the bucket's queue
-            bucket.addRequestToQueue(request);
-        }
+            alreadyInQueue.set(newBucket.peekRequestFromQueue() != null);
+            newBucket.addRequestToQueue(request);
+            return newBucket;
+        });
 
         // If the bucket is already in the queue, there's nothing more to do
-        if (alreadyInQueue) {
+        if (alreadyInQueue.get()) {
             return;
         }
 
         // Start working of the queue
-        api.getThreadPool().getExecutorService().submit(() -> {
-            RestRequest<?> currentRequest = bucket.peekRequestFromQueue();
-            RestRequestResult result = null;
-            long responseTimestamp = System.currentTimeMillis();
-            while (currentRequest != null) {
-                try {
-                    int sleepTime = bucket.getTimeTillSpaceGetsAvailable();
-                    if (sleepTime > 0) {
-                        logger.debug("Delaying requests to {} for {}ms to prevent hitting ratelimits",
-                                bucket, sleepTime);
-                    }
-
-                    // Sleep until space is available
-                    while (sleepTime > 0) {
-                        try {
-                            Thread.sleep(sleepTime);
-                        } catch (InterruptedException e) {
-                            logger.warn("We got interrupted while waiting for a rate limit!", e);
-                        }
-                        // Update in case something changed (e.g. because we hit a global ratelimit)
-                        sleepTime = bucket.getTimeTillSpaceGetsAvailable();
-                    }
-
-                    // Execute the request
-                    result = currentRequest.executeBlocking();
-
-                    // Calculate the time offset, if it wasn't done before
-                    responseTimestamp = System.currentTimeMillis();
-                } catch (Throwable t) {
-                    responseTimestamp = System.currentTimeMillis();
-                    if (currentRequest.getResult().isDone()) {
-                        logger.warn("Received exception for a request that is already done. "
-                                + "This should not be able to happen!", t);
-                    }
-                    // Try to get the response from the exception if it exists
-                    if (t instanceof DiscordException) {
-                        result = ((DiscordException) t).getResponse()
-                                .map(RestRequestResponseInformationImpl.class::cast)
-                                .map(RestRequestResponseInformationImpl::getRestRequestResult)
-                                .orElse(null);
-                    }
-                    // Complete the request
-                    currentRequest.getResult().completeExceptionally(t);
-                } finally {
-                    try {
-                        // Calculate offset
-                        calculateOffset(responseTimestamp, result);
-                        // Handle the response
-                        handleResponse(currentRequest, result, bucket, responseTimestamp);
-                    } catch (Throwable t) {
-                        logger.warn("Encountered unexpected exception.", t);
-                    }
-
-                    // The request didn't finish, so let's try again
-                    if (!currentRequest.getResult().isDone()) {
-                        continue;
-                    }
-
-                    // Poll a new quest
-                    synchronized (buckets) {
-                        bucket.pollRequestFromQueue();
-                        currentRequest = bucket.peekRequestFromQueue();
-                        if (currentRequest == null) {
-                            buckets.remove(bucket);
-                        }
-                    }
-                }
+        api.getThreadPool().getExecutorService().submit(() -> processQueue(key, bucket));
+    }
+
+    /**
+     * Gets the bucket hash Discord sent for the route of the given request.
+     *
+     * @param request The request.
+     * @return The bucket hash or {@code null} if it is not known (yet) or the route has a hardcoded ratelimit.
+     */
+    private String getBucketHash(RestRequest<?> request) {
+        RestEndpoint endpoint = request.getEndpoint();
+        if (endpoint.isGlobal() || endpoint.getHardcodedRatelimit().isPresent()) {
+            return null;
+        }
+        return bucketHashByRoute.get(getRouteKey(request));
+    }
+
+    /**
+     * Gets the key of the bucket the given request currently belongs to.
+     *
+     * @param request The request.
+     * @return The key of the bucket.
+     */
+    private String getBucketKey(RestRequest<?> request) {
+        String majorUrlParameter = request.getMajorUrlParameter().orElse(null);
+        String bucketHash = getBucketHash(request);
+        return bucketHash == null
+                ? RatelimitBucket.getKey(request.getEndpoint(), majorUrlParameter)
+                : RatelimitBucket.getSharedKey(bucketHash, majorUrlParameter);
+    }
+
+    /**
+     * Gets the route of the given request, which consists of the http method and the endpoint.
+     *
+     * @param request The request.
+     * @return The route of the request.
+     */
+    private static String getRouteKey(RestRequest<?> request) {
+        return request.getMethod().name() + ' ' + request.getEndpoint().name();
+    }
+
+    /**
+     * Works off the queue of the given bucket.
+     *
+     * <p>If the bucket is ratelimited, the processing is rescheduled for the time when there's space in the bucket
+     * again, instead of blocking the current thread until then.
+     *
+     * @param key The key of the bucket.
+     * @param bucket The bucket.
+     */
+    private void processQueue(String key, RatelimitBucket bucket) {
+        RestRequest<?> currentRequest = bucket.peekRequestFromQueue();
+        while (currentRequest != null) {
+            int waitTime = bucket.getTimeTillSpaceGetsAvailable();
+            if (waitTime > 0) {
+                logger.debug("Delaying requests to {} for {}ms to prevent hitting ratelimits", bucket, waitTime);
+                scheduleQueueProcessing(key, bucket, waitTime);
+                return;
+            }
+
+            executeRequest(currentRequest, bucket);
+
+            // The request didn't finish, so let's try again
+            if (!currentRequest.getResult().isDone()) {
+                continue;
+            }
+
+            // Poll a new request
+            currentRequest = pollRequestAndPeekNext(key, bucket);
+        }
+    }
+
+    /**
+     * Continues to work off the queue of the given bucket after the given delay.
+     *
+     * @param key The key of the bucket.
+     * @param bucket The bucket.
+     * @param delay The delay in milliseconds.
+     */
+    private void scheduleQueueProcessing(String key, RatelimitBucket bucket, long delay) {
+        api.getThreadPool().getScheduler().schedule(
+                () -> api.getThreadPool().getExecutorService().submit(() -> processQueue(key, bucket)),
+                delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Removes the head of the bucket's queue and peeks the next request.
+     *
+     * <p>Requests at the head of the queue whose route was found to belong to a shared bucket in the meantime are
+     * moved to this bucket.
+     *
+     * <p>If the queue is empty afterwards and the bucket has no active ratelimit, the bucket is removed. If it has an
+     * active ratelimit, it is kept until the ratelimit is reset, so that new requests still respect it.
+     *
+     * @param key The key of the bucket.
+     * @param bucket The bucket.
+     * @return The next request or {@code null} if the queue is empty.
+     */
+    private RestRequest<?> pollRequestAndPeekNext(String key, RatelimitBucket bucket) {
+        AtomicReference<RestRequest<?>> nextRequest = new AtomicReference<>();
+        List<RestRequest<?>> movedRequests = new ArrayList<>();
+        buckets.compute(key, (k, existingBucket) -> {
+            bucket.pollRequestFromQueue();
+            nextRequest.set(bucket.peekRequestFromQueue());
+            while (nextRequest.get() != null && !getBucketKey(nextRequest.get()).equals(key)) {
+                movedRequests.add(bucket.pollRequestFromQueue());
+                nextRequest.set(bucket.peekRequestFromQueue());
+            }
+            if (nextRequest.get() != null || existingBucket != bucket) {
+                return existingBucket;
+            }
+            int timeTillReset = bucket.getTimeTillSpaceGetsAvailable();
+            if (timeTillReset > 0) {
+                api.getThreadPool().getScheduler().schedule(
+                        () -> removeBucketIfIdle(key, bucket), timeTillReset, TimeUnit.MILLISECONDS);
+                return bucket;
             }
+            return null;
         });
+        // Must be done outside of the compute, as it modifies other buckets
+        movedRequests.forEach(this::queueRequest);
+        return nextRequest.get();
+    }
+
+    /**
+     * Removes the given bucket if its queue is empty and it has no active ratelimit.
+     *
+     * <p>If the bucket received a new ratelimit in the meantime, e.g. from another route that shares the bucket, the
+     * removal is rescheduled for the time when the ratelimit is reset.
+     *
+     * @param key The key of the bucket.
+     * @param bucket The bucket.
+     */
+    private void removeBucketIfIdle(String key, RatelimitBucket bucket) {
+        AtomicInteger timeTillReset = new AtomicInteger();
+        buckets.computeIfPresent(key, (k, existingBucket) -> {
+            if (existingBucket != bucket || bucket.peekRequestFromQueue() != null) {
+                return existingBucket;
+            }
+            timeTillReset.set(bucket.getTimeTillSpaceGetsAvailable());
+            return timeTillReset.get() > 0 ? existingBucket : null;
+        });
+        if (timeTillReset.get() > 0) {
+            api.getThreadPool().getScheduler().schedule(
+                    () -> removeBucketIfIdle(key, bucket), timeTillReset.get(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Executes the given request and handles the response.
+     *
+     * @param request The request to execute.
+     * @param bucket The bucket the request belongs to.
+     */
+    private void executeRequest(RestRequest<?> request, RatelimitBucket bucket) {
+        RestRequestResult result = null;
+        long responseTimestamp;
+        try {
+            // Execute the request
+            result = request.executeBlocking();
+
+            // Calculate the time offset, if it wasn't done before
+            responseTimestamp = System.currentTimeMillis();
+        } catch (Throwable t) {
+            responseTimestamp = System.currentTimeMillis();
+            if (request.getResult().isDone()) {
+                logger.warn("Received exception for a request that is already done. "
+                        + "This should not be able to happen!", t);
+            }
+            // Try to get the response from the exception if it exists
+            if (t instanceof DiscordException) {
+                result = ((DiscordException) t).getResponse()
+                        .map(RestRequestResponseInformationImpl.class::cast)
+                        .map(RestRequestResponseInformationImpl::getRestRequestResult)
+                        .orElse(null);
+            }
+            // Complete the request
+            request.getResult().completeExceptionally(t);
+        }
+        try {
+            // Calculate offset
+            calculateOffset(request.getApi(), responseTimestamp, result);
+            // Handle the response
+            handleResponse(request, result, bucket, responseTimestamp);
+        } catch (Throwable t) {
+            logger.warn("Encountered unexpected exception.", t);
+        }
     }
 
     /**
@@ -173,12 +308,8 @@ public class RatelimitManager {
         }
         Response response = result.getResponse();
         boolean global = response.header("X-RateLimit-Global", "false").equalsIgnoreCase("true");
-        int remaining = Integer.parseInt(response.header("X-RateLimit-Remaining", "1"));
-        long reset = request
-                .getEndpoint()
-                .getHardcodedRatelimit()
-                .map(ratelimit -> responseTimestamp + api.getTimeOffset() + ratelimit)
-                .orElseGet(() -> Long.parseLong(response.header("X-RateLimit-Reset", "0")) * 1000);
+        int remaining;
+        long reset;
 
         // Check if we received a 429 response
         if (result.getResponse().code() == 429) {
@@ -190,15 +321,14 @@ public class RatelimitManager {
                 logger.warn("Hit a global ratelimit! This means you were sending a very large "
                         + "amount within a very short time frame.");
                 RatelimitBucket.setGlobalRatelimitResetTimestamp(api, responseTimestamp + retryAfter);
-            } else {
-                logger.debug("Received a 429 response from Discord! Recalculating time offset...");
-                // Setting the offset to null causes a recalculate for the next request
-                api.setTimeOffset(null);
-
-                // Update the bucket information
-                bucket.setRatelimitRemaining(0);
-                bucket.setRatelimitResetTimestamp(responseTimestamp + retryAfter);
+                return;
             }
+            logger.debug("Received a 429 response from Discord! Recalculating time offset...");
+            // Setting the offset to null causes a recalculate for the next request
+            request.getApi().setTimeOffset(null);
+
+            remaining = 0;
+            reset = responseTimestamp + retryAfter;
         } else {
             // Check if we didn't already complete it exceptionally.
             CompletableFuture<RestRequestResult> requestResult = request.getResult();
@@ -206,33 +336,110 @@ public class RatelimitManager {
                 requestResult.complete(result);
             }
 
-            // Update bucket information
-            bucket.setRatelimitRemaining(remaining);
-            bucket.setRatelimitResetTimestamp(reset);
+            remaining = Integer.parseInt(response.header("X-RateLimit-Remaining", "1"));
+            reset = calculateResetTimestamp(request, response, responseTimestamp);
+        }
+
+        // Update bucket information
+        bucket.setRatelimitRemaining(remaining);
+        bucket.setRatelimitResetTimestamp(reset);
+
+        String bucketHash = response.header("X-RateLimit-Bucket");
+        if (bucketHash == null || request.getEndpoint().isGlobal()
+                || request.getEndpoint().getHardcodedRatelimit().isPresent()) {
+            return;
+        }
+        String previousBucketHash = bucketHashByRoute.put(getRouteKey(request), bucketHash);
+        if (!bucketHash.equals(previousBucketHash)) {
+            logger.debug("Route {} uses the ratelimit bucket {}", getRouteKey(request), bucketHash);
+        }
+        String sharedKey = RatelimitBucket.getSharedKey(bucketHash, request.getMajorUrlParameter().orElse(null));
+        if (!sharedKey.equals(bucket.getKey())) {
+            updateSharedBucket(sharedKey, request, bucketHash, remaining, reset);
+        }
+    }
+
+    /**
+     * Calculates the local timestamp at which the ratelimit of the request's bucket is reset.
+     *
+     * <p>The relative {@code X-RateLimit-Reset-After} header is preferred, as it does not depend on the offset between
+     * the local time and Discord's time.
+     *
+     * @param request The request.
+     * @param response The response of the request.
+     * @param responseTimestamp The timestamp directly after the response finished.
+     * @return The local timestamp at which the ratelimit is reset.
+     */
+    private long calculateResetTimestamp(RestRequest<?> request, Response response, long responseTimestamp) {
+        Optional<Integer> hardcodedRatelimit = request.getEndpoint().getHardcodedRatelimit();
+        if (hardcodedRatelimit.isPresent()) {
+            return responseTimestamp + hardcodedRatelimit.get();
+        }
+        String resetAfter = response.header("X-RateLimit-Reset-After");
+        if (resetAfter != null) {
+            return responseTimestamp + (long) (Double.parseDouble(resetAfter) * 1000);
+        }
+        String reset = response.header("X-RateLimit-Reset");
+        if (reset == null) {
+            return 0;
+        }
+        Long timeOffset = request.getApi().getTimeOffset();
+        long offset = timeOffset == null ? 0 : timeOffset;
+        return (long) (Double.parseDouble(reset) * 1000) - offset;
+    }
+
+    /**
+     * Updates the ratelimit information of the shared bucket with the given key.
+     *
+     * <p>The bucket is created if it does not exist yet, so that requests which are moved to it respect the ratelimit.
+     *
+     * @param key The key of the shared bucket.
+     * @param request The request which received the ratelimit information.
+     * @param bucketHash The bucket hash.
+     * @param remaining The remaining requests till ratelimit.
+     * @param reset The ratelimit reset timestamp.
+     */
+    private void updateSharedBucket(String key, RestRequest<?> request, String bucketHash, int remaining, long reset) {
+        RatelimitBucket sharedBucket = buckets.compute(key, (k, existingBucket) -> {
+            RatelimitBucket newBucket = existingBucket == null
+                    ? new RatelimitBucket(
+                            api, request.getEndpoint(), request.getMajorUrlParameter().orElse(null), bucketHash)
+                    : existingBucket;
+            newBucket.setRatelimitRemaining(remaining);
+            newBucket.setRatelimitResetTimestamp(reset);
+            return newBucket;
+        });
+        if (sharedBucket.peekRequestFromQueue() == null) {
+            api.getThreadPool().getScheduler().schedule(() -> removeBucketIfIdle(key, sharedBucket),
+                    Math.max(0, sharedBucket.getTimeTillSpaceGetsAvailable()), TimeUnit.MILLISECONDS);
         }
     }
 
     /**
      * Calculates the offset of the local time and discord's time.
      *
+     * <p>The offset is stored in the shard which sent the request, as the ratelimit manager may be shared by all
+     * shards of a shard group.
+     *
+     * @param shard The shard which sent the request.
      * @param currentTime The current time.
      * @param result The result of the rest request.
      */
-    private void calculateOffset(long currentTime, RestRequestResult result) {
+    private static void calculateOffset(DiscordApiImpl shard, long currentTime, RestRequestResult result) {
         // Double-checked locking for better performance
-        if ((api.getTimeOffset() != null) || (result == null) || (result.getResponse() == null)) {
+        if ((result == null) || (result.getResponse() == null) || (shard.getTimeOffset() != null)) {
             return;
         }
-        synchronized (api) {
-            if (api.getTimeOffset() == null) {
+        synchronized (shard) {
+            if (shard.getTimeOffset() == null) {
                 // Discord sends the date in their header in the format RFC_1123_DATE_TIME
                 // We use this header to calculate a possible offset between our local time and the discord time
                 String date = result.getResponse().header("Date");
                 if (date != null) {
                     long discordTimestamp = OffsetDateTime.parse(date, DateTimeFormatter.RFC_1123_DATE_TIME)
                             .toInstant().toEpochMilli();
-                    api.setTimeOffset((discordTimestamp - currentTime));
-                    logger.debug("Calculated an offset of {} to the Discord time.", api::getTimeOffset);
+                    shard.setTimeOffset((discordTimestamp - currentTime));
+                    logger.debug("Calculated an offset of {} to the Discord time.", shard::getTimeOffset);
                 }
             }
         }
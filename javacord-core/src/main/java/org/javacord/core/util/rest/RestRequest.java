@@ -11,6 +11,7 @@ import org.apache.logging.log4j.Logger;
 import org.javacord.api.DiscordApi;
 import org.javacord.api.exception.DiscordException;
 import org.javacord.api.util.rest.RestRequestInformation;
+import org.javacord.api.util.rest.RestRequestOriginCapture;
 import org.javacord.api.util.rest.RestRequestResponseInformation;
 import org.javacord.core.DiscordApiImpl;
 import org.javacord.core.util.logging.LoggerUtil;
@@ -72,7 +73,8 @@ public class RestRequest<T> {
         this.method = method;
         this.endpoint = endpoint;
 
-        this.origin = new Exception("origin of RestRequest call");
+        this.origin = RestRequestOrigin.capture(this.api == null
+                ? RestRequestOriginCapture.FULL : this.api.getRestRequestOriginCapture());
     }
 
     /**
@@ -143,7 +145,8 @@ public class RestRequest<T> {
     /**
      * Gets the origin of the rest request.
      *
-     * @return The origin of the rest request.
+     * @return The origin of the rest request or {@code null} if it was not captured.
+     * @see RestRequestOriginCapture
      */
     public Exception getOrigin() {
         return origin;
@@ -348,6 +351,8 @@ public class RestRequest<T> {
         if (includeAuthorizationHeader) {
             requestBuilder.addHeader("authorization", api.getPrefixedToken());
         }
+        // Receive the ratelimit reset headers with millisecond precision
+        requestBuilder.addHeader("X-RateLimit-Precision", "millisecond");
         headers.forEach(requestBuilder::addHeader);
         logger.debug("Trying to send {} request to {}{}",
                 method::name, () -> endpoint.getFullUrl(urlParameters), () -> body != null ? " with body " + body : "");
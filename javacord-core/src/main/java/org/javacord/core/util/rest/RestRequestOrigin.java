@@ -0,0 +1,164 @@
+package org.javacord.core.util.rest;
+
+import org.javacord.api.util.rest.RestRequestOriginCapture;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * The origin of a rest request.
+ *
+ * <p>Javacord is compiled for Java 8, so the stack walker API of Java 9 is looked up at runtime.
+ */
+public class RestRequestOrigin extends Exception {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Every n-th request captures its origin if the capture is {@link RestRequestOriginCapture#SAMPLED}.
+     */
+    public static final int SAMPLING_INTERVAL = 100;
+
+    private static final String MESSAGE = "origin of RestRequest call";
+
+    private static final AtomicLong requestCounter = new AtomicLong();
+
+    private static final Object STACK_WALKER;
+    private static final MethodHandle WALK;
+    private static final MethodHandle GET_CLASS_NAME;
+    private static final MethodHandle TO_STACK_TRACE_ELEMENT;
+
+    static {
+        Object stackWalker = null;
+        MethodHandle walk = null;
+        MethodHandle getClassName = null;
+        MethodHandle toStackTraceElement = null;
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            Class<?> stackWalkerClass = Class.forName("java.lang.StackWalker");
+            Class<?> stackFrameClass = Class.forName("java.lang.StackWalker$StackFrame");
+            stackWalker = lookup.findStatic(stackWalkerClass, "getInstance", MethodType.methodType(stackWalkerClass))
+                    .invoke();
+            // The handles are adapted to types which are known at compile time, so that they can be invoked exactly
+            walk = lookup.findVirtual(stackWalkerClass, "walk", MethodType.methodType(Object.class, Function.class))
+                    .asType(MethodType.methodType(Object.class, Object.class, Function.class));
+            getClassName = lookup.findVirtual(stackFrameClass, "getClassName", MethodType.methodType(String.class))
+                    .asType(MethodType.methodType(String.class, Object.class));
+            toStackTraceElement = lookup.findVirtual(stackFrameClass, "toStackTraceElement",
+                    MethodType.methodType(StackTraceElement.class))
+                    .asType(MethodType.methodType(StackTraceElement.class, Object.class));
+        } catch (Throwable ignored) {
+            // The stack walker API is not supported by this JVM
+            stackWalker = null;
+        }
+        STACK_WALKER = stackWalker;
+        WALK = walk;
+        GET_CLASS_NAME = getClassName;
+        TO_STACK_TRACE_ELEMENT = toStackTraceElement;
+    }
+
+    /**
+     * Creates a new origin with the given stack trace.
+     *
+     * @param stackTrace The stack trace of the origin.
+     */
+    private RestRequestOrigin(StackTraceElement[] stackTrace) {
+        super(MESSAGE, null, false, true);
+        setStackTrace(stackTrace);
+    }
+
+    /**
+     * Captures the origin of a rest request.
+     *
+     * @param capture How the origin should be captured.
+     * @return The origin or {@code null} if no origin was captured.
+     */
+    public static Exception capture(RestRequestOriginCapture capture) {
+        switch (capture) {
+            case NONE:
+                return null;
+            case SAMPLED:
+                return requestCounter.getAndIncrement() % SAMPLING_INTERVAL == 0 ? new Exception(MESSAGE) : null;
+            case CALLER:
+                if (STACK_WALKER == null) {
+                    return new Exception(MESSAGE);
+                }
+                StackTraceElement caller = findCaller();
+                return new RestRequestOrigin(
+                        caller == null ? new StackTraceElement[0] : new StackTraceElement[] {caller});
+            case FULL:
+            default:
+                return new Exception(MESSAGE);
+        }
+    }
+
+    /**
+     * Finds the first stack frame outside of Javacord.
+     *
+     * @return The first stack frame outside of Javacord or {@code null} if there is none.
+     */
+    private static StackTraceElement findCaller() {
+        Function<Stream<Object>, StackTraceElement> findCaller = frames -> frames
+                .filter(frame -> !isInternal(getClassName(frame)))
+                .findFirst()
+                .map(RestRequestOrigin::toStackTraceElement)
+                .orElse(null);
+        try {
+            return (StackTraceElement) (Object) WALK.invokeExact(STACK_WALKER, findCaller);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+
+    /**
+     * Gets the class name of the given stack frame.
+     *
+     * @param frame The stack frame.
+     * @return The class name of the stack frame.
+     */
+    private static String getClassName(Object frame) {
+        try {
+            return (String) GET_CLASS_NAME.invokeExact(frame);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+
+    /**
+     * Converts the given stack frame to a stack trace element.
+     *
+     * @param frame The stack frame.
+     * @return The stack trace element.
+     */
+    private static StackTraceElement toStackTraceElement(Object frame) {
+        try {
+            return (StackTraceElement) TO_STACK_TRACE_ELEMENT.invokeExact(frame);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+
+    /**
+     * Checks if the given class belongs to Javacord or the JDK.
+     *
+     * @param className The name of the class.
+     * @return Whether the class belongs to Javacord or the JDK.
+     */
+    private static boolean isInternal(String className) {
+        return className.startsWith("org.javacord.")
+                || className.startsWith("java.")
+                || className.startsWith("jdk.")
+                || className.startsWith("sun.");
+    }
+
+}
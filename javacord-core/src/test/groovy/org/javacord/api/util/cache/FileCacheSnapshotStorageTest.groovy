@@ -0,0 +1,49 @@
+package org.javacord.api.util.cache
+
+import spock.lang.Specification
+import spock.lang.Subject
+
+import java.nio.ByteBuffer
+import java.nio.file.Files
+
+@Subject(FileCacheSnapshotStorage)
+class FileCacheSnapshotStorageTest extends Specification {
+
+    def directory = Files.createTempDirectory('snapshots')
+
+    def cleanup() {
+        directory.toFile().deleteDir()
+    }
+
+    def 'a loaded snapshot can be deleted and replaced while its buffer is still referenced'() {
+        given:
+            def storage = new FileCacheSnapshotStorage(directory, mapSnapshots)
+            storage.save(1) { it.write([1, 2, 3] as byte[]) }
+
+        when:
+            def loaded = storage.load(1).get()
+            storage.delete(1)
+
+        then:
+            bytes(loaded) == [1, 2, 3] as byte[]
+            !Files.exists(storage.getSnapshotFile(1))
+            !storage.load(1).present
+
+        when:
+            storage.save(1) { it.write([4, 5] as byte[]) }
+
+        then:
+            bytes(storage.load(1).get()) == [4, 5] as byte[]
+            directory.toFile().list() as List == ['shard-1.snapshot']
+
+        where:
+            mapSnapshots << [true, false]
+    }
+
+    static byte[] bytes(ByteBuffer buffer) {
+        def bytes = new byte[buffer.remaining()]
+        buffer.duplicate().get(bytes)
+        bytes
+    }
+
+}
@@ -0,0 +1,60 @@
+package org.javacord.core
+
+import org.javacord.core.util.concurrent.ThreadPoolImpl
+import spock.lang.Specification
+import spock.lang.Subject
+
+@Subject(ShardGroupImpl)
+class ShardGroupImplTest extends Specification {
+
+    def sharedThreadPool = new ThreadPoolImpl()
+
+    def shardGroup = new ShardGroupImpl(4, 2, sharedThreadPool)
+
+    def cleanup() {
+        sharedThreadPool.shutdown()
+    }
+
+    def 'shard thread pools share the central executor service but not their single thread executors'() {
+        given:
+            def first = shardGroup.createShardThreadPool(0)
+            def second = shardGroup.createShardThreadPool(1)
+
+        expect:
+            first.executorService.is(sharedThreadPool.executorService)
+            first.scheduler.is(second.scheduler)
+            !first.getSingleThreadExecutorService('Test').is(second.getSingleThreadExecutorService('Test'))
+    }
+
+    def 'the shared thread pool is shut down after all shard thread pools were shut down'() {
+        given:
+            def first = shardGroup.createShardThreadPool(0)
+            def second = shardGroup.createShardThreadPool(1)
+
+        when:
+            first.shutdown()
+            first.shutdown()
+
+        then:
+            !sharedThreadPool.executorService.isShutdown()
+
+        when:
+            second.shutdown()
+
+        then:
+            sharedThreadPool.executorService.isShutdown()
+    }
+
+    def 'servers are mapped to their shard'() {
+        given:
+            def shard = Stub(DiscordApiImpl) {
+                getCurrentShard() >> 2
+            }
+            shardGroup.addShard(shard)
+
+        expect:
+            shardGroup.getShardOf(2L << 22).get().is(shard)
+            !shardGroup.getShardOf(1L << 22).isPresent()
+    }
+
+}
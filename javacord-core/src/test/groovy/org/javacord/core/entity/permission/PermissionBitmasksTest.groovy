@@ -0,0 +1,72 @@
+package org.javacord.core.entity.permission
+
+import org.javacord.api.entity.permission.Role
+import spock.lang.Specification
+import spock.lang.Subject
+
+import static org.javacord.api.entity.permission.PermissionType.ADMINISTRATOR
+import static org.javacord.api.entity.permission.PermissionType.ATTACH_FILE
+import static org.javacord.api.entity.permission.PermissionType.EMBED_LINKS
+import static org.javacord.api.entity.permission.PermissionType.READ_MESSAGES
+import static org.javacord.api.entity.permission.PermissionType.SEND_MESSAGES
+
+@Subject(PermissionBitmasks)
+class PermissionBitmasksTest extends Specification {
+
+    def 'server permissions combine all roles'() {
+        expect:
+            PermissionBitmasks.calculateServerPermissions(false, [role(READ_MESSAGES), role(SEND_MESSAGES)]) ==
+                    (READ_MESSAGES.value | SEND_MESSAGES.value)
+    }
+
+    def 'owners and administrators have all permissions'() {
+        expect:
+            PermissionBitmasks.calculateServerPermissions(owner, roles) == PermissionBitmasks.ALL_PERMISSIONS
+
+        where:
+            owner | roles
+            true  | []
+            false | [role(READ_MESSAGES), role(ADMINISTRATOR)]
+    }
+
+    def 'overwrites are applied for the everyone role, the other roles and the user in this order'() {
+        given:
+            def everyoneId = 1L
+            def rolePermissions = [
+                    (everyoneId): new PermissionsImpl(EMBED_LINKS.value, SEND_MESSAGES.value | READ_MESSAGES.value),
+                    (2L)        : new PermissionsImpl(SEND_MESSAGES.value, EMBED_LINKS.value),
+                    (3L)        : new PermissionsImpl(EMBED_LINKS.value, ATTACH_FILE.value)
+            ]
+            def userPermissions = [(42L): new PermissionsImpl(READ_MESSAGES.value, SEND_MESSAGES.value)]
+
+        when:
+            def overwrites = PermissionBitmasks.calculateOverwrites(
+                    everyoneId, [2L, 3L, everyoneId], 42L, rolePermissions, userPermissions)
+
+        then:
+            overwrites.allowedBitmask == (EMBED_LINKS.value | READ_MESSAGES.value)
+            overwrites.deniedBitmask == (ATTACH_FILE.value | SEND_MESSAGES.value)
+            PermissionBitmasks.applyOverwrites(SEND_MESSAGES.value | ATTACH_FILE.value, overwrites) ==
+                    (EMBED_LINKS.value | READ_MESSAGES.value)
+            PermissionBitmasks.applyOverwrites(ADMINISTRATOR.value, overwrites) == PermissionBitmasks.ALL_PERMISSIONS
+    }
+
+    def 'bitmasks can be checked for permission types'() {
+        given:
+            def bitmask = READ_MESSAGES.value | SEND_MESSAGES.value
+
+        expect:
+            PermissionBitmasks.areAllSet(bitmask, READ_MESSAGES, SEND_MESSAGES)
+            !PermissionBitmasks.areAllSet(bitmask, READ_MESSAGES, ATTACH_FILE)
+            PermissionBitmasks.isAnySet(bitmask, ATTACH_FILE, SEND_MESSAGES)
+            !PermissionBitmasks.isAnySet(bitmask, ATTACH_FILE, EMBED_LINKS)
+            PermissionBitmasks.getPermissionTypes(bitmask).toSet() == [READ_MESSAGES, SEND_MESSAGES].toSet()
+    }
+
+    private Role role(def type) {
+        Stub(Role) {
+            getPermissions() >> new PermissionsImpl(type.value, 0)
+        }
+    }
+
+}
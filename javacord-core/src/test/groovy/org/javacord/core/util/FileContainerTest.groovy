@@ -1,5 +1,7 @@
 package org.javacord.core.util
 
+import com.sun.net.httpserver.HttpServer
+import okio.Buffer
 import org.javacord.core.DiscordApiImpl
 import org.javacord.core.util.concurrent.ThreadPoolImpl
 import spock.lang.AutoCleanup
@@ -7,7 +9,10 @@ import spock.lang.Shared
 import spock.lang.Specification
 import spock.lang.Subject
 
+import javax.imageio.ImageIO
 import java.awt.image.BufferedImage
+import java.nio.file.Files
+import java.util.concurrent.atomic.AtomicInteger
 
 @Subject(FileContainer)
 class FileContainerTest extends Specification {
@@ -49,4 +54,72 @@ class FileContainerTest extends Specification {
             iae.message == 'No image writer found for format "txt"'
     }
 
+    def 'files are streamed into the request body every time it is written'() {
+        given:
+            def file = Files.createTempFile('attachment', '.txt').toFile()
+            file.deleteOnExit()
+            def content = ('a'..'z').join() * 10_000
+            file.text = content
+            def body = new FileContainer(file).asRequestBody(null)
+
+        expect:
+            body.contentLength() == file.length()
+            body.contentType().toString() == 'text/plain'
+            2.times {
+                def buffer = new Buffer()
+                body.writeTo(buffer)
+                assert buffer.readUtf8() == content
+            }
+    }
+
+    def 'urls are downloaded once before the request, even if it is retried'() {
+        given:
+            def downloads = new AtomicInteger()
+            def server = HttpServer.create(new InetSocketAddress(InetAddress.loopbackAddress, 0), 0)
+            server.createContext('/file.txt') { exchange ->
+                downloads.incrementAndGet()
+                def content = 'content'.bytes
+                exchange.sendResponseHeaders(200, content.length)
+                exchange.responseBody.withStream { it.write(content) }
+            }
+            server.start()
+            def url = new URL("http://localhost:${server.address.port}/file.txt")
+            DiscordApiImpl api = Mock {
+                getThreadPool() >> threadPool
+            }
+
+        when:
+            def body = new FileContainer(url).asRequestBody(api)
+
+        then:
+            downloads.get() == 1
+
+        when: 'the request is sent and retried'
+            def buffers = (1..2).collect {
+                def buffer = new Buffer()
+                body.writeTo(buffer)
+                buffer.readUtf8()
+            }
+
+        then:
+            buffers == ['content', 'content']
+            downloads.get() == 1
+
+        cleanup:
+            server?.stop(0)
+    }
+
+    def 'buffered images are encoded directly into the request body'() {
+        given:
+            def image = new BufferedImage(4, 4, BufferedImage.TYPE_INT_RGB)
+            def body = new FileContainer(image, 'file.png').asRequestBody(null)
+            def buffer = new Buffer()
+
+        when:
+            body.writeTo(buffer)
+
+        then:
+            ImageIO.read(buffer.inputStream()).width == 4
+    }
+
 }
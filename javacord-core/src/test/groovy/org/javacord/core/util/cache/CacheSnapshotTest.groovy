@@ -0,0 +1,212 @@
+package org.javacord.core.util.cache
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.fasterxml.jackson.databind.node.ObjectNode
+import org.javacord.api.AccountType
+import org.javacord.api.entity.DiscordClient
+import org.javacord.api.entity.intent.Intent
+import org.javacord.api.entity.user.UserStatus
+import org.javacord.core.DiscordApiImpl
+import org.javacord.core.entity.server.ServerImpl
+import org.javacord.core.entity.user.MemberImpl
+import org.javacord.core.entity.user.UserImpl
+import spock.lang.Specification
+import spock.lang.Subject
+
+import java.nio.ByteBuffer
+
+@Subject(CacheSnapshot)
+class CacheSnapshotTest extends Specification {
+
+    def mapper = new ObjectMapper()
+
+    def shard(String token, int currentShard) {
+        Stub(DiscordApiImpl) {
+            getObjectMapper() >> mapper
+            getToken() >> token
+            getCurrentShard() >> currentShard
+            getTotalShards() >> 2
+            getYourself() >> Stub(UserImpl) {
+                toJsonNode(_) >> { ObjectNode node -> node.put('id', '1') }
+            }
+            getAllServers() >> []
+            getUnavailableServers() >> [42L]
+        }
+    }
+
+    def 'the session of a snapshot is read back'() {
+        given:
+            def api = shard('token', 1)
+            def buffer = snapshot(api, 'session', 1337)
+
+        when:
+            def snapshot = CacheSnapshot.read(api, buffer)
+
+        then:
+            snapshot.present
+            snapshot.get().sessionId == 'session'
+            snapshot.get().lastSeq == 1337
+    }
+
+    def 'snapshots of another bot or shard are ignored'() {
+        given:
+            def buffer = snapshot(shard('token', 1), 'session', 1337)
+
+        expect:
+            !CacheSnapshot.read(shard(token, currentShard), buffer).present
+
+        where:
+            token   | currentShard
+            'other' | 1
+            'token' | 0
+    }
+
+    def 'buffers which are no snapshot are ignored'() {
+        expect:
+            !CacheSnapshot.read(shard('token', 1), ByteBuffer.wrap([1, 2, 3] as byte[])).present
+    }
+
+    def 'the cache of a server is restored from a snapshot'() {
+        given:
+            def original = offlineShard()
+            original.setYourself(new UserImpl(original, mapper.valueToTree(user(1, 'bot')), (MemberImpl) null, null))
+            new ServerImpl(original, mapper.valueToTree(guild()))
+            original.addUnavailableServerToCache(42)
+            def buffer = snapshot(original, 'session', 1337)
+            def restored = offlineShard()
+
+        when:
+            def serverCount = CacheSnapshot.read(restored, buffer).get().restore(restored)
+
+        then:
+            serverCount == 1
+            restored.yourself.id == 1
+            restored.unavailableServers as Set == [42L] as Set
+
+        and: 'the server and its channels, roles and emojis are restored'
+            def server = restored.getServerById(10).get()
+            server.name == 'Server'
+            server.ownerId == 100
+            server.memberCount == 2
+            server.getTextChannelById(20).get().name == 'text'
+            server.getTextChannelById(20).get().topic == 'topic'
+            server.getVoiceChannelById(21).get().userLimit.get() == 5
+            server.getRoleById(30).get().name == 'role'
+            (server.getRoleById(30).get().color.get().RGB & 0xFFFFFF) == 0x123456
+            server.getCustomEmojiById(40).get().name == 'emoji'
+            server.getCustomEmojiById(40).get().whitelistedRoles.get()*.id == [30L]
+
+        and: 'the members and their roles are restored'
+            server.members*.id as Set == [100L, 101L] as Set
+            server.getMemberById(100).get().getNickname(server).get() == 'owner'
+            server.getMemberById(100).get().getRoles(server)*.id as Set == [10L, 30L] as Set
+            server.getRoleById(30).get().users*.id == [100L]
+
+        and: 'the voice states and presences are restored'
+            server.getVoiceChannelById(21).get().connectedUserIds as Set == [101L] as Set
+            server.getMemberById(100).get().status == UserStatus.IDLE
+            server.getMemberById(100).get().getStatusOnClient(DiscordClient.DESKTOP) == UserStatus.IDLE
+            server.getMemberById(100).get().getStatusOnClient(DiscordClient.MOBILE) == UserStatus.OFFLINE
+            server.getMemberById(101).get().status == UserStatus.DO_NOT_DISTURB
+
+        and: 'the restored server is serialized like the original server'
+            normalize(server.toJsonNode(mapper.createObjectNode())) ==
+                    normalize(original.getServerById(10).get().toJsonNode(mapper.createObjectNode()))
+
+        cleanup:
+            original?.threadPool?.shutdown()
+            restored?.threadPool?.shutdown()
+    }
+
+    /**
+     * Writes a snapshot of the given shard.
+     *
+     * @param api The shard.
+     * @param sessionId The id of the gateway session.
+     * @param lastSeq The sequence of the last handled packet.
+     * @return The snapshot.
+     */
+    def snapshot(DiscordApiImpl api, String sessionId, int lastSeq) {
+        def bytes = new ByteArrayOutputStream()
+        CacheSnapshot.write(api, sessionId, lastSeq, bytes)
+        ByteBuffer.wrap(bytes.toByteArray())
+    }
+
+    /**
+     * Creates a shard which caches members, but does not connect to Discord.
+     *
+     * @return The shard.
+     */
+    static DiscordApiImpl offlineShard() {
+        new DiscordApiImpl(AccountType.BOT, 'token', 1, 2, [Intent.GUILD_MEMBERS, Intent.GUILD_PRESENCES] as Set,
+                true, false, null, null, null, null, null, false, null)
+    }
+
+    /**
+     * Converts the given server json to a map whose arrays are sorted, as the order of cached entities is undefined.
+     *
+     * @param json The server json.
+     * @return The comparable map.
+     */
+    def normalize(ObjectNode json) {
+        def map = mapper.convertValue(json, Map)
+        map.each { key, value ->
+            if (value instanceof List) {
+                map[key] = value.sort(false) { mapper.writeValueAsString(it) }
+            }
+        }
+        map
+    }
+
+    static Map user(long id, String name) {
+        [id: id as String, username: name, discriminator: '0001', avatar: null, bot: false]
+    }
+
+    static Map guild() {
+        [
+                id                           : '10',
+                name                         : 'Server',
+                region                       : 'europe',
+                large                        : false,
+                member_count                 : 2,
+                owner_id                     : '100',
+                verification_level           : 1,
+                explicit_content_filter      : 0,
+                default_message_notifications: 1,
+                mfa_level                    : 0,
+                premium_tier                 : 0,
+                preferred_locale             : 'en-US',
+                features                     : [],
+                channels                     : [
+                        [id: '20', type: 0, name: 'text', position: 0, topic: 'topic', nsfw: false,
+                         permission_overwrites: []],
+                        [id: '21', type: 2, name: 'voice', position: 1, bitrate: 64000, user_limit: 5,
+                         permission_overwrites: []]
+                ],
+                roles                        : [
+                        [id: '10', name: '@everyone', position: 0, color: 0, hoist: false, mentionable: false,
+                         permissions: 104324161, managed: false],
+                        [id: '30', name: 'role', position: 1, color: 0x123456, hoist: true, mentionable: true,
+                         permissions: 8, managed: false]
+                ],
+                emojis                       : [
+                        [id: '40', name: 'emoji', animated: false, require_colons: true, managed: false,
+                         roles: ['30']]
+                ],
+                members                      : [
+                        [user: user(100, 'owner'), nick: 'owner', roles: ['30'], joined_at: '2020-01-01T00:00:00Z',
+                         deaf: false, mute: false],
+                        [user: user(101, 'member'), roles: [], joined_at: '2020-01-02T00:00:00Z',
+                         deaf: false, mute: true]
+                ],
+                voice_states                 : [
+                        [channel_id: '21', user_id: '101']
+                ],
+                presences                    : [
+                        [user: [id: '100'], status: 'idle', client_status: [desktop: 'idle']],
+                        [user: [id: '101'], status: 'dnd', client_status: [mobile: 'dnd']]
+                ]
+        ]
+    }
+
+}
@@ -0,0 +1,52 @@
+package org.javacord.core.util.cache
+
+import spock.lang.Specification
+import spock.lang.Subject
+
+@Subject(Cache)
+class CacheTest extends Specification {
+
+    def 'addElements() results in the same cache content as adding the elements one by one'() {
+        given:
+            def emptyCache = Cache.<String> empty().addIndex('length', { it.length() })
+            def elements = ['a', 'bb', 'cc', 'ddd', 'e']
+
+        when:
+            def bulkCache = emptyCache.addElements(elements)
+            def singleCache = elements.inject(emptyCache) { cache, element -> cache.addElement(element) }
+
+        then:
+            bulkCache.all == singleCache.all
+            (1..3).every { bulkCache.findByIndex('length', it) == singleCache.findByIndex('length', it) }
+            bulkCache.findByIndex('length', 2).toJavaSet() == ['bb', 'cc'] as Set
+    }
+
+    def 'removeElements() removes the elements from all indexes'() {
+        given:
+            def cache = Cache.<String> empty()
+                    .addIndex('length', { it.length() })
+                    .addElements(['a', 'bb', 'cc', 'ddd'])
+
+        when:
+            cache = cache.removeElements(['bb', 'ddd', 'not in cache'])
+
+        then:
+            cache.all.toJavaSet() == ['a', 'cc'] as Set
+            cache.findByIndex('length', 2).toJavaSet() == ['cc'] as Set
+            cache.findByIndex('length', 3).empty
+    }
+
+    def 'addElements() skips elements for which the index returns no key'() {
+        given:
+            def cache = Cache.<String> empty().addIndex('short', { it.length() < 3 ? it.length() : null })
+
+        when:
+            cache = cache.addElements(['a', 'abcd'])
+
+        then:
+            cache.all.size() == 2
+            cache.findByIndex('short', 1).toJavaSet() == ['a'] as Set
+            cache.findByIndex('short', 4).empty
+    }
+
+}
@@ -0,0 +1,111 @@
+package org.javacord.core.util.cache
+
+import org.javacord.api.entity.permission.Role
+import org.javacord.api.entity.server.Server
+import org.javacord.api.entity.user.User
+import org.javacord.core.entity.user.Member
+import spock.lang.Specification
+import spock.lang.Subject
+
+@Subject(ConcurrentMemberCache)
+class ConcurrentMemberCacheTest extends Specification {
+
+    def 'members can be looked up by id, server and both'() {
+        given:
+            def cache = new ConcurrentMemberCache()
+            def server1 = Stub(Server) { getId() >> 1 }
+            def server2 = Stub(Server) { getId() >> 2 }
+            def memberA1 = member(10, server1)
+            def memberA2 = member(10, server2)
+            def memberB1 = member(20, server1)
+
+        when:
+            cache.addMembers([memberA1, memberA2, memberB1])
+
+        then:
+            cache.getMembersByServer(1) == [memberA1, memberB1] as Set
+            cache.getMembersById(10) == [memberA1, memberA2] as Set
+            cache.getMemberByIdAndServer(20, 1).get().is(memberB1)
+            cache.getServers(10) == [server1, server2] as Set
+            cache.userCache.getUserById(10).present
+    }
+
+    def 'adding a member replaces the member with the same id and server'() {
+        given:
+            def cache = new ConcurrentMemberCache()
+            def server = Stub(Server) { getId() >> 1 }
+            def oldMember = member(10, server)
+            def newMember = member(10, server)
+            cache.addMember(oldMember)
+
+        when:
+            cache.addMember(newMember)
+
+        then:
+            cache.getMembersByServer(1).size() == 1
+            cache.getMemberByIdAndServer(10, 1).get().is(newMember)
+            !cache.getMembersByServer(1).contains(oldMember)
+    }
+
+    def 'the user is only removed with the last member'() {
+        given:
+            def cache = new ConcurrentMemberCache()
+            def memberA1 = member(10, Stub(Server) { getId() >> 1 })
+            def memberA2 = member(10, Stub(Server) { getId() >> 2 })
+            cache.addMembers([memberA1, memberA2])
+
+        when:
+            cache.removeMember(memberA1)
+
+        then:
+            cache.getMembersById(10) == [memberA2] as Set
+            cache.userCache.getUserById(10).present
+
+        when:
+            cache.removeMember(memberA2)
+
+        then:
+            cache.getMembersById(10).empty
+            !cache.userCache.getUserById(10).present
+    }
+
+    def 'members can be looked up by their roles'() {
+        given:
+            def cache = new ConcurrentMemberCache()
+            def server = Stub(Server) { getId() >> 1 }
+            def memberA = member(10, server, [100L, 1L])
+            def memberB = member(20, server, [100L, 200L, 1L])
+            cache.addMembers([memberA, memberB])
+
+        expect:
+            cache.getMembersByRole(100) == [memberA, memberB] as Set
+            cache.getMembersByRole(200) == [memberB] as Set
+            cache.getMembersByRole(1).empty
+
+        when:
+            def updatedMemberA = member(10, server, [200L, 1L])
+            cache.addMember(updatedMemberA)
+            cache.removeMember(memberB)
+
+        then:
+            cache.getMembersByRole(100).empty
+            cache.getMembersByRole(200) == [updatedMemberA] as Set
+
+        when:
+            cache.removeRole(Stub(Role) { getId() >> 200; getServer() >> server })
+
+        then:
+            cache.getMembersByRole(200).empty
+    }
+
+    def member(long id, Server server, List<Long> roleIds = []) {
+        def user = Stub(User) { getId() >> id }
+        Stub(Member) {
+            getId() >> id
+            getServer() >> server
+            getUser() >> user
+            getRoleIds() >> roleIds
+        }
+    }
+
+}
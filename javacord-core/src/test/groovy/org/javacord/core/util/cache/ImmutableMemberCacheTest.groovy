@@ -0,0 +1,93 @@
+package org.javacord.core.util.cache
+
+import org.javacord.api.entity.permission.Role
+import org.javacord.api.entity.server.Server
+import org.javacord.api.entity.user.User
+import org.javacord.core.entity.user.Member
+import spock.lang.Specification
+import spock.lang.Subject
+
+@Subject(ImmutableMemberCache)
+class ImmutableMemberCacheTest extends Specification {
+
+    def 'added members can be looked up by their roles'() {
+        given:
+            def server = Stub(Server) { getId() >> 1 }
+            def memberA = member(10, server, [100L, 1L])
+            def memberB = member(20, server, [100L, 200L, 1L])
+
+        when:
+            def cache = ImmutableMemberCache.empty().addMember(memberA).addMembers([memberB])
+
+        then:
+            cache.getMembersByRole(100) == [memberA, memberB] as Set
+            cache.getMembersByRole(200) == [memberB] as Set
+            cache.getMembersByRole(1).empty
+    }
+
+    def 'removed members are removed from the role index'() {
+        given:
+            def server = Stub(Server) { getId() >> 1 }
+            def memberA = member(10, server, [100L])
+            def memberB = member(20, server, [100L, 200L])
+            def cache = ImmutableMemberCache.empty().addMembers([memberA, memberB])
+
+        when:
+            cache = cache.removeMember(memberB)
+
+        then:
+            cache.getMembersByRole(100) == [memberA] as Set
+            cache.getMembersByRole(200).empty
+    }
+
+    def 'the role index is updated if the roles of a member change'() {
+        given:
+            def server = Stub(Server) { getId() >> 1 }
+            def oldMember = member(10, server, [100L])
+            def cache = ImmutableMemberCache.empty().addMember(oldMember)
+            def updatedMember = member(10, server, [200L])
+
+        when:
+            cache = cache.removeMember(oldMember).addMember(updatedMember)
+
+        then:
+            cache.getMembersByRole(100).empty
+            cache.getMembersByRole(200) == [updatedMember] as Set
+
+        when:
+            cache = cache.removeRole(Stub(Role) { getId() >> 200; getServer() >> server })
+
+        then:
+            cache.getMembersByRole(200).empty
+            cache.getMemberByIdAndServer(10, 1).get().is(updatedMember)
+    }
+
+    def 'the role index of previous cache instances is not modified'() {
+        given:
+            def server = Stub(Server) { getId() >> 1 }
+            def oldMember = member(10, server, [100L])
+            def cache = ImmutableMemberCache.empty().addMember(oldMember)
+
+        when:
+            cache.removeMember(oldMember).addMember(member(10, server, [200L]))
+            cache.addMember(member(20, server, [100L]))
+            cache.removeMember(oldMember)
+            cache.removeRole(Stub(Role) { getId() >> 100; getServer() >> server })
+
+        then:
+            cache.getMembersByRole(100) == [oldMember] as Set
+            cache.getMembersByRole(200).empty
+            ImmutableMemberCache.empty().getMembersByRole(100).empty
+    }
+
+    def member(long id, Server server, List<Long> roleIds = []) {
+        def user = Stub(User) { getId() >> id }
+        Stub(Member) {
+            getId() >> id
+            getServer() >> server
+            getUser() >> user
+            getRoleIds() >> roleIds
+        }
+    }
+
+}
@@ -0,0 +1,104 @@
+package org.javacord.core.util.cache
+
+import org.javacord.api.entity.DiscordEntity
+import org.javacord.api.entity.message.Message
+import org.javacord.core.DiscordApiImpl
+import spock.lang.Specification
+import spock.lang.Subject
+
+import java.util.concurrent.TimeUnit
+
+@Subject(MessageCacheEngine)
+class MessageCacheEngineTest extends Specification {
+
+    def api = new DiscordApiImpl(null, null, null, null, null, null, false)
+
+    def engine = api.messageCacheEngine
+
+    def cleanup() {
+        api.threadPool.shutdown()
+    }
+
+    def 'a sweep only removes expired messages of the caches which are due'() {
+        given:
+            def now = System.currentTimeMillis()
+            def expiringCache = new MessageCacheImpl(api, 50, 60, true)
+            def freshCache = new MessageCacheImpl(api, 50, 60, true)
+            def expired = message(now - TimeUnit.MINUTES.toMillis(2))
+            def recent = message(now - TimeUnit.SECONDS.toMillis(10))
+            def fresh = message(now)
+
+        when:
+            expiringCache.addMessage(expired)
+            expiringCache.addMessage(recent)
+            freshCache.addMessage(fresh)
+
+        then:
+            engine.evictionIndex.first() == expiringCache
+
+        when:
+            engine.sweep()
+
+        then:
+            cachedMessages(expiringCache) == [recent]
+            cachedMessages(freshCache) == [fresh]
+            engine.evictionIndex.size() == 2
+            expiringCache.scheduledEviction == recent.creationTimestamp.toEpochMilli() + 60_000
+    }
+
+    def 'caches without automatic cleanup are not scheduled'() {
+        given:
+            def cache = new MessageCacheImpl(api, 1, 60, false)
+            def recent = message(System.currentTimeMillis())
+
+        when:
+            cache.addMessage(message(System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(2)))
+            cache.addMessage(recent)
+
+        then:
+            engine.evictionIndex.empty
+            cache.messages.size() == 2
+
+        when:
+            cache.automaticCleanupEnabled = true
+            engine.sweep()
+
+        then:
+            engine.evictionIndex.size() == 1
+            cachedMessages(cache) == [recent]
+
+        when:
+            cache.cleanup()
+
+        then:
+            engine.evictionIndex.empty
+    }
+
+    def 'the oldest messages are evicted as soon as the capacity is exceeded'() {
+        given:
+            def cache = new MessageCacheImpl(api, 2, 60, true)
+            def now = System.currentTimeMillis()
+            def messages = (3..0).collect { message(now - it * 1000) }
+
+        when:
+            messages.each { cache.addMessage(it) }
+
+        then:
+            cachedMessages(cache) == messages[2..3]
+    }
+
+    private static List<Message> cachedMessages(MessageCacheImpl cache) {
+        (0..<cache.messages.size()).collect { cache.messages.get(it).get() }
+    }
+
+    private Message message(long timestamp) {
+        long id = (timestamp - 1420070400000L) << 22
+        Stub(Message) {
+            getId() >> id
+            getCreationTimestamp() >> DiscordEntity.getCreationTimestamp(id)
+            isCachedForever() >> false
+            compareTo(_ as Message) >> { Message other -> Long.compare(id, other.id) }
+        }
+    }
+
+}
@@ -0,0 +1,61 @@
+package org.javacord.core.util.cache
+
+import org.javacord.api.entity.message.Message
+import spock.lang.Specification
+import spock.lang.Subject
+
+import java.util.stream.Collectors
+
+@Subject(MessageIndex)
+class MessageIndexTest extends Specification {
+
+    def index = new MessageIndex()
+
+    def 'messages can be found by their id after other messages were added and removed'() {
+        given:
+            def ids = (1L..5000L).collect { it << 22 | it % 7 }
+            def messages = ids.collectEntries { [(it): message(it)] }
+
+        when:
+            messages.values().each { index.add(it) }
+            ids.findAll { it % 3 == 0 }.each { index.remove(it) }
+
+        then:
+            ids.every { id -> index.get(id).is(id % 3 == 0 ? null : messages[id]) }
+            index.stream().collect(Collectors.toSet()) == messages.findAll { it.key % 3 != 0 }.values().toSet()
+            index.stream().parallel().count() == ids.count { it % 3 != 0 }
+    }
+
+    def 'adding a message with a known id keeps the known message'() {
+        given:
+            def first = message(42L << 22)
+            def second = message(42L << 22)
+
+        when:
+            index.add(first)
+            index.add(second)
+
+        then:
+            index.get(42L << 22).is(first)
+            index.stream().count() == 1
+    }
+
+    def 'a cleared index is empty'() {
+        given:
+            (1L..100L).each { index.add(message(it << 22)) }
+
+        when:
+            index.clear()
+
+        then:
+            index.get(1L << 22) == null
+            index.stream().count() == 0
+    }
+
+    private Message message(long id) {
+        Stub(Message) {
+            getId() >> id
+        }
+    }
+
+}
@@ -0,0 +1,71 @@
+package org.javacord.core.util.cache
+
+import spock.lang.Specification
+import spock.lang.Subject
+
+@Subject(SnowflakeRing)
+class SnowflakeRingTest extends Specification {
+
+    def ring = new SnowflakeRing<String>()
+
+    def 'values are sorted by their id regardless of the insertion order'() {
+        given:
+            def ids = (1L..100L).toList()
+            Collections.shuffle(ids, new Random(42))
+
+        when:
+            ids.each { ring.add(it, "value $it".toString()) }
+
+        then:
+            ring.size() == 100
+            (0..<100).collect { ring.getId(it) } == (1L..100L).toList()
+            (0..<100).every { ring.get(it) == "value ${ring.getId(it)}".toString() }
+    }
+
+    def 'values with an already contained id are not added'() {
+        given:
+            ring.add(2, 'first')
+            ring.add(1, 'second')
+
+        expect:
+            !ring.add(2, 'duplicate')
+            !ring.add(1, 'duplicate')
+            ring.size() == 2
+            ring.find(2) == 'first'
+            ring.contains(1)
+            !ring.contains(3)
+            ring.find(3) == null
+    }
+
+    def 'values can be removed from the head, the middle and the tail after wrapping around'() {
+        given:
+            (1L..16L).each { ring.add(it, it.toString()) }
+            (1..8).each { ring.removeFirst() }
+            (17L..24L).each { ring.add(it, it.toString()) }
+
+        when:
+            def removed = [ring.removeFirst(), ring.remove(12), ring.remove(20), ring.remove(24), ring.remove(99)]
+
+        then:
+            removed == ['9', '12', '20', '24', null]
+            (0..<ring.size()).collect { ring.getId(it) } == [10L, 11L, 13L, 14L, 15L, 16L, 17L, 18L, 19L, 21L, 22L, 23L]
+    }
+
+    def 'a ring releases its buffer when it gets sparse'() {
+        when:
+            (1L..1000L).each { ring.add(it, it.toString()) }
+            (1..990).each { ring.removeFirst() }
+
+        then:
+            ring.ids.length == 32
+            (0..<ring.size()).collect { ring.getId(it) } == (991L..1000L).toList()
+
+        when:
+            (1..10).each { ring.removeFirst() }
+
+        then:
+            ring.empty
+            ring.ids.length == 0
+    }
+
+}
@@ -0,0 +1,74 @@
+package org.javacord.core.util.concurrent
+
+import spock.lang.Specification
+import spock.lang.Subject
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+@Subject(HashedWheelTimer)
+class HashedWheelTimerTest extends Specification {
+
+    def executor = Executors.newSingleThreadExecutor()
+
+    def timer = new HashedWheelTimer(executor, 10, TimeUnit.MILLISECONDS, 8)
+
+    def cleanup() {
+        executor.shutdownNow()
+    }
+
+    def 'timeouts expire after their delay, also if it exceeds a round of the wheel'() {
+        given:
+            def expired = new CountDownLatch(2)
+            def start = System.nanoTime()
+            def expirationTimes = [].asSynchronized()
+
+        when:
+            [30, 250].each { delay ->
+                timer.newTimeout({
+                    expirationTimes << TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)
+                    expired.countDown()
+                }, delay, TimeUnit.MILLISECONDS)
+            }
+
+        then:
+            expired.await(5, TimeUnit.SECONDS)
+            expirationTimes[0] >= 30
+            expirationTimes[1] >= 250
+    }
+
+    def 'cancelled timeouts do not expire'() {
+        given:
+            def expirations = new AtomicInteger()
+            def expired = new CountDownLatch(1)
+
+        when:
+            def cancelled = timer.newTimeout({ expirations.incrementAndGet() }, 20, TimeUnit.MILLISECONDS)
+            def cancelResult = cancelled.cancel()
+            timer.newTimeout({ expired.countDown() }, 60, TimeUnit.MILLISECONDS)
+
+        then:
+            cancelResult
+            expired.await(5, TimeUnit.SECONDS)
+            expirations.get() == 0
+            !cancelled.cancel()
+    }
+
+    def 'the timer keeps working after it was idle'() {
+        given:
+            def first = new CountDownLatch(1)
+            def second = new CountDownLatch(1)
+
+        when:
+            timer.newTimeout({ first.countDown() }, 10, TimeUnit.MILLISECONDS)
+            first.await(5, TimeUnit.SECONDS)
+            Thread.sleep(100)
+            timer.newTimeout({ second.countDown() }, 10, TimeUnit.MILLISECONDS)
+
+        then:
+            second.await(5, TimeUnit.SECONDS)
+    }
+
+}
@@ -0,0 +1,100 @@
+package org.javacord.core.util.concurrent
+
+import org.javacord.api.util.concurrent.ThreadPoolType
+import spock.lang.Specification
+import spock.lang.Subject
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.RejectedExecutionException
+import java.util.concurrent.TimeUnit
+
+@Subject(ThreadPoolImpl)
+class ThreadPoolImplTest extends Specification {
+
+    def 'the automatic type uses virtual threads only if they are supported'() {
+        given:
+            def threadPool = new ThreadPoolImpl()
+
+        expect:
+            threadPool.type == (VirtualThreads.supported ? ThreadPoolType.VIRTUAL : ThreadPoolType.CACHED)
+
+        cleanup:
+            threadPool.shutdown()
+    }
+
+    def 'a bounded executor service runs tasks in the submitting thread if it is saturated'() {
+        given:
+            def threadPool = new ThreadPoolImpl(ThreadPoolType.BOUNDED, 2, 2)
+            def release = new CountDownLatch(1)
+            def started = new CountDownLatch(2)
+            def callerThread = null
+
+        when:
+            2.times {
+                threadPool.executorService.submit {
+                    started.countDown()
+                    release.await()
+                }
+            }
+            started.await(5, TimeUnit.SECONDS)
+            2.times { threadPool.executorService.submit { } }
+            threadPool.executorService.submit { callerThread = Thread.currentThread() }
+
+        then:
+            threadPool.activeTaskCount == 2
+            threadPool.queuedTaskCount == 2
+            threadPool.callerRunsTaskCount == 1
+            callerThread == Thread.currentThread()
+
+        cleanup:
+            release.countDown()
+            threadPool.shutdown()
+    }
+
+    def 'a saturated bounded executor service does not run tasks of the scheduler in the scheduler thread'() {
+        given:
+            def threadPool = new ThreadPoolImpl(ThreadPoolType.BOUNDED, 1, 1)
+            def release = new CountDownLatch(1)
+            def started = new CountDownLatch(1)
+            def executed = new CountDownLatch(1)
+            def executingThread = null
+
+        when:
+            threadPool.executorService.submit {
+                started.countDown()
+                release.await()
+            }
+            started.await(5, TimeUnit.SECONDS)
+            threadPool.executorService.submit { }
+            threadPool.scheduler.submit {
+                threadPool.executorService.submit {
+                    executingThread = Thread.currentThread()
+                    executed.countDown()
+                }
+            }.get(5, TimeUnit.SECONDS)
+
+        then: 'the scheduler is not blocked by the rejected task'
+            threadPool.scheduler.submit { }.get(5, TimeUnit.SECONDS) == null
+            executed.await(5, TimeUnit.SECONDS)
+            executingThread.name.startsWith('Javacord - Central Overflow ExecutorService')
+            threadPool.callerRunsTaskCount == 1
+
+        cleanup:
+            release.countDown()
+            threadPool.shutdown()
+    }
+
+    def 'a shut down bounded executor service rejects tasks'() {
+        given:
+            def threadPool = new ThreadPoolImpl(ThreadPoolType.BOUNDED, 1, 1)
+            threadPool.shutdown()
+
+        when:
+            threadPool.executorService.submit { }
+
+        then:
+            thrown(RejectedExecutionException)
+            threadPool.callerRunsTaskCount == 0
+    }
+
+}
@@ -0,0 +1,71 @@
+package org.javacord.core.util.event
+
+import org.javacord.core.DiscordApiImpl
+import spock.lang.Specification
+import spock.lang.Subject
+
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+@Subject(EventDispatcherBase)
+class EventDispatcherBaseTest extends Specification {
+
+    def api = new DiscordApiImpl(null, null, null, null, null, null, false)
+
+    def dispatcher = new EventDispatcherBase(api) { }
+
+    def cleanup() {
+        api.threadPool.shutdown()
+    }
+
+    def 'events with the same queue selector are dispatched in order'() {
+        given:
+            def selectors = (1..4).collect { new DispatchQueueSelector() { } }
+            def dispatched = new ConcurrentHashMap<DispatchQueueSelector, List<Integer>>()
+            def finished = new CountDownLatch(4 * 500)
+
+        when:
+            (0..<500).each { i ->
+                selectors.each { selector ->
+                    dispatcher.dispatchEvent(selector, [i]) {
+                        dispatched.computeIfAbsent(selector) { new CopyOnWriteArrayList<>() } << it
+                        finished.countDown()
+                    }
+                }
+            }
+
+        then:
+            finished.await(10, TimeUnit.SECONDS)
+            dispatched.values().every { it == (0..<500).toList() }
+    }
+
+    def 'events without queue selector are dispatched exclusively between the other events'() {
+        given:
+            def selectors = (1..4).collect { new DispatchQueueSelector() { } }
+            def dispatched = new CopyOnWriteArrayList<String>()
+            def finished = new CountDownLatch(1)
+
+        when:
+            selectors.each { selector ->
+                dispatcher.dispatchEvent(selector, [1, 2]) {
+                    Thread.sleep(20)
+                    dispatched << 'before'
+                }
+            }
+            dispatcher.dispatchEvent(null, [1]) { dispatched << 'lifecycle' }
+            selectors.each { selector ->
+                dispatcher.dispatchEvent(selector, [1]) { dispatched << 'after' }
+            }
+            dispatcher.dispatchEvent(null, [1]) {
+                dispatched << 'lifecycle'
+                finished.countDown()
+            }
+
+        then:
+            finished.await(10, TimeUnit.SECONDS)
+            dispatched == ['before'] * 8 + ['lifecycle'] + ['after'] * 4 + ['lifecycle']
+    }
+
+}
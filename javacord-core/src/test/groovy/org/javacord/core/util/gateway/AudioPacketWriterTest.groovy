@@ -0,0 +1,62 @@
+package org.javacord.core.util.gateway
+
+import com.codahale.xsalsa20poly1305.SecretBox
+import okio.ByteString
+import spock.lang.Specification
+import spock.lang.Subject
+
+@Subject(AudioPacketWriter)
+class AudioPacketWriterTest extends Specification {
+
+    def key = (0..31).collect { it as byte } as byte[]
+
+    def 'packets contain the rtp header and the encrypted frame'() {
+        given:
+            def writer = new AudioPacketWriter(42, key, AudioEncryptionMode.XSALSA20_POLY1305)
+            def frame = (1..100).collect { it as byte } as byte[]
+
+        when:
+            def packet = bytes(writer.write(frame, 7 as char, 7 * 960))
+
+        then:
+            packet.length == 12 + 16 + frame.length
+            packet[0..11] == [0x80, 0x78, 0, 7, 0, 0, 0x1A, 0x40, 0, 0, 0, 42].collect { it as byte }
+            open(packet[0..11], packet[12..-1]) == frame
+    }
+
+    def 'packets in lite mode append an incrementing nonce'() {
+        given:
+            def writer = new AudioPacketWriter(42, key, AudioEncryptionMode.XSALSA20_POLY1305_LITE)
+            def frame = (1..100).collect { it as byte } as byte[]
+
+        expect:
+            (0..2).every { i ->
+                def packet = bytes(writer.write(frame, i as char, i * 960))
+                def nonce = packet[-4..-1]
+                nonce == [0, 0, 0, i].collect { it as byte } && open(nonce, packet[12..-5]) == frame
+            }
+    }
+
+    def 'the buffers grow for large frames'() {
+        given:
+            def writer = new AudioPacketWriter(42, key, AudioEncryptionMode.XSALSA20_POLY1305)
+            def frame = new byte[5000]
+
+        expect:
+            writer.write(frame, 0 as char, 0).remaining() == 12 + 16 + frame.length
+    }
+
+    private static byte[] bytes(def buffer) {
+        def bytes = new byte[buffer.remaining()]
+        buffer.get(bytes)
+        bytes
+    }
+
+    private byte[] open(List<Byte> nonce, List<Byte> box) {
+        def paddedNonce = new byte[24]
+        System.arraycopy(nonce as byte[], 0, paddedNonce, 0, nonce.size())
+        new SecretBox(ByteString.of(key)).open(ByteString.of(paddedNonce), ByteString.of(box as byte[])).get()
+                .toByteArray()
+    }
+
+}
@@ -0,0 +1,106 @@
+package org.javacord.core.util.gateway
+
+import org.javacord.core.DiscordApiImpl
+import org.javacord.core.util.concurrent.ThreadPoolImpl
+import spock.lang.Specification
+import spock.lang.Subject
+import spock.util.concurrent.PollingConditions
+
+import java.util.concurrent.CopyOnWriteArrayList
+
+@Subject(AudioSendScheduler)
+class AudioSendSchedulerTest extends Specification {
+
+    def threadPool = new ThreadPoolImpl()
+
+    def scheduler = new AudioSendScheduler(Stub(DiscordApiImpl) { getThreadPool() >> threadPool }, 1)
+
+    def cleanup() {
+        threadPool.shutdown()
+    }
+
+    def 'the frames of a socket are sent at a fixed rate'() {
+        given:
+            def sendTimes = new CopyOnWriteArrayList<Map<String, Long>>()
+            def socket = socket(sendTimes)
+
+        when:
+            scheduler.register socket
+            Thread.sleep(500)
+            scheduler.unregister socket
+
+        then:
+            sendTimes.size() in (20..27)
+            sendTimes.every { it.sendTime >= it.deadline }
+    }
+
+    def 'a socket whose frame is not ready does not delay the other sockets of the lane'() {
+        given:
+            def sendTimes = new CopyOnWriteArrayList<Map<String, Long>>()
+            def slowSocket = Stub(AudioUdpSocket) {
+                isFrameReady() >> false
+                getNextFrameDeadline() >> System.nanoTime()
+            }
+
+            def fastSocket = socket(sendTimes)
+
+        when:
+            scheduler.register slowSocket
+            scheduler.register fastSocket
+            Thread.sleep(500)
+
+        then:
+            sendTimes.size() in (20..27)
+
+        cleanup:
+            scheduler.unregister slowSocket
+            scheduler.unregister fastSocket
+    }
+
+    def 'a lane stops its thread when its last socket was removed and starts a new one for the next socket'() {
+        given:
+            def firstSocket = socket(new CopyOnWriteArrayList<Map<String, Long>>())
+
+        when:
+            scheduler.register firstSocket
+            scheduler.unregister firstSocket
+
+        then:
+            new PollingConditions(timeout: 5).eventually {
+                assert !laneThreadAlive()
+            }
+
+        when:
+            def sendTimes = new CopyOnWriteArrayList<Map<String, Long>>()
+            scheduler.register socket(sendTimes)
+
+        then:
+            laneThreadAlive()
+            new PollingConditions(timeout: 5).eventually {
+                assert !sendTimes.empty
+            }
+    }
+
+    /**
+     * Creates a socket whose frames are always ready and which records the times its frames were sent.
+     *
+     * @param sendTimes The list to which the send times and the deadlines of the sent frames are added.
+     * @return The socket.
+     */
+    def socket(List<Map<String, Long>> sendTimes) {
+        long deadline = System.nanoTime()
+        Stub(AudioUdpSocket) {
+            isFrameReady() >> true
+            getNextFrameDeadline() >> { deadline }
+            sendFrame(_) >> { long now ->
+                sendTimes << [sendTime: now, deadline: deadline]
+                deadline = Math.max(deadline, now) + AudioUdpSocket.FRAME_DURATION_NANOS
+            }
+        }
+    }
+
+    static boolean laneThreadAlive() {
+        Thread.allStackTraces.keySet().any { it.alive && it.name == 'Javacord - Javacord Audio Send Thread' }
+    }
+
+}
@@ -0,0 +1,48 @@
+package org.javacord.core.util.gateway
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import spock.lang.Specification
+import spock.lang.Subject
+
+import java.nio.charset.StandardCharsets
+
+@Subject(GatewayPayload)
+class GatewayPayloadTest extends Specification {
+
+    def mapper = new ObjectMapper()
+
+    def parse(String json) {
+        def bytes = json.getBytes(StandardCharsets.UTF_8)
+        // Simulate a reused buffer that is larger than the payload
+        def buffer = Arrays.copyOf(bytes, bytes.length + 16)
+        GatewayPayload.parse(mapper, buffer, bytes.length)
+    }
+
+    def 'the envelope is read regardless of the field order'() {
+        when:
+            def payload = parse('{"d":{"user_id":"1","nested":{"a":[1,2]}},"op":0,"s":42,"t":"TYPING_START"}')
+
+        then:
+            payload.opcode == 0
+            payload.sequence == 42
+            payload.type == 'TYPING_START'
+            payload.readData(mapper) == mapper.readTree('{"user_id":"1","nested":{"a":[1,2]}}')
+    }
+
+    def 'payloads without sequence number, type or data are parsed'() {
+        when:
+            def payload = parse('{"t":null,"s":null,"op":11}')
+
+        then:
+            payload.opcode == 11
+            payload.sequence == -1
+            payload.type == null
+            payload.readData(mapper).isNull()
+    }
+
+    def 'scalar data is read'() {
+        expect:
+            !parse('{"t":null,"s":null,"op":9,"d":false}').readData(mapper).asBoolean(true)
+    }
+
+}
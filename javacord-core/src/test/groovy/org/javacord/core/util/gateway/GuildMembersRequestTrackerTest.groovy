@@ -0,0 +1,47 @@
+package org.javacord.core.util.gateway
+
+import spock.lang.Specification
+import spock.lang.Subject
+
+@Subject(GuildMembersRequestTracker)
+class GuildMembersRequestTrackerTest extends Specification {
+
+    def tracker = new GuildMembersRequestTracker()
+
+    def 'the progress of every server of a request is tracked by its chunks'() {
+        given:
+            def nonce = tracker.startRequest([1L, 2L])
+
+        expect:
+            tracker.getProgress(1).asDouble == 0
+            tracker.pendingServerCount == 2
+
+        when:
+            def lastChunks = [
+                    tracker.handleChunk(1, nonce, 1, 4),
+                    tracker.handleChunk(1, nonce, 1, 4),
+                    tracker.handleChunk(1, nonce, 0, 4),
+                    tracker.handleChunk(2, nonce, 0, 1)
+            ]
+
+        then:
+            lastChunks == [false, false, false, true]
+            tracker.getProgress(1).asDouble == 0.5
+            !tracker.getProgress(2).present
+            tracker.pendingServerCount == 1
+    }
+
+    def 'chunks of outdated requests are ignored'() {
+        given:
+            def oldNonce = tracker.startRequest([1L])
+            def newNonce = tracker.startRequest([1L])
+
+        expect:
+            oldNonce != newNonce
+            !tracker.handleChunk(1, oldNonce, 0, 1)
+            !tracker.handleChunk(1, null, 0, 1)
+            tracker.getProgress(1).present
+            tracker.handleChunk(1, newNonce, 0, 1)
+    }
+
+}
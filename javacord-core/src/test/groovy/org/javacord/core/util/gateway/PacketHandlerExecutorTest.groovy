@@ -0,0 +1,71 @@
+package org.javacord.core.util.gateway
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import org.javacord.core.DiscordApiImpl
+import spock.lang.Specification
+import spock.lang.Subject
+
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+@Subject(PacketHandlerExecutor)
+class PacketHandlerExecutorTest extends Specification {
+
+    def api = new DiscordApiImpl(null, null, null, null, null, null, false)
+
+    def mapper = new ObjectMapper()
+
+    def cleanup() {
+        api.threadPool.shutdown()
+    }
+
+    def 'packets of the same server are handled in order'() {
+        given:
+            def executor = new PacketHandlerExecutor(api, 4)
+            def handled = new ConcurrentHashMap<Long, List<Integer>>()
+            def finished = new CountDownLatch(400)
+
+        when:
+            (0..<100).each { i ->
+                (1L..4L).each { serverId ->
+                    executor.execute('MESSAGE_CREATE', mapper.readTree("""{"guild_id":"$serverId"}""")) {
+                        handled.computeIfAbsent(serverId) { new CopyOnWriteArrayList<>() } << i
+                        finished.countDown()
+                    }
+                }
+            }
+
+        then:
+            finished.await(10, TimeUnit.SECONDS)
+            handled.values().every { it == (0..<100).toList() }
+    }
+
+    def 'packets without server or channel are handled after all previous packets'() {
+        given:
+            def executor = new PacketHandlerExecutor(api, 4)
+            def handled = new CopyOnWriteArrayList<String>()
+            def finished = new CountDownLatch(1)
+
+        when:
+            (1L..8L).each { serverId ->
+                executor.execute('GUILD_CREATE', mapper.readTree("""{"id":"$serverId"}""")) {
+                    Thread.sleep(10)
+                    handled << 'server'
+                }
+            }
+            executor.execute('USER_UPDATE', mapper.readTree('{"id":"1"}')) {
+                handled << 'user'
+            }
+            executor.execute('MESSAGE_CREATE', mapper.readTree('{"channel_id":"1"}')) {
+                handled << 'message'
+                finished.countDown()
+            }
+
+        then:
+            finished.await(10, TimeUnit.SECONDS)
+            handled == ['server'] * 8 + ['user', 'message']
+    }
+
+}
@@ -0,0 +1,98 @@
+package org.javacord.core.util.gateway
+
+import org.javacord.core.DiscordApiImpl
+import org.javacord.core.util.concurrent.ThreadPoolImpl
+import spock.lang.Specification
+import spock.lang.Subject
+
+@Subject(StartupTracker)
+class StartupTrackerTest extends Specification {
+
+    def threadPool = new ThreadPoolImpl()
+
+    DiscordApiImpl api = Stub {
+        getThreadPool() >> threadPool
+        isWaitingForServersOnStartup() >> true
+    }
+
+    def tracker = new StartupTracker(api)
+
+    def cleanup() {
+        threadPool.shutdown()
+    }
+
+    def 'the startup is finished once the last pending server is loaded'() {
+        given:
+            tracker.addPendingServer(1)
+            tracker.addPendingServer(2)
+            def finished = tracker.start()
+
+        when:
+            tracker.updateMemberProgress(1, 2, 4)
+            tracker.updateMemberProgress(1, 4, 4)
+            tracker.serverLoaded(1)
+
+        then:
+            !finished.done
+            tracker.loadedServerCount == 1
+            tracker.expectedServerCount == 2
+            tracker.loadedMemberCount == 4
+            tracker.expectedMemberCount == 4
+
+        when:
+            tracker.updateMemberProgress(2, 3, 3)
+            tracker.serverLoaded(2)
+
+        then:
+            finished.done
+            tracker.loadedServerCount == 2
+            tracker.loadedMemberCount == 7
+            tracker.expectedMemberCount == 7
+    }
+
+    def 'the startup is finished immediately without pending servers'() {
+        given:
+            tracker.addPendingServer(1)
+            tracker.serverLoaded(1)
+
+        expect:
+            !tracker.finished
+            tracker.start().done
+    }
+
+    def 'the startup of a resumed session of a restored cache snapshot is finished once it is started'() {
+        given: 'a shard whose servers were restored before the websocket adapter and its tracker were created'
+            def shard = new DiscordApiImpl(null, null, null, null, null, null, false)
+            def restoredTracker = new StartupTracker(shard)
+            shard.@websocketAdapter = Stub(DiscordWebSocketAdapter) {
+                getStartupTracker() >> restoredTracker
+            }
+
+        expect:
+            !shard.startupProgress.get().finished
+
+        when: 'the session is resumed'
+            restoredTracker.start()
+
+        then:
+            shard.startupProgress.get().finished
+            shard.startupProgress.get().expectedServerCount == 0
+
+        cleanup:
+            shard.@websocketAdapter = null
+            shard.threadPool.shutdown()
+    }
+
+    def 'the startup is finished immediately if it does not wait for servers'() {
+        given:
+            DiscordApiImpl api = Stub {
+                isWaitingForServersOnStartup() >> false
+            }
+            def tracker = new StartupTracker(api)
+            tracker.addPendingServer(1)
+
+        expect:
+            tracker.start().done
+    }
+
+}
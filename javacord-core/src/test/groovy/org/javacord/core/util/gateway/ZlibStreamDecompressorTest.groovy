@@ -0,0 +1,71 @@
+package org.javacord.core.util.gateway
+
+import spock.lang.Specification
+import spock.lang.Subject
+
+import java.nio.charset.StandardCharsets
+import java.util.zip.DataFormatException
+import java.util.zip.Deflater
+
+@Subject(ZlibStreamDecompressor)
+class ZlibStreamDecompressorTest extends Specification {
+
+    def deflater = new Deflater()
+
+    def decompressor = new ZlibStreamDecompressor()
+
+    def cleanup() {
+        deflater.end()
+        decompressor.close()
+    }
+
+    byte[] compress(String message) {
+        deflater.setInput(message.getBytes(StandardCharsets.UTF_8))
+        def output = new ByteArrayOutputStream()
+        def buffer = new byte[64]
+        int count
+        while ((count = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH)) > 0) {
+            output.write(buffer, 0, count)
+        }
+        output.toByteArray()
+    }
+
+    def 'consecutive messages are decompressed with the shared zlib context'() {
+        given:
+            def messages = ['{"op":10}', '{"op":11}', '{"op":0,"t":"READY"}' * 2000]
+
+        expect:
+            messages.every { decompressor.decompress(compress(it)) == it }
+    }
+
+    def 'messages that are split across multiple frames are decompressed once complete'() {
+        given:
+            def message = '{"op":0,"d":"' + ('x' * 5000) + '"}'
+            def data = compress(message)
+
+        expect:
+            decompressor.decompress(Arrays.copyOfRange(data, 0, 3)) == null
+            decompressor.decompress(Arrays.copyOfRange(data, 3, data.length - 2)) == null
+            decompressor.decompress(Arrays.copyOfRange(data, data.length - 2, data.length)) == message
+    }
+
+    def 'a reset decompressor decompresses the stream of a new connection after a corrupted frame'() {
+        given:
+            decompressor.decompress(compress('{"op":10}'))
+            def corrupted = [1, 2, 3, 4, 0, 0, 0xff, 0xff] as byte[]
+
+        when:
+            decompressor.decompress(corrupted)
+
+        then:
+            thrown(DataFormatException)
+
+        when:
+            decompressor.reset()
+            deflater.reset()
+
+        then:
+            decompressor.decompress(compress('{"op":11}')) == '{"op":11}'
+    }
+
+}
@@ -0,0 +1,261 @@
+package org.javacord.core.util.handler.guild
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import org.javacord.api.AccountType
+import org.javacord.api.entity.intent.Intent
+import org.javacord.api.entity.user.UserStatus
+import org.javacord.api.listener.channel.server.ServerChannelChangeNameListener
+import org.javacord.api.listener.channel.server.voice.ServerVoiceChannelMemberLeaveListener
+import org.javacord.api.listener.server.ServerLeaveListener
+import org.javacord.api.listener.server.emoji.KnownCustomEmojiChangeNameListener
+import org.javacord.api.listener.server.member.ServerMemberJoinListener
+import org.javacord.api.listener.server.member.ServerMemberLeaveListener
+import org.javacord.api.listener.server.role.RoleChangeNameListener
+import org.javacord.api.listener.server.role.RoleCreateListener
+import org.javacord.api.listener.server.role.RoleDeleteListener
+import org.javacord.api.listener.user.UserChangeNicknameListener
+import org.javacord.api.listener.user.UserChangeStatusListener
+import org.javacord.core.DiscordApiImpl
+import org.javacord.core.entity.channel.PrivateChannelImpl
+import org.javacord.core.entity.server.ServerImpl
+import org.javacord.core.entity.user.MemberImpl
+import org.javacord.core.entity.user.UserImpl
+import org.javacord.core.util.gateway.DiscordWebSocketAdapter
+import org.javacord.core.util.gateway.GuildMembersRequestTracker
+import org.javacord.core.util.gateway.StartupTracker
+import org.javacord.core.util.handler.ReadyHandler
+import spock.lang.Specification
+import spock.lang.Subject
+import spock.util.concurrent.PollingConditions
+
+import java.util.concurrent.CopyOnWriteArrayList
+
+@Subject([ServerReconciler, ReadyHandler])
+class ServerReconcilerTest extends Specification {
+
+    def mapper = new ObjectMapper()
+
+    def api = new DiscordApiImpl(AccountType.BOT, 'token', 0, 1,
+            [Intent.GUILD_MEMBERS, Intent.GUILD_PRESENCES] as Set,
+            true, false, null, null, null, null, null, false, null)
+
+    def events = new CopyOnWriteArrayList<String>()
+
+    def setup() {
+        api.setYourself(new UserImpl(api, mapper.valueToTree(user(1, 'bot')), (MemberImpl) null, null))
+        listen(RoleCreateListener) { "role created ${it.role.name}" }
+        listen(RoleChangeNameListener) { "role renamed ${it.oldName} -> ${it.newName}" }
+        listen(RoleDeleteListener) { "role deleted ${it.role.name}" }
+        listen(ServerChannelChangeNameListener) { "channel renamed ${it.oldName} -> ${it.newName}" }
+        listen(KnownCustomEmojiChangeNameListener) { "emoji renamed ${it.oldName} -> ${it.newName}" }
+        listen(UserChangeNicknameListener) { "nickname changed ${it.user.id} -> ${it.newNickname.orElse(null)}" }
+        listen(UserChangeStatusListener) { "status changed ${it.userId} -> ${it.newStatus}" }
+        listen(ServerMemberJoinListener) { "member joined ${it.user.id}" }
+        listen(ServerMemberLeaveListener) { "member left ${it.user.id}" }
+        listen(ServerVoiceChannelMemberLeaveListener) { "voice channel left ${it.user.id}" }
+        listen(ServerLeaveListener) { "server left ${it.server.id}" }
+    }
+
+    def cleanup() {
+        api.threadPool.shutdown()
+    }
+
+    def 'the changes of a server are applied to the cached server and dispatched'() {
+        given:
+            def server = new ServerImpl(api, mapper.valueToTree(guild()))
+            def changedGuild = guild()
+            changedGuild.roles = [role(10, '@everyone', 0), role(30, 'renamed', 1), role(31, 'new', 2)]
+            changedGuild.channels[0].name = 'general'
+            changedGuild.emojis[0].name = 'smile'
+            changedGuild.members = [member(100, 'boss', ['30']), member(101), member(103)]
+            changedGuild.voice_states = []
+            changedGuild.presences = [presence(100, 'online'), presence(101, 'dnd')]
+
+        when:
+            new ServerReconciler(api).reconcile(server, mapper.valueToTree(changedGuild))
+
+        then:
+            api.getServerById(10).get().is(server)
+            server.roles*.name == ['@everyone', 'renamed', 'new']
+            server.getTextChannelById(20).get().name == 'general'
+            server.getCustomEmojiById(40).get().name == 'smile'
+            server.members*.id as Set == [100L, 101L, 103L] as Set
+            server.memberCount == 3
+            server.getMemberById(100).get().getNickname(server).get() == 'boss'
+            server.getVoiceChannelById(21).get().connectedUserIds.empty
+            server.getMemberById(100).get().status == UserStatus.ONLINE
+
+        and: 'only the events of the changes are dispatched'
+            new PollingConditions(timeout: 5).eventually {
+                assert events as Set == [
+                        'role renamed role -> renamed',
+                        'role created new',
+                        'role deleted old',
+                        'channel renamed text -> general',
+                        'emoji renamed emoji -> smile',
+                        'nickname changed 100 -> boss',
+                        'member left 102',
+                        'member joined 103',
+                        'voice channel left 101',
+                        'status changed 100 -> ONLINE'
+                ] as Set
+            }
+            events.size() == 10
+    }
+
+    def 'the members of a large server are requested again and the members who left are removed'() {
+        given:
+            def tracker = new GuildMembersRequestTracker()
+            api.@websocketAdapter = Stub(DiscordWebSocketAdapter) {
+                getGuildMembersRequestTracker() >> tracker
+                getStartupTracker() >> Stub(StartupTracker)
+            }
+            def largeGuild = guild()
+            largeGuild.large = true
+            def server = new ServerImpl(api, mapper.valueToTree(largeGuild))
+            def changedGuild = guild()
+            changedGuild.large = true
+            changedGuild.members = [member(100, 'owner', ['30'])]
+            changedGuild.voice_states = []
+            changedGuild.presences = [presence(100, 'idle')]
+
+        when:
+            new ServerReconciler(api).reconcile(server, mapper.valueToTree(changedGuild))
+
+        then: 'members which are not part of the packet are kept until the requested members were received'
+            server.resyncingMembers
+            server.members*.id as Set == [100L, 101L, 102L] as Set
+
+        when:
+            def nonce = tracker.startRequest([10L])
+            new GuildMembersChunkHandler(api).handle(mapper.valueToTree([
+                    guild_id   : '10',
+                    members    : [member(101), member(103)],
+                    chunk_index: 0,
+                    chunk_count: 1,
+                    nonce      : nonce
+            ]))
+
+        then:
+            !server.resyncingMembers
+            server.members*.id as Set == [100L, 101L, 103L] as Set
+            server.memberCount == 3
+            new PollingConditions(timeout: 5).eventually {
+                assert events as Set == [
+                        'member left 102',
+                        'member joined 103',
+                        'voice channel left 101',
+                        'status changed 101 -> OFFLINE'
+                ] as Set
+            }
+
+        cleanup:
+            api.@websocketAdapter = null
+    }
+
+    def 'the ready packet purges the cache if it does not contain any server'() {
+        given:
+            new PrivateChannelImpl(api, mapper.valueToTree([id: '50', type: 1, recipients: [user(200, 'friend')]]))
+            api.addUnavailableServerToCache(42)
+
+        when:
+            new ReadyHandler(api).handle(mapper.valueToTree([user: user(1, 'bot'), guilds: [guild()]]))
+
+        then:
+            !api.getPrivateChannelById(50).present
+            api.unavailableServers.empty
+            api.getServerById(10).get().members*.id as Set == [100L, 101L, 102L] as Set
+            events.empty
+    }
+
+    def 'the ready packet keeps the cached servers and removes the servers the bot left'() {
+        given:
+            new PrivateChannelImpl(api, mapper.valueToTree([id: '50', type: 1, recipients: [user(200, 'friend')]]))
+            def server = new ServerImpl(api, mapper.valueToTree(guild()))
+            def otherGuild = guild()
+            otherGuild.id = '11'
+            otherGuild.roles = [role(11, '@everyone', 0)]
+            otherGuild.members = [member(100)]
+            otherGuild.emojis = []
+            new ServerImpl(api, mapper.valueToTree(otherGuild))
+
+        when:
+            new ReadyHandler(api).handle(mapper.valueToTree([
+                    user  : user(1, 'bot'),
+                    guilds: [[id: '10', unavailable: true]]
+            ]))
+
+        then:
+            api.getPrivateChannelById(50).present
+            api.getServerById(10).get().is(server)
+            !api.getServerById(11).present
+            new PollingConditions(timeout: 5).eventually {
+                assert events == ['server left 11']
+            }
+    }
+
+    /**
+     * Adds a listener which records a description of its events.
+     *
+     * @param listenerClass The class of the listener.
+     * @param describe A closure which describes an event.
+     */
+    def listen(Class listenerClass, Closure describe) {
+        api.addListener(listenerClass, { event -> events << describe(event).toString() }.asType(listenerClass))
+    }
+
+    static Map user(long id, String name) {
+        [id: id as String, username: name, discriminator: '0001', avatar: null, bot: false]
+    }
+
+    static Map member(long id, String nickname = null, List<String> roles = []) {
+        [user: user(id, "user $id"), nick: nickname, roles: roles, joined_at: '2020-01-01T00:00:00Z',
+         deaf: false, mute: false]
+    }
+
+    static Map role(long id, String name, int position) {
+        [id: id as String, name: name, position: position, color: 0, hoist: false, mentionable: false,
+         permissions: 0, managed: false]
+    }
+
+    static Map presence(long userId, String status) {
+        [user: [id: userId as String], status: status, client_status: [desktop: status]]
+    }
+
+    static Map guild() {
+        [
+                id                           : '10',
+                name                         : 'Server',
+                region                       : 'europe',
+                large                        : false,
+                member_count                 : 3,
+                owner_id                     : '100',
+                verification_level           : 0,
+                explicit_content_filter      : 0,
+                default_message_notifications: 0,
+                mfa_level                    : 0,
+                premium_tier                 : 0,
+                preferred_locale             : 'en-US',
+                icon                         : null,
+                splash                       : null,
+                discovery_splash             : null,
+                afk_channel_id               : null,
+                afk_timeout                  : 300,
+                system_channel_id            : null,
+                system_channel_flags         : 0,
+                features                     : [],
+                channels                     : [
+                        [id: '20', type: 0, name: 'text', position: 0, topic: null, nsfw: false,
+                         rate_limit_per_user: 0, parent_id: null, permission_overwrites: []],
+                        [id: '21', type: 2, name: 'voice', position: 1, bitrate: 64000, user_limit: 0,
+                         parent_id: null, permission_overwrites: []]
+                ],
+                roles                        : [role(10, '@everyone', 0), role(30, 'role', 1), role(32, 'old', 2)],
+                emojis                       : [[id: '40', name: 'emoji', animated: false, managed: false]],
+                members                      : [member(100, 'owner', ['30']), member(101), member(102)],
+                voice_states                 : [[channel_id: '21', user_id: '101']],
+                presences                    : [presence(100, 'idle'), presence(101, 'dnd')]
+        ]
+    }
+
+}
@@ -0,0 +1,39 @@
+package org.javacord.core.util.ratelimit
+
+import org.javacord.api.util.ratelimit.LocalIdentifyRatelimiter
+import spock.lang.Specification
+import spock.lang.Subject
+
+import java.time.Duration
+
+@Subject(LocalIdentifyRatelimiter)
+class LocalIdentifyRatelimiterTest extends Specification {
+
+    def 'shards in different buckets identify at the same time'() {
+        given:
+            def ratelimiter = new LocalIdentifyRatelimiter(Duration.ofSeconds(2))
+
+        when:
+            def start = System.nanoTime()
+            (0..3).each { ratelimiter.requestQuota(it, 4) }
+            def duration = Duration.ofNanos(System.nanoTime() - start)
+
+        then:
+            duration < Duration.ofSeconds(1)
+    }
+
+    def 'shards in the same bucket wait for the bucket duration'() {
+        given:
+            def ratelimiter = new LocalIdentifyRatelimiter(Duration.ofMillis(300))
+
+        when:
+            def start = System.nanoTime()
+            ratelimiter.requestQuota(1, 2)
+            ratelimiter.requestQuota(3, 2)
+            def duration = Duration.ofNanos(System.nanoTime() - start)
+
+        then:
+            duration >= Duration.ofMillis(300)
+    }
+
+}
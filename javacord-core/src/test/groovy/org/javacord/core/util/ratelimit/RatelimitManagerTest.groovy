@@ -1,20 +1,41 @@
 package org.javacord.core.util.ratelimit
 
+import com.fasterxml.jackson.databind.JsonNode
+import com.fasterxml.jackson.databind.node.JsonNodeFactory
+import com.fasterxml.jackson.databind.node.NullNode
+import okhttp3.Protocol
+import okhttp3.Request
+import okhttp3.Response
 import org.apache.logging.log4j.test.appender.ListAppender
 import org.javacord.api.exception.DiscordException
 import org.javacord.core.DiscordApiImpl
 import org.javacord.core.util.concurrent.ThreadPoolImpl
+import org.javacord.core.util.rest.RestEndpoint
+import org.javacord.core.util.rest.RestMethod
 import org.javacord.core.util.rest.RestRequest
+import org.javacord.core.util.rest.RestRequestResult
 import spock.lang.Specification
 import spock.lang.Subject
+import spock.util.concurrent.PollingConditions
 
+import java.time.ZoneOffset
+import java.time.ZonedDateTime
+import java.time.format.DateTimeFormatter
 import java.util.concurrent.CompletableFuture
 import java.util.concurrent.CompletionException
+import java.util.concurrent.CountDownLatch
 import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
 
 @Subject(RatelimitManager)
 class RatelimitManagerTest extends Specification {
 
+    def threadPool = new ThreadPoolImpl()
+
+    def cleanup() {
+        threadPool.shutdown()
+    }
+
     def 'executeBlocking() throwing a DiscordException without result does not cause an Exception'() {
         given:
             RestRequest request = Stub {
@@ -47,4 +68,256 @@ class RatelimitManagerTest extends Specification {
             threadPool?.shutdown()
     }
 
+    def 'the time offset is calculated for the shard which sent the request, not for the shard of the manager'() {
+        given:
+            def firstShard = shard('time-offset-token')
+            def secondShard = shard('time-offset-token')
+            def ratelimitManager = new RatelimitManager(firstShard)
+            def discordTime = ZonedDateTime.now(ZoneOffset.UTC).plusHours(1)
+            def request = request(secondShard, RestEndpoint.CHANNEL, '1') {
+                result(response(200, [Date: DateTimeFormatter.RFC_1123_DATE_TIME.format(discordTime)]))
+            }
+
+        when:
+            ratelimitManager.queueRequest request
+            request.result.join()
+
+        then:
+            firstShard.timeOffset == null
+            secondShard.timeOffset > TimeUnit.MINUTES.toMillis(59)
+    }
+
+    def 'concurrent requests of the same bucket are executed one after another'() {
+        given:
+            def api = shard('serial-token')
+            def ratelimitManager = new RatelimitManager(api)
+            def running = new AtomicInteger()
+            def maxRunning = new AtomicInteger()
+            def requests = (1..5).collect {
+                request(api, RestEndpoint.MESSAGE, '1') {
+                    maxRunning.accumulateAndGet(running.incrementAndGet()) { a, b -> Math.max(a, b) }
+                    Thread.sleep(20)
+                    running.decrementAndGet()
+                    result(response(200, ['X-RateLimit-Remaining': '5']))
+                }
+            }
+
+        when:
+            requests.parallelStream().forEach { ratelimitManager.queueRequest it }
+            requests.each { it.result.join() }
+
+        then:
+            maxRunning.get() == 1
+    }
+
+    def 'the relative reset after header is preferred over the absolute reset header'() {
+        given:
+            def api = shard('reset-after-token')
+            def ratelimitManager = new RatelimitManager(api)
+            def request = request(api, RestEndpoint.MESSAGE, '1') {
+                // The absolute reset is one hour in the future and would be used with a zero time offset
+                def reset = (System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)) / 1000
+                result(response(200, [
+                        'X-RateLimit-Remaining'  : '0',
+                        'X-RateLimit-Reset'      : reset.toString(),
+                        'X-RateLimit-Reset-After': '2.5'
+                ]))
+            }
+
+        when:
+            ratelimitManager.queueRequest request
+            request.result.join()
+
+        then: 'the bucket is updated after the result was completed'
+            new PollingConditions(timeout: 1).eventually {
+                def bucket = ratelimitManager.buckets.find {
+                    it.key == RatelimitBucket.getKey(RestEndpoint.MESSAGE, '1')
+                }
+                assert bucket.timeTillSpaceGetsAvailable in (1..2500)
+            }
+    }
+
+    def 'a global 429 response ratelimits all buckets of the token'() {
+        given:
+            def api = shard('global-429-token')
+            def ratelimitManager = new RatelimitManager(api)
+            def retried = new CountDownLatch(1)
+            def attempts = new AtomicInteger()
+            def request = request(api, RestEndpoint.MESSAGE, '1') {
+                if (attempts.incrementAndGet() == 1) {
+                    return result(response(429, ['X-RateLimit-Global': 'true']), retryAfter(1000))
+                }
+                retried.countDown()
+                result(response(200, [:]))
+            }
+
+        when:
+            ratelimitManager.queueRequest request
+
+        then:
+            !retried.await(300, TimeUnit.MILLISECONDS)
+            new RatelimitBucket(api, RestEndpoint.CHANNEL, '2').timeTillSpaceGetsAvailable > 0
+
+        and:
+            request.result.join()
+            attempts.get() == 2
+    }
+
+    def 'a bucket 429 response only ratelimits its own bucket'() {
+        given:
+            def api = shard('bucket-429-token')
+            def ratelimitManager = new RatelimitManager(api)
+            def retried = new CountDownLatch(1)
+            def attempts = new AtomicInteger()
+            def request = request(api, RestEndpoint.MESSAGE, '1') {
+                if (attempts.incrementAndGet() == 1) {
+                    return result(response(429, [:]), retryAfter(1000))
+                }
+                retried.countDown()
+                result(response(200, [:]))
+            }
+
+        when:
+            ratelimitManager.queueRequest request
+
+        then:
+            !retried.await(300, TimeUnit.MILLISECONDS)
+            ratelimitManager.buckets.find { it.key == RatelimitBucket.getKey(RestEndpoint.MESSAGE, '1') }
+                    .timeTillSpaceGetsAvailable in (1..1000)
+            new RatelimitBucket(api, RestEndpoint.CHANNEL, '2').timeTillSpaceGetsAvailable == 0
+
+        and:
+            request.result.join()
+            attempts.get() == 2
+    }
+
+    def 'routes with the same bucket hash share one bucket'() {
+        given:
+            def api = shard('shared-bucket-token')
+            def ratelimitManager = new RatelimitManager(api)
+            def firstRouteRequest = request(api, RestEndpoint.MESSAGE, '1') {
+                result(response(200, ['X-RateLimit-Bucket': 'abc', 'X-RateLimit-Remaining': '5']))
+            }
+            def secondRouteRequest = request(api, RestEndpoint.PINS, '1') {
+                result(response(200, [
+                        'X-RateLimit-Bucket'     : 'abc',
+                        'X-RateLimit-Remaining'  : '0',
+                        'X-RateLimit-Reset-After': '1'
+                ]))
+            }
+            def executed = new CountDownLatch(1)
+            def nextFirstRouteRequest = request(api, RestEndpoint.MESSAGE, '1') {
+                executed.countDown()
+                result(response(200, ['X-RateLimit-Bucket': 'abc', 'X-RateLimit-Remaining': '5']))
+            }
+
+        when:
+            ratelimitManager.queueRequest firstRouteRequest
+            firstRouteRequest.result.join()
+            ratelimitManager.queueRequest secondRouteRequest
+            secondRouteRequest.result.join()
+
+        then: 'the shared bucket is updated after the request was completed'
+            new PollingConditions(timeout: 1).eventually {
+                assert ratelimitManager.buckets*.key.contains(RatelimitBucket.getSharedKey('abc', '1'))
+            }
+
+        when:
+            ratelimitManager.queueRequest nextFirstRouteRequest
+
+        then: 'the ratelimit of the second route also delays the first route'
+            !executed.await(300, TimeUnit.MILLISECONDS)
+            nextFirstRouteRequest.result.join()
+    }
+
+    def 'routes with the same bucket hash do not share the bucket of different major url parameters'() {
+        given:
+            def api = shard('major-parameter-token')
+            def ratelimitManager = new RatelimitManager(api)
+            def firstChannelRequest = request(api, RestEndpoint.MESSAGE, '1') {
+                result(response(200, [
+                        'X-RateLimit-Bucket'     : 'abc',
+                        'X-RateLimit-Remaining'  : '0',
+                        'X-RateLimit-Reset-After': '10'
+                ]))
+            }
+            def executed = new CountDownLatch(1)
+            def secondChannelRequest = request(api, RestEndpoint.MESSAGE, '2') {
+                executed.countDown()
+                result(response(200, ['X-RateLimit-Bucket': 'abc', 'X-RateLimit-Remaining': '5']))
+            }
+
+        when:
+            ratelimitManager.queueRequest firstChannelRequest
+            firstChannelRequest.result.join()
+            new PollingConditions(timeout: 1).eventually {
+                assert ratelimitManager.buckets*.key.contains(RatelimitBucket.getSharedKey('abc', '1'))
+            }
+            ratelimitManager.queueRequest secondChannelRequest
+
+        then:
+            executed.await(1, TimeUnit.SECONDS)
+            ratelimitManager.buckets.find { it.key == RatelimitBucket.getSharedKey('abc', '1') }
+                    .timeTillSpaceGetsAvailable > 0
+    }
+
+    /**
+     * Creates a shard which shares the thread pool of the test and stores its time offset.
+     *
+     * @param token The token of the shard. Global ratelimits are shared by shards with the same token.
+     * @return The shard.
+     */
+    DiscordApiImpl shard(String token) {
+        Long timeOffset = null
+        Stub(DiscordApiImpl) {
+            getThreadPool() >> threadPool
+            getToken() >> token
+            getTimeOffset() >> { timeOffset }
+            setTimeOffset(_) >> { Long offset -> timeOffset = offset }
+        }
+    }
+
+    /**
+     * Creates a request which calls the given closure instead of sending an http request.
+     *
+     * @param api The shard which sends the request.
+     * @param endpoint The endpoint of the request.
+     * @param majorUrlParameter The major url parameter of the request.
+     * @param method The http method of the request.
+     * @param execute The closure which returns the result of the request.
+     * @return The request.
+     */
+    RestRequest request(DiscordApiImpl api, RestEndpoint endpoint, String majorUrlParameter,
+                        RestMethod method = RestMethod.GET, Closure<RestRequestResult> execute) {
+        Stub(RestRequest) {
+            getApi() >> api
+            getMethod() >> method
+            getEndpoint() >> endpoint
+            getMajorUrlParameter() >> Optional.ofNullable(majorUrlParameter)
+            getResult() >> new CompletableFuture<>()
+            executeBlocking() >> { execute() }
+        }
+    }
+
+    RestRequestResult result(Response response, JsonNode body = NullNode.instance) {
+        Stub(RestRequestResult) {
+            getResponse() >> response
+            getJsonBody() >> body
+        }
+    }
+
+    static JsonNode retryAfter(int milliseconds) {
+        JsonNodeFactory.instance.objectNode().put('retry_after', milliseconds)
+    }
+
+    static Response response(int code, Map<String, String> headers) {
+        def builder = new Response.Builder()
+                .request(new Request.Builder().url('https://discordapp.com/api/v6/test').build())
+                .protocol(Protocol.HTTP_1_1)
+                .code(code)
+                .message('')
+        headers.each { name, value -> builder.header(name, value) }
+        builder.build()
+    }
+
 }
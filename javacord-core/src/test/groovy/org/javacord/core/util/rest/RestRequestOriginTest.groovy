@@ -0,0 +1,43 @@
+package org.javacord.core.util.rest
+
+import org.javacord.api.util.rest.RestRequestOriginCapture
+import spock.lang.Specification
+import spock.lang.Subject
+
+@Subject(RestRequestOrigin)
+class RestRequestOriginTest extends Specification {
+
+    def 'the full capture contains the complete stack trace'() {
+        when:
+            def origin = RestRequestOrigin.capture(RestRequestOriginCapture.FULL)
+
+        then:
+            origin.stackTrace.length > 1
+            origin.stackTrace[0].className == RestRequestOrigin.name
+    }
+
+    def 'the caller capture only contains the first frame outside of Javacord'() {
+        when:
+            def origin = RestRequestOrigin.capture(RestRequestOriginCapture.CALLER)
+
+        then:
+            origin.stackTrace.length == 1
+            !origin.stackTrace[0].className.startsWith('org.javacord.')
+    }
+
+    def 'the sampled capture only captures every n-th origin'() {
+        when:
+            def origins = (1..RestRequestOrigin.SAMPLING_INTERVAL * 3).collect {
+                RestRequestOrigin.capture(RestRequestOriginCapture.SAMPLED)
+            }
+
+        then:
+            origins.count { it != null } == 3
+    }
+
+    def 'no origin is captured if the capture is disabled'() {
+        expect:
+            RestRequestOrigin.capture(RestRequestOriginCapture.NONE) == null
+    }
+
+}